@@ -0,0 +1,426 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.complex.streams;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.commons.numbers.complex.Complex;
+
+/**
+ * Lazy streams over complex numbers stored in {@code double[]} arrays,
+ * either interleaved (the layout of {@link ComplexUtils#complex2Interleaved(Complex[])})
+ * or split into arrays of real and imaginary parts.
+ * <p>
+ * Unlike the conversions of {@link ComplexUtils}, no {@code Complex[]} array
+ * is created: the elements are read from the arrays when the stream is
+ * traversed. The streams are sequential; the spliterators are sized and
+ * split their range in halves, so that the work of a
+ * {@linkplain java.util.stream.BaseStream#parallel() parallel} stream is
+ * divided evenly. As for {@link java.util.Arrays#stream(double[])}, the
+ * arrays must not be modified while the stream is in use.
+ * </p><p>
+ * The primitive streams of moduli and arguments compute the same values as
+ * {@link Complex#abs()} and {@link Complex#getArgument()}. The real and
+ * imaginary parts of split arrays are streamed by
+ * {@link java.util.Arrays#stream(double[])}.
+ * </p>
+ */
+public final class ComplexStreams {
+    /** Characteristics of the spliterators. */
+    private static final int CHARACTERISTICS =
+        Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED | Spliterator.IMMUTABLE;
+    /** Real part. */
+    private static final DoubleBinaryOperator REAL = (re, im) -> re;
+    /** Imaginary part. */
+    private static final DoubleBinaryOperator IMAGINARY = (re, im) -> im;
+    /** Modulus. */
+    private static final DoubleBinaryOperator ABS = (re, im) -> Complex.ofCartesian(re, im).abs();
+    /** Argument. */
+    private static final DoubleBinaryOperator ARG = (re, im) -> Math.atan2(im, re);
+
+    /**
+     * Utility class.
+     */
+    private ComplexStreams() {}
+
+    /**
+     * Creates a stream of the elements of an interleaved array.
+     *
+     * @param interleaved Interleaved real and imaginary parts.
+     * @return a new stream.
+     * @throws IllegalArgumentException if the length of the array is odd.
+     */
+    public static Stream<Complex> stream(double[] interleaved) {
+        checkInterleaved(interleaved);
+        return StreamSupport.stream(new ComplexSpliterator(interleaved, 0, interleaved, 1, 2,
+                                                           0, interleaved.length / 2), false);
+    }
+
+    /**
+     * Creates a stream of the elements of split arrays.
+     *
+     * @param real Real parts.
+     * @param imaginary Imaginary parts.
+     * @return a new stream.
+     * @throws IllegalArgumentException if the arrays do not have the same length.
+     */
+    public static Stream<Complex> stream(double[] real, double[] imaginary) {
+        checkSplit(real, imaginary);
+        return StreamSupport.stream(new ComplexSpliterator(real, 0, imaginary, 0, 1,
+                                                           0, real.length), false);
+    }
+
+    /**
+     * Creates a stream of the real parts of an interleaved array.
+     *
+     * @param interleaved Interleaved real and imaginary parts.
+     * @return a new stream.
+     * @throws IllegalArgumentException if the length of the array is odd.
+     */
+    public static DoubleStream real(double[] interleaved) {
+        return interleaved(interleaved, REAL);
+    }
+
+    /**
+     * Creates a stream of the imaginary parts of an interleaved array.
+     *
+     * @param interleaved Interleaved real and imaginary parts.
+     * @return a new stream.
+     * @throws IllegalArgumentException if the length of the array is odd.
+     */
+    public static DoubleStream imaginary(double[] interleaved) {
+        return interleaved(interleaved, IMAGINARY);
+    }
+
+    /**
+     * Creates a stream of the moduli of the elements of an interleaved array.
+     *
+     * @param interleaved Interleaved real and imaginary parts.
+     * @return a new stream.
+     * @throws IllegalArgumentException if the length of the array is odd.
+     * @see Complex#abs()
+     */
+    public static DoubleStream abs(double[] interleaved) {
+        return interleaved(interleaved, ABS);
+    }
+
+    /**
+     * Creates a stream of the arguments of the elements of an interleaved array.
+     *
+     * @param interleaved Interleaved real and imaginary parts.
+     * @return a new stream.
+     * @throws IllegalArgumentException if the length of the array is odd.
+     * @see Complex#getArgument()
+     */
+    public static DoubleStream arg(double[] interleaved) {
+        return interleaved(interleaved, ARG);
+    }
+
+    /**
+     * Creates a stream of the moduli of the elements of split arrays.
+     *
+     * @param real Real parts.
+     * @param imaginary Imaginary parts.
+     * @return a new stream.
+     * @throws IllegalArgumentException if the arrays do not have the same length.
+     * @see Complex#abs()
+     */
+    public static DoubleStream abs(double[] real, double[] imaginary) {
+        return split(real, imaginary, ABS);
+    }
+
+    /**
+     * Creates a stream of the arguments of the elements of split arrays.
+     *
+     * @param real Real parts.
+     * @param imaginary Imaginary parts.
+     * @return a new stream.
+     * @throws IllegalArgumentException if the arrays do not have the same length.
+     * @see Complex#getArgument()
+     */
+    public static DoubleStream arg(double[] real, double[] imaginary) {
+        return split(real, imaginary, ARG);
+    }
+
+    /**
+     * @param interleaved Interleaved real and imaginary parts.
+     * @param function Function of the real and imaginary parts.
+     * @return a new stream.
+     */
+    private static DoubleStream interleaved(double[] interleaved, DoubleBinaryOperator function) {
+        checkInterleaved(interleaved);
+        return StreamSupport.doubleStream(new PartSpliterator(interleaved, 0, interleaved, 1, 2,
+                                                              0, interleaved.length / 2, function), false);
+    }
+
+    /**
+     * @param real Real parts.
+     * @param imaginary Imaginary parts.
+     * @param function Function of the real and imaginary parts.
+     * @return a new stream.
+     */
+    private static DoubleStream split(double[] real, double[] imaginary, DoubleBinaryOperator function) {
+        checkSplit(real, imaginary);
+        return StreamSupport.doubleStream(new PartSpliterator(real, 0, imaginary, 0, 1,
+                                                              0, real.length, function), false);
+    }
+
+    /**
+     * @param interleaved Interleaved real and imaginary parts.
+     * @throws IllegalArgumentException if the length of the array is odd.
+     */
+    private static void checkInterleaved(double[] interleaved) {
+        if ((interleaved.length & 1) != 0) {
+            throw new IllegalArgumentException("Odd length of interleaved data: " + interleaved.length);
+        }
+    }
+
+    /**
+     * @param real Real parts.
+     * @param imaginary Imaginary parts.
+     * @throws IllegalArgumentException if the arrays do not have the same length.
+     */
+    private static void checkSplit(double[] real, double[] imaginary) {
+        if (real.length != imaginary.length) {
+            throw new IllegalArgumentException("Length mismatch: " + real.length + " != " + imaginary.length);
+        }
+    }
+
+    /**
+     * Consumer of the real and imaginary parts of an element.
+     */
+    private interface PartConsumer {
+        /**
+         * @param re Real part.
+         * @param im Imaginary part.
+         */
+        void accept(double re, double im);
+    }
+
+    /**
+     * Addressing of the parts of element {@code i}: {@code re[reBase + stride * i]}
+     * and {@code im[imBase + stride * i]}, for {@code i} in {@code [index, fence)}.
+     */
+    private abstract static class Range {
+        /** Array of the real parts. */
+        private final double[] re;
+        /** Index of the first real part. */
+        private final int reBase;
+        /** Array of the imaginary parts. */
+        private final double[] im;
+        /** Index of the first imaginary part. */
+        private final int imBase;
+        /** Distance between consecutive parts. */
+        private final int stride;
+        /** Next element. */
+        private int index;
+        /** Element after the last one. */
+        private final int fence;
+
+        /**
+         * @param re Array of the real parts.
+         * @param reBase Index of the first real part.
+         * @param im Array of the imaginary parts.
+         * @param imBase Index of the first imaginary part.
+         * @param stride Distance between consecutive parts.
+         * @param index First element.
+         * @param fence Element after the last one.
+         */
+        Range(double[] re, int reBase, double[] im, int imBase, int stride, int index, int fence) {
+            this.re = re;
+            this.reBase = reBase;
+            this.im = im;
+            this.imBase = imBase;
+            this.stride = stride;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        /**
+         * Takes the remaining elements of {@code source} before {@code mid};
+         * {@code source} keeps the elements from {@code mid}.
+         *
+         * @param source Range to split.
+         * @param mid Index returned by {@link #splitIndex()}.
+         */
+        Range(Range source, int mid) {
+            this(source.re, source.reBase, source.im, source.imBase, source.stride, source.index, mid);
+            source.index = mid;
+        }
+
+        /**
+         * @return the middle of the remaining elements, or -1 if the range is
+         * too small to be split.
+         */
+        int splitIndex() {
+            final int mid = (index + fence) >>> 1;
+            return index < mid ? mid : -1;
+        }
+
+        /**
+         * Passes the parts of the next element, if any, to the action.
+         *
+         * @param action Action.
+         * @return {@code false} if no element remained.
+         */
+        boolean advance(PartConsumer action) {
+            if (index < fence) {
+                final int i = index++;
+                action.accept(re[reBase + stride * i], im[imBase + stride * i]);
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Passes the parts of each remaining element to the action.
+         *
+         * @param action Action.
+         */
+        void forEachPart(PartConsumer action) {
+            final int end = fence;
+            for (int i = index; i < end; i++) {
+                action.accept(re[reBase + stride * i], im[imBase + stride * i]);
+            }
+            index = end;
+        }
+
+        /**
+         * @return the number of remaining elements.
+         */
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        /**
+         * @return the characteristics.
+         */
+        public int characteristics() {
+            return CHARACTERISTICS;
+        }
+    }
+
+    /**
+     * Spliterator of {@link Complex} elements.
+     */
+    private static final class ComplexSpliterator extends Range implements Spliterator<Complex> {
+        /**
+         * @param re Array of the real parts.
+         * @param reBase Index of the first real part.
+         * @param im Array of the imaginary parts.
+         * @param imBase Index of the first imaginary part.
+         * @param stride Distance between consecutive parts.
+         * @param index First element.
+         * @param fence Element after the last one.
+         */
+        ComplexSpliterator(double[] re, int reBase, double[] im, int imBase, int stride, int index, int fence) {
+            super(re, reBase, im, imBase, stride, index, fence);
+        }
+
+        /**
+         * @param source Spliterator to split.
+         * @param mid Index returned by {@link #splitIndex()}.
+         */
+        private ComplexSpliterator(ComplexSpliterator source, int mid) {
+            super(source, mid);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean tryAdvance(Consumer<? super Complex> action) {
+            return advance((re, im) -> action.accept(Complex.ofCartesian(re, im)));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void forEachRemaining(Consumer<? super Complex> action) {
+            forEachPart((re, im) -> action.accept(Complex.ofCartesian(re, im)));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Spliterator<Complex> trySplit() {
+            final int mid = splitIndex();
+            return mid < 0 ? null : new ComplexSpliterator(this, mid);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int characteristics() {
+            return super.characteristics() | Spliterator.NONNULL;
+        }
+    }
+
+    /**
+     * Spliterator of a function of the real and imaginary parts.
+     */
+    private static final class PartSpliterator extends Range implements Spliterator.OfDouble {
+        /** Function of the real and imaginary parts. */
+        private final DoubleBinaryOperator function;
+
+        /**
+         * @param re Array of the real parts.
+         * @param reBase Index of the first real part.
+         * @param im Array of the imaginary parts.
+         * @param imBase Index of the first imaginary part.
+         * @param stride Distance between consecutive parts.
+         * @param index First element.
+         * @param fence Element after the last one.
+         * @param function Function of the real and imaginary parts.
+         */
+        PartSpliterator(double[] re, int reBase, double[] im, int imBase, int stride, int index, int fence,
+                        DoubleBinaryOperator function) {
+            super(re, reBase, im, imBase, stride, index, fence);
+            this.function = function;
+        }
+
+        /**
+         * @param source Spliterator to split.
+         * @param mid Index returned by {@link #splitIndex()}.
+         */
+        private PartSpliterator(PartSpliterator source, int mid) {
+            super(source, mid);
+            this.function = source.function;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean tryAdvance(DoubleConsumer action) {
+            return advance((re, im) -> action.accept(function.applyAsDouble(re, im)));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void forEachRemaining(DoubleConsumer action) {
+            forEachPart((re, im) -> action.accept(function.applyAsDouble(re, im)));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Spliterator.OfDouble trySplit() {
+            final int mid = splitIndex();
+            return mid < 0 ? null : new PartSpliterator(this, mid);
+        }
+    }
+}
@@ -0,0 +1,748 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.complex.streams;
+
+import java.util.Arrays;
+
+import org.apache.commons.numbers.complex.Complex;
+
+/**
+ * N-dimensional array of complex numbers stored in a single interleaved
+ * {@code double[]} array.
+ * <p>
+ * The element at index \((i_0, \ldots, i_{r-1})\) has its real part at
+ * position \(2 (o + \sum_k i_k s_k)\) of the {@linkplain #getData() data}
+ * and its imaginary part just after, where \(o\) is the
+ * {@linkplain #getOffset() offset} and \(s_k\) the
+ * {@linkplain #getStrides() strides}, counted in complex numbers.
+ * Tensors created by {@link #ofShape(int...)}, {@link #wrap(double[], int...)}
+ * or from jagged arrays are row-major (the last index varies fastest).
+ * </p><p>
+ * {@link #slice(int, int, int, int) Slicing}, {@link #select(int, int) selection}
+ * and {@link #permute(int...) transposition} only change the offset, shape
+ * and strides: the result shares the data of this tensor, so that writes to
+ * either are visible in both. Copies are made by {@link #copy()},
+ * {@link #toInterleaved()} and the conversions to the jagged
+ * {@code Complex[]...[]} arrays used by {@link ComplexUtils}, which hold one
+ * object per element and one array per row.
+ * </p><p>
+ * Instances are not thread-safe.
+ * </p>
+ */
+public final class ComplexTensor {
+    /** Largest number of elements. */
+    private static final int MAX_SIZE = Integer.MAX_VALUE / 2;
+    /** Side of the tiles copied from transposed layouts. */
+    private static final int TILE = 32;
+
+    /** Interleaved real and imaginary parts. */
+    private final double[] data;
+    /** Position of the first element, in complex numbers. */
+    private final int offset;
+    /** Number of indices along each dimension. */
+    private final int[] shape;
+    /** Distance between consecutive indices along each dimension, in complex numbers. */
+    private final int[] strides;
+
+    /**
+     * @param data Interleaved real and imaginary parts.
+     * @param offset Position of the first element.
+     * @param shape Shape.
+     * @param strides Strides.
+     */
+    private ComplexTensor(double[] data, int offset, int[] shape, int[] strides) {
+        this.data = data;
+        this.offset = offset;
+        this.shape = shape;
+        this.strides = strides;
+    }
+
+    /**
+     * Creates a tensor of zeros.
+     *
+     * @param shape Number of indices along each dimension.
+     * @return a new tensor.
+     * @throws IllegalArgumentException if a dimension is negative or if the
+     * number of elements is larger than {@code 2^30 - 1}.
+     */
+    public static ComplexTensor ofShape(int... shape) {
+        return new ComplexTensor(new double[2 * size(shape)], 0, shape.clone(), rowMajorStrides(shape));
+    }
+
+    /**
+     * Creates a row-major tensor backed by the given interleaved array,
+     * without copying it.
+     *
+     * @param interleaved Interleaved real and imaginary parts.
+     * @param shape Number of indices along each dimension.
+     * @return a new tensor.
+     * @throws IllegalArgumentException if a dimension is negative or if the
+     * length of the array is not twice the number of elements.
+     */
+    public static ComplexTensor wrap(double[] interleaved, int... shape) {
+        final int size = size(shape);
+        if (interleaved.length != 2 * size) {
+            throw new IllegalArgumentException("Expected length " + 2 * size + " but was " + interleaved.length);
+        }
+        return new ComplexTensor(interleaved, 0, shape.clone(), rowMajorStrides(shape));
+    }
+
+    /**
+     * Creates a tensor of rank 1 from an array.
+     *
+     * @param c Values.
+     * @return a new tensor.
+     */
+    public static ComplexTensor of(Complex[] c) {
+        return ofJagged(c, 1);
+    }
+
+    /**
+     * Creates a tensor of rank 2 from a jagged array.
+     *
+     * @param c Values.
+     * @return a new tensor.
+     * @throws IllegalArgumentException if the array is not rectangular.
+     */
+    public static ComplexTensor of(Complex[][] c) {
+        return ofJagged(c, 2);
+    }
+
+    /**
+     * Creates a tensor of rank 3 from a jagged array.
+     *
+     * @param c Values.
+     * @return a new tensor.
+     * @throws IllegalArgumentException if the array is not rectangular.
+     */
+    public static ComplexTensor of(Complex[][][] c) {
+        return ofJagged(c, 3);
+    }
+
+    /**
+     * Creates a tensor of rank 4 from a jagged array.
+     *
+     * @param c Values.
+     * @return a new tensor.
+     * @throws IllegalArgumentException if the array is not rectangular.
+     */
+    public static ComplexTensor of(Complex[][][][] c) {
+        return ofJagged(c, 4);
+    }
+
+    /**
+     * @return the number of dimensions.
+     */
+    public int getRank() {
+        return shape.length;
+    }
+
+    /**
+     * @return a copy of the number of indices along each dimension.
+     */
+    public int[] getShape() {
+        return shape.clone();
+    }
+
+    /**
+     * @return a copy of the distance between consecutive indices along each
+     * dimension, in complex numbers.
+     */
+    public int[] getStrides() {
+        return strides.clone();
+    }
+
+    /**
+     * @return the position of the first element in the data, in complex numbers.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Gets the backing array, which may be shared with other tensors and
+     * hold elements that are not part of this one.
+     *
+     * @return the interleaved data (not a copy).
+     */
+    public double[] getData() {
+        return data;
+    }
+
+    /**
+     * @return the number of elements.
+     */
+    public int size() {
+        int n = 1;
+        for (final int s : shape) {
+            n *= s;
+        }
+        return n;
+    }
+
+    /**
+     * Tells whether the elements are stored in row-major order, without gaps.
+     *
+     * @return {@code true} if the tensor is contiguous.
+     */
+    public boolean isContiguous() {
+        int expected = 1;
+        for (int d = shape.length - 1; d >= 0; d--) {
+            if (shape[d] != 1 && strides[d] != expected) {
+                return false;
+            }
+            expected *= shape[d];
+        }
+        return true;
+    }
+
+    /**
+     * Gets the real part of an element.
+     *
+     * @param index Index along each dimension.
+     * @return the real part.
+     * @throws IllegalArgumentException if the number of indices is not the rank.
+     * @throws IndexOutOfBoundsException if an index is out of bounds.
+     */
+    public double getReal(int... index) {
+        return data[position(index)];
+    }
+
+    /**
+     * Gets the imaginary part of an element.
+     *
+     * @param index Index along each dimension.
+     * @return the imaginary part.
+     * @throws IllegalArgumentException if the number of indices is not the rank.
+     * @throws IndexOutOfBoundsException if an index is out of bounds.
+     */
+    public double getImaginary(int... index) {
+        return data[position(index) + 1];
+    }
+
+    /**
+     * Gets an element.
+     *
+     * @param index Index along each dimension.
+     * @return the element.
+     * @throws IllegalArgumentException if the number of indices is not the rank.
+     * @throws IndexOutOfBoundsException if an index is out of bounds.
+     */
+    public Complex get(int... index) {
+        final int p = position(index);
+        return Complex.ofCartesian(data[p], data[p + 1]);
+    }
+
+    /**
+     * Sets an element.
+     *
+     * @param index Index along each dimension.
+     * @param real Real part.
+     * @param imaginary Imaginary part.
+     * @throws IllegalArgumentException if the number of indices is not the rank.
+     * @throws IndexOutOfBoundsException if an index is out of bounds.
+     */
+    public void set(int[] index, double real, double imaginary) {
+        final int p = position(index);
+        data[p] = real;
+        data[p + 1] = imaginary;
+    }
+
+    /**
+     * Sets an element.
+     *
+     * @param index Index along each dimension.
+     * @param value Value.
+     * @throws IllegalArgumentException if the number of indices is not the rank.
+     * @throws IndexOutOfBoundsException if an index is out of bounds.
+     */
+    public void set(int[] index, Complex value) {
+        set(index, value.getReal(), value.getImaginary());
+    }
+
+    /**
+     * Creates a view of a range of indices along one dimension.
+     *
+     * @param dim Dimension.
+     * @param from First index.
+     * @param to Index after the last one.
+     * @return a view of the same rank.
+     * @throws IllegalArgumentException if the dimension is out of range.
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    public ComplexTensor slice(int dim, int from, int to) {
+        return slice(dim, from, to, 1);
+    }
+
+    /**
+     * Creates a view of every {@code step}-th index in a range along one
+     * dimension.
+     *
+     * @param dim Dimension.
+     * @param from First index.
+     * @param to Bound (exclusive) of the indices.
+     * @param step Distance between the selected indices.
+     * @return a view of the same rank.
+     * @throws IllegalArgumentException if the dimension is out of range or if
+     * {@code step < 1}.
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    public ComplexTensor slice(int dim, int from, int to, int step) {
+        checkDimension(dim);
+        if (step < 1) {
+            throw new IllegalArgumentException("Step must be strictly positive: " + step);
+        }
+        ComplexView.checkRange(from, to, shape[dim]);
+        final int[] newShape = shape.clone();
+        final int[] newStrides = strides.clone();
+        newShape[dim] = (to - from + step - 1) / step;
+        newStrides[dim] = strides[dim] * step;
+        return new ComplexTensor(data, offset + from * strides[dim], newShape, newStrides);
+    }
+
+    /**
+     * Creates a view of the elements with the given index along one
+     * dimension, which is removed.
+     *
+     * @param dim Dimension.
+     * @param index Index.
+     * @return a view whose rank is one less than this tensor.
+     * @throws IllegalArgumentException if the dimension is out of range.
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     */
+    public ComplexTensor select(int dim, int index) {
+        checkDimension(dim);
+        DoubleView.checkIndex(index, shape[dim]);
+        return new ComplexTensor(data, offset + index * strides[dim], remove(shape, dim), remove(strides, dim));
+    }
+
+    /**
+     * Creates a view with the dimensions reordered: dimension {@code d} of
+     * the result is dimension {@code axes[d]} of this tensor.
+     *
+     * @param axes Permutation of the dimensions.
+     * @return a view of the same rank.
+     * @throws IllegalArgumentException if {@code axes} is not a permutation
+     * of {@code 0, ..., getRank() - 1}.
+     */
+    public ComplexTensor permute(int... axes) {
+        if (axes.length != shape.length) {
+            throw new IllegalArgumentException("Expected " + shape.length + " axes but was " + axes.length);
+        }
+        final boolean[] seen = new boolean[axes.length];
+        final int[] newShape = new int[axes.length];
+        final int[] newStrides = new int[axes.length];
+        for (int d = 0; d < axes.length; d++) {
+            final int a = axes[d];
+            if (a < 0 || a >= axes.length || seen[a]) {
+                throw new IllegalArgumentException("Not a permutation: " + Arrays.toString(axes));
+            }
+            seen[a] = true;
+            newShape[d] = shape[a];
+            newStrides[d] = strides[a];
+        }
+        return new ComplexTensor(data, offset, newShape, newStrides);
+    }
+
+    /**
+     * Creates a view with two dimensions swapped.
+     *
+     * @param dim1 Dimension.
+     * @param dim2 Dimension.
+     * @return a view of the same rank.
+     * @throws IllegalArgumentException if a dimension is out of range.
+     */
+    public ComplexTensor transpose(int dim1, int dim2) {
+        checkDimension(dim1);
+        checkDimension(dim2);
+        final int[] axes = new int[shape.length];
+        for (int d = 0; d < axes.length; d++) {
+            axes[d] = d;
+        }
+        axes[dim1] = dim2;
+        axes[dim2] = dim1;
+        return permute(axes);
+    }
+
+    /**
+     * Copies the elements into a new row-major tensor.
+     *
+     * @return a new contiguous tensor.
+     */
+    public ComplexTensor copy() {
+        return new ComplexTensor(toInterleaved(), 0, shape.clone(), rowMajorStrides(shape));
+    }
+
+    /**
+     * Copies the elements in row-major order.
+     *
+     * @return a new interleaved array.
+     */
+    public double[] toInterleaved() {
+        final double[] result = new double[2 * size()];
+        if (result.length == 0) {
+            return result;
+        }
+        final int rank = shape.length;
+        if (rank == 0) {
+            result[0] = data[2 * offset];
+            result[1] = data[2 * offset + 1];
+            return result;
+        }
+        final int last = rank - 1;
+        final int[] resultStrides = rowMajorStrides(shape);
+        // When another dimension than the last one has the unit stride, as
+        // after a transposition, copy tiles of both so that the reads and the
+        // writes each stay within a few cache lines.
+        int inner = -1;
+        if (strides[last] != 1) {
+            for (int d = 0; d < last; d++) {
+                if (strides[d] == 1 && shape[d] > 1) {
+                    inner = d;
+                }
+            }
+        }
+        // Advance the other indices as an odometer.
+        final int[] index = new int[last];
+        int from = offset;
+        int to = 0;
+        while (true) {
+            if (inner < 0) {
+                copyRow(from, strides[last], result, to, shape[last]);
+            } else {
+                copyTile(from, strides[inner], strides[last], result, to, resultStrides[inner],
+                         shape[inner], shape[last]);
+            }
+            int d = last - 1;
+            for (; d >= 0; d--) {
+                if (d == inner) {
+                    continue;
+                }
+                from += strides[d];
+                to += resultStrides[d];
+                if (++index[d] < shape[d]) {
+                    break;
+                }
+                from -= strides[d] * shape[d];
+                to -= resultStrides[d] * shape[d];
+                index[d] = 0;
+            }
+            if (d < 0) {
+                return result;
+            }
+        }
+    }
+
+    /**
+     * Copies the elements of a tensor of rank 1.
+     *
+     * @return a new array.
+     * @throws IllegalArgumentException if the rank is not 1.
+     */
+    public Complex[] toComplex1D() {
+        checkRank(1);
+        final Complex[] result = new Complex[shape[0]];
+        toJagged(result, 0, toInterleaved(), 0);
+        return result;
+    }
+
+    /**
+     * Copies the elements of a tensor of rank 2.
+     *
+     * @return a new jagged array.
+     * @throws IllegalArgumentException if the rank is not 2.
+     */
+    public Complex[][] toComplex2D() {
+        checkRank(2);
+        final Complex[][] result = new Complex[shape[0]][shape[1]];
+        toJagged(result, 0, toInterleaved(), 0);
+        return result;
+    }
+
+    /**
+     * Copies the elements of a tensor of rank 3.
+     *
+     * @return a new jagged array.
+     * @throws IllegalArgumentException if the rank is not 3.
+     */
+    public Complex[][][] toComplex3D() {
+        checkRank(3);
+        final Complex[][][] result = new Complex[shape[0]][shape[1]][shape[2]];
+        toJagged(result, 0, toInterleaved(), 0);
+        return result;
+    }
+
+    /**
+     * Copies the elements of a tensor of rank 4.
+     *
+     * @return a new jagged array.
+     * @throws IllegalArgumentException if the rank is not 4.
+     */
+    public Complex[][][][] toComplex4D() {
+        checkRank(4);
+        final Complex[][][][] result = new Complex[shape[0]][shape[1]][shape[2]][shape[3]];
+        toJagged(result, 0, toInterleaved(), 0);
+        return result;
+    }
+
+    /**
+     * Test for equality with another object. Two tensors are equal if they
+     * have the same shape and equal elements, in the sense of
+     * {@link Double#equals(Object)}, whatever their layout.
+     *
+     * @param other Object.
+     * @return {@code true} if the objects are equal.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other instanceof ComplexTensor) {
+            final ComplexTensor t = (ComplexTensor) other;
+            return Arrays.equals(shape, t.shape) &&
+                Arrays.equals(toInterleaved(), t.toInterleaved());
+        }
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(shape) + Arrays.hashCode(toInterleaved());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "ComplexTensor" + Arrays.toString(shape);
+    }
+
+    /**
+     * Copies elements along one dimension to consecutive positions.
+     *
+     * @param from Position of the first element in the data, in complex numbers.
+     * @param stride Distance between the elements in the data.
+     * @param result Interleaved destination.
+     * @param to Position of the first element in the destination.
+     * @param length Number of elements.
+     */
+    private void copyRow(int from, int stride, double[] result, int to, int length) {
+        if (stride == 1) {
+            System.arraycopy(data, 2 * from, result, 2 * to, 2 * length);
+            return;
+        }
+        for (int i = 0, p = 2 * from, q = 2 * to; i < length; i++, p += 2 * stride, q += 2) {
+            result[q] = data[p];
+            result[q + 1] = data[p + 1];
+        }
+    }
+
+    /**
+     * Copies a 2-dimensional array of elements, whose second dimension is
+     * stored at consecutive positions of the destination, by tiles of
+     * {@value #TILE} by {@value #TILE} elements.
+     *
+     * @param from Position of the first element in the data, in complex numbers.
+     * @param stride1 Distance between the elements along the first dimension in the data.
+     * @param stride2 Distance between the elements along the second dimension in the data.
+     * @param result Interleaved destination.
+     * @param to Position of the first element in the destination.
+     * @param resultStride1 Distance between the elements along the first dimension in the destination.
+     * @param length1 Number of elements along the first dimension.
+     * @param length2 Number of elements along the second dimension.
+     */
+    private void copyTile(int from, int stride1, int stride2,
+                          double[] result, int to, int resultStride1,
+                          int length1, int length2) {
+        for (int i0 = 0; i0 < length1; i0 += TILE) {
+            final int i1 = Math.min(i0 + TILE, length1);
+            for (int j0 = 0; j0 < length2; j0 += TILE) {
+                final int j1 = Math.min(j0 + TILE, length2);
+                for (int i = i0; i < i1; i++) {
+                    int p = 2 * (from + i * stride1 + j0 * stride2);
+                    int q = 2 * (to + i * resultStride1 + j0);
+                    for (int j = j0; j < j1; j++, p += 2 * stride2, q += 2) {
+                        result[q] = data[p];
+                        result[q + 1] = data[p + 1];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @param index Index along each dimension.
+     * @return the position of the real part of the element in the data.
+     * @throws IllegalArgumentException if the number of indices is not the rank.
+     * @throws IndexOutOfBoundsException if an index is out of bounds.
+     */
+    private int position(int[] index) {
+        if (index.length != shape.length) {
+            throw new IllegalArgumentException("Expected " + shape.length + " indices but was " + index.length);
+        }
+        int p = offset;
+        for (int d = 0; d < index.length; d++) {
+            DoubleView.checkIndex(index[d], shape[d]);
+            p += index[d] * strides[d];
+        }
+        return 2 * p;
+    }
+
+    /**
+     * @param dim Dimension.
+     * @throws IllegalArgumentException if the dimension is out of range.
+     */
+    private void checkDimension(int dim) {
+        if (dim < 0 || dim >= shape.length) {
+            throw new IllegalArgumentException("Dimension " + dim + " out of range for rank " + shape.length);
+        }
+    }
+
+    /**
+     * @param rank Expected rank.
+     * @throws IllegalArgumentException if the rank is not the expected one.
+     */
+    private void checkRank(int rank) {
+        if (shape.length != rank) {
+            throw new IllegalArgumentException("Expected rank " + rank + " but was " + shape.length);
+        }
+    }
+
+    /**
+     * @param shape Shape.
+     * @return the number of elements.
+     * @throws IllegalArgumentException if a dimension is negative or if the
+     * number of elements is too large.
+     */
+    private static int size(int[] shape) {
+        long n = 1;
+        for (final int s : shape) {
+            if (s < 0) {
+                throw new IllegalArgumentException("Negative dimension: " + Arrays.toString(shape));
+            }
+            n = Math.min(n * s, MAX_SIZE + 1L);
+        }
+        if (n > MAX_SIZE) {
+            throw new IllegalArgumentException("Too many elements: " + Arrays.toString(shape));
+        }
+        return (int) n;
+    }
+
+    /**
+     * @param shape Shape.
+     * @return the strides of a contiguous row-major tensor.
+     */
+    private static int[] rowMajorStrides(int[] shape) {
+        final int[] strides = new int[shape.length];
+        int s = 1;
+        for (int d = shape.length - 1; d >= 0; d--) {
+            strides[d] = s;
+            s *= shape[d];
+        }
+        return strides;
+    }
+
+    /**
+     * @param values Values.
+     * @param dim Index to remove.
+     * @return a copy of the values without the one at index {@code dim}.
+     */
+    private static int[] remove(int[] values, int dim) {
+        final int[] result = new int[values.length - 1];
+        System.arraycopy(values, 0, result, 0, dim);
+        System.arraycopy(values, dim + 1, result, dim, result.length - dim);
+        return result;
+    }
+
+    /**
+     * @param c Jagged array of {@link Complex}, of the given depth.
+     * @param rank Depth.
+     * @return a new tensor.
+     * @throws IllegalArgumentException if the array is not rectangular.
+     */
+    private static ComplexTensor ofJagged(Object[] c, int rank) {
+        final int[] shape = new int[rank];
+        Object[] a = c;
+        for (int d = 0; d < rank; d++) {
+            shape[d] = a.length;
+            if (a.length == 0) {
+                break;
+            }
+            if (d < rank - 1) {
+                a = (Object[]) a[0];
+            }
+        }
+        final ComplexTensor t = ofShape(shape);
+        fromJagged(c, 0, shape, t.data, 0);
+        return t;
+    }
+
+    /**
+     * Copies a jagged array into row-major interleaved data.
+     *
+     * @param c Jagged array.
+     * @param depth Dimension of {@code c}.
+     * @param shape Shape.
+     * @param data Interleaved data.
+     * @param position Position of the first value in the data.
+     * @return the position after the last value.
+     * @throws IllegalArgumentException if the array is not rectangular.
+     */
+    private static int fromJagged(Object[] c, int depth, int[] shape, double[] data, int position) {
+        if (c.length != shape[depth]) {
+            throw new IllegalArgumentException("Array is not rectangular at dimension " + depth);
+        }
+        int p = position;
+        if (depth == shape.length - 1) {
+            for (final Object o : c) {
+                final Complex z = (Complex) o;
+                data[p++] = z.getReal();
+                data[p++] = z.getImaginary();
+            }
+        } else {
+            for (final Object o : c) {
+                p = fromJagged((Object[]) o, depth + 1, shape, data, p);
+            }
+        }
+        return p;
+    }
+
+    /**
+     * Copies row-major interleaved data into a rectangular jagged array.
+     *
+     * @param c Jagged array.
+     * @param depth Dimension of {@code c}.
+     * @param values Interleaved data.
+     * @param position Position of the first value in {@code values}.
+     * @return the position after the last value.
+     */
+    private int toJagged(Object[] c, int depth, double[] values, int position) {
+        int p = position;
+        if (depth == shape.length - 1) {
+            for (int i = 0; i < c.length; i++, p += 2) {
+                c[i] = Complex.ofCartesian(values[p], values[p + 1]);
+            }
+        } else {
+            for (final Object o : c) {
+                p = toJagged((Object[]) o, depth + 1, values, p);
+            }
+        }
+        return p;
+    }
+}
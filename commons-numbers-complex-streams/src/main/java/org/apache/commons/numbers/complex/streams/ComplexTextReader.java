@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.complex.streams;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+import org.apache.commons.numbers.complex.Complex;
+import org.apache.commons.numbers.complex.ComplexParser;
+
+/**
+ * Reads complex numbers written by {@link Complex#toString()} from text,
+ * into interleaved {@code double[]} arrays (the layout of
+ * {@link ComplexUtils#complex2Interleaved(Complex[])}).
+ * <p>
+ * The values are separated by any number of whitespace characters,
+ * commas or semicolons, so that one value per line, comma-separated and
+ * semicolon-separated files are all read. The text is read through a
+ * reusable character buffer and parsed in place by {@link ComplexParser},
+ * so that no object is created per value.
+ * </p><p>
+ * Instances are not thread-safe.
+ * </p>
+ */
+public final class ComplexTextReader implements Closeable {
+    /** Default size of the character buffer. */
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    /** Number of values read at a time by {@link #readAll(Reader)}. */
+    private static final int CHUNK_SIZE = 1 << 12;
+    /** Start of a value. */
+    private static final char START = '(';
+    /** End of a value. */
+    private static final char END = ')';
+
+    /** Input. */
+    private final Reader in;
+    /** Characters read from the input. */
+    private char[] buffer;
+    /** View of {@link #buffer}. */
+    private CharBuffer view;
+    /** Index of the next character to parse. */
+    private int position;
+    /** Number of valid characters in the buffer. */
+    private int limit;
+    /** Whether the end of the input was reached. */
+    private boolean endOfInput;
+
+    /**
+     * @param in Input.
+     */
+    public ComplexTextReader(Reader in) {
+        this(in, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param in Input.
+     * @param bufferSize Initial size of the character buffer; it grows if
+     * a value is longer.
+     * @throws IllegalArgumentException if {@code bufferSize < 1}.
+     */
+    public ComplexTextReader(Reader in, int bufferSize) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size must be strictly positive: " + bufferSize);
+        }
+        this.in = in;
+        buffer = new char[bufferSize];
+        view = CharBuffer.wrap(buffer);
+    }
+
+    /**
+     * Reads all the values of the input.
+     *
+     * @param in Input (not closed).
+     * @return the interleaved real and imaginary parts.
+     * @throws IOException if the input cannot be read.
+     * @throws IllegalArgumentException if the text is not a sequence of
+     * complex numbers.
+     */
+    public static double[] readAll(Reader in) throws IOException {
+        final ComplexTextReader reader = new ComplexTextReader(in);
+        double[] data = new double[2 * CHUNK_SIZE];
+        int size = 0;
+        for (;;) {
+            if (data.length - 2 * size < 2 * CHUNK_SIZE) {
+                data = Arrays.copyOf(data, 2 * data.length);
+            }
+            final int n = reader.read(data, 2 * size, CHUNK_SIZE);
+            if (n < 0) {
+                return Arrays.copyOf(data, 2 * size);
+            }
+            size += n;
+        }
+    }
+
+    /**
+     * Reads up to {@code count} values; the real and imaginary parts of the
+     * {@code k}-th value are stored at {@code dest[destIndex + 2k]} and
+     * {@code dest[destIndex + 2k + 1]}.
+     *
+     * @param dest Interleaved output.
+     * @param destIndex Index of the first real part.
+     * @param count Maximum number of values to read.
+     * @return the number of values read, or -1 if the end of the input was
+     * reached before any value.
+     * @throws IOException if the input cannot be read.
+     * @throws IllegalArgumentException if the text is not a sequence of
+     * complex numbers.
+     * @throws IndexOutOfBoundsException if the output range is out of bounds.
+     */
+    public int read(double[] dest, int destIndex, int count) throws IOException {
+        if (destIndex < 0 || count < 0 || destIndex + 2L * count > dest.length) {
+            throw new IndexOutOfBoundsException("Cannot store " + count + " values at index " + destIndex +
+                                                " of an array of length " + dest.length);
+        }
+        int n = 0;
+        while (n < count) {
+            if (!skipSeparators()) {
+                return n == 0 ? -1 : n;
+            }
+            if (buffer[position] != START) {
+                throw new IllegalArgumentException("Unexpected character '" + buffer[position] +
+                                                   "' before value " + n);
+            }
+            int end = indexOfEnd(position);
+            while (end < 0) {
+                final int searched = limit - position;
+                if (!fill()) {
+                    throw new IllegalArgumentException("Missing end of value " + n);
+                }
+                end = indexOfEnd(position + searched);
+            }
+            position = ComplexParser.parse(view, position, end + 1, dest, destIndex + 2 * n);
+            n++;
+        }
+        return n;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Moves the position to the next character that is not a separator.
+     *
+     * @return {@code false} if the end of the input was reached.
+     * @throws IOException if the input cannot be read.
+     */
+    private boolean skipSeparators() throws IOException {
+        for (;;) {
+            while (position < limit && isSeparator(buffer[position])) {
+                position++;
+            }
+            if (position < limit) {
+                return true;
+            }
+            if (!fill()) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * @param c Character.
+     * @return whether the character separates values.
+     */
+    private static boolean isSeparator(char c) {
+        return c == ',' || c == ';' || Character.isWhitespace(c);
+    }
+
+    /**
+     * @param from Index where to start the search.
+     * @return the index of the first closing parenthesis, or -1.
+     */
+    private int indexOfEnd(int from) {
+        for (int i = from; i < limit; i++) {
+            if (buffer[i] == END) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Moves the unparsed characters to the start of the buffer, growing it
+     * if it is full, and reads more characters after them.
+     *
+     * @return {@code false} if no character could be read.
+     * @throws IOException if the input cannot be read.
+     */
+    private boolean fill() throws IOException {
+        if (endOfInput) {
+            return false;
+        }
+        final int remaining = limit - position;
+        if (remaining == buffer.length) {
+            buffer = Arrays.copyOf(buffer, 2 * buffer.length);
+            view = CharBuffer.wrap(buffer);
+        } else {
+            System.arraycopy(buffer, position, buffer, 0, remaining);
+        }
+        position = 0;
+        limit = remaining;
+        final int read = in.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            endOfInput = true;
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+}
@@ -21,8 +21,21 @@ import org.apache.commons.numbers.complex.Complex;
 
 /**
  * Static implementations of common {@link Complex} utilities functions.
+ * <p>
+ * The conversions between layouts create new arrays; {@link ComplexView}
+ * gives access to one layout in terms of another without copying, and
+ * {@link ComplexTensor} holds the multi-dimensional arrays in a single
+ * primitive array. The {@code interleaved2Split} and {@code split2Interleaved}
+ * methods convert between layouts in place.
+ * </p>
  */
 public class ComplexUtils {
+    /** Number of complex numbers converted through a buffer by the in-place layout conversions. */
+    private static final int LAYOUT_BLOCK = 512;
+    /** Smallest sum of squares whose square root is computed directly. */
+    private static final double SAFE_MIN = 0x1.0p-1000;
+    /** Largest sum of squares whose square root is computed directly. */
+    private static final double SAFE_MAX = 0x1.0p1000;
 
     /**
      * Utility class.
@@ -1491,6 +1504,274 @@ public class ComplexUtils {
         return c;
     }
 
+    // IN-PLACE LAYOUT METHODS
+
+    /**
+     * Converts an interleaved complex {@code double[]} array to split form, in
+     * place: the real parts are moved to the first half of the array and the
+     * imaginary parts to the second half, in the same order.
+     * <p>
+     * Blocks of {@value #LAYOUT_BLOCK} numbers are converted through a buffer
+     * of that size, and the converted blocks are merged recursively by
+     * rotations of the array, so that the extra memory does not depend on the
+     * length of the array; the time is \(O(n \log n)\).
+     * {@link ComplexView#ofSplit(double[])} gives access to the result.
+     * </p>
+     *
+     * @param data Interleaved data, replaced by split data.
+     * @throws IllegalArgumentException if the length of the array is odd.
+     */
+    public static void interleaved2Split(double[] data) {
+        final int n = half(data.length);
+        unshuffle(data, 0, n, new double[2 * Math.min(n, LAYOUT_BLOCK)]);
+    }
+
+    /**
+     * Converts an array holding real parts in its first half and imaginary
+     * parts in its second half to interleaved form, in place. This is the
+     * inverse of {@link #interleaved2Split(double[])}.
+     *
+     * @param data Split data, replaced by interleaved data.
+     * @throws IllegalArgumentException if the length of the array is odd.
+     */
+    public static void split2Interleaved(double[] data) {
+        final int n = half(data.length);
+        shuffle(data, 0, n, new double[2 * Math.min(n, LAYOUT_BLOCK)]);
+    }
+
+    /**
+     * Converts a 2D interleaved complex {@code double[][]} array, in the layout
+     * of {@link #complex2Interleaved(Complex[][], int)}, to split form in place.
+     * If {@code interleavedDim} is 0, the rows are reordered so that the real
+     * rows come first, followed by the imaginary rows; no value is copied.
+     * Otherwise, each row is converted by {@link #interleaved2Split(double[])}.
+     *
+     * @param data 2D interleaved array, replaced by split data.
+     * @param interleavedDim Depth level of the interleaved array.
+     * @throws IllegalArgumentException if {@code interleavedDim} is out of range
+     * or if the interleaved dimension has an odd length.
+     */
+    public static void interleaved2Split(double[][] data, int interleavedDim) {
+        convertLayout(data, checkInterleavedDim(interleavedDim, 1), true);
+    }
+
+    /**
+     * Converts a 2D array from the split form of
+     * {@link #interleaved2Split(double[][], int)} to interleaved form, in place.
+     *
+     * @param data 2D split array, replaced by interleaved data.
+     * @param interleavedDim Depth level of the interleaved array.
+     * @throws IllegalArgumentException if {@code interleavedDim} is out of range
+     * or if the interleaved dimension has an odd length.
+     */
+    public static void split2Interleaved(double[][] data, int interleavedDim) {
+        convertLayout(data, checkInterleavedDim(interleavedDim, 1), false);
+    }
+
+    /**
+     * Converts a 3D interleaved complex {@code double[][][]} array, in the layout
+     * of {@link #complex2Interleaved(Complex[][][], int)}, to split form in place,
+     * as described in {@link #interleaved2Split(double[][], int)}.
+     *
+     * @param data 3D interleaved array, replaced by split data.
+     * @param interleavedDim Depth level of the interleaved array.
+     * @throws IllegalArgumentException if {@code interleavedDim} is out of range
+     * or if the interleaved dimension has an odd length.
+     */
+    public static void interleaved2Split(double[][][] data, int interleavedDim) {
+        convertLayout(data, checkInterleavedDim(interleavedDim, 2), true);
+    }
+
+    /**
+     * Converts a 3D array from the split form of
+     * {@link #interleaved2Split(double[][][], int)} to interleaved form, in place.
+     *
+     * @param data 3D split array, replaced by interleaved data.
+     * @param interleavedDim Depth level of the interleaved array.
+     * @throws IllegalArgumentException if {@code interleavedDim} is out of range
+     * or if the interleaved dimension has an odd length.
+     */
+    public static void split2Interleaved(double[][][] data, int interleavedDim) {
+        convertLayout(data, checkInterleavedDim(interleavedDim, 2), false);
+    }
+
+    /**
+     * Converts a 4D interleaved complex {@code double[][][][]} array, in the layout
+     * of {@link #complex2Interleaved(Complex[][][][], int)}, to split form in place,
+     * as described in {@link #interleaved2Split(double[][], int)}.
+     *
+     * @param data 4D interleaved array, replaced by split data.
+     * @param interleavedDim Depth level of the interleaved array.
+     * @throws IllegalArgumentException if {@code interleavedDim} is out of range
+     * or if the interleaved dimension has an odd length.
+     */
+    public static void interleaved2Split(double[][][][] data, int interleavedDim) {
+        convertLayout(data, checkInterleavedDim(interleavedDim, 3), true);
+    }
+
+    /**
+     * Converts a 4D array from the split form of
+     * {@link #interleaved2Split(double[][][][], int)} to interleaved form, in place.
+     *
+     * @param data 4D split array, replaced by interleaved data.
+     * @param interleavedDim Depth level of the interleaved array.
+     * @throws IllegalArgumentException if {@code interleavedDim} is out of range
+     * or if the interleaved dimension has an odd length.
+     */
+    public static void split2Interleaved(double[][][][] data, int interleavedDim) {
+        convertLayout(data, checkInterleavedDim(interleavedDim, 3), false);
+    }
+
+    /**
+     * @param interleavedDim Depth level of the interleaved array.
+     * @param max Largest depth level.
+     * @return {@code interleavedDim}.
+     * @throws IndexOutOfRangeException if {@code interleavedDim} is out of range.
+     */
+    private static int checkInterleavedDim(int interleavedDim, int max) {
+        if (interleavedDim > max || interleavedDim < 0) {
+            throw new IndexOutOfRangeException(interleavedDim);
+        }
+        return interleavedDim;
+    }
+
+    /**
+     * @param length Length of an interleaved dimension.
+     * @return half the length.
+     * @throws IllegalArgumentException if the length is odd.
+     */
+    private static int half(int length) {
+        if ((length & 1) != 0) {
+            throw new IllegalArgumentException("Odd length of interleaved data: " + length);
+        }
+        return length / 2;
+    }
+
+    /**
+     * Converts the layout of a multi-dimensional array in place.
+     *
+     * @param data Array.
+     * @param dim Depth level, in {@code data}, of the interleaved array.
+     * @param toSplit Whether to convert to split form, rather than to interleaved form.
+     */
+    private static void convertLayout(Object[] data, int dim, boolean toSplit) {
+        if (dim == 0) {
+            // Reorder the sub-arrays.
+            final int n = half(data.length);
+            final Object[] copy = data.clone();
+            for (int i = 0; i < n; i++) {
+                if (toSplit) {
+                    data[i] = copy[2 * i];
+                    data[n + i] = copy[2 * i + 1];
+                } else {
+                    data[2 * i] = copy[i];
+                    data[2 * i + 1] = copy[n + i];
+                }
+            }
+        } else if (dim == 1 && data instanceof double[][]) {
+            for (final Object o : data) {
+                if (toSplit) {
+                    interleaved2Split((double[]) o);
+                } else {
+                    split2Interleaved((double[]) o);
+                }
+            }
+        } else {
+            for (final Object o : data) {
+                convertLayout((Object[]) o, dim - 1, toSplit);
+            }
+        }
+    }
+
+    /**
+     * Converts {@code n} interleaved numbers, starting with number {@code from},
+     * to split form.
+     *
+     * @param data Data.
+     * @param from Index of the first number.
+     * @param n Number of numbers.
+     * @param buffer Buffer of length at least {@code 2 * min(n, LAYOUT_BLOCK)}.
+     */
+    private static void unshuffle(double[] data, int from, int n, double[] buffer) {
+        final int base = 2 * from;
+        if (n <= LAYOUT_BLOCK) {
+            System.arraycopy(data, base, buffer, 0, 2 * n);
+            for (int i = 0; i < n; i++) {
+                data[base + i] = buffer[2 * i];
+                data[base + n + i] = buffer[2 * i + 1];
+            }
+            return;
+        }
+        final int h = n / 2;
+        unshuffle(data, from, h, buffer);
+        unshuffle(data, from + h, n - h, buffer);
+        // [R1 I1 R2 I2] -> [R1 R2 I1 I2]
+        rotate(data, base + h, base + 2 * h, base + n + h);
+    }
+
+    /**
+     * Converts {@code n} numbers in split form, starting with number {@code from},
+     * to interleaved form.
+     *
+     * @param data Data.
+     * @param from Index of the first number.
+     * @param n Number of numbers.
+     * @param buffer Buffer of length at least {@code 2 * min(n, LAYOUT_BLOCK)}.
+     */
+    private static void shuffle(double[] data, int from, int n, double[] buffer) {
+        final int base = 2 * from;
+        if (n <= LAYOUT_BLOCK) {
+            System.arraycopy(data, base, buffer, 0, 2 * n);
+            for (int i = 0; i < n; i++) {
+                data[base + 2 * i] = buffer[i];
+                data[base + 2 * i + 1] = buffer[n + i];
+            }
+            return;
+        }
+        final int h = n / 2;
+        // [R1 R2 I1 I2] -> [R1 I1 R2 I2]
+        rotate(data, base + h, base + n, base + n + h);
+        shuffle(data, from, h, buffer);
+        shuffle(data, from + h, n - h, buffer);
+    }
+
+    /**
+     * Exchanges the ranges {@code [from, mid)} and {@code [mid, to)} of an array.
+     *
+     * @param data Data.
+     * @param from Start of the first range.
+     * @param mid End of the first range and start of the second one.
+     * @param to End of the second range.
+     */
+    private static void rotate(double[] data, int from, int mid, int to) {
+        if (mid - from == to - mid) {
+            for (int i = from, j = mid; i < mid; i++, j++) {
+                final double t = data[i];
+                data[i] = data[j];
+                data[j] = t;
+            }
+        } else {
+            reverse(data, from, mid);
+            reverse(data, mid, to);
+            reverse(data, from, to);
+        }
+    }
+
+    /**
+     * Reverses the range {@code [from, to)} of an array.
+     *
+     * @param data Data.
+     * @param from Start of the range.
+     * @param to End of the range.
+     */
+    private static void reverse(double[] data, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            final double t = data[i];
+            data[i] = data[j];
+            data[j] = t;
+        }
+    }
+
     // MISC
 
     /**
@@ -1570,6 +1851,244 @@ public class ComplexUtils {
         return i;
     }
 
+    /**
+     * Computes the absolute values (magnitudes) of interleaved complex numbers
+     * into a caller-supplied array. The values are computed as
+     * \( \sqrt{x^2 + y^2} \), with {@link Math#hypot(double, double)} when the
+     * sum of squares could have overflowed or lost precision to underflow,
+     * and are within 1 ulp of the exact result. Unlike {@link Complex#abs()},
+     * a number with an infinite part has an infinite magnitude, even if the
+     * other part is NaN, as specified by C.99 standard G.6.
+     *
+     * @param interleaved Interleaved real and imaginary parts.
+     * @param result Magnitudes (output).
+     * @throws IllegalArgumentException if the length of the result is not
+     * half the length of the interleaved array.
+     */
+    public static void abs(double[] interleaved, double[] result) {
+        checkInterleaved(interleaved, result);
+        for (int i = 0; i < result.length; i++) {
+            result[i] = abs(interleaved[2 * i], interleaved[2 * i + 1]);
+        }
+    }
+
+    /**
+     * Computes the absolute values (magnitudes) of split complex numbers into
+     * a caller-supplied array, as in {@link #abs(double[], double[])}.
+     *
+     * @param real Real parts.
+     * @param imaginary Imaginary parts.
+     * @param result Magnitudes (output, can be one of the inputs).
+     * @throws IllegalArgumentException if the lengths of the arrays differ.
+     */
+    public static void abs(double[] real, double[] imaginary, double[] result) {
+        checkSplit(real, imaginary, result);
+        for (int i = 0; i < result.length; i++) {
+            result[i] = abs(real[i], imaginary[i]);
+        }
+    }
+
+    /**
+     * Computes the squared absolute values \( x^2 + y^2 \) of interleaved
+     * complex numbers into a caller-supplied array.
+     *
+     * @param interleaved Interleaved real and imaginary parts.
+     * @param result Squared magnitudes (output).
+     * @throws IllegalArgumentException if the length of the result is not
+     * half the length of the interleaved array.
+     */
+    public static void squaredAbs(double[] interleaved, double[] result) {
+        checkInterleaved(interleaved, result);
+        for (int i = 0; i < result.length; i++) {
+            final double x = interleaved[2 * i];
+            final double y = interleaved[2 * i + 1];
+            result[i] = x * x + y * y;
+        }
+    }
+
+    /**
+     * Computes the squared absolute values \( x^2 + y^2 \) of split complex
+     * numbers into a caller-supplied array.
+     *
+     * @param real Real parts.
+     * @param imaginary Imaginary parts.
+     * @param result Squared magnitudes (output, can be one of the inputs).
+     * @throws IllegalArgumentException if the lengths of the arrays differ.
+     */
+    public static void squaredAbs(double[] real, double[] imaginary, double[] result) {
+        checkSplit(real, imaginary, result);
+        for (int i = 0; i < result.length; i++) {
+            final double x = real[i];
+            final double y = imaginary[i];
+            result[i] = x * x + y * y;
+        }
+    }
+
+    /**
+     * Computes the arguments (phases) of interleaved complex numbers into a
+     * caller-supplied array, as {@link Complex#getArgument()}.
+     *
+     * @param interleaved Interleaved real and imaginary parts.
+     * @param result Arguments, in \( [-\pi, \pi] \) (output).
+     * @throws IllegalArgumentException if the length of the result is not
+     * half the length of the interleaved array.
+     */
+    public static void arg(double[] interleaved, double[] result) {
+        checkInterleaved(interleaved, result);
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Math.atan2(interleaved[2 * i + 1], interleaved[2 * i]);
+        }
+    }
+
+    /**
+     * Computes the arguments (phases) of split complex numbers into a
+     * caller-supplied array, as {@link Complex#getArgument()}.
+     *
+     * @param real Real parts.
+     * @param imaginary Imaginary parts.
+     * @param result Arguments, in \( [-\pi, \pi] \) (output, can be one of the inputs).
+     * @throws IllegalArgumentException if the lengths of the arrays differ.
+     */
+    public static void arg(double[] real, double[] imaginary, double[] result) {
+        checkSplit(real, imaginary, result);
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Math.atan2(imaginary[i], real[i]);
+        }
+    }
+
+    /**
+     * Computes the powers in decibels \( 10 \log_{10}(x^2 + y^2) \) of
+     * interleaved complex numbers into a caller-supplied array. The result
+     * is \( -\infty \) for zero, and stays finite for finite numbers whose
+     * squared magnitude overflows or underflows.
+     *
+     * @param interleaved Interleaved real and imaginary parts.
+     * @param result Powers in decibels (output).
+     * @throws IllegalArgumentException if the length of the result is not
+     * half the length of the interleaved array.
+     */
+    public static void decibels(double[] interleaved, double[] result) {
+        checkInterleaved(interleaved, result);
+        for (int i = 0; i < result.length; i++) {
+            result[i] = decibels(interleaved[2 * i], interleaved[2 * i + 1]);
+        }
+    }
+
+    /**
+     * Computes the powers in decibels of split complex numbers into a
+     * caller-supplied array, as in {@link #decibels(double[], double[])}.
+     *
+     * @param real Real parts.
+     * @param imaginary Imaginary parts.
+     * @param result Powers in decibels (output, can be one of the inputs).
+     * @throws IllegalArgumentException if the lengths of the arrays differ.
+     */
+    public static void decibels(double[] real, double[] imaginary, double[] result) {
+        checkSplit(real, imaginary, result);
+        for (int i = 0; i < result.length; i++) {
+            result[i] = decibels(real[i], imaginary[i]);
+        }
+    }
+
+    /**
+     * Computes the absolute values and the arguments of interleaved complex
+     * numbers, in a single pass over the data, into caller-supplied arrays.
+     * The values are those of {@link #abs(double[], double[])} and
+     * {@link #arg(double[], double[])}.
+     *
+     * @param interleaved Interleaved real and imaginary parts.
+     * @param abs Magnitudes (output).
+     * @param arg Arguments (output).
+     * @throws IllegalArgumentException if the length of either output is not
+     * half the length of the interleaved array.
+     */
+    public static void absArg(double[] interleaved, double[] abs, double[] arg) {
+        checkInterleaved(interleaved, abs);
+        checkInterleaved(interleaved, arg);
+        for (int i = 0; i < abs.length; i++) {
+            final double x = interleaved[2 * i];
+            final double y = interleaved[2 * i + 1];
+            abs[i] = abs(x, y);
+            arg[i] = Math.atan2(y, x);
+        }
+    }
+
+    /**
+     * Computes the absolute values and the arguments of split complex
+     * numbers, in a single pass over the data, into caller-supplied arrays.
+     * This is the conversion from Cartesian to polar coordinates, which can
+     * be done in place by passing the real and imaginary parts as outputs.
+     *
+     * @param real Real parts.
+     * @param imaginary Imaginary parts.
+     * @param abs Magnitudes (output).
+     * @param arg Arguments (output).
+     * @throws IllegalArgumentException if the lengths of the arrays differ.
+     */
+    public static void absArg(double[] real, double[] imaginary, double[] abs, double[] arg) {
+        checkSplit(real, imaginary, abs);
+        checkSplit(real, imaginary, arg);
+        for (int i = 0; i < abs.length; i++) {
+            final double x = real[i];
+            final double y = imaginary[i];
+            abs[i] = abs(x, y);
+            arg[i] = Math.atan2(y, x);
+        }
+    }
+
+    /**
+     * @param x Real part.
+     * @param y Imaginary part.
+     * @return the magnitude.
+     */
+    private static double abs(double x, double y) {
+        final double sum = x * x + y * y;
+        if (sum >= SAFE_MIN && sum <= SAFE_MAX) {
+            return Math.sqrt(sum);
+        }
+        // Zero, extreme, infinite or NaN parts.
+        return Math.hypot(x, y);
+    }
+
+    /**
+     * @param x Real part.
+     * @param y Imaginary part.
+     * @return the power in decibels.
+     */
+    private static double decibels(double x, double y) {
+        final double sum = x * x + y * y;
+        if (sum >= SAFE_MIN && sum <= SAFE_MAX) {
+            return 10 * Math.log10(sum);
+        }
+        return 20 * Math.log10(Math.hypot(x, y));
+    }
+
+    /**
+     * @param interleaved Interleaved data.
+     * @param result Result.
+     * @throws IllegalArgumentException if the length of the result is not
+     * half the length of the interleaved data.
+     */
+    private static void checkInterleaved(double[] interleaved, double[] result) {
+        if (interleaved.length != 2 * result.length) {
+            throw new IllegalArgumentException("Expected interleaved length " + 2 * result.length +
+                " but was " + interleaved.length);
+        }
+    }
+
+    /**
+     * @param real Real parts.
+     * @param imaginary Imaginary parts.
+     * @param result Result.
+     * @throws IllegalArgumentException if the lengths of the arrays differ.
+     */
+    private static void checkSplit(double[] real, double[] imaginary, double[] result) {
+        if (real.length != result.length || imaginary.length != result.length) {
+            throw new IllegalArgumentException("Length mismatch: " + real.length + ", " +
+                imaginary.length + ", " + result.length);
+        }
+    }
+
     /**
      * Exception to be throw when a negative value is passed as the modulus.
      */
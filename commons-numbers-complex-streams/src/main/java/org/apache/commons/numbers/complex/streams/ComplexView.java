@@ -0,0 +1,611 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.complex.streams;
+
+import java.util.Arrays;
+
+import org.apache.commons.numbers.complex.Complex;
+import org.apache.commons.numbers.complex.ComplexArray;
+
+/**
+ * Indexed access to complex numbers held in one of the layouts of
+ * {@link ComplexUtils}: an interleaved {@code double[]} array, split arrays
+ * of real and imaginary parts, or a {@code Complex[]} array.
+ * <p>
+ * A view does not copy its storage: reads and writes, including those of
+ * the {@link #real()}, {@link #imaginary()} and {@link #interleaved()} part
+ * views and of {@linkplain #subView(int, int) sub-views}, go to the
+ * underlying arrays. An interleaved array is thus seen as split arrays,
+ * and split arrays as an interleaved array, without conversion. Arrays in
+ * a given layout are created only by the {@code to...} methods.
+ * </p><p>
+ * Writing to a view of a {@code Complex[]} array replaces its elements,
+ * since {@link Complex} is immutable.
+ * </p><p>
+ * Instances are not thread-safe.
+ * </p>
+ */
+public abstract class ComplexView {
+    /**
+     * Package-private constructor: the implementations are nested classes.
+     */
+    ComplexView() {}
+
+    /**
+     * Creates a view of an interleaved array.
+     *
+     * @param interleaved Interleaved real and imaginary parts.
+     * @return a new view.
+     * @throws IllegalArgumentException if the length of the array is odd.
+     */
+    public static ComplexView ofInterleaved(double[] interleaved) {
+        if ((interleaved.length & 1) != 0) {
+            throw new IllegalArgumentException("Odd length of interleaved data: " + interleaved.length);
+        }
+        return new ArrayView(interleaved, 0, interleaved, 1, 2, interleaved.length / 2);
+    }
+
+    /**
+     * Creates a view of split arrays.
+     *
+     * @param real Real parts.
+     * @param imaginary Imaginary parts.
+     * @return a new view.
+     * @throws IllegalArgumentException if the arrays do not have the same length.
+     */
+    public static ComplexView ofSplit(double[] real, double[] imaginary) {
+        if (real.length != imaginary.length) {
+            throw new IllegalArgumentException("Length mismatch: " + real.length + " != " + imaginary.length);
+        }
+        return new ArrayView(real, 0, imaginary, 0, 1, real.length);
+    }
+
+    /**
+     * Creates a view of an array holding the real parts in its first half
+     * and the imaginary parts in its second half, as produced by
+     * {@link ComplexUtils#interleaved2Split(double[])}.
+     *
+     * @param split Real parts followed by imaginary parts.
+     * @return a new view.
+     * @throws IllegalArgumentException if the length of the array is odd.
+     */
+    public static ComplexView ofSplit(double[] split) {
+        if ((split.length & 1) != 0) {
+            throw new IllegalArgumentException("Odd length of split data: " + split.length);
+        }
+        final int n = split.length / 2;
+        return new ArrayView(split, 0, split, n, 1, n);
+    }
+
+    /**
+     * Creates a view of an array of {@link Complex} instances.
+     *
+     * @param values Values.
+     * @return a new view.
+     */
+    public static ComplexView of(Complex[] values) {
+        return new ObjectView(values, 0, values.length);
+    }
+
+    /**
+     * Creates a view of the {@linkplain ComplexArray#getData() interleaved data}
+     * of a vector.
+     *
+     * @param values Values.
+     * @return a new view.
+     */
+    public static ComplexView of(ComplexArray values) {
+        return ofInterleaved(values.getData());
+    }
+
+    /**
+     * @return the number of complex numbers.
+     */
+    public abstract int size();
+
+    /**
+     * Gets the real part of an element.
+     *
+     * @param index Index.
+     * @return the real part.
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     */
+    public abstract double getReal(int index);
+
+    /**
+     * Gets the imaginary part of an element.
+     *
+     * @param index Index.
+     * @return the imaginary part.
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     */
+    public abstract double getImaginary(int index);
+
+    /**
+     * Sets the real part of an element.
+     *
+     * @param index Index.
+     * @param value Real part.
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     */
+    public abstract void setReal(int index, double value);
+
+    /**
+     * Sets the imaginary part of an element.
+     *
+     * @param index Index.
+     * @param value Imaginary part.
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     */
+    public abstract void setImaginary(int index, double value);
+
+    /**
+     * Gets an element.
+     *
+     * @param index Index.
+     * @return the element.
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     */
+    public Complex get(int index) {
+        return Complex.ofCartesian(getReal(index), getImaginary(index));
+    }
+
+    /**
+     * Sets an element.
+     *
+     * @param index Index.
+     * @param real Real part.
+     * @param imaginary Imaginary part.
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     */
+    public void set(int index, double real, double imaginary) {
+        setReal(index, real);
+        setImaginary(index, imaginary);
+    }
+
+    /**
+     * Sets an element.
+     *
+     * @param index Index.
+     * @param value Value.
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     */
+    public void set(int index, Complex value) {
+        set(index, value.getReal(), value.getImaginary());
+    }
+
+    /**
+     * Creates a view of a range of elements.
+     *
+     * @param from First element.
+     * @param to Element after the last one.
+     * @return a new view.
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    public abstract ComplexView subView(int from, int to);
+
+    /**
+     * @return a view of the real parts.
+     */
+    public DoubleView real() {
+        return new PartView(this, false);
+    }
+
+    /**
+     * @return a view of the imaginary parts.
+     */
+    public DoubleView imaginary() {
+        return new PartView(this, true);
+    }
+
+    /**
+     * @return a view of the alternating real and imaginary parts, of
+     * size {@code 2 * size()}.
+     */
+    public DoubleView interleaved() {
+        return new InterleavedView(this);
+    }
+
+    /**
+     * Copies the elements.
+     *
+     * @return a new array.
+     */
+    public Complex[] toComplexArray() {
+        final Complex[] result = new Complex[size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Copies the elements, interleaved.
+     *
+     * @return a new array.
+     */
+    public double[] toInterleaved() {
+        return interleaved().toArray();
+    }
+
+    /**
+     * Copies the real parts.
+     *
+     * @return a new array.
+     */
+    public double[] toReal() {
+        return real().toArray();
+    }
+
+    /**
+     * Copies the imaginary parts.
+     *
+     * @return a new array.
+     */
+    public double[] toImaginary() {
+        return imaginary().toArray();
+    }
+
+    /**
+     * @param from First element.
+     * @param to Element after the last one.
+     * @param size Size.
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    static void checkRange(int from, int to, int size) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for size " + size);
+        }
+    }
+
+    /**
+     * View of parts stored in arrays: the real and imaginary parts of element
+     * {@code i} are {@code re[reBase + stride * i]} and {@code im[imBase + stride * i]}.
+     */
+    private static final class ArrayView extends ComplexView {
+        /** Array of the real parts. */
+        private final double[] re;
+        /** Index of the first real part. */
+        private final int reBase;
+        /** Array of the imaginary parts. */
+        private final double[] im;
+        /** Index of the first imaginary part. */
+        private final int imBase;
+        /** Distance between consecutive parts. */
+        private final int stride;
+        /** Number of elements. */
+        private final int size;
+
+        /**
+         * @param re Array of the real parts.
+         * @param reBase Index of the first real part.
+         * @param im Array of the imaginary parts.
+         * @param imBase Index of the first imaginary part.
+         * @param stride Distance between consecutive parts.
+         * @param size Number of elements.
+         */
+        ArrayView(double[] re, int reBase, double[] im, int imBase, int stride, int size) {
+            this.re = re;
+            this.reBase = reBase;
+            this.im = im;
+            this.imBase = imBase;
+            this.stride = stride;
+            this.size = size;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int size() {
+            return size;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getReal(int index) {
+            DoubleView.checkIndex(index, size);
+            return re[reBase + stride * index];
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getImaginary(int index) {
+            DoubleView.checkIndex(index, size);
+            return im[imBase + stride * index];
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void setReal(int index, double value) {
+            DoubleView.checkIndex(index, size);
+            re[reBase + stride * index] = value;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void setImaginary(int index, double value) {
+            DoubleView.checkIndex(index, size);
+            im[imBase + stride * index] = value;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public ComplexView subView(int from, int to) {
+            checkRange(from, to, size);
+            return new ArrayView(re, reBase + stride * from, im, imBase + stride * from, stride, to - from);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public DoubleView real() {
+            return new StridedView(re, reBase, stride, size);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public DoubleView imaginary() {
+            return new StridedView(im, imBase, stride, size);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public DoubleView interleaved() {
+            if (re == im && stride == 2 && imBase == reBase + 1) {
+                return new StridedView(re, reBase, 1, 2 * size);
+            }
+            return super.interleaved();
+        }
+    }
+
+    /**
+     * View of a {@code Complex[]} array.
+     */
+    private static final class ObjectView extends ComplexView {
+        /** Values. */
+        private final Complex[] values;
+        /** Index of the first element. */
+        private final int base;
+        /** Number of elements. */
+        private final int size;
+
+        /**
+         * @param values Values.
+         * @param base Index of the first element.
+         * @param size Number of elements.
+         */
+        ObjectView(Complex[] values, int base, int size) {
+            this.values = values;
+            this.base = base;
+            this.size = size;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int size() {
+            return size;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Complex get(int index) {
+            DoubleView.checkIndex(index, size);
+            return values[base + index];
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getReal(int index) {
+            return get(index).getReal();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getImaginary(int index) {
+            return get(index).getImaginary();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void set(int index, Complex value) {
+            DoubleView.checkIndex(index, size);
+            values[base + index] = value;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void set(int index, double real, double imaginary) {
+            set(index, Complex.ofCartesian(real, imaginary));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void setReal(int index, double value) {
+            set(index, value, getImaginary(index));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void setImaginary(int index, double value) {
+            set(index, getReal(index), value);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public ComplexView subView(int from, int to) {
+            checkRange(from, to, size);
+            return new ObjectView(values, base + from, to - from);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Complex[] toComplexArray() {
+            return Arrays.copyOfRange(values, base, base + size);
+        }
+    }
+
+    /**
+     * View of the values {@code data[base + stride * i]}.
+     */
+    private static final class StridedView extends DoubleView {
+        /** Values. */
+        private final double[] data;
+        /** Index of the first value. */
+        private final int base;
+        /** Distance between consecutive values. */
+        private final int stride;
+        /** Number of values. */
+        private final int size;
+
+        /**
+         * @param data Values.
+         * @param base Index of the first value.
+         * @param stride Distance between consecutive values.
+         * @param size Number of values.
+         */
+        StridedView(double[] data, int base, int stride, int size) {
+            this.data = data;
+            this.base = base;
+            this.stride = stride;
+            this.size = size;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int size() {
+            return size;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double get(int index) {
+            checkIndex(index, size);
+            return data[base + stride * index];
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void set(int index, double value) {
+            checkIndex(index, size);
+            data[base + stride * index] = value;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double[] toArray() {
+            if (stride == 1) {
+                return Arrays.copyOfRange(data, base, base + size);
+            }
+            final double[] result = new double[size];
+            for (int i = 0; i < size; i++) {
+                result[i] = data[base + stride * i];
+            }
+            return result;
+        }
+    }
+
+    /**
+     * View of the real or imaginary parts of a complex view.
+     */
+    private static final class PartView extends DoubleView {
+        /** Complex numbers. */
+        private final ComplexView view;
+        /** Whether the parts are the imaginary parts. */
+        private final boolean imaginary;
+
+        /**
+         * @param view Complex numbers.
+         * @param imaginary Whether the parts are the imaginary parts.
+         */
+        PartView(ComplexView view, boolean imaginary) {
+            this.view = view;
+            this.imaginary = imaginary;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int size() {
+            return view.size();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double get(int index) {
+            return imaginary ? view.getImaginary(index) : view.getReal(index);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void set(int index, double value) {
+            if (imaginary) {
+                view.setImaginary(index, value);
+            } else {
+                view.setReal(index, value);
+            }
+        }
+    }
+
+    /**
+     * View of the alternating real and imaginary parts of a complex view.
+     */
+    private static final class InterleavedView extends DoubleView {
+        /** Complex numbers. */
+        private final ComplexView view;
+
+        /**
+         * @param view Complex numbers.
+         */
+        InterleavedView(ComplexView view) {
+            this.view = view;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int size() {
+            return 2 * view.size();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double get(int index) {
+            checkIndex(index, size());
+            return (index & 1) == 0 ? view.getReal(index >> 1) : view.getImaginary(index >> 1);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void set(int index, double value) {
+            checkIndex(index, size());
+            if ((index & 1) == 0) {
+                view.setReal(index >> 1, value);
+            } else {
+                view.setImaginary(index >> 1, value);
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double[] toArray() {
+            final int n = view.size();
+            final double[] result = new double[2 * n];
+            for (int i = 0; i < n; i++) {
+                result[2 * i] = view.getReal(i);
+                result[2 * i + 1] = view.getImaginary(i);
+            }
+            return result;
+        }
+    }
+}
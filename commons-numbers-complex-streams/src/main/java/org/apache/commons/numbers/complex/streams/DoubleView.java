@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.complex.streams;
+
+/**
+ * Indexed access to a sequence of {@code double} values held by another
+ * object, such as the real parts of a {@link ComplexView}. Reads and writes
+ * go to the underlying storage; nothing is copied until {@link #toArray()}
+ * is called.
+ * <p>
+ * Instances are not thread-safe.
+ * </p>
+ */
+public abstract class DoubleView {
+    /**
+     * Package-private constructor: the implementations are provided by
+     * {@link ComplexView}.
+     */
+    DoubleView() {}
+
+    /**
+     * @return the number of values.
+     */
+    public abstract int size();
+
+    /**
+     * Gets a value.
+     *
+     * @param index Index.
+     * @return the value.
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     */
+    public abstract double get(int index);
+
+    /**
+     * Sets a value, in the underlying storage.
+     *
+     * @param index Index.
+     * @param value Value.
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     */
+    public abstract void set(int index, double value);
+
+    /**
+     * Copies the values.
+     *
+     * @return a new array.
+     */
+    public double[] toArray() {
+        final double[] result = new double[size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = get(i);
+        }
+        return result;
+    }
+
+    /**
+     * @param index Index.
+     * @param size Size.
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     */
+    static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+    }
+}
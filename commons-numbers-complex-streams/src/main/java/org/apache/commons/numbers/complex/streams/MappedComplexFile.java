@@ -0,0 +1,710 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.complex.streams;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.commons.numbers.complex.Complex;
+
+/**
+ * Vector of complex numbers stored in a memory-mapped binary file.
+ * <p>
+ * The file starts with a 16-byte header:
+ * <ul>
+ *  <li>bytes 0-3: the ASCII characters {@code CPLX};</li>
+ *  <li>byte 4: the format version, 1;</li>
+ *  <li>byte 5: the byte order of the values, {@code 'B'} (big-endian) or
+ *      {@code 'L'} (little-endian);</li>
+ *  <li>byte 6: the number of bytes of each part, 8 ({@link Type#FLOAT64})
+ *      or 4 ({@link Type#FLOAT32});</li>
+ *  <li>byte 7: zero;</li>
+ *  <li>bytes 8-15: the number of complex values, as a big-endian
+ *      {@code long}.</li>
+ * </ul>
+ * The real and imaginary parts follow, interleaved (the layout of
+ * {@link ComplexUtils#complex2Interleaved(Complex[])}).
+ * </p><p>
+ * The data is accessed through memory mapping, so that files larger than
+ * the heap can be processed: values are read and written in place, and
+ * {@link #window(long, int)} and {@link #floatWindow(long, int)} return
+ * views of a range of the file without copying it. Since a mapping cannot
+ * exceed 2 GiB, the file is mapped in segments.
+ * </p><p>
+ * Reading and writing distinct values from several threads is safe.
+ * Following the contract of {@link MappedByteBuffer}, the mapping remains
+ * valid until the buffers are garbage collected, even after {@link #close()}.
+ * </p>
+ */
+public final class MappedComplexFile implements Closeable {
+    /** Size of the header. */
+    static final int HEADER_BYTES = 16;
+    /** Default size of the mapped segments (1 GiB). */
+    private static final int DEFAULT_SEGMENT_BYTES = 1 << 30;
+    /** File signature. */
+    private static final byte[] MAGIC = {'C', 'P', 'L', 'X'};
+    /** Format version. */
+    private static final byte VERSION = 1;
+    /** Header byte of {@link ByteOrder#BIG_ENDIAN}. */
+    private static final byte BIG_ENDIAN = 'B';
+    /** Header byte of {@link ByteOrder#LITTLE_ENDIAN}. */
+    private static final byte LITTLE_ENDIAN = 'L';
+
+    /**
+     * Type of the stored parts.
+     */
+    public enum Type {
+        /** 64-bit IEEE 754 numbers. */
+        FLOAT64(Double.BYTES),
+        /** 32-bit IEEE 754 numbers; values are rounded to {@code float} when written. */
+        FLOAT32(Float.BYTES);
+
+        /** Size of a part. */
+        private final int bytes;
+
+        /**
+         * @param bytes Size of a part.
+         */
+        Type(int bytes) {
+            this.bytes = bytes;
+        }
+
+        /**
+         * @return the size of a real or imaginary part, in bytes.
+         */
+        public int getBytes() {
+            return bytes;
+        }
+
+        /**
+         * @param bytes Size of a part.
+         * @return the type.
+         * @throws IOException if there is no such type.
+         */
+        static Type of(int bytes) throws IOException {
+            for (final Type t : values()) {
+                if (t.bytes == bytes) {
+                    return t;
+                }
+            }
+            throw new IOException("Unsupported value size: " + bytes);
+        }
+    }
+
+    /** File. */
+    private final FileChannel channel;
+    /** Number of complex values. */
+    private final long size;
+    /** Type of the parts. */
+    private final Type type;
+    /** Byte order of the parts. */
+    private final ByteOrder order;
+    /** Whether the file can be modified. */
+    private final boolean writable;
+    /** Number of parts in each segment. */
+    private final int partsPerSegment;
+    /** Mapped segments. */
+    private final MappedByteBuffer[] segments;
+    /** Views of the segments ({@link Type#FLOAT64}). */
+    private final DoubleBuffer[] doubles;
+    /** Views of the segments ({@link Type#FLOAT32}). */
+    private final FloatBuffer[] floats;
+
+    /**
+     * @param channel File.
+     * @param size Number of complex values.
+     * @param type Type of the parts.
+     * @param order Byte order of the parts.
+     * @param writable Whether the file can be modified.
+     * @param segmentBytes Size of the mapped segments (a multiple of 16).
+     * @throws IOException if the file cannot be mapped.
+     */
+    private MappedComplexFile(FileChannel channel, long size, Type type, ByteOrder order,
+                              boolean writable, int segmentBytes) throws IOException {
+        this.channel = channel;
+        this.size = size;
+        this.type = type;
+        this.order = order;
+        this.writable = writable;
+        partsPerSegment = segmentBytes / type.bytes;
+        final long dataBytes = 2 * size * type.bytes;
+        final int count = (int) ((dataBytes + segmentBytes - 1) / segmentBytes);
+        segments = new MappedByteBuffer[count];
+        doubles = type == Type.FLOAT64 ? new DoubleBuffer[count] : null;
+        floats = type == Type.FLOAT32 ? new FloatBuffer[count] : null;
+        for (int i = 0; i < count; i++) {
+            final long start = (long) i * segmentBytes;
+            segments[i] = map(start, (int) Math.min(segmentBytes, dataBytes - start));
+            final ByteBuffer b = segments[i].duplicate().order(order);
+            if (doubles != null) {
+                doubles[i] = b.asDoubleBuffer();
+            } else {
+                floats[i] = b.asFloatBuffer();
+            }
+        }
+    }
+
+    /**
+     * Creates a file for the given number of values, initialized to zero,
+     * and maps it for reading and writing. An existing file is replaced.
+     *
+     * @param path File.
+     * @param size Number of complex values.
+     * @param type Type of the parts.
+     * @param order Byte order of the parts.
+     * @return the mapped file.
+     * @throws IOException if the file cannot be created.
+     * @throws IllegalArgumentException if {@code size < 0}.
+     */
+    public static MappedComplexFile create(Path path, long size, Type type, ByteOrder order) throws IOException {
+        return create(path, size, type, order, DEFAULT_SEGMENT_BYTES);
+    }
+
+    /**
+     * @param path File.
+     * @param size Number of complex values.
+     * @param type Type of the parts.
+     * @param order Byte order of the parts.
+     * @param segmentBytes Size of the mapped segments (a multiple of 16).
+     * @return the mapped file.
+     * @throws IOException if the file cannot be created.
+     */
+    static MappedComplexFile create(Path path, long size, Type type, ByteOrder order,
+                                    int segmentBytes) throws IOException {
+        if (size < 0) {
+            throw new IllegalArgumentException("Negative size: " + size);
+        }
+        final FileChannel channel = FileChannel.open(path,
+                                                     StandardOpenOption.CREATE,
+                                                     StandardOpenOption.TRUNCATE_EXISTING,
+                                                     StandardOpenOption.READ,
+                                                     StandardOpenOption.WRITE);
+        // The channel is closed if the file cannot be mapped.
+        boolean mapped = false;
+        try {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.put(MAGIC)
+                .put(VERSION)
+                .put(order == ByteOrder.LITTLE_ENDIAN ? LITTLE_ENDIAN : BIG_ENDIAN)
+                .put((byte) type.bytes)
+                .put((byte) 0)
+                .putLong(size)
+                .flip();
+            writeFully(channel, header, 0);
+            final long length = HEADER_BYTES + 2 * size * type.bytes;
+            if (length > HEADER_BYTES) {
+                // Extend the file: the gap reads as zeros.
+                writeFully(channel, ByteBuffer.allocate(1), length - 1);
+            }
+            final MappedComplexFile file = new MappedComplexFile(channel, size, type, order, true, segmentBytes);
+            mapped = true;
+            return file;
+        } finally {
+            if (!mapped) {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Maps an existing file for reading.
+     *
+     * @param path File.
+     * @return the mapped file.
+     * @throws IOException if the file cannot be read or is not in the
+     * expected format.
+     */
+    public static MappedComplexFile open(Path path) throws IOException {
+        return open(path, false);
+    }
+
+    /**
+     * Maps an existing file.
+     *
+     * @param path File.
+     * @param writable Whether the values can be modified.
+     * @return the mapped file.
+     * @throws IOException if the file cannot be read or is not in the
+     * expected format.
+     */
+    public static MappedComplexFile open(Path path, boolean writable) throws IOException {
+        return open(path, writable, DEFAULT_SEGMENT_BYTES);
+    }
+
+    /**
+     * @param path File.
+     * @param writable Whether the values can be modified.
+     * @param segmentBytes Size of the mapped segments (a multiple of 16).
+     * @return the mapped file.
+     * @throws IOException if the file cannot be read or is not in the
+     * expected format.
+     */
+    static MappedComplexFile open(Path path, boolean writable, int segmentBytes) throws IOException {
+        final FileChannel channel = writable ?
+            FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE) :
+            FileChannel.open(path, StandardOpenOption.READ);
+        // The channel is closed if the file cannot be mapped.
+        boolean mapped = false;
+        try {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new IOException("Truncated header");
+                }
+            }
+            header.flip();
+            for (final byte b : MAGIC) {
+                if (header.get() != b) {
+                    throw new IOException("Not a complex data file: " + path);
+                }
+            }
+            final byte version = header.get();
+            if (version != VERSION) {
+                throw new IOException("Unsupported version: " + version);
+            }
+            final byte orderByte = header.get();
+            if (orderByte != BIG_ENDIAN && orderByte != LITTLE_ENDIAN) {
+                throw new IOException("Invalid byte order: " + orderByte);
+            }
+            final Type type = Type.of(header.get());
+            header.get();
+            final long size = header.getLong();
+            if (size < 0 ||
+                size > (Long.MAX_VALUE - HEADER_BYTES) / (2 * type.bytes) ||
+                channel.size() < HEADER_BYTES + 2 * size * type.bytes) {
+                throw new IOException("Invalid size: " + size + " values in " + channel.size() + " bytes");
+            }
+            final MappedComplexFile file =
+                new MappedComplexFile(channel, size,
+                                      type,
+                                      orderByte == LITTLE_ENDIAN ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN,
+                                      writable, segmentBytes);
+            mapped = true;
+            return file;
+        } finally {
+            if (!mapped) {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Writes interleaved values to a new file.
+     *
+     * @param path File.
+     * @param interleaved Alternating real and imaginary parts.
+     * @param type Type of the parts.
+     * @param order Byte order of the parts.
+     * @throws IOException if the file cannot be written.
+     * @throws IllegalArgumentException if the length of the array is odd.
+     */
+    public static void write(Path path, double[] interleaved, Type type, ByteOrder order) throws IOException {
+        checkInterleaved(interleaved);
+        try (MappedComplexFile file = create(path, interleaved.length / 2, type, order)) {
+            file.write(0, interleaved, 0, interleaved.length / 2);
+            file.force();
+        }
+    }
+
+    /**
+     * Reads all the values of a file.
+     *
+     * @param path File.
+     * @return the interleaved real and imaginary parts.
+     * @throws IOException if the file cannot be read or is not in the
+     * expected format, or if it holds too many values for an array.
+     */
+    public static double[] readAll(Path path) throws IOException {
+        try (MappedComplexFile file = open(path)) {
+            if (file.size > Integer.MAX_VALUE / 2) {
+                throw new IOException("Too many values for an array: " + file.size);
+            }
+            final int n = (int) file.size;
+            final double[] data = new double[2 * n];
+            file.read(0, data, 0, n);
+            return data;
+        }
+    }
+
+    /**
+     * @return the number of complex values.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return the type of the parts.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return the byte order of the parts.
+     */
+    public ByteOrder getOrder() {
+        return order;
+    }
+
+    /**
+     * @return whether the values can be modified.
+     */
+    public boolean isWritable() {
+        return writable;
+    }
+
+    /**
+     * @param index Index of the value.
+     * @return the real part.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public double getReal(long index) {
+        checkRange(index, 1);
+        return getPart(2 * index);
+    }
+
+    /**
+     * @param index Index of the value.
+     * @return the imaginary part.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public double getImaginary(long index) {
+        checkRange(index, 1);
+        return getPart(2 * index + 1);
+    }
+
+    /**
+     * @param index Index of the value.
+     * @return the value.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public Complex get(long index) {
+        checkRange(index, 1);
+        return Complex.ofCartesian(getPart(2 * index), getPart(2 * index + 1));
+    }
+
+    /**
+     * @param index Index of the value.
+     * @param real Real part.
+     * @param imaginary Imaginary part.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     * @throws java.nio.ReadOnlyBufferException if the file is not writable.
+     */
+    public void set(long index, double real, double imaginary) {
+        checkRange(index, 1);
+        setPart(2 * index, real);
+        setPart(2 * index + 1, imaginary);
+    }
+
+    /**
+     * Copies values into an interleaved array.
+     *
+     * @param index Index of the first value.
+     * @param dest Interleaved output.
+     * @param destIndex Index of the first complex value in {@code dest}.
+     * @param count Number of values.
+     * @throws IndexOutOfBoundsException if a range is out of bounds.
+     */
+    public void read(long index, double[] dest, int destIndex, int count) {
+        checkRange(index, count);
+        checkArray(dest.length / 2, destIndex, count);
+        long p = 2 * index;
+        int i = 2 * destIndex;
+        int remaining = 2 * count;
+        while (remaining > 0) {
+            final int segment = (int) (p / partsPerSegment);
+            final int offset = (int) (p % partsPerSegment);
+            final int n = Math.min(remaining, partsPerSegment - offset);
+            if (doubles != null) {
+                final DoubleBuffer b = doubles[segment].duplicate();
+                b.position(offset);
+                b.get(dest, i, n);
+            } else {
+                final FloatBuffer b = floats[segment];
+                for (int j = 0; j < n; j++) {
+                    dest[i + j] = b.get(offset + j);
+                }
+            }
+            p += n;
+            i += n;
+            remaining -= n;
+        }
+    }
+
+    /**
+     * Copies values into separate arrays of real and imaginary parts.
+     *
+     * @param index Index of the first value.
+     * @param real Real parts (output).
+     * @param imaginary Imaginary parts (output).
+     * @param destIndex Index of the first value in the arrays.
+     * @param count Number of values.
+     * @throws IndexOutOfBoundsException if a range is out of bounds.
+     */
+    public void read(long index, double[] real, double[] imaginary, int destIndex, int count) {
+        checkRange(index, count);
+        checkArray(Math.min(real.length, imaginary.length), destIndex, count);
+        for (int k = 0; k < count; k++) {
+            real[destIndex + k] = getPart(2 * (index + k));
+            imaginary[destIndex + k] = getPart(2 * (index + k) + 1);
+        }
+    }
+
+    /**
+     * Copies values into new {@code Complex} objects.
+     *
+     * @param index Index of the first value.
+     * @param count Number of values.
+     * @return the values.
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    public Complex[] read(long index, int count) {
+        checkRange(index, count);
+        final Complex[] result = new Complex[count];
+        for (int k = 0; k < count; k++) {
+            result[k] = Complex.ofCartesian(getPart(2 * (index + k)), getPart(2 * (index + k) + 1));
+        }
+        return result;
+    }
+
+    /**
+     * Copies values from an interleaved array.
+     *
+     * @param index Index of the first value in the file.
+     * @param src Interleaved input.
+     * @param srcIndex Index of the first complex value in {@code src}.
+     * @param count Number of values.
+     * @throws IndexOutOfBoundsException if a range is out of bounds.
+     * @throws java.nio.ReadOnlyBufferException if the file is not writable.
+     */
+    public void write(long index, double[] src, int srcIndex, int count) {
+        checkRange(index, count);
+        checkArray(src.length / 2, srcIndex, count);
+        long p = 2 * index;
+        int i = 2 * srcIndex;
+        int remaining = 2 * count;
+        while (remaining > 0) {
+            final int segment = (int) (p / partsPerSegment);
+            final int offset = (int) (p % partsPerSegment);
+            final int n = Math.min(remaining, partsPerSegment - offset);
+            if (doubles != null) {
+                final DoubleBuffer b = doubles[segment].duplicate();
+                b.position(offset);
+                b.put(src, i, n);
+            } else {
+                final FloatBuffer b = floats[segment];
+                for (int j = 0; j < n; j++) {
+                    b.put(offset + j, (float) src[i + j]);
+                }
+            }
+            p += n;
+            i += n;
+            remaining -= n;
+        }
+    }
+
+    /**
+     * Copies values from separate arrays of real and imaginary parts.
+     *
+     * @param index Index of the first value in the file.
+     * @param real Real parts.
+     * @param imaginary Imaginary parts.
+     * @param srcIndex Index of the first value in the arrays.
+     * @param count Number of values.
+     * @throws IndexOutOfBoundsException if a range is out of bounds.
+     * @throws java.nio.ReadOnlyBufferException if the file is not writable.
+     */
+    public void write(long index, double[] real, double[] imaginary, int srcIndex, int count) {
+        checkRange(index, count);
+        checkArray(Math.min(real.length, imaginary.length), srcIndex, count);
+        for (int k = 0; k < count; k++) {
+            setPart(2 * (index + k), real[srcIndex + k]);
+            setPart(2 * (index + k) + 1, imaginary[srcIndex + k]);
+        }
+    }
+
+    /**
+     * Maps a range of values of a {@link Type#FLOAT64} file, without
+     * copying them. The view holds {@code 2 * count} interleaved parts
+     * and is read-only unless the file is writable.
+     *
+     * @param index Index of the first value.
+     * @param count Number of values.
+     * @return a view of the values.
+     * @throws IOException if the range cannot be mapped.
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     * @throws IllegalStateException if the type of the file is not
+     * {@link Type#FLOAT64}.
+     */
+    public DoubleBuffer window(long index, int count) throws IOException {
+        checkType(Type.FLOAT64);
+        return mapWindow(index, count).asDoubleBuffer();
+    }
+
+    /**
+     * Maps a range of values of a {@link Type#FLOAT32} file, without
+     * copying them. The view holds {@code 2 * count} interleaved parts
+     * and is read-only unless the file is writable.
+     *
+     * @param index Index of the first value.
+     * @param count Number of values.
+     * @return a view of the values.
+     * @throws IOException if the range cannot be mapped.
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     * @throws IllegalStateException if the type of the file is not
+     * {@link Type#FLOAT32}.
+     */
+    public FloatBuffer floatWindow(long index, int count) throws IOException {
+        checkType(Type.FLOAT32);
+        return mapWindow(index, count).asFloatBuffer();
+    }
+
+    /**
+     * Writes the modified values to the storage device.
+     */
+    public void force() {
+        if (writable) {
+            for (final MappedByteBuffer segment : segments) {
+                segment.force();
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * @param p Index of the part.
+     * @return the part.
+     */
+    private double getPart(long p) {
+        final int segment = (int) (p / partsPerSegment);
+        final int offset = (int) (p % partsPerSegment);
+        return doubles != null ? doubles[segment].get(offset) : floats[segment].get(offset);
+    }
+
+    /**
+     * @param p Index of the part.
+     * @param value Part.
+     */
+    private void setPart(long p, double value) {
+        final int segment = (int) (p / partsPerSegment);
+        final int offset = (int) (p % partsPerSegment);
+        if (doubles != null) {
+            doubles[segment].put(offset, value);
+        } else {
+            floats[segment].put(offset, (float) value);
+        }
+    }
+
+    /**
+     * @param start Offset from the start of the data, in bytes.
+     * @param length Number of bytes.
+     * @return the mapping.
+     * @throws IOException if the range cannot be mapped.
+     */
+    private MappedByteBuffer map(long start, int length) throws IOException {
+        return channel.map(writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY,
+                           HEADER_BYTES + start, length);
+    }
+
+    /**
+     * @param index Index of the first value.
+     * @param count Number of values.
+     * @return the mapping of the values.
+     * @throws IOException if the range cannot be mapped.
+     */
+    private ByteBuffer mapWindow(long index, int count) throws IOException {
+        checkRange(index, count);
+        final long bytes = 2L * count * type.bytes;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IndexOutOfBoundsException("Window too large: " + count + " values");
+        }
+        return map(2 * index * type.bytes, (int) bytes).order(order);
+    }
+
+    /**
+     * @param expected Expected type.
+     * @throws IllegalStateException if the file has another type.
+     */
+    private void checkType(Type expected) {
+        if (type != expected) {
+            throw new IllegalStateException("File type is " + type + ", not " + expected);
+        }
+    }
+
+    /**
+     * @param index Index of the first value.
+     * @param count Number of values.
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    private void checkRange(long index, int count) {
+        if (index < 0 || count < 0 || index > size - count) {
+            throw new IndexOutOfBoundsException("Range [" + index + ", " + index + " + " + count +
+                                                ") out of [0, " + size + ")");
+        }
+    }
+
+    /**
+     * @param length Number of values in the array.
+     * @param index Index of the first value.
+     * @param count Number of values.
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    private static void checkArray(int length, int index, int count) {
+        if (index < 0 || count < 0 || index > length - count) {
+            throw new IndexOutOfBoundsException("Range [" + index + ", " + index + " + " + count +
+                                                ") out of array of " + length + " values");
+        }
+    }
+
+    /**
+     * @param interleaved Array.
+     * @throws IllegalArgumentException if the length of the array is odd.
+     */
+    private static void checkInterleaved(double[] interleaved) {
+        if ((interleaved.length & 1) != 0) {
+            throw new IllegalArgumentException("Odd length: " + interleaved.length);
+        }
+    }
+
+    /**
+     * @param channel File.
+     * @param buffer Bytes.
+     * @param position Position in the file.
+     * @throws IOException if the bytes cannot be written.
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long p = position;
+        while (buffer.hasRemaining()) {
+            p += channel.write(buffer, p);
+        }
+    }
+}
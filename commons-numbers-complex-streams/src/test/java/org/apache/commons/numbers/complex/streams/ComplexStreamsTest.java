@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.complex.streams;
+
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+
+import org.apache.commons.numbers.complex.Complex;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link ComplexStreams}.
+ */
+public class ComplexStreamsTest {
+
+    /**
+     * @param n Number of values.
+     * @param seed Seed.
+     * @return random interleaved values, with some special values.
+     */
+    private static double[] random(int n, long seed) {
+        final Random rng = new Random(seed);
+        final double[] data = new double[2 * n];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = rng.nextDouble() * 2 - 1;
+        }
+        if (n > 3) {
+            data[0] = Double.NaN;
+            data[3] = Double.POSITIVE_INFINITY;
+            data[4] = 0;
+            data[5] = -0.0;
+        }
+        return data;
+    }
+
+    @Test
+    public void testInterleaved() {
+        final double[] data = random(100, 1);
+        final Complex[] expected = ComplexUtils.interleaved2Complex(data);
+        Assert.assertArrayEquals(expected, ComplexStreams.stream(data).toArray(Complex[]::new));
+        Assert.assertArrayEquals(expected, ComplexStreams.stream(data).parallel().toArray(Complex[]::new));
+    }
+
+    @Test
+    public void testSplit() {
+        final double[] data = random(77, 2);
+        final double[] re = new double[77];
+        final double[] im = new double[77];
+        for (int i = 0; i < 77; i++) {
+            re[i] = data[2 * i];
+            im[i] = data[2 * i + 1];
+        }
+        final Complex[] expected = ComplexUtils.interleaved2Complex(data);
+        Assert.assertArrayEquals(expected, ComplexStreams.stream(re, im).toArray(Complex[]::new));
+        Assert.assertArrayEquals(expected, ComplexStreams.stream(re, im).parallel().toArray(Complex[]::new));
+        Assert.assertArrayEquals(ComplexUtils.abs(expected), ComplexStreams.abs(re, im).toArray(), 0);
+        Assert.assertArrayEquals(ComplexUtils.arg(expected), ComplexStreams.arg(re, im).parallel().toArray(), 0);
+    }
+
+    @Test
+    public void testParts() {
+        final double[] data = random(1000, 3);
+        final Complex[] c = ComplexUtils.interleaved2Complex(data);
+        final double[] re = new double[c.length];
+        final double[] im = new double[c.length];
+        for (int i = 0; i < c.length; i++) {
+            re[i] = c[i].getReal();
+            im[i] = c[i].getImaginary();
+        }
+        for (final boolean parallel : new boolean[] {false, true}) {
+            Assert.assertArrayEquals(re, parallel(ComplexStreams.real(data), parallel).toArray(), 0);
+            Assert.assertArrayEquals(im, parallel(ComplexStreams.imaginary(data), parallel).toArray(), 0);
+            Assert.assertArrayEquals(ComplexUtils.abs(c), parallel(ComplexStreams.abs(data), parallel).toArray(), 0);
+            Assert.assertArrayEquals(ComplexUtils.arg(c), parallel(ComplexStreams.arg(data), parallel).toArray(), 0);
+        }
+    }
+
+    /**
+     * @param s Stream.
+     * @param parallel Whether to make the stream parallel.
+     * @return the stream.
+     */
+    private static DoubleStream parallel(DoubleStream s, boolean parallel) {
+        return parallel ? s.parallel() : s;
+    }
+
+    @Test
+    public void testPipeline() {
+        final double[] data = random(10000, 4);
+        data[0] = 0;
+        data[3] = 0;
+        final double expected = ComplexStreams.stream(data).mapToDouble(Complex::getReal).sum();
+        Assert.assertEquals(expected, ComplexStreams.real(data).parallel().sum(), 1e-10);
+        Assert.assertEquals(10000, ComplexStreams.abs(data).parallel().count());
+        Assert.assertEquals(ComplexStreams.stream(data).filter(z -> z.abs() < 0.5).count(),
+                            ComplexStreams.abs(data).parallel().filter(x -> x < 0.5).count());
+        Assert.assertEquals(ComplexStreams.stream(data).skip(5000).findFirst().get(),
+                            ComplexStreams.stream(data).parallel().skip(5000).findFirst().get());
+        Assert.assertEquals(Complex.ofCartesian(data[2], data[3]).toString(),
+                            ComplexStreams.stream(data).skip(1).limit(1).map(Complex::toString)
+                                .collect(Collectors.joining()));
+    }
+
+    @Test
+    public void testSpliterator() {
+        final double[] data = random(10, 5);
+        final Spliterator<Complex> s = ComplexStreams.stream(data).spliterator();
+        Assert.assertTrue(s.hasCharacteristics(Spliterator.SIZED));
+        Assert.assertTrue(s.hasCharacteristics(Spliterator.SUBSIZED));
+        Assert.assertTrue(s.hasCharacteristics(Spliterator.ORDERED));
+        Assert.assertTrue(s.hasCharacteristics(Spliterator.NONNULL));
+        Assert.assertEquals(10, s.getExactSizeIfKnown());
+        // Even split, prefix first.
+        final Spliterator<Complex> prefix = s.trySplit();
+        Assert.assertEquals(5, prefix.getExactSizeIfKnown());
+        Assert.assertEquals(5, s.getExactSizeIfKnown());
+        prefix.tryAdvance(z -> Assert.assertEquals(Complex.ofCartesian(data[0], data[1]), z));
+        s.tryAdvance(z -> Assert.assertEquals(Complex.ofCartesian(data[10], data[11]), z));
+        Assert.assertEquals(4, s.getExactSizeIfKnown());
+
+        final Spliterator.OfDouble p = ComplexStreams.imaginary(new double[4]).spliterator();
+        Assert.assertTrue(p.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.IMMUTABLE));
+        Assert.assertNotNull(p.trySplit());
+        Assert.assertNull(p.trySplit());
+        Assert.assertTrue(p.tryAdvance((double x) -> { }));
+        Assert.assertFalse(p.tryAdvance((double x) -> { }));
+    }
+
+    @Test
+    public void testEmpty() {
+        Assert.assertEquals(0, ComplexStreams.stream(new double[0]).count());
+        Assert.assertEquals(0, ComplexStreams.abs(new double[0], new double[0]).count());
+        Assert.assertNull(ComplexStreams.real(new double[0]).spliterator().trySplit());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOddLength() {
+        ComplexStreams.stream(new double[3]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOddLengthParts() {
+        ComplexStreams.abs(new double[5]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLengthMismatch() {
+        ComplexStreams.stream(new double[3], new double[2]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLengthMismatchParts() {
+        ComplexStreams.arg(new double[3], new double[4]);
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.complex.streams;
+
+import org.apache.commons.numbers.complex.Complex;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ComplexTensorTest {
+
+    /**
+     * @param i Index.
+     * @param j Index.
+     * @param k Index.
+     * @return a value that identifies the index.
+     */
+    private static Complex value(int i, int j, int k) {
+        return Complex.ofCartesian(100 * i + 10 * j + k, -(100 * i + 10 * j + k));
+    }
+
+    /**
+     * @param n0 Dimension.
+     * @param n1 Dimension.
+     * @param n2 Dimension.
+     * @return a jagged array of {@link #value(int, int, int)}.
+     */
+    private static Complex[][][] jagged(int n0, int n1, int n2) {
+        final Complex[][][] c = new Complex[n0][n1][n2];
+        for (int i = 0; i < n0; i++) {
+            for (int j = 0; j < n1; j++) {
+                for (int k = 0; k < n2; k++) {
+                    c[i][j][k] = value(i, j, k);
+                }
+            }
+        }
+        return c;
+    }
+
+    @Test
+    public void testOfShape() {
+        final ComplexTensor t = ComplexTensor.ofShape(2, 3, 4);
+        Assert.assertEquals(3, t.getRank());
+        Assert.assertArrayEquals(new int[] {2, 3, 4}, t.getShape());
+        Assert.assertArrayEquals(new int[] {12, 4, 1}, t.getStrides());
+        Assert.assertEquals(24, t.size());
+        Assert.assertEquals(48, t.getData().length);
+        Assert.assertTrue(t.isContiguous());
+        Assert.assertEquals(Complex.ZERO, t.get(1, 2, 3));
+    }
+
+    @Test
+    public void testWrap() {
+        final double[] data = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12};
+        final ComplexTensor t = ComplexTensor.wrap(data, 2, 3);
+        Assert.assertSame(data, t.getData());
+        Assert.assertEquals(Complex.ofCartesian(9, 10), t.get(1, 1));
+        t.set(new int[] {0, 2}, -5, -6);
+        Assert.assertEquals(-5, data[4], 0);
+        Assert.assertEquals(-6, data[5], 0);
+        t.set(new int[] {1, 0}, Complex.I);
+        Assert.assertEquals(0, t.getReal(1, 0), 0);
+        Assert.assertEquals(1, t.getImaginary(1, 0), 0);
+    }
+
+    @Test
+    public void testJaggedRoundTrip() {
+        final Complex[][][] c = jagged(3, 4, 5);
+        final ComplexTensor t = ComplexTensor.of(c);
+        Assert.assertArrayEquals(new int[] {3, 4, 5}, t.getShape());
+        Assert.assertEquals(value(2, 1, 3), t.get(2, 1, 3));
+        Assert.assertArrayEquals(c, t.toComplex3D());
+        Assert.assertArrayEquals(ComplexUtils.complex2Interleaved(c[1][2]),
+            t.select(0, 1).select(0, 2).toInterleaved(), 0);
+
+        final Complex[] c1 = c[0][0];
+        Assert.assertArrayEquals(c1, ComplexTensor.of(c1).toComplex1D());
+        final Complex[][] c2 = c[1];
+        Assert.assertArrayEquals(c2, ComplexTensor.of(c2).toComplex2D());
+        final Complex[][][][] c4 = {c, jagged(3, 4, 5)};
+        final ComplexTensor t4 = ComplexTensor.of(c4);
+        Assert.assertArrayEquals(new int[] {2, 3, 4, 5}, t4.getShape());
+        Assert.assertArrayEquals(c4, t4.toComplex4D());
+    }
+
+    @Test
+    public void testEmptyJagged() {
+        final ComplexTensor t = ComplexTensor.of(new Complex[2][0][3]);
+        Assert.assertArrayEquals(new int[] {2, 0, 0}, t.getShape());
+        Assert.assertEquals(0, t.size());
+        Assert.assertEquals(0, t.toInterleaved().length);
+        Assert.assertEquals(2, t.toComplex3D().length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRaggedJagged() {
+        final Complex[][] c = {{Complex.ONE, Complex.I}, {Complex.ONE}};
+        ComplexTensor.of(c);
+    }
+
+    @Test
+    public void testSlice() {
+        final ComplexTensor t = ComplexTensor.of(jagged(3, 4, 5));
+        final ComplexTensor s = t.slice(1, 1, 3).slice(2, 0, 5, 2);
+        Assert.assertArrayEquals(new int[] {3, 2, 3}, s.getShape());
+        Assert.assertFalse(s.isContiguous());
+        Assert.assertEquals(value(2, 2, 4), s.get(2, 1, 2));
+        Assert.assertEquals(value(0, 1, 2), s.get(0, 0, 1));
+        final Complex[][][] c = s.toComplex3D();
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 2; j++) {
+                for (int k = 0; k < 3; k++) {
+                    Assert.assertEquals(value(i, j + 1, 2 * k), c[i][j][k]);
+                }
+            }
+        }
+        // Writes are shared.
+        s.set(new int[] {1, 0, 1}, Complex.ZERO);
+        Assert.assertEquals(Complex.ZERO, t.get(1, 1, 2));
+        // Contiguous slice along the first dimension.
+        Assert.assertTrue(t.slice(0, 1, 2).isContiguous());
+        Assert.assertEquals(0, t.slice(0, 1, 1).size());
+    }
+
+    @Test
+    public void testSelect() {
+        final ComplexTensor t = ComplexTensor.of(jagged(3, 4, 5));
+        final ComplexTensor s = t.select(1, 2);
+        Assert.assertArrayEquals(new int[] {3, 5}, s.getShape());
+        Assert.assertEquals(value(1, 2, 3), s.get(1, 3));
+        final ComplexTensor scalar = s.select(0, 2).select(0, 4);
+        Assert.assertEquals(0, scalar.getRank());
+        Assert.assertEquals(1, scalar.size());
+        Assert.assertEquals(value(2, 2, 4), scalar.get());
+        Assert.assertArrayEquals(new double[] {224, -224}, scalar.toInterleaved(), 0);
+    }
+
+    @Test
+    public void testPermute() {
+        final ComplexTensor t = ComplexTensor.of(jagged(2, 3, 4));
+        final ComplexTensor p = t.permute(2, 0, 1);
+        Assert.assertArrayEquals(new int[] {4, 2, 3}, p.getShape());
+        Assert.assertArrayEquals(new int[] {1, 12, 4}, p.getStrides());
+        Assert.assertSame(t.getData(), p.getData());
+        for (int i = 0; i < 2; i++) {
+            for (int j = 0; j < 3; j++) {
+                for (int k = 0; k < 4; k++) {
+                    Assert.assertEquals(t.get(i, j, k), p.get(k, i, j));
+                }
+            }
+        }
+        final ComplexTensor c = p.copy();
+        Assert.assertTrue(c.isContiguous());
+        Assert.assertNotSame(t.getData(), c.getData());
+        Assert.assertEquals(p, c);
+        Assert.assertEquals(p.hashCode(), c.hashCode());
+        Assert.assertNotEquals(t, c);
+
+        final ComplexTensor s = t.transpose(0, 2);
+        Assert.assertArrayEquals(new int[] {4, 3, 2}, s.getShape());
+        Assert.assertEquals(value(1, 2, 3), s.get(3, 2, 1));
+        Assert.assertEquals(t, s.transpose(2, 0));
+    }
+
+    @Test
+    public void testCopyOfView() {
+        final ComplexTensor t = ComplexTensor.of(jagged(4, 4, 4));
+        final ComplexTensor v = t.slice(0, 1, 4, 2).transpose(1, 2).slice(2, 1, 3);
+        final ComplexTensor c = v.copy();
+        Assert.assertArrayEquals(v.getShape(), c.getShape());
+        Assert.assertArrayEquals(new int[] {2, 4, 2}, c.getShape());
+        for (int i = 0; i < 2; i++) {
+            for (int j = 0; j < 4; j++) {
+                for (int k = 0; k < 2; k++) {
+                    Assert.assertEquals(value(2 * i + 1, k + 1, j), c.get(i, j, k));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCopyOfLargeTranspose() {
+        // Larger than the tiles of the copy.
+        final ComplexTensor t = ComplexTensor.ofShape(3, 40, 70);
+        final double[] data = t.getData();
+        for (int i = 0; i < data.length; i++) {
+            data[i] = i;
+        }
+        final ComplexTensor v = t.permute(2, 0, 1).slice(0, 1, 70, 3);
+        final double[] d = v.toInterleaved();
+        final int[] shape = v.getShape();
+        int p = 0;
+        for (int i = 0; i < shape[0]; i++) {
+            for (int j = 0; j < shape[1]; j++) {
+                for (int k = 0; k < shape[2]; k++) {
+                    Assert.assertEquals(t.get(j, k, 3 * i + 1), Complex.ofCartesian(d[p], d[p + 1]));
+                    p += 2;
+                }
+            }
+        }
+        Assert.assertEquals(d.length, p);
+    }
+
+    @Test
+    public void testBounds() {
+        final ComplexTensor t = ComplexTensor.ofShape(2, 3);
+        assertThrows(IndexOutOfBoundsException.class, () -> t.get(2, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> t.get(0, -1));
+        assertThrows(IllegalArgumentException.class, () -> t.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> t.slice(1, 2, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> t.select(0, 2));
+        assertThrows(IllegalArgumentException.class, () -> t.slice(2, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> t.slice(0, 0, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> t.permute(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> t.permute(0));
+        assertThrows(IllegalArgumentException.class, () -> t.toComplex3D());
+        assertThrows(IllegalArgumentException.class, () -> ComplexTensor.ofShape(2, -1));
+        assertThrows(IllegalArgumentException.class, () -> ComplexTensor.ofShape(1 << 16, 1 << 15));
+        assertThrows(IllegalArgumentException.class, () -> ComplexTensor.wrap(new double[10], 2, 3));
+    }
+
+    /**
+     * @param type Expected exception type.
+     * @param r Action expected to throw.
+     */
+    private static void assertThrows(Class<? extends Exception> type, Runnable r) {
+        try {
+            r.run();
+            Assert.fail("Expected " + type.getSimpleName());
+        } catch (RuntimeException e) {
+            Assert.assertEquals(type, e.getClass());
+        }
+    }
+}
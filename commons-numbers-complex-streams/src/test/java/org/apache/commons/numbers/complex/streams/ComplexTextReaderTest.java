@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.complex.streams;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+
+import org.apache.commons.numbers.complex.Complex;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ComplexTextReaderTest {
+
+    @Test
+    public void testReadAll() throws IOException {
+        final Random rng = new Random(5);
+        final int n = 10000;
+        final Complex[] values = new Complex[n];
+        final StringBuilder text = new StringBuilder();
+        final String[] separators = {"\n", ",", "; ", "\r\n", " \t"};
+        for (int i = 0; i < n; i++) {
+            values[i] = Complex.ofCartesian(rng.nextGaussian(), Double.longBitsToDouble(rng.nextLong()));
+            text.append(values[i]).append(separators[i % separators.length]);
+        }
+        final double[] data = ComplexTextReader.readAll(new StringReader(text.toString()));
+        Assert.assertArrayEquals(ComplexUtils.complex2Interleaved(values), data, 0);
+    }
+
+    @Test
+    public void testValuesAcrossBufferBoundaries() throws IOException {
+        final String text = "(1.0,2.0)\n(-3.5,4.25),(1.0E-300,Infinity);(NaN,-0.0)";
+        final double[] expected = {1, 2, -3.5, 4.25, 1e-300, Double.POSITIVE_INFINITY, Double.NaN, -0.0};
+        for (int size = 1; size < 20; size++) {
+            final ComplexTextReader reader = new ComplexTextReader(new StringReader(text), size);
+            final double[] data = new double[10];
+            int count = 0;
+            int n;
+            while ((n = reader.read(data, 2 * count, Math.min(3, 5 - count))) > 0) {
+                count += n;
+            }
+            Assert.assertEquals(4, count);
+            Assert.assertEquals(-1, n);
+            for (int i = 0; i < expected.length; i++) {
+                Assert.assertEquals(Double.doubleToLongBits(expected[i]), Double.doubleToLongBits(data[i]));
+            }
+        }
+    }
+
+    @Test
+    public void testEmptyInput() throws IOException {
+        Assert.assertEquals(0, ComplexTextReader.readAll(new StringReader("")).length);
+        Assert.assertEquals(0, ComplexTextReader.readAll(new StringReader(" \n,;\n")).length);
+        final ComplexTextReader reader = new ComplexTextReader(new StringReader("(1,2)"));
+        Assert.assertEquals(0, reader.read(new double[2], 0, 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnexpectedCharacter() throws IOException {
+        ComplexTextReader.readAll(new StringReader("(1,2) x (3,4)"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingEnd() throws IOException {
+        ComplexTextReader.readAll(new StringReader("(1,2) (3,4"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidNumber() throws IOException {
+        ComplexTextReader.readAll(new StringReader("(1,2) (3,y)"));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testOutputTooSmall() throws IOException {
+        new ComplexTextReader(new StringReader("(1,2)")).read(new double[3], 0, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBufferSize() {
+        new ComplexTextReader(new StringReader(""), 0);
+    }
+}
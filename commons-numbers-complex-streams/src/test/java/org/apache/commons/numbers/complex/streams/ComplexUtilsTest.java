@@ -17,6 +17,8 @@
 
 package org.apache.commons.numbers.complex.streams;
 
+import java.util.Random;
+
 import org.apache.commons.numbers.complex.Complex;
 
 import org.junit.Assert;
@@ -717,4 +719,185 @@ public class ComplexUtilsTest {
             TestUtils.assertEquals(c[i].getArgument(), observed[i], 0);
         }
     }
+
+    @Test
+    public void testInterleaved2SplitInPlace() {
+        // Sizes below, at and above the block size, with unequal halves.
+        for (int n : new int[] {0, 1, 2, 7, 511, 512, 513, 1000, 2048, 3001, 10007}) {
+            final double[] data = new double[2 * n];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = i;
+            }
+            final double[] interleaved = data.clone();
+            ComplexUtils.interleaved2Split(data);
+            for (int i = 0; i < n; i++) {
+                Assert.assertEquals(2 * i, data[i], 0);
+                Assert.assertEquals(2 * i + 1, data[n + i], 0);
+            }
+            Assert.assertArrayEquals(ComplexUtils.complex2Real(ComplexUtils.interleaved2Complex(interleaved)),
+                ComplexView.ofSplit(data).toReal(), 0);
+            ComplexUtils.split2Interleaved(data);
+            Assert.assertArrayEquals("n=" + n, interleaved, data, 0);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInterleaved2SplitInPlaceOddLength() {
+        ComplexUtils.interleaved2Split(new double[5]);
+    }
+
+    @Test
+    public void testInterleaved2SplitInPlace2d() {
+        setArrays();
+        for (int dim = 0; dim < 2; dim++) {
+            final double[][] data = ComplexUtils.complex2Interleaved(c2d, dim);
+            final double[][] rows = data.clone();
+            ComplexUtils.interleaved2Split(data, dim);
+            final int w = c2d.length;
+            final int h = c2d[0].length;
+            for (int x = 0; x < w; x++) {
+                for (int y = 0; y < h; y++) {
+                    final Complex z = dim == 0 ?
+                        Complex.ofCartesian(data[x][y], data[w + x][y]) :
+                        Complex.ofCartesian(data[x][y], data[x][h + y]);
+                    Assert.assertEquals(c2d[x][y], z);
+                }
+            }
+            if (dim == 0) {
+                // Rows are moved, not copied.
+                Assert.assertSame(rows[2], data[1]);
+            }
+            ComplexUtils.split2Interleaved(data, dim);
+            Assert.assertArrayEquals(c2d, ComplexUtils.interleaved2Complex(data, dim));
+        }
+    }
+
+    @Test
+    public void testInterleaved2SplitInPlace3d() {
+        setArrays();
+        for (int dim = 0; dim < 3; dim++) {
+            final double[][][] data = ComplexUtils.complex2Interleaved(c3d, dim);
+            ComplexUtils.interleaved2Split(data, dim);
+            final int h = c3d[0].length;
+            Assert.assertEquals(c3d[0][1][2], dim == 1 ?
+                Complex.ofCartesian(data[0][1][2], data[0][h + 1][2]) :
+                dim == 2 ?
+                Complex.ofCartesian(data[0][1][2], data[0][1][c3d[0][0].length + 2]) :
+                Complex.ofCartesian(data[0][1][2], data[c3d.length][1][2]));
+            ComplexUtils.split2Interleaved(data, dim);
+            Assert.assertArrayEquals(c3d, ComplexUtils.interleaved2Complex(data, dim));
+        }
+    }
+
+    @Test
+    public void testInterleaved2SplitInPlace4d() {
+        final Complex[][][][] c = new Complex[2][3][4][5];
+        for (int i = 0; i < 2; i++) {
+            for (int j = 0; j < 3; j++) {
+                for (int k = 0; k < 4; k++) {
+                    for (int l = 0; l < 5; l++) {
+                        c[i][j][k][l] = Complex.ofCartesian(i + j, k - l);
+                    }
+                }
+            }
+        }
+        for (int dim = 0; dim < 4; dim++) {
+            final double[][][][] data = ComplexUtils.complex2Interleaved(c, dim);
+            final double[][][][] copy = ComplexUtils.complex2Interleaved(c, dim);
+            ComplexUtils.interleaved2Split(data, dim);
+            ComplexUtils.split2Interleaved(data, dim);
+            Assert.assertArrayEquals(copy, data);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInterleaved2SplitInPlaceBadDim() {
+        ComplexUtils.interleaved2Split(new double[2][2], 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSplit2InterleavedInPlaceBadDim() {
+        ComplexUtils.split2Interleaved(new double[2][2][2], -1);
+    }
+
+    @Test
+    public void testBulkKernels() {
+        final Random rng = new Random(20);
+        final double[] parts = {0, -0.0, 1, -3, 1e-170, 4e-310, 1e160, -2e300, inf, negInf, nan};
+        final int n = parts.length * parts.length + 100;
+        final double[] re = new double[n];
+        final double[] im = new double[n];
+        for (int i = 0; i < n; i++) {
+            if (i < parts.length * parts.length) {
+                re[i] = parts[i / parts.length];
+                im[i] = parts[i % parts.length];
+            } else {
+                re[i] = rng.nextGaussian() * 100;
+                im[i] = rng.nextGaussian() * 100;
+            }
+        }
+        final double[] interleaved = new double[2 * n];
+        for (int i = 0; i < n; i++) {
+            interleaved[2 * i] = re[i];
+            interleaved[2 * i + 1] = im[i];
+        }
+        final double[] r1 = new double[n];
+        final double[] r2 = new double[n];
+        final double[] r3 = new double[n];
+        final double[] r4 = new double[n];
+
+        ComplexUtils.abs(interleaved, r1);
+        ComplexUtils.abs(re, im, r2);
+        ComplexUtils.absArg(interleaved, r3, r4);
+        for (int i = 0; i < n; i++) {
+            final Complex z = Complex.ofCartesian(re[i], im[i]);
+            final double e = Math.hypot(re[i], im[i]);
+            Assert.assertEquals(z.toString(), e, r1[i], Math.ulp(e));
+            Assert.assertEquals(r1[i], r2[i], 0);
+            Assert.assertEquals(r1[i], r3[i], 0);
+            Assert.assertEquals(z.getArgument(), r4[i], 0);
+        }
+        ComplexUtils.arg(interleaved, r1);
+        ComplexUtils.arg(re, im, r2);
+        Assert.assertArrayEquals(r4, r1, 0);
+        Assert.assertArrayEquals(r4, r2, 0);
+
+        ComplexUtils.squaredAbs(interleaved, r1);
+        ComplexUtils.squaredAbs(re, im, r2);
+        for (int i = 0; i < n; i++) {
+            Assert.assertEquals(re[i] * re[i] + im[i] * im[i], r1[i], 0);
+        }
+        Assert.assertArrayEquals(r1, r2, 0);
+
+        ComplexUtils.decibels(interleaved, r1);
+        ComplexUtils.decibels(re, im, r2);
+        Assert.assertArrayEquals(r1, r2, 0);
+        for (int i = 0; i < n; i++) {
+            final double e = 20 * Math.log10(Math.hypot(re[i], im[i]));
+            Assert.assertEquals(e, r1[i], Double.isInfinite(e) ? 0 : 1e-12 * Math.max(1, Math.abs(e)));
+        }
+        // Large and small magnitudes stay finite.
+        final double[] db = new double[2];
+        ComplexUtils.decibels(new double[] {3e200, 0, 0, 3e-200}, db);
+        Assert.assertEquals(20 * (200 + Math.log10(3)), db[0], 1e-10);
+        Assert.assertEquals(20 * (-200 + Math.log10(3)), db[1], 1e-10);
+
+        // Polar conversion in place.
+        final double[] x = re.clone();
+        final double[] y = im.clone();
+        ComplexUtils.absArg(x, y, x, y);
+        ComplexUtils.abs(re, im, r1);
+        Assert.assertArrayEquals(r1, x, 0);
+        Assert.assertArrayEquals(r4, y, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBulkKernelInterleavedLength() {
+        ComplexUtils.abs(new double[6], new double[2]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBulkKernelSplitLength() {
+        ComplexUtils.absArg(new double[2], new double[2], new double[2], new double[3]);
+    }
 }
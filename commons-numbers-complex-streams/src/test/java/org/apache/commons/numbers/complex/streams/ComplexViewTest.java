@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.complex.streams;
+
+import org.apache.commons.numbers.complex.Complex;
+import org.apache.commons.numbers.complex.ComplexArray;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ComplexViewTest {
+
+    /** Interleaved data for (1, 2), (3, 4), (5, 6). */
+    private static final double[] INTERLEAVED = {1, 2, 3, 4, 5, 6};
+
+    /**
+     * @return the three views of the test data.
+     */
+    private static ComplexView[] views() {
+        return new ComplexView[] {
+            ComplexView.ofInterleaved(INTERLEAVED.clone()),
+            ComplexView.ofSplit(new double[] {1, 3, 5}, new double[] {2, 4, 6}),
+            ComplexView.of(new Complex[] {
+                Complex.ofCartesian(1, 2), Complex.ofCartesian(3, 4), Complex.ofCartesian(5, 6)
+            }),
+        };
+    }
+
+    @Test
+    public void testGet() {
+        for (ComplexView v : views()) {
+            Assert.assertEquals(3, v.size());
+            for (int i = 0; i < 3; i++) {
+                Assert.assertEquals(2 * i + 1, v.getReal(i), 0);
+                Assert.assertEquals(2 * i + 2, v.getImaginary(i), 0);
+                Assert.assertEquals(Complex.ofCartesian(2 * i + 1, 2 * i + 2), v.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testMaterialize() {
+        for (ComplexView v : views()) {
+            Assert.assertArrayEquals(INTERLEAVED, v.toInterleaved(), 0);
+            Assert.assertArrayEquals(new double[] {1, 3, 5}, v.toReal(), 0);
+            Assert.assertArrayEquals(new double[] {2, 4, 6}, v.toImaginary(), 0);
+            Assert.assertArrayEquals(ComplexUtils.interleaved2Complex(INTERLEAVED), v.toComplexArray());
+        }
+    }
+
+    @Test
+    public void testMaterializeIsCopy() {
+        final double[] data = INTERLEAVED.clone();
+        final ComplexView v = ComplexView.ofInterleaved(data);
+        final double[] copy = v.toInterleaved();
+        Assert.assertNotSame(data, copy);
+        copy[0] = 42;
+        Assert.assertEquals(1, data[0], 0);
+        final Complex[] c = {Complex.ONE};
+        Assert.assertNotSame(c, ComplexView.of(c).toComplexArray());
+    }
+
+    @Test
+    public void testInterleavedWritesThrough() {
+        final double[] data = INTERLEAVED.clone();
+        final ComplexView v = ComplexView.ofInterleaved(data);
+        v.setReal(0, 10);
+        v.setImaginary(2, 60);
+        v.set(1, Complex.ofCartesian(30, 40));
+        Assert.assertArrayEquals(new double[] {10, 2, 30, 40, 5, 60}, data, 0);
+        v.real().set(2, 50);
+        v.imaginary().set(0, 20);
+        v.interleaved().set(3, -4);
+        Assert.assertArrayEquals(new double[] {10, 20, 30, -4, 50, 60}, data, 0);
+        Assert.assertEquals(50, v.real().get(2), 0);
+        Assert.assertEquals(-4, v.imaginary().get(1), 0);
+    }
+
+    @Test
+    public void testSplitAsInterleaved() {
+        final double[] re = {1, 3, 5};
+        final double[] im = {2, 4, 6};
+        final DoubleView d = ComplexView.ofSplit(re, im).interleaved();
+        Assert.assertEquals(6, d.size());
+        for (int k = 0; k < 6; k++) {
+            Assert.assertEquals(INTERLEAVED[k], d.get(k), 0);
+        }
+        d.set(4, 50);
+        d.set(1, 20);
+        Assert.assertArrayEquals(new double[] {1, 3, 50}, re, 0);
+        Assert.assertArrayEquals(new double[] {20, 4, 6}, im, 0);
+        Assert.assertArrayEquals(new double[] {1, 20, 3, 4, 50, 6}, d.toArray(), 0);
+    }
+
+    @Test
+    public void testComplexArrayWritesThrough() {
+        final Complex[] c = {Complex.ofCartesian(1, 2), Complex.ofCartesian(3, 4)};
+        final ComplexView v = ComplexView.of(c);
+        v.setReal(0, 10);
+        v.imaginary().set(1, 40);
+        v.interleaved().set(1, 20);
+        Assert.assertEquals(Complex.ofCartesian(10, 20), c[0]);
+        Assert.assertEquals(Complex.ofCartesian(3, 40), c[1]);
+        final Complex z = Complex.ofCartesian(7, 8);
+        v.set(1, z);
+        Assert.assertSame(z, c[1]);
+        Assert.assertSame(z, v.get(1));
+    }
+
+    @Test
+    public void testComplexArrayView() {
+        final ComplexArray a = ComplexArray.wrap(INTERLEAVED.clone());
+        final ComplexView v = ComplexView.of(a);
+        v.set(2, -5, -6);
+        Assert.assertEquals(Complex.ofCartesian(-5, -6), a.get(2));
+    }
+
+    @Test
+    public void testSubView() {
+        for (ComplexView v : views()) {
+            final ComplexView s = v.subView(1, 3);
+            Assert.assertEquals(2, s.size());
+            Assert.assertArrayEquals(new double[] {3, 4, 5, 6}, s.toInterleaved(), 0);
+            Assert.assertArrayEquals(new double[] {3, 5}, s.toReal(), 0);
+            s.set(0, 30, 40);
+            Assert.assertEquals(Complex.ofCartesian(30, 40), v.get(1));
+            final ComplexView t = s.subView(1, 1);
+            Assert.assertEquals(0, t.size());
+            Assert.assertEquals(0, t.toInterleaved().length);
+        }
+    }
+
+    @Test
+    public void testSubViewBounds() {
+        for (ComplexView v : views()) {
+            final ComplexView s = v.subView(1, 2);
+            assertOutOfBounds(() -> s.get(1));
+            assertOutOfBounds(() -> s.getReal(-1));
+            assertOutOfBounds(() -> s.setImaginary(1, 0));
+            assertOutOfBounds(() -> s.real().get(1));
+            assertOutOfBounds(() -> s.imaginary().set(1, 0));
+            assertOutOfBounds(() -> s.interleaved().get(2));
+            assertOutOfBounds(() -> v.subView(2, 4));
+            assertOutOfBounds(() -> v.subView(2, 1));
+            assertOutOfBounds(() -> v.subView(-1, 1));
+        }
+    }
+
+    /**
+     * @param r Action expected to throw.
+     */
+    private static void assertOutOfBounds(Runnable r) {
+        try {
+            r.run();
+            Assert.fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            // Expected
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOddInterleaved() {
+        ComplexView.ofInterleaved(new double[3]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSplitMismatch() {
+        ComplexView.ofSplit(new double[3], new double[2]);
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.complex.streams;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.apache.commons.numbers.complex.Complex;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedComplexFileTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * @param n Number of values.
+     * @return random interleaved data.
+     */
+    private static double[] randomData(int n) {
+        final Random rng = new Random(n);
+        final double[] data = new double[2 * n];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = rng.nextGaussian();
+        }
+        return data;
+    }
+
+    /**
+     * @param data Values.
+     * @return the values rounded to float.
+     */
+    private static double[] toFloat(double[] data) {
+        final double[] result = new double[data.length];
+        for (int i = 0; i < data.length; i++) {
+            result[i] = (float) data[i];
+        }
+        return result;
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final double[] data = randomData(1000);
+        for (MappedComplexFile.Type type : MappedComplexFile.Type.values()) {
+            for (ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+                final Path path = folder.newFile().toPath();
+                MappedComplexFile.write(path, data, type, order);
+                Assert.assertEquals(MappedComplexFile.HEADER_BYTES + 2000L * type.getBytes(), Files.size(path));
+                final double[] expected = type == MappedComplexFile.Type.FLOAT64 ? data : toFloat(data);
+                Assert.assertArrayEquals(expected, MappedComplexFile.readAll(path), 0);
+                try (MappedComplexFile file = MappedComplexFile.open(path)) {
+                    Assert.assertEquals(1000, file.size());
+                    Assert.assertEquals(type, file.getType());
+                    Assert.assertEquals(order, file.getOrder());
+                    Assert.assertFalse(file.isWritable());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testHeaderAndByteOrder() throws IOException {
+        final Path path = folder.newFile().toPath();
+        MappedComplexFile.write(path, new double[] {1.5, -2}, MappedComplexFile.Type.FLOAT64, ByteOrder.LITTLE_ENDIAN);
+        final ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(path));
+        Assert.assertEquals('C', bytes.get(0));
+        Assert.assertEquals('P', bytes.get(1));
+        Assert.assertEquals('L', bytes.get(2));
+        Assert.assertEquals('X', bytes.get(3));
+        Assert.assertEquals(1, bytes.get(4));
+        Assert.assertEquals('L', bytes.get(5));
+        Assert.assertEquals(8, bytes.get(6));
+        Assert.assertEquals(1L, bytes.getLong(8));
+        bytes.order(ByteOrder.LITTLE_ENDIAN);
+        Assert.assertEquals(1.5, bytes.getDouble(16), 0);
+        Assert.assertEquals(-2, bytes.getDouble(24), 0);
+    }
+
+    @Test
+    public void testSegments() throws IOException {
+        // Segments of 48 bytes (3 values for FLOAT64, 6 for FLOAT32)
+        // so that the accesses cross segment boundaries.
+        final int n = 25;
+        final double[] data = randomData(n);
+        for (MappedComplexFile.Type type : MappedComplexFile.Type.values()) {
+            final Path path = folder.newFile().toPath();
+            final int segmentBytes = 16 * 3;
+            try (MappedComplexFile file = MappedComplexFile.create(path, n, type, ByteOrder.BIG_ENDIAN,
+                                                                   segmentBytes)) {
+                Assert.assertTrue(file.isWritable());
+                file.write(0, data, 0, 10);
+                for (int i = 10; i < 17; i++) {
+                    file.set(i, data[2 * i], data[2 * i + 1]);
+                }
+                final double[] re = new double[n];
+                final double[] im = new double[n];
+                for (int i = 0; i < n; i++) {
+                    re[i] = data[2 * i];
+                    im[i] = data[2 * i + 1];
+                }
+                file.write(17, re, im, 17, n - 17);
+            }
+            final double[] expected = type == MappedComplexFile.Type.FLOAT64 ? data : toFloat(data);
+            try (MappedComplexFile file = MappedComplexFile.open(path, false, segmentBytes)) {
+                final double[] all = new double[2 * n + 2];
+                file.read(0, all, 1, n);
+                for (int i = 0; i < 2 * n; i++) {
+                    Assert.assertEquals(expected[i], all[i + 2], 0);
+                }
+                final double[] re = new double[7];
+                final double[] im = new double[7];
+                file.read(5, re, im, 0, 7);
+                final Complex[] values = file.read(5, 7);
+                for (int i = 0; i < 7; i++) {
+                    Assert.assertEquals(expected[2 * (i + 5)], re[i], 0);
+                    Assert.assertEquals(expected[2 * (i + 5) + 1], im[i], 0);
+                    Assert.assertEquals(Complex.ofCartesian(re[i], im[i]), values[i]);
+                    Assert.assertEquals(values[i], file.get(i + 5));
+                    Assert.assertEquals(re[i], file.getReal(i + 5), 0);
+                    Assert.assertEquals(im[i], file.getImaginary(i + 5), 0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testWindows() throws IOException {
+        final double[] data = randomData(100);
+        final Path path = folder.newFile().toPath();
+        MappedComplexFile.write(path, data, MappedComplexFile.Type.FLOAT64, ByteOrder.LITTLE_ENDIAN);
+        try (MappedComplexFile file = MappedComplexFile.open(path, true)) {
+            final DoubleBuffer window = file.window(40, 10);
+            Assert.assertEquals(20, window.capacity());
+            for (int i = 0; i < 20; i++) {
+                Assert.assertEquals(data[80 + i], window.get(i), 0);
+            }
+            // The window shares the file.
+            window.put(0, 42);
+            Assert.assertEquals(42, file.getReal(40), 0);
+            file.force();
+        }
+        Assert.assertEquals(42, MappedComplexFile.readAll(path)[80], 0);
+
+        final Path path32 = folder.newFile().toPath();
+        MappedComplexFile.write(path32, data, MappedComplexFile.Type.FLOAT32, ByteOrder.BIG_ENDIAN);
+        try (MappedComplexFile file = MappedComplexFile.open(path32)) {
+            final FloatBuffer window = file.floatWindow(99, 1);
+            Assert.assertEquals((float) data[198], window.get(0), 0);
+            Assert.assertEquals((float) data[199], window.get(1), 0);
+        }
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        final Path path = folder.newFile().toPath();
+        MappedComplexFile.write(path, new double[0], MappedComplexFile.Type.FLOAT32, ByteOrder.BIG_ENDIAN);
+        Assert.assertEquals(MappedComplexFile.HEADER_BYTES, Files.size(path));
+        Assert.assertEquals(0, MappedComplexFile.readAll(path).length);
+    }
+
+    @Test(expected = ReadOnlyBufferException.class)
+    public void testReadOnly() throws IOException {
+        final Path path = folder.newFile().toPath();
+        MappedComplexFile.write(path, new double[4], MappedComplexFile.Type.FLOAT64, ByteOrder.BIG_ENDIAN);
+        try (MappedComplexFile file = MappedComplexFile.open(path)) {
+            file.set(0, 1, 2);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testWrongWindowType() throws IOException {
+        final Path path = folder.newFile().toPath();
+        MappedComplexFile.write(path, new double[4], MappedComplexFile.Type.FLOAT32, ByteOrder.BIG_ENDIAN);
+        try (MappedComplexFile file = MappedComplexFile.open(path)) {
+            file.window(0, 1);
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testOutOfRange() throws IOException {
+        final Path path = folder.newFile().toPath();
+        MappedComplexFile.write(path, new double[4], MappedComplexFile.Type.FLOAT64, ByteOrder.BIG_ENDIAN);
+        try (MappedComplexFile file = MappedComplexFile.open(path)) {
+            file.read(1, new double[4], 0, 2);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testNotComplexFile() throws IOException {
+        final Path path = folder.newFile().toPath();
+        Files.write(path, new byte[32]);
+        MappedComplexFile.open(path);
+    }
+
+    @Test(expected = IOException.class)
+    public void testTruncatedFile() throws IOException {
+        final Path path = folder.newFile().toPath();
+        MappedComplexFile.write(path, new double[8], MappedComplexFile.Type.FLOAT64, ByteOrder.BIG_ENDIAN);
+        final byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, java.util.Arrays.copyOf(bytes, bytes.length - 1));
+        MappedComplexFile.open(path);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOddLength() throws IOException {
+        MappedComplexFile.write(folder.newFile().toPath(), new double[3],
+                                MappedComplexFile.Type.FLOAT64, ByteOrder.BIG_ENDIAN);
+    }
+}
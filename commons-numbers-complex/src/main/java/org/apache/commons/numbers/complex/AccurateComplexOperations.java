@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.complex;
+
+/**
+ * Complex products, quotients and moduli computed with an error of a few
+ * ulp in each part.
+ * <p>
+ * The parts of {@link Complex#multiply(Complex)} and
+ * {@link Complex#divide(Complex)} are sums of two products, such as
+ * {@code a * d + b * c}, which lose all their significant digits when the
+ * products cancel. The methods of this class compute such expressions with
+ * the exact rounding error of the products: on Java 9 and later they use
+ * {@code Math.fma} (Kahan's algorithm, from the {@code META-INF/versions/9}
+ * part of the multi-release JAR), and on Java 8 the factors are split as in
+ * Dekker's algorithm.
+ * </p><p>
+ * The operands of the quotient and of the modulus are scaled by powers of
+ * two, so that subnormal and very large values keep their accuracy. The
+ * error bounds do not hold when an intermediate product is subnormal, which
+ * requires the parts of an operand to differ by a factor larger than about
+ * {@code 2^1000}.
+ * </p><p>
+ * When a part of the result is infinite or NaN, it is computed again as in
+ * {@link Complex}, so that special values follow C.99 standard G.5.1; the
+ * other part keeps its accurate value if it is finite.
+ * </p>
+ */
+public final class AccurateComplexOperations {
+    /** Utility class. */
+    private AccurateComplexOperations() {}
+
+    /**
+     * Computes the product {@code x * y}.
+     *
+     * @param x First factor.
+     * @param y Second factor.
+     * @return the product.
+     * @see Complex#multiply(Complex)
+     */
+    public static Complex multiply(Complex x, Complex y) {
+        final double[] r = new double[2];
+        multiply(x.getReal(), x.getImaginary(), y.getReal(), y.getImaginary(), r, 0);
+        return Complex.ofCartesian(r[0], r[1]);
+    }
+
+    /**
+     * Computes the quotient {@code x / y}.
+     *
+     * @param x Dividend.
+     * @param y Divisor.
+     * @return the quotient.
+     * @see Complex#divide(Complex)
+     */
+    public static Complex divide(Complex x, Complex y) {
+        final double[] r = new double[2];
+        divide(x.getReal(), x.getImaginary(), y.getReal(), y.getImaginary(), r, 0);
+        return Complex.ofCartesian(r[0], r[1]);
+    }
+
+    /**
+     * Computes the modulus of {@code z}.
+     *
+     * @param z Value.
+     * @return the modulus.
+     * @see Complex#abs()
+     */
+    public static double abs(Complex z) {
+        return abs(z.getReal(), z.getImaginary());
+    }
+
+    /**
+     * Computes {@code result[i] = x[i] * y[i]}.
+     *
+     * @param x First operand.
+     * @param y Second operand.
+     * @param result Result (can be one of the operands).
+     * @throws IllegalArgumentException if the sizes differ.
+     */
+    public static void multiply(ComplexArray x, ComplexArray y, ComplexArray result) {
+        checkSize(x, y, result);
+        final double[] a = x.getData();
+        final double[] b = y.getData();
+        final double[] r = result.getData();
+        for (int i = 0; i < r.length; i += 2) {
+            multiply(a[i], a[i + 1], b[i], b[i + 1], r, i);
+        }
+    }
+
+    /**
+     * Computes {@code result[i] = x[i] / y[i]}.
+     *
+     * @param x Dividend.
+     * @param y Divisor.
+     * @param result Result (can be one of the operands).
+     * @throws IllegalArgumentException if the sizes differ.
+     */
+    public static void divide(ComplexArray x, ComplexArray y, ComplexArray result) {
+        checkSize(x, y, result);
+        final double[] a = x.getData();
+        final double[] b = y.getData();
+        final double[] r = result.getData();
+        for (int i = 0; i < r.length; i += 2) {
+            divide(a[i], a[i + 1], b[i], b[i + 1], r, i);
+        }
+    }
+
+    /**
+     * Computes {@code result[i] = abs(x[i])}.
+     *
+     * @param x Operand.
+     * @param result Moduli.
+     * @throws IllegalArgumentException if the length of {@code result} is not
+     * the size of {@code x}.
+     */
+    public static void abs(ComplexArray x, double[] result) {
+        if (result.length != x.size()) {
+            throw new IllegalArgumentException("Size mismatch: " + x.size() + " != " + result.length);
+        }
+        final double[] a = x.getData();
+        for (int i = 0; i < result.length; i++) {
+            result[i] = abs(a[2 * i], a[2 * i + 1]);
+        }
+    }
+
+    /**
+     * Computes the product {@code (a + bi) * (c + di)} and stores it into
+     * {@code r[i]} and {@code r[i + 1]}.
+     *
+     * @param a Real part of the first factor.
+     * @param b Imaginary part of the first factor.
+     * @param c Real part of the second factor.
+     * @param d Imaginary part of the second factor.
+     * @param r Result array.
+     * @param i Index of the real part of the result.
+     */
+    private static void multiply(double a, double b, double c, double d, double[] r, int i) {
+        final double x = FusedMultiplyAdd.differenceOfProducts(a, c, b, d);
+        final double y = FusedMultiplyAdd.sumOfProducts(a, d, b, c);
+        if (!Double.isFinite(x) || !Double.isFinite(y)) {
+            ComplexArray.multiply(a, b, c, d, r, i);
+        }
+        storeFinite(x, y, r, i);
+    }
+
+    /**
+     * Computes the quotient {@code (a + bi) / (c + di)} and stores it into
+     * {@code r[i]} and {@code r[i + 1]}.
+     *
+     * @param a Real part of the dividend.
+     * @param b Imaginary part of the dividend.
+     * @param c Real part of the divisor.
+     * @param d Imaginary part of the divisor.
+     * @param r Result array.
+     * @param i Index of the real part of the result.
+     */
+    private static void divide(double a, double b, double c, double d, double[] r, int i) {
+        // Scale both operands by powers of two so that no product is
+        // subnormal, and apply the combined scale to the quotient.
+        final double divisorScale = FastComplexOperations.inverseScale(c, d);
+        final double dividendScale = FastComplexOperations.inverseScale(a, b);
+        final double as = a * dividendScale;
+        final double bs = b * dividendScale;
+        final double cs = c * divisorScale;
+        final double ds = d * divisorScale;
+        final int exponent = Math.getExponent(divisorScale) - Math.getExponent(dividendScale);
+        final double denominator = FusedMultiplyAdd.sumOfSquares(cs, ds);
+        final double x = Math.scalb(FusedMultiplyAdd.sumOfProducts(as, cs, bs, ds) / denominator, exponent);
+        final double y = Math.scalb(FusedMultiplyAdd.differenceOfProducts(bs, cs, as, ds) / denominator, exponent);
+        if (!Double.isFinite(x) || !Double.isFinite(y)) {
+            ComplexArray.divide(a, b, c, d, r, i);
+        }
+        storeFinite(x, y, r, i);
+    }
+
+    /**
+     * Stores the finite parts of {@code x + yi} into {@code r[i]} and
+     * {@code r[i + 1]}; a non-finite part keeps the value already computed
+     * by the C99 fallback.
+     *
+     * @param x Real part.
+     * @param y Imaginary part.
+     * @param r Result array.
+     * @param i Index of the real part of the result.
+     */
+    private static void storeFinite(double x, double y, double[] r, int i) {
+        if (Double.isFinite(x)) {
+            r[i] = x;
+        }
+        if (Double.isFinite(y)) {
+            r[i + 1] = y;
+        }
+    }
+
+    /**
+     * @param a Real part.
+     * @param b Imaginary part.
+     * @return the modulus of {@code a + bi}.
+     */
+    private static double abs(double a, double b) {
+        final double scale = FastComplexOperations.inverseScale(a, b);
+        final double as = a * scale;
+        final double bs = b * scale;
+        final double m = Math.sqrt(FusedMultiplyAdd.sumOfSquares(as, bs)) * FastComplexOperations.scale(a, b);
+        if (Double.isFinite(m)) {
+            return m;
+        }
+        return Complex.ofCartesian(a, b).abs();
+    }
+
+    /**
+     * @param x Vector.
+     * @param y Vector.
+     * @param result Vector.
+     * @throws IllegalArgumentException if the sizes differ.
+     */
+    private static void checkSize(ComplexArray x, ComplexArray y, ComplexArray result) {
+        if (x.size() != result.size() || y.size() != result.size()) {
+            throw new IllegalArgumentException("Size mismatch: " + x.size() + ", " + y.size() + ", " + result.size());
+        }
+    }
+}
@@ -150,36 +150,7 @@ public final class Complex implements Serializable  {
      * conform to the specification.
      */
     public static Complex parse(String s) {
-        final int len = s.length();
-        final int startParen = s.indexOf(FORMAT_START);
-        if (startParen != 0) {
-            throw new ComplexParsingException("Expected start string: " + FORMAT_START);
-        }
-        final int endParen = s.indexOf(FORMAT_END);
-        if (endParen != len - 1) {
-            throw new ComplexParsingException("Expected end string: " + FORMAT_END);
-        }
-        final String[] elements = s.substring(1, s.length() - 1).split(FORMAT_SEP);
-        if (elements.length != 2) {
-            throw new ComplexParsingException("Incorrect number of parts: Expected 2 but was " +
-                                              elements.length +
-                                              " (separator is '" + FORMAT_SEP + "')");
-        }
-
-        final double re;
-        try {
-            re = Double.parseDouble(elements[0]);
-        } catch (NumberFormatException ex) {
-            throw new ComplexParsingException("Could not parse real part" + elements[0]);
-        }
-        final double im;
-        try {
-            im = Double.parseDouble(elements[1]);
-        } catch (NumberFormatException ex) {
-            throw new ComplexParsingException("Could not parse imaginary part" + elements[1]);
-        }
-
-        return ofCartesian(re, im);
+        return ComplexParser.parse(s);
     }
 
     /**
@@ -1016,7 +987,7 @@ public final class Complex implements Serializable  {
     }
 
     /**
-     * Returns of value of this complex number raised to the power of {@code x}.
+     * Returns the value of this complex number raised to the power of {@code x}.
      * Implements the formula:
      * <pre>
      *  <code>
@@ -1045,7 +1016,86 @@ public final class Complex implements Serializable  {
     }
 
     /**
-     * Returns of value of this complex number raised to the power of {@code x}.
+     * Returns the value of this complex number raised to the power of {@code n}.
+     * <p>
+     * The power is computed by binary exponentiation with the product of
+     * {@link #multiply(Complex)} (about {@code 2 log2 |n|} products, and no
+     * transcendental function), applied to the {@link #reciprocal()} when
+     * {@code n} is negative. Infinite and NaN parts therefore follow the
+     * rules of C.99 standard G.5.1 for the multiplication.
+     * </p>
+     * <p>
+     * The special cases are the same as for {@link #pow(double)} and
+     * {@link #pow(Complex)}: zero raised to a positive power is zero and to
+     * any other power is NaN; a number with an infinite or NaN part raised
+     * to the power 0 is NaN (since {@code exp(0 * log(z))} is NaN); any
+     * other number raised to the power 0 is 1.
+     * </p>
+     * <p>
+     * Note that a call with an {@code int} literal, such as {@code z.pow(2)},
+     * used to resolve to {@link #pow(double)} and resolves to this method
+     * when the calling code is recompiled. The results can differ in the
+     * last bits (this method is usually the more accurate one), and they can
+     * differ for infinite or NaN parts; write {@code z.pow(2.0)} to keep the
+     * previous behaviour.
+     * </p>
+     *
+     * @param  n exponent to which this {@code Complex} is to be raised.
+     * @return <code>this<sup>n</sup></code>.
+     * @see ComplexArray#pow(ComplexArray, int, ComplexArray)
+     */
+    public Complex pow(int n) {
+        if (real == 0 &&
+            imaginary == 0) {
+            // 0 raised to positive number is 0, to anything else is NaN
+            return n > 0 ? ZERO : NAN;
+        }
+        if (n == 0) {
+            return isNaN() || isInfinite() ? NAN : ONE;
+        }
+        final Complex z = n < 0 ? reciprocal() : this;
+        final double a = z.real;
+        final double b = z.imaginary;
+        // Magnitude of the exponent as an unsigned number (also for Integer.MIN_VALUE).
+        final int e = n < 0 ? -n : n;
+        double x = a;
+        double y = b;
+        for (int bit = Integer.highestOneBit(e) >>> 1; bit != 0; bit >>>= 1) {
+            if (Double.isNaN(x) && Double.isNaN(y)) {
+                return powNaN(n);
+            }
+            // Same products as multiply(Complex).
+            final double xx = x * x - y * y;
+            final double yy = x * y + y * x;
+            if ((e & bit) != 0) {
+                if (Double.isNaN(xx) && Double.isNaN(yy)) {
+                    return powNaN(n);
+                }
+                x = xx * a - yy * b;
+                y = xx * b + yy * a;
+            } else {
+                x = xx;
+                y = yy;
+            }
+        }
+        return new Complex(x, y);
+    }
+
+    /**
+     * Computes {@link #pow(int)} with the full {@link #multiply(Complex)}
+     * algorithm, for the rare case where a product has NaN in both parts.
+     *
+     * @param  n exponent to which this {@code Complex} is to be raised.
+     * @return <code>this<sup>n</sup></code>.
+     */
+    private Complex powNaN(int n) {
+        final double[] r = new double[2];
+        ComplexArray.pow(real, imaginary, n, r, 0);
+        return new Complex(r[0], r[1]);
+    }
+
+    /**
+     * Returns the value of this complex number raised to the power of {@code x}.
      *
      * @param  x exponent to which this {@code Complex} is to be raised.
      * @return <code>this<sup>x</sup></code>.
@@ -1302,6 +1352,12 @@ public final class Complex implements Serializable  {
      * one element, {@code NaN + NaN i} is returned.
      * if neither part is NaN, but at least one part is infinite, the result
      * is a one-element list containing {@link #INF}.
+     * </p><p>
+     * The factors \(e^{2 \pi i k / n}\) are taken from the
+     * {@linkplain RootsOfUnityCache#getDefault() shared cache} of roots of
+     * unity, so that repeated calls with the same {@code n} evaluate only
+     * one sine and cosine pair.
+     * </p>
      *
      * @param n Degree of root.
      * @return a List of all {@code n}-th roots of {@code this}.
@@ -1318,14 +1374,32 @@ public final class Complex implements Serializable  {
 
         // Compute nth roots of complex number with k = 0, 1, ... n-1
         final double nthPhi = getArgument() / n;
-        final double slice = 2 * Math.PI / n;
-        double innerPart = nthPhi;
-        for (int k = 0; k < Math.abs(n) ; k++) {
-            // inner part
-            final double realPart = nthRootOfAbs *  Math.cos(innerPart);
-            final double imaginaryPart = nthRootOfAbs *  Math.sin(innerPart);
-            result.add(new Complex(realPart, imaginaryPart));
-            innerPart += slice;
+        final int order = Math.abs(n);
+        if (Double.isInfinite(nthRootOfAbs)) {
+            // Rotating by the roots of unity would create NaN from inf * 0.
+            final double slice = 2 * Math.PI / n;
+            double innerPart = nthPhi;
+            for (int k = 0; k < order; k++) {
+                // inner part
+                final double realPart = nthRootOfAbs *  Math.cos(innerPart);
+                final double imaginaryPart = nthRootOfAbs *  Math.sin(innerPart);
+                result.add(new Complex(realPart, imaginaryPart));
+                innerPart += slice;
+            }
+            return result;
+        }
+
+        // The roots are the first one rotated by the (shared) roots of unity:
+        // the angle of the k-th root is nthPhi + 2 pi k / n.
+        final RootsOfUnity roots = RootsOfUnityCache.getDefault().get(order);
+        final double firstReal = nthRootOfAbs * Math.cos(nthPhi);
+        final double firstImaginary = nthRootOfAbs * Math.sin(nthPhi);
+        final double sign = n < 0 ? -1 : 1;
+        for (int k = 0; k < order; k++) {
+            final double c = roots.getReal(k);
+            final double s = sign * roots.getImaginary(k);
+            result.add(new Complex(firstReal * c - firstImaginary * s,
+                                   firstReal * s + firstImaginary * c));
         }
 
         return result;
@@ -1385,7 +1459,7 @@ public final class Complex implements Serializable  {
     }
 
     /** See {@link #parse(String)}. */
-    private static class ComplexParsingException extends IllegalArgumentException {
+    static class ComplexParsingException extends IllegalArgumentException {
         /** Serializable version identifier. */
         private static final long serialVersionUID = 20180430L;
 
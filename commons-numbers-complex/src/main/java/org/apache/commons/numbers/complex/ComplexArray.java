@@ -0,0 +1,719 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.complex;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size vector of complex numbers stored in a single interleaved
+ * {@code double[]} array, i.e. the real and imaginary parts of element
+ * {@code i} are held at indices {@code 2i} and {@code 2i + 1}.
+ * <p>
+ * This is the same layout as used by
+ * {@code ComplexUtils.complex2Interleaved(Complex[])}, so that data can be
+ * exchanged without copying through {@link #wrap(double[])} and
+ * {@link #getData()}.
+ * </p><p>
+ * The bulk operations come in two flavours:
+ * <ul>
+ *  <li>instance methods which update this vector in place and return it,
+ *   e.g. {@code x.multiply(y)} computes {@code x = x * y};</li>
+ *  <li>static methods which write into a caller-supplied result vector,
+ *   e.g. {@code multiply(x, y, result)}; the result may be one of the
+ *   operands.</li>
+ * </ul>
+ * None of them allocate, and each element is computed with exactly the same
+ * arithmetic as the corresponding {@link Complex} method, including the
+ * recovery of infinities specified in C.99 standard G.5.1.
+ * </p><p>
+ * Instances are not thread-safe.
+ * </p>
+ */
+public final class ComplexArray {
+    /** Interleaved real and imaginary parts. */
+    private final double[] data;
+
+    /**
+     * Private constructor.
+     *
+     * @param data Interleaved data (not copied).
+     */
+    private ComplexArray(double[] data) {
+        this.data = data;
+    }
+
+    /**
+     * Create a vector of the given size with all elements set to zero.
+     *
+     * @param size Number of complex elements.
+     * @return a new vector.
+     * @throws IllegalArgumentException if {@code size} is negative.
+     */
+    public static ComplexArray ofSize(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Negative size: " + size);
+        }
+        return new ComplexArray(new double[2 * size]);
+    }
+
+    /**
+     * Create a vector that holds a copy of the given values.
+     *
+     * @param values Values.
+     * @return a new vector.
+     */
+    public static ComplexArray of(Complex... values) {
+        final double[] data = new double[2 * values.length];
+        for (int i = 0; i < values.length; i++) {
+            data[2 * i] = values[i].getReal();
+            data[2 * i + 1] = values[i].getImaginary();
+        }
+        return new ComplexArray(data);
+    }
+
+    /**
+     * Create a vector backed by the given interleaved array.
+     * The array is not copied: changes to the vector are visible in
+     * the array and vice versa.
+     *
+     * @param interleaved Interleaved real and imaginary parts.
+     * @return a new vector.
+     * @throws IllegalArgumentException if the length of the array is odd.
+     */
+    public static ComplexArray wrap(double[] interleaved) {
+        if ((interleaved.length & 1) != 0) {
+            throw new IllegalArgumentException("Odd length of interleaved data: " + interleaved.length);
+        }
+        return new ComplexArray(interleaved);
+    }
+
+    /**
+     * Gets the number of complex elements.
+     *
+     * @return the size of this vector.
+     */
+    public int size() {
+        return data.length >> 1;
+    }
+
+    /**
+     * Gets the backing interleaved array (not a copy).
+     *
+     * @return the interleaved real and imaginary parts.
+     */
+    public double[] getData() {
+        return data;
+    }
+
+    /**
+     * Gets the real part of an element.
+     *
+     * @param index Element index.
+     * @return the real part.
+     */
+    public double getReal(int index) {
+        return data[2 * index];
+    }
+
+    /**
+     * Gets the imaginary part of an element.
+     *
+     * @param index Element index.
+     * @return the imaginary part.
+     */
+    public double getImaginary(int index) {
+        return data[2 * index + 1];
+    }
+
+    /**
+     * Gets an element as a {@code Complex} object.
+     *
+     * @param index Element index.
+     * @return the element.
+     */
+    public Complex get(int index) {
+        return Complex.ofCartesian(data[2 * index], data[2 * index + 1]);
+    }
+
+    /**
+     * Sets an element.
+     *
+     * @param index Element index.
+     * @param real Real part.
+     * @param imaginary Imaginary part.
+     */
+    public void set(int index, double real, double imaginary) {
+        data[2 * index] = real;
+        data[2 * index + 1] = imaginary;
+    }
+
+    /**
+     * Sets an element.
+     *
+     * @param index Element index.
+     * @param value Value.
+     */
+    public void set(int index, Complex value) {
+        set(index, value.getReal(), value.getImaginary());
+    }
+
+    /**
+     * Creates a deep copy of this vector.
+     *
+     * @return a copy.
+     */
+    public ComplexArray copy() {
+        return new ComplexArray(data.clone());
+    }
+
+    /**
+     * Converts this vector to an array of {@code Complex} objects.
+     *
+     * @return a new array.
+     */
+    public Complex[] toArray() {
+        final Complex[] c = new Complex[size()];
+        for (int i = 0; i < c.length; i++) {
+            c[i] = get(i);
+        }
+        return c;
+    }
+
+    /**
+     * Adds the given vector to this vector, element by element.
+     *
+     * @param addend Vector to be added.
+     * @return this vector.
+     * @throws IllegalArgumentException if the sizes differ.
+     * @see Complex#add(Complex)
+     */
+    public ComplexArray add(ComplexArray addend) {
+        add(this, addend, this);
+        return this;
+    }
+
+    /**
+     * Subtracts the given vector from this vector, element by element.
+     *
+     * @param subtrahend Vector to be subtracted.
+     * @return this vector.
+     * @throws IllegalArgumentException if the sizes differ.
+     * @see Complex#subtract(Complex)
+     */
+    public ComplexArray subtract(ComplexArray subtrahend) {
+        subtract(this, subtrahend, this);
+        return this;
+    }
+
+    /**
+     * Multiplies this vector by the given vector, element by element.
+     *
+     * @param factor Vector to be multiplied by.
+     * @return this vector.
+     * @throws IllegalArgumentException if the sizes differ.
+     * @see Complex#multiply(Complex)
+     */
+    public ComplexArray multiply(ComplexArray factor) {
+        multiply(this, factor, this);
+        return this;
+    }
+
+    /**
+     * Divides this vector by the given vector, element by element.
+     *
+     * @param divisor Vector to be divided by.
+     * @return this vector.
+     * @throws IllegalArgumentException if the sizes differ.
+     * @see Complex#divide(Complex)
+     */
+    public ComplexArray divide(ComplexArray divisor) {
+        divide(this, divisor, this);
+        return this;
+    }
+
+    /**
+     * Replaces each element by its conjugate.
+     *
+     * @return this vector.
+     * @see Complex#conjugate()
+     */
+    public ComplexArray conjugate() {
+        conjugate(this, this);
+        return this;
+    }
+
+    /**
+     * Multiplies each element by a real factor.
+     *
+     * @param factor Real factor.
+     * @return this vector.
+     * @see Complex#multiply(double)
+     */
+    public ComplexArray scale(double factor) {
+        scale(this, factor, this);
+        return this;
+    }
+
+    /**
+     * Adds the element by element product of two vectors to this vector,
+     * i.e. {@code this[i] += x[i] * y[i]}.
+     *
+     * @param x First factor.
+     * @param y Second factor.
+     * @return this vector.
+     * @throws IllegalArgumentException if the sizes differ.
+     */
+    public ComplexArray multiplyAccumulate(ComplexArray x, ComplexArray y) {
+        multiplyAccumulate(x, y, this);
+        return this;
+    }
+
+    /**
+     * Raises each element to an integer power.
+     *
+     * @param n Exponent.
+     * @return this vector.
+     * @see Complex#pow(int)
+     */
+    public ComplexArray pow(int n) {
+        pow(this, n, this);
+        return this;
+    }
+
+    /**
+     * Computes {@code result[i] = x[i] + y[i]}.
+     *
+     * @param x First operand.
+     * @param y Second operand.
+     * @param result Result (can be one of the operands).
+     * @throws IllegalArgumentException if the sizes differ.
+     * @see Complex#add(Complex)
+     */
+    public static void add(ComplexArray x, ComplexArray y, ComplexArray result) {
+        checkSize(x, y, result);
+        final double[] a = x.data;
+        final double[] b = y.data;
+        final double[] r = result.data;
+        for (int i = 0; i < r.length; i++) {
+            r[i] = a[i] + b[i];
+        }
+    }
+
+    /**
+     * Computes {@code result[i] = x[i] - y[i]}.
+     *
+     * @param x First operand.
+     * @param y Second operand.
+     * @param result Result (can be one of the operands).
+     * @throws IllegalArgumentException if the sizes differ.
+     * @see Complex#subtract(Complex)
+     */
+    public static void subtract(ComplexArray x, ComplexArray y, ComplexArray result) {
+        checkSize(x, y, result);
+        final double[] a = x.data;
+        final double[] b = y.data;
+        final double[] r = result.data;
+        for (int i = 0; i < r.length; i++) {
+            r[i] = a[i] - b[i];
+        }
+    }
+
+    /**
+     * Computes {@code result[i] = x[i] * y[i]}.
+     *
+     * @param x First operand.
+     * @param y Second operand.
+     * @param result Result (can be one of the operands).
+     * @throws IllegalArgumentException if the sizes differ.
+     * @see Complex#multiply(Complex)
+     */
+    public static void multiply(ComplexArray x, ComplexArray y, ComplexArray result) {
+        checkSize(x, y, result);
+        final double[] a = x.data;
+        final double[] b = y.data;
+        final double[] r = result.data;
+        for (int i = 0; i < r.length; i += 2) {
+            multiply(a[i], a[i + 1], b[i], b[i + 1], r, i);
+        }
+    }
+
+    /**
+     * Computes {@code result[i] = x[i] / y[i]}.
+     *
+     * @param x Dividend.
+     * @param y Divisor.
+     * @param result Result (can be one of the operands).
+     * @throws IllegalArgumentException if the sizes differ.
+     * @see Complex#divide(Complex)
+     */
+    public static void divide(ComplexArray x, ComplexArray y, ComplexArray result) {
+        checkSize(x, y, result);
+        final double[] a = x.data;
+        final double[] b = y.data;
+        final double[] r = result.data;
+        for (int i = 0; i < r.length; i += 2) {
+            divide(a[i], a[i + 1], b[i], b[i + 1], r, i);
+        }
+    }
+
+    /**
+     * Computes {@code result[i] = conjugate(x[i])}.
+     *
+     * @param x Operand.
+     * @param result Result (can be the operand).
+     * @throws IllegalArgumentException if the sizes differ.
+     * @see Complex#conjugate()
+     */
+    public static void conjugate(ComplexArray x, ComplexArray result) {
+        checkSize(x, result);
+        final double[] a = x.data;
+        final double[] r = result.data;
+        for (int i = 0; i < r.length; i += 2) {
+            r[i] = a[i];
+            r[i + 1] = -a[i + 1];
+        }
+    }
+
+    /**
+     * Computes {@code result[i] = x[i] * factor}.
+     *
+     * @param x Operand.
+     * @param factor Real factor.
+     * @param result Result (can be the operand).
+     * @throws IllegalArgumentException if the sizes differ.
+     * @see Complex#multiply(double)
+     */
+    public static void scale(ComplexArray x, double factor, ComplexArray result) {
+        checkSize(x, result);
+        final double[] a = x.data;
+        final double[] r = result.data;
+        for (int i = 0; i < r.length; i++) {
+            r[i] = a[i] * factor;
+        }
+    }
+
+    /**
+     * Computes {@code result[i] = x[i]^n}.
+     *
+     * @param x Operand.
+     * @param n Exponent.
+     * @param result Result (can be the operand).
+     * @throws IllegalArgumentException if the sizes differ.
+     * @see Complex#pow(int)
+     */
+    public static void pow(ComplexArray x, int n, ComplexArray result) {
+        checkSize(x, result);
+        final double[] a = x.data;
+        final double[] r = result.data;
+        for (int i = 0; i < r.length; i += 2) {
+            pow(a[i], a[i + 1], n, r, i);
+        }
+    }
+
+    /**
+     * Computes {@code result[i] = result[i] + x[i] * y[i]}.
+     * The product is computed as in {@link Complex#multiply(Complex)}.
+     *
+     * @param x First factor.
+     * @param y Second factor.
+     * @param result Accumulator (can be one of the factors).
+     * @throws IllegalArgumentException if the sizes differ.
+     */
+    public static void multiplyAccumulate(ComplexArray x, ComplexArray y, ComplexArray result) {
+        checkSize(x, y, result);
+        final double[] a = x.data;
+        final double[] b = y.data;
+        final double[] r = result.data;
+        for (int i = 0; i < r.length; i += 2) {
+            final double re = r[i];
+            final double im = r[i + 1];
+            multiply(a[i], a[i + 1], b[i], b[i + 1], r, i);
+            r[i] += re;
+            r[i + 1] += im;
+        }
+    }
+
+    /**
+     * Test for equality with another object.
+     * Two vectors are equal if they have the same size and their elements
+     * are equal according to {@link Complex#equals(Object)}.
+     *
+     * @param other Object to test for equality with this instance.
+     * @return {@code true} if the objects are equal.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other instanceof ComplexArray) {
+            final double[] d = ((ComplexArray) other).data;
+            if (d.length != data.length) {
+                return false;
+            }
+            for (int i = 0; i < data.length; i += 2) {
+                if (!get(i >> 1).equals(Complex.ofCartesian(d[i], d[i + 1]))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+        int h = 1;
+        for (int i = 0; i < data.length; i += 2) {
+            h = 31 * h + get(i >> 1).hashCode();
+        }
+        return h;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    /**
+     * Computes the product {@code (a + bi)(c + di)} and stores it into
+     * {@code r[i]} and {@code r[i + 1]}.
+     * This is the same algorithm as {@link Complex#multiply(Complex)}.
+     *
+     * @param a Real part of the first factor.
+     * @param b Imaginary part of the first factor.
+     * @param c Real part of the second factor.
+     * @param d Imaginary part of the second factor.
+     * @param r Result array.
+     * @param i Index of the real part of the result.
+     */
+    static void multiply(double a, double b, double c, double d, double[] r, int i) {
+        final double ac = a*c;
+        final double bd = b*d;
+        final double ad = a*d;
+        final double bc = b*c;
+        double x = ac - bd;
+        double y = ad + bc;
+        if (Double.isNaN(a) && Double.isNaN(b)) {
+            boolean recalc = false;
+            if (Double.isInfinite(a) || Double.isInfinite(b)) {
+                a = Math.copySign(Double.isInfinite(a) ? 1.0 : 0.0, a);
+                b = Math.copySign(Double.isInfinite(a) ? 1.0 : 0.0, a);
+                if (Double.isNaN(c)) {
+                    c = Math.copySign(0.0,  c);
+                }
+                if (Double.isNaN(d)) {
+                    d = Math.copySign(0.0,  d);
+                }
+                recalc = true;
+            }
+            if (Double.isInfinite(c) || Double.isInfinite(d)) {
+                c = Math.copySign(Double.isInfinite(c) ? 1.0 : 0.0, c);
+                d = Math.copySign(Double.isInfinite(d) ? 1.0 : 0.0, d);
+                if (Double.isNaN(a)) {
+                    a = Math.copySign(0.0,  a);
+                }
+                if (Double.isNaN(b)) {
+                    b = Math.copySign(0.0,  b);
+                }
+                recalc = true;
+            }
+            if (!recalc && (Double.isInfinite(ac) || Double.isInfinite(bd) ||
+                    Double.isInfinite(ad) || Double.isInfinite(bc))) {
+                if (Double.isNaN(a)) {
+                    a = Math.copySign(0.0,  a);
+                }
+                if (Double.isNaN(b)) {
+                    b = Math.copySign(0.0,  b);
+                }
+                if (Double.isNaN(c)) {
+                    c = Math.copySign(0.0,  c);
+                }
+                if (Double.isNaN(d)) {
+                    d = Math.copySign(0.0,  d);
+                }
+                recalc = true;
+            }
+            if (recalc) {
+                x = Double.POSITIVE_INFINITY * (a*c - b*d);
+                y = Double.POSITIVE_INFINITY * (a*d + b*c);
+            }
+        }
+        r[i] = x;
+        r[i + 1] = y;
+    }
+
+    /**
+     * Computes the quotient {@code (a + bi) / (c + di)} and stores it into
+     * {@code r[i]} and {@code r[i + 1]}.
+     * This is the same algorithm as {@link Complex#divide(Complex)}.
+     *
+     * @param a Real part of the dividend.
+     * @param b Imaginary part of the dividend.
+     * @param c Real part of the divisor.
+     * @param d Imaginary part of the divisor.
+     * @param r Result array.
+     * @param i Index of the real part of the result.
+     */
+    static void divide(double a, double b, double c, double d, double[] r, int i) {
+        int ilogbw = 0;
+        final double logbw = Math.log(Math.max(Math.abs(c), Math.abs(d))) / Math.log(2);
+        if (!Double.isInfinite(logbw)) {
+            ilogbw = (int)logbw;
+            c = Math.scalb(c, -ilogbw);
+            d = Math.scalb(d, -ilogbw);
+        }
+        final double denom = c*c + d*d;
+        double x = Math.scalb( (a*c + b*d) / denom, -ilogbw);
+        double y = Math.scalb( (b*c - a*d) / denom, -ilogbw);
+        if (Double.isNaN(x) && Double.isNaN(y)) {
+            if ((denom == 0.0) &&
+                    (!Double.isNaN(a) || !Double.isNaN(b))) {
+                x = Math.copySign(Double.POSITIVE_INFINITY, c) * a;
+                y = Math.copySign(Double.POSITIVE_INFINITY, c) * b;
+            } else if ((Double.isInfinite(a) && Double.isInfinite(b)) &&
+                    !Double.isInfinite(c) && !Double.isInfinite(d)) {
+                a = Math.copySign(Double.isInfinite(a) ? 1.0 : 0.0, a);
+                b = Math.copySign(Double.isInfinite(b) ? 1.0 : 0.0, b);
+                x = Double.POSITIVE_INFINITY * (a*c + b*d);
+                y = Double.POSITIVE_INFINITY * (b*c - a*d);
+            } else if (Double.isInfinite(logbw) &&
+                    !Double.isInfinite(a) && !Double.isInfinite(b)) {
+                c = Math.copySign(Double.isInfinite(c) ? 1.0 : 0.0, c);
+                d = Math.copySign(Double.isInfinite(d) ? 1.0 : 0.0, d);
+                x = 0.0 * (a*c + b*d);
+                y = 0.0 * (b*c - a*d);
+            }
+        }
+        r[i] = x;
+        r[i + 1] = y;
+    }
+
+    /**
+     * Computes the reciprocal {@code 1 / (a + bi)} and stores it into
+     * {@code r[i]} and {@code r[i + 1]}.
+     * This is the same algorithm as {@link Complex#reciprocal()}.
+     *
+     * @param a Real part.
+     * @param b Imaginary part.
+     * @param r Result array.
+     * @param i Index of the real part of the result.
+     */
+    static void reciprocal(double a, double b, double[] r, int i) {
+        if (Math.abs(a) < Math.abs(b)) {
+            final double q = a / b;
+            final double scale = 1. / (a * q + b);
+            double scaleQ = 0;
+            if (q != 0 &&
+                scale != 0) {
+                scaleQ = scale * q;
+            }
+            r[i] = scaleQ;
+            r[i + 1] = -scale;
+        } else {
+            final double q = b / a;
+            final double scale = 1. / (b * q + a);
+            double scaleQ = 0;
+            if (q != 0 &&
+                scale != 0) {
+                scaleQ = scale * q;
+            }
+            r[i] = scale;
+            r[i + 1] = -scaleQ;
+        }
+    }
+
+    /**
+     * Computes the power {@code (a + bi)^n} and stores it into
+     * {@code r[i]} and {@code r[i + 1]}.
+     * This is the algorithm of {@link Complex#pow(int)}: left-to-right
+     * binary exponentiation with {@link #multiply(double, double, double, double, double[], int)},
+     * applied to the {@linkplain #reciprocal(double, double, double[], int) reciprocal}
+     * when {@code n < 0}.
+     *
+     * @param a Real part.
+     * @param b Imaginary part.
+     * @param n Exponent.
+     * @param r Result array.
+     * @param i Index of the real part of the result.
+     */
+    static void pow(double a, double b, int n, double[] r, int i) {
+        if (a == 0 && b == 0) {
+            // Same as Complex.pow(double): 0 for a positive exponent, NaN otherwise.
+            r[i] = n > 0 ? 0 : Double.NaN;
+            r[i + 1] = n > 0 ? 0 : Double.NaN;
+            return;
+        }
+        if (n == 0) {
+            // Same as Complex.pow(double): exp(0 * log(z)) is NaN for a non-finite z.
+            final boolean finite = !Double.isNaN(a) && !Double.isNaN(b) &&
+                !Double.isInfinite(a) && !Double.isInfinite(b);
+            r[i] = finite ? 1 : Double.NaN;
+            r[i + 1] = finite ? 0 : Double.NaN;
+            return;
+        }
+        final double x;
+        final double y;
+        if (n < 0) {
+            reciprocal(a, b, r, i);
+            x = r[i];
+            y = r[i + 1];
+        } else {
+            x = a;
+            y = b;
+        }
+        // Magnitude of the exponent as an unsigned number (also for Integer.MIN_VALUE).
+        final int e = n < 0 ? -n : n;
+        r[i] = x;
+        r[i + 1] = y;
+        for (int bit = Integer.highestOneBit(e) >>> 1; bit != 0; bit >>>= 1) {
+            multiply(r[i], r[i + 1], r[i], r[i + 1], r, i);
+            if ((e & bit) != 0) {
+                multiply(r[i], r[i + 1], x, y, r, i);
+            }
+        }
+    }
+
+    /**
+     * Checks that the vectors have the same size.
+     *
+     * @param x Vector.
+     * @param result Vector.
+     * @throws IllegalArgumentException if the sizes differ.
+     */
+    private static void checkSize(ComplexArray x, ComplexArray result) {
+        if (x.data.length != result.data.length) {
+            throw new IllegalArgumentException("Size mismatch: " + x.size() + " != " + result.size());
+        }
+    }
+
+    /**
+     * Checks that the vectors have the same size.
+     *
+     * @param x Vector.
+     * @param y Vector.
+     * @param result Vector.
+     * @throws IllegalArgumentException if the sizes differ.
+     */
+    private static void checkSize(ComplexArray x, ComplexArray y, ComplexArray result) {
+        checkSize(x, result);
+        checkSize(y, result);
+    }
+}
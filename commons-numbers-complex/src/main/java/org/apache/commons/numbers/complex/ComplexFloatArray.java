@@ -0,0 +1,606 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.complex;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size vector of complex numbers in single precision, stored in a
+ * single interleaved {@code float[]} array, i.e. the real and imaginary parts
+ * of element {@code i} are held at indices {@code 2i} and {@code 2i + 1}.
+ * <p>
+ * This is the single precision counterpart of {@link ComplexArray}, with the
+ * same bulk operations, for data such as the {@code float} samples of
+ * analog-to-digital converters: the values are read, computed and written as
+ * {@code float}, without conversion to {@code double} or to {@link Complex}
+ * objects, which halves the memory and the memory traffic. The conversions
+ * to and from double precision ({@link #of(ComplexArray)},
+ * {@link #toComplexArray()}, {@link #get(int)}) are only made on request.
+ * </p><p>
+ * The elements are computed with the same formulas as the corresponding
+ * {@link Complex} methods, in single precision arithmetic: the division
+ * scales the divisor by a power of two and recovers the infinities as
+ * specified in C.99 standard G.5.1.
+ * </p><p>
+ * Instances are not thread-safe.
+ * </p>
+ */
+public final class ComplexFloatArray {
+    /** Interleaved real and imaginary parts. */
+    private final float[] data;
+
+    /**
+     * Private constructor.
+     *
+     * @param data Interleaved data (not copied).
+     */
+    private ComplexFloatArray(float[] data) {
+        this.data = data;
+    }
+
+    /**
+     * Create a vector of the given size with all elements set to zero.
+     *
+     * @param size Number of complex elements.
+     * @return a new vector.
+     * @throws IllegalArgumentException if {@code size} is negative.
+     */
+    public static ComplexFloatArray ofSize(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Negative size: " + size);
+        }
+        return new ComplexFloatArray(new float[2 * size]);
+    }
+
+    /**
+     * Create a vector that holds a copy of the given values, rounded to
+     * single precision.
+     *
+     * @param values Values.
+     * @return a new vector.
+     */
+    public static ComplexFloatArray of(Complex... values) {
+        final float[] data = new float[2 * values.length];
+        for (int i = 0; i < values.length; i++) {
+            data[2 * i] = (float) values[i].getReal();
+            data[2 * i + 1] = (float) values[i].getImaginary();
+        }
+        return new ComplexFloatArray(data);
+    }
+
+    /**
+     * Create a vector that holds a copy of the given values, rounded to
+     * single precision.
+     *
+     * @param values Values.
+     * @return a new vector.
+     */
+    public static ComplexFloatArray of(ComplexArray values) {
+        final double[] d = values.getData();
+        final float[] data = new float[d.length];
+        for (int i = 0; i < d.length; i++) {
+            data[i] = (float) d[i];
+        }
+        return new ComplexFloatArray(data);
+    }
+
+    /**
+     * Create a vector that holds a copy of the given split parts.
+     *
+     * @param real Real parts.
+     * @param imaginary Imaginary parts.
+     * @return a new vector.
+     * @throws IllegalArgumentException if the arrays do not have the same length.
+     */
+    public static ComplexFloatArray ofSplit(float[] real, float[] imaginary) {
+        if (real.length != imaginary.length) {
+            throw new IllegalArgumentException("Length mismatch: " + real.length + " != " + imaginary.length);
+        }
+        final float[] data = new float[2 * real.length];
+        for (int i = 0; i < real.length; i++) {
+            data[2 * i] = real[i];
+            data[2 * i + 1] = imaginary[i];
+        }
+        return new ComplexFloatArray(data);
+    }
+
+    /**
+     * Create a vector backed by the given interleaved array.
+     * The array is not copied: changes to the vector are visible in
+     * the array and vice versa.
+     *
+     * @param interleaved Interleaved real and imaginary parts.
+     * @return a new vector.
+     * @throws IllegalArgumentException if the length of the array is odd.
+     */
+    public static ComplexFloatArray wrap(float[] interleaved) {
+        if ((interleaved.length & 1) != 0) {
+            throw new IllegalArgumentException("Odd length of interleaved data: " + interleaved.length);
+        }
+        return new ComplexFloatArray(interleaved);
+    }
+
+    /**
+     * Gets the number of complex elements.
+     *
+     * @return the size of this vector.
+     */
+    public int size() {
+        return data.length >> 1;
+    }
+
+    /**
+     * Gets the backing interleaved array (not a copy).
+     *
+     * @return the interleaved real and imaginary parts.
+     */
+    public float[] getData() {
+        return data;
+    }
+
+    /**
+     * Gets the real part of an element.
+     *
+     * @param index Element index.
+     * @return the real part.
+     */
+    public float getReal(int index) {
+        return data[2 * index];
+    }
+
+    /**
+     * Gets the imaginary part of an element.
+     *
+     * @param index Element index.
+     * @return the imaginary part.
+     */
+    public float getImaginary(int index) {
+        return data[2 * index + 1];
+    }
+
+    /**
+     * Gets an element as a {@code Complex} object.
+     *
+     * @param index Element index.
+     * @return the element.
+     */
+    public Complex get(int index) {
+        return Complex.ofCartesian(data[2 * index], data[2 * index + 1]);
+    }
+
+    /**
+     * Sets an element.
+     *
+     * @param index Element index.
+     * @param real Real part.
+     * @param imaginary Imaginary part.
+     */
+    public void set(int index, float real, float imaginary) {
+        data[2 * index] = real;
+        data[2 * index + 1] = imaginary;
+    }
+
+    /**
+     * Sets an element, rounded to single precision.
+     *
+     * @param index Element index.
+     * @param value Value.
+     */
+    public void set(int index, Complex value) {
+        set(index, (float) value.getReal(), (float) value.getImaginary());
+    }
+
+    /**
+     * Creates a deep copy of this vector.
+     *
+     * @return a copy.
+     */
+    public ComplexFloatArray copy() {
+        return new ComplexFloatArray(data.clone());
+    }
+
+    /**
+     * Converts this vector to an array of {@code Complex} objects.
+     *
+     * @return a new array.
+     */
+    public Complex[] toArray() {
+        final Complex[] c = new Complex[size()];
+        for (int i = 0; i < c.length; i++) {
+            c[i] = get(i);
+        }
+        return c;
+    }
+
+    /**
+     * Converts this vector to double precision.
+     *
+     * @return a new vector.
+     */
+    public ComplexArray toComplexArray() {
+        final double[] d = new double[data.length];
+        for (int i = 0; i < d.length; i++) {
+            d[i] = data[i];
+        }
+        return ComplexArray.wrap(d);
+    }
+
+    /**
+     * Copies the parts into split arrays.
+     *
+     * @param real Real parts (output).
+     * @param imaginary Imaginary parts (output).
+     * @throws IllegalArgumentException if the length of either array is not
+     * {@link #size()}.
+     */
+    public void toSplit(float[] real, float[] imaginary) {
+        final int n = size();
+        if (real.length != n || imaginary.length != n) {
+            throw new IllegalArgumentException("Expected length " + n + " but was " +
+                real.length + " and " + imaginary.length);
+        }
+        for (int i = 0; i < n; i++) {
+            real[i] = data[2 * i];
+            imaginary[i] = data[2 * i + 1];
+        }
+    }
+
+    /**
+     * Adds the given vector to this vector, element by element.
+     *
+     * @param addend Vector to be added.
+     * @return this vector.
+     * @throws IllegalArgumentException if the sizes differ.
+     * @see Complex#add(Complex)
+     */
+    public ComplexFloatArray add(ComplexFloatArray addend) {
+        add(this, addend, this);
+        return this;
+    }
+
+    /**
+     * Subtracts the given vector from this vector, element by element.
+     *
+     * @param subtrahend Vector to be subtracted.
+     * @return this vector.
+     * @throws IllegalArgumentException if the sizes differ.
+     * @see Complex#subtract(Complex)
+     */
+    public ComplexFloatArray subtract(ComplexFloatArray subtrahend) {
+        subtract(this, subtrahend, this);
+        return this;
+    }
+
+    /**
+     * Multiplies this vector by the given vector, element by element.
+     *
+     * @param factor Vector to be multiplied by.
+     * @return this vector.
+     * @throws IllegalArgumentException if the sizes differ.
+     * @see Complex#multiply(Complex)
+     */
+    public ComplexFloatArray multiply(ComplexFloatArray factor) {
+        multiply(this, factor, this);
+        return this;
+    }
+
+    /**
+     * Divides this vector by the given vector, element by element.
+     *
+     * @param divisor Vector to be divided by.
+     * @return this vector.
+     * @throws IllegalArgumentException if the sizes differ.
+     * @see Complex#divide(Complex)
+     */
+    public ComplexFloatArray divide(ComplexFloatArray divisor) {
+        divide(this, divisor, this);
+        return this;
+    }
+
+    /**
+     * Replaces each element by its conjugate.
+     *
+     * @return this vector.
+     * @see Complex#conjugate()
+     */
+    public ComplexFloatArray conjugate() {
+        conjugate(this, this);
+        return this;
+    }
+
+    /**
+     * Multiplies each element by a real factor.
+     *
+     * @param factor Real factor.
+     * @return this vector.
+     * @see Complex#multiply(double)
+     */
+    public ComplexFloatArray scale(float factor) {
+        scale(this, factor, this);
+        return this;
+    }
+
+    /**
+     * Adds the element by element product of two vectors to this vector,
+     * i.e. {@code this[i] += x[i] * y[i]}.
+     *
+     * @param x First factor.
+     * @param y Second factor.
+     * @return this vector.
+     * @throws IllegalArgumentException if the sizes differ.
+     */
+    public ComplexFloatArray multiplyAccumulate(ComplexFloatArray x, ComplexFloatArray y) {
+        multiplyAccumulate(x, y, this);
+        return this;
+    }
+
+    /**
+     * Computes {@code result[i] = x[i] + y[i]}.
+     *
+     * @param x First operand.
+     * @param y Second operand.
+     * @param result Result (can be one of the operands).
+     * @throws IllegalArgumentException if the sizes differ.
+     * @see Complex#add(Complex)
+     */
+    public static void add(ComplexFloatArray x, ComplexFloatArray y, ComplexFloatArray result) {
+        checkSize(x, y, result);
+        final float[] a = x.data;
+        final float[] b = y.data;
+        final float[] r = result.data;
+        for (int i = 0; i < r.length; i++) {
+            r[i] = a[i] + b[i];
+        }
+    }
+
+    /**
+     * Computes {@code result[i] = x[i] - y[i]}.
+     *
+     * @param x First operand.
+     * @param y Second operand.
+     * @param result Result (can be one of the operands).
+     * @throws IllegalArgumentException if the sizes differ.
+     * @see Complex#subtract(Complex)
+     */
+    public static void subtract(ComplexFloatArray x, ComplexFloatArray y, ComplexFloatArray result) {
+        checkSize(x, y, result);
+        final float[] a = x.data;
+        final float[] b = y.data;
+        final float[] r = result.data;
+        for (int i = 0; i < r.length; i++) {
+            r[i] = a[i] - b[i];
+        }
+    }
+
+    /**
+     * Computes {@code result[i] = x[i] * y[i]}.
+     *
+     * @param x First operand.
+     * @param y Second operand.
+     * @param result Result (can be one of the operands).
+     * @throws IllegalArgumentException if the sizes differ.
+     * @see Complex#multiply(Complex)
+     */
+    public static void multiply(ComplexFloatArray x, ComplexFloatArray y, ComplexFloatArray result) {
+        checkSize(x, y, result);
+        final float[] a = x.data;
+        final float[] b = y.data;
+        final float[] r = result.data;
+        for (int i = 0; i < r.length; i += 2) {
+            final float ar = a[i];
+            final float ai = a[i + 1];
+            final float br = b[i];
+            final float bi = b[i + 1];
+            r[i] = ar * br - ai * bi;
+            r[i + 1] = ar * bi + ai * br;
+        }
+    }
+
+    /**
+     * Computes {@code result[i] = x[i] / y[i]}.
+     *
+     * @param x Dividend.
+     * @param y Divisor.
+     * @param result Result (can be one of the operands).
+     * @throws IllegalArgumentException if the sizes differ.
+     * @see Complex#divide(Complex)
+     */
+    public static void divide(ComplexFloatArray x, ComplexFloatArray y, ComplexFloatArray result) {
+        checkSize(x, y, result);
+        final float[] a = x.data;
+        final float[] b = y.data;
+        final float[] r = result.data;
+        for (int i = 0; i < r.length; i += 2) {
+            divide(a[i], a[i + 1], b[i], b[i + 1], r, i);
+        }
+    }
+
+    /**
+     * Computes {@code result[i] = conjugate(x[i])}.
+     *
+     * @param x Operand.
+     * @param result Result (can be the operand).
+     * @throws IllegalArgumentException if the sizes differ.
+     * @see Complex#conjugate()
+     */
+    public static void conjugate(ComplexFloatArray x, ComplexFloatArray result) {
+        checkSize(x, result);
+        final float[] a = x.data;
+        final float[] r = result.data;
+        for (int i = 0; i < r.length; i += 2) {
+            r[i] = a[i];
+            r[i + 1] = -a[i + 1];
+        }
+    }
+
+    /**
+     * Computes {@code result[i] = x[i] * factor}.
+     *
+     * @param x Operand.
+     * @param factor Real factor.
+     * @param result Result (can be the operand).
+     * @throws IllegalArgumentException if the sizes differ.
+     * @see Complex#multiply(double)
+     */
+    public static void scale(ComplexFloatArray x, float factor, ComplexFloatArray result) {
+        checkSize(x, result);
+        final float[] a = x.data;
+        final float[] r = result.data;
+        for (int i = 0; i < r.length; i++) {
+            r[i] = a[i] * factor;
+        }
+    }
+
+    /**
+     * Computes {@code result[i] = result[i] + x[i] * y[i]}.
+     * The product is computed as in {@link #multiply(ComplexFloatArray, ComplexFloatArray, ComplexFloatArray)}.
+     *
+     * @param x First factor.
+     * @param y Second factor.
+     * @param result Accumulator (can be one of the factors).
+     * @throws IllegalArgumentException if the sizes differ.
+     */
+    public static void multiplyAccumulate(ComplexFloatArray x, ComplexFloatArray y, ComplexFloatArray result) {
+        checkSize(x, y, result);
+        final float[] a = x.data;
+        final float[] b = y.data;
+        final float[] r = result.data;
+        for (int i = 0; i < r.length; i += 2) {
+            final float ar = a[i];
+            final float ai = a[i + 1];
+            final float br = b[i];
+            final float bi = b[i + 1];
+            r[i] += ar * br - ai * bi;
+            r[i + 1] += ar * bi + ai * br;
+        }
+    }
+
+    /**
+     * Test for equality with another object.
+     * Two vectors are equal if they have the same size and their parts
+     * are equal according to {@link Float#equals(Object)}.
+     *
+     * @param other Object to test for equality with this instance.
+     * @return {@code true} if the objects are equal.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other instanceof ComplexFloatArray) {
+            return Arrays.equals(data, ((ComplexFloatArray) other).data);
+        }
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(data);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder(16 * data.length + 2).append('[');
+        for (int i = 0; i < data.length; i += 2) {
+            if (i != 0) {
+                sb.append(", ");
+            }
+            sb.append('(').append(data[i]).append(',').append(data[i + 1]).append(')');
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Computes the quotient {@code (a + bi) / (c + di)} and stores it into
+     * {@code r[i]} and {@code r[i + 1]}.
+     * This is the algorithm of {@link Complex#divide(Complex)} in single
+     * precision, with the divisor scaled by the power of two of its
+     * {@linkplain Math#getExponent(float) exponent}.
+     *
+     * @param a Real part of the dividend.
+     * @param b Imaginary part of the dividend.
+     * @param c Real part of the divisor.
+     * @param d Imaginary part of the divisor.
+     * @param r Result array.
+     * @param i Index of the real part of the result.
+     */
+    static void divide(float a, float b, float c, float d, float[] r, int i) {
+        final float m = Math.max(Math.abs(c), Math.abs(d));
+        // Zero or infinite divisor (the scaling of the double version is then infinite).
+        final boolean extreme = m == 0 || m == Float.POSITIVE_INFINITY;
+        int ilogbw = 0;
+        if (!extreme && !Float.isNaN(m)) {
+            ilogbw = Math.getExponent(m);
+            c = Math.scalb(c, -ilogbw);
+            d = Math.scalb(d, -ilogbw);
+        }
+        final float denom = c*c + d*d;
+        float x = Math.scalb((a*c + b*d) / denom, -ilogbw);
+        float y = Math.scalb((b*c - a*d) / denom, -ilogbw);
+        if (Float.isNaN(x) && Float.isNaN(y)) {
+            if ((denom == 0.0f) &&
+                    (!Float.isNaN(a) || !Float.isNaN(b))) {
+                x = Math.copySign(Float.POSITIVE_INFINITY, c) * a;
+                y = Math.copySign(Float.POSITIVE_INFINITY, c) * b;
+            } else if ((Float.isInfinite(a) && Float.isInfinite(b)) &&
+                    !Float.isInfinite(c) && !Float.isInfinite(d)) {
+                a = Math.copySign(1.0f, a);
+                b = Math.copySign(1.0f, b);
+                x = Float.POSITIVE_INFINITY * (a*c + b*d);
+                y = Float.POSITIVE_INFINITY * (b*c - a*d);
+            } else if (extreme &&
+                    !Float.isInfinite(a) && !Float.isInfinite(b)) {
+                c = Math.copySign(Float.isInfinite(c) ? 1.0f : 0.0f, c);
+                d = Math.copySign(Float.isInfinite(d) ? 1.0f : 0.0f, d);
+                x = 0.0f * (a*c + b*d);
+                y = 0.0f * (b*c - a*d);
+            }
+        }
+        r[i] = x;
+        r[i + 1] = y;
+    }
+
+    /**
+     * Checks that the vectors have the same size.
+     *
+     * @param x Vector.
+     * @param result Vector.
+     * @throws IllegalArgumentException if the sizes differ.
+     */
+    private static void checkSize(ComplexFloatArray x, ComplexFloatArray result) {
+        if (x.data.length != result.data.length) {
+            throw new IllegalArgumentException("Size mismatch: " + x.size() + " != " + result.size());
+        }
+    }
+
+    /**
+     * Checks that the vectors have the same size.
+     *
+     * @param x Vector.
+     * @param y Vector.
+     * @param result Vector.
+     * @throws IllegalArgumentException if the sizes differ.
+     */
+    private static void checkSize(ComplexFloatArray x, ComplexFloatArray y, ComplexFloatArray result) {
+        checkSize(x, result);
+        checkSize(y, result);
+    }
+}
@@ -0,0 +1,914 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.complex;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A dense matrix of complex numbers stored in a single interleaved
+ * {@code double[]} array, in row-major order: the real and imaginary parts
+ * of element {@code (i, j)} of a matrix with {@code m} columns are held at
+ * indices {@code 2(im + j)} and {@code 2(im + j) + 1}. Each row therefore
+ * has the layout of a {@link ComplexArray}.
+ * <p>
+ * The products are computed by cache-sized blocks, and the
+ * {@linkplain LUDecomposition LU decomposition} uses partial pivoting. Both
+ * can split their rows across a {@link ForkJoinPool} for large matrices;
+ * the results are identical to the sequential ones.
+ * </p><p>
+ * As in BLAS, the sums of products use the textbook formula
+ * \((a + bi)(c + di) = (ac - bd) + (ad + bc)i\), without the recovery of
+ * infinities specified in C.99 standard G.5.1; divisions use the same
+ * algorithm as {@link Complex#divide(Complex)}.
+ * </p><p>
+ * Instances are not thread-safe.
+ * </p>
+ */
+public final class ComplexMatrix {
+    /** Size of the square blocks of the product, in complex elements. */
+    private static final int BLOCK = 64;
+    /** Number of complex multiply-adds below which a parallel operation runs in the calling thread. */
+    private static final long MIN_PARALLEL_WORK = 1 << 16;
+
+    /** Number of rows. */
+    private final int rows;
+    /** Number of columns. */
+    private final int columns;
+    /** Interleaved real and imaginary parts, in row-major order. */
+    private final double[] data;
+
+    /**
+     * @param rows Number of rows.
+     * @param columns Number of columns.
+     * @param data Interleaved data (not copied).
+     */
+    private ComplexMatrix(int rows, int columns, double[] data) {
+        this.rows = rows;
+        this.columns = columns;
+        this.data = data;
+    }
+
+    /**
+     * Create a matrix of the given dimensions with all elements set to zero.
+     *
+     * @param rows Number of rows.
+     * @param columns Number of columns.
+     * @return a new matrix.
+     * @throws IllegalArgumentException if a dimension is negative or if
+     * the matrix is too large for an array.
+     */
+    public static ComplexMatrix ofSize(int rows, int columns) {
+        return new ComplexMatrix(rows, columns, new double[length(rows, columns)]);
+    }
+
+    /**
+     * Create an identity matrix.
+     *
+     * @param size Number of rows and columns.
+     * @return a new matrix.
+     * @throws IllegalArgumentException if {@code size} is negative or if
+     * the matrix is too large for an array.
+     */
+    public static ComplexMatrix identity(int size) {
+        final ComplexMatrix m = ofSize(size, size);
+        for (int i = 0; i < size; i++) {
+            m.data[2 * (i * size + i)] = 1;
+        }
+        return m;
+    }
+
+    /**
+     * Create a matrix that holds a copy of the given values.
+     *
+     * @param values Values, indexed by row then column.
+     * @return a new matrix.
+     * @throws IllegalArgumentException if the rows do not have the same length.
+     */
+    public static ComplexMatrix of(Complex[][] values) {
+        final int r = values.length;
+        final int c = r == 0 ? 0 : values[0].length;
+        final ComplexMatrix m = ofSize(r, c);
+        for (int i = 0; i < r; i++) {
+            final Complex[] row = values[i];
+            if (row.length != c) {
+                throw new IllegalArgumentException("Row " + i + " has length " + row.length + " instead of " + c);
+            }
+            for (int j = 0; j < c; j++) {
+                m.data[2 * (i * c + j)] = row[j].getReal();
+                m.data[2 * (i * c + j) + 1] = row[j].getImaginary();
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Create a matrix backed by the given interleaved row-major array.
+     * The array is not copied: changes to the matrix are visible in
+     * the array and vice versa.
+     *
+     * @param rows Number of rows.
+     * @param columns Number of columns.
+     * @param interleaved Interleaved real and imaginary parts.
+     * @return a new matrix.
+     * @throws IllegalArgumentException if a dimension is negative or if the
+     * length of the array is not {@code 2 * rows * columns}.
+     */
+    public static ComplexMatrix wrap(int rows, int columns, double[] interleaved) {
+        final int length = length(rows, columns);
+        if (interleaved.length != length) {
+            throw new IllegalArgumentException("Expected length " + length + " but was " + interleaved.length);
+        }
+        return new ComplexMatrix(rows, columns, interleaved);
+    }
+
+    /**
+     * @return the number of rows.
+     */
+    public int getRowDimension() {
+        return rows;
+    }
+
+    /**
+     * @return the number of columns.
+     */
+    public int getColumnDimension() {
+        return columns;
+    }
+
+    /**
+     * Gets the backing interleaved row-major array (not a copy).
+     *
+     * @return the interleaved real and imaginary parts.
+     */
+    public double[] getData() {
+        return data;
+    }
+
+    /**
+     * Gets the real part of an element.
+     *
+     * @param row Row index.
+     * @param column Column index.
+     * @return the real part.
+     * @throws IndexOutOfBoundsException if an index is out of bounds.
+     */
+    public double getReal(int row, int column) {
+        return data[index(row, column)];
+    }
+
+    /**
+     * Gets the imaginary part of an element.
+     *
+     * @param row Row index.
+     * @param column Column index.
+     * @return the imaginary part.
+     * @throws IndexOutOfBoundsException if an index is out of bounds.
+     */
+    public double getImaginary(int row, int column) {
+        return data[index(row, column) + 1];
+    }
+
+    /**
+     * Gets an element.
+     *
+     * @param row Row index.
+     * @param column Column index.
+     * @return a new complex number.
+     * @throws IndexOutOfBoundsException if an index is out of bounds.
+     */
+    public Complex get(int row, int column) {
+        final int k = index(row, column);
+        return Complex.ofCartesian(data[k], data[k + 1]);
+    }
+
+    /**
+     * Sets an element.
+     *
+     * @param row Row index.
+     * @param column Column index.
+     * @param real Real part.
+     * @param imaginary Imaginary part.
+     * @throws IndexOutOfBoundsException if an index is out of bounds.
+     */
+    public void set(int row, int column, double real, double imaginary) {
+        final int k = index(row, column);
+        data[k] = real;
+        data[k + 1] = imaginary;
+    }
+
+    /**
+     * Sets an element.
+     *
+     * @param row Row index.
+     * @param column Column index.
+     * @param value Value.
+     * @throws IndexOutOfBoundsException if an index is out of bounds.
+     */
+    public void set(int row, int column, Complex value) {
+        set(row, column, value.getReal(), value.getImaginary());
+    }
+
+    /**
+     * @return a deep copy of this matrix.
+     */
+    public ComplexMatrix copy() {
+        return new ComplexMatrix(rows, columns, data.clone());
+    }
+
+    /**
+     * Converts this matrix to an array of {@link Complex} instances.
+     *
+     * @return a new array, indexed by row then column.
+     */
+    public Complex[][] toArray() {
+        final Complex[][] result = new Complex[rows][columns];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                final int k = 2 * (i * columns + j);
+                result[i][j] = Complex.ofCartesian(data[k], data[k + 1]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Computes the conjugate transpose (Hermitian adjoint).
+     *
+     * @return a new matrix.
+     */
+    public ComplexMatrix conjugateTranspose() {
+        final ComplexMatrix t = ofSize(columns, rows);
+        final double[] d = t.data;
+        // Blocks, so that both the rows read and the rows written stay in cache.
+        for (int ii = 0; ii < rows; ii += BLOCK) {
+            final int iEnd = Math.min(ii + BLOCK, rows);
+            for (int jj = 0; jj < columns; jj += BLOCK) {
+                final int jEnd = Math.min(jj + BLOCK, columns);
+                for (int i = ii; i < iEnd; i++) {
+                    for (int j = jj; j < jEnd; j++) {
+                        final int from = 2 * (i * columns + j);
+                        final int to = 2 * (j * rows + i);
+                        d[to] = data[from];
+                        d[to + 1] = -data[from + 1];
+                    }
+                }
+            }
+        }
+        return t;
+    }
+
+    /**
+     * Computes the product of this matrix by a vector.
+     *
+     * @param x Vector.
+     * @return a new vector.
+     * @throws IllegalArgumentException if the size of the vector is not the
+     * number of columns.
+     */
+    public ComplexArray operate(ComplexArray x) {
+        final ComplexArray result = ComplexArray.ofSize(rows);
+        operate(x, result);
+        return result;
+    }
+
+    /**
+     * Computes the product of this matrix by a vector.
+     *
+     * @param x Vector.
+     * @param result Product; it must not be {@code x}.
+     * @throws IllegalArgumentException if the size of {@code x} is not the
+     * number of columns, if the size of {@code result} is not the number of
+     * rows, or if {@code result} is {@code x}.
+     */
+    public void operate(ComplexArray x, ComplexArray result) {
+        if (x.size() != columns || result.size() != rows) {
+            throw new IllegalArgumentException("Cannot multiply " + rows + "x" + columns +
+                                               " matrix by vector of size " + x.size() +
+                                               " into vector of size " + result.size());
+        }
+        final double[] v = x.getData();
+        final double[] r = result.getData();
+        if (v == r) {
+            throw new IllegalArgumentException("Result must not be the operand");
+        }
+        for (int i = 0; i < rows; i++) {
+            final int row = 2 * i * columns;
+            double re = 0;
+            double im = 0;
+            for (int j = 0; j < columns; j++) {
+                final double a = data[row + 2 * j];
+                final double b = data[row + 2 * j + 1];
+                final double c = v[2 * j];
+                final double d = v[2 * j + 1];
+                re += a * c - b * d;
+                im += a * d + b * c;
+            }
+            r[2 * i] = re;
+            r[2 * i + 1] = im;
+        }
+    }
+
+    /**
+     * Computes the product {@code this * b}.
+     *
+     * @param b Right factor.
+     * @return a new matrix.
+     * @throws IllegalArgumentException if the dimensions do not match.
+     */
+    public ComplexMatrix multiply(ComplexMatrix b) {
+        final ComplexMatrix result = ofSize(rows, b.columns);
+        multiply(this, b, result, null);
+        return result;
+    }
+
+    /**
+     * Computes the product {@code this * b}, with the rows of the result
+     * split across a pool when the matrices are large.
+     *
+     * @param b Right factor.
+     * @param pool Executor.
+     * @return a new matrix.
+     * @throws IllegalArgumentException if the dimensions do not match.
+     */
+    public ComplexMatrix multiply(ComplexMatrix b, ForkJoinPool pool) {
+        final ComplexMatrix result = ofSize(rows, b.columns);
+        multiply(this, b, result, pool);
+        return result;
+    }
+
+    /**
+     * Computes the product {@code a * b} into a caller-supplied matrix.
+     *
+     * @param a Left factor.
+     * @param b Right factor.
+     * @param result Product; it must not be one of the factors.
+     * @throws IllegalArgumentException if the dimensions do not match or if
+     * {@code result} shares its data with a factor.
+     */
+    public static void multiply(ComplexMatrix a, ComplexMatrix b, ComplexMatrix result) {
+        multiply(a, b, result, null);
+    }
+
+    /**
+     * Computes the product {@code a * b} into a caller-supplied matrix, with
+     * the rows of the result split across a pool when the matrices are large.
+     *
+     * @param a Left factor.
+     * @param b Right factor.
+     * @param result Product; it must not be one of the factors.
+     * @param pool Executor, or {@code null} to compute in the calling thread.
+     * @throws IllegalArgumentException if the dimensions do not match or if
+     * {@code result} shares its data with a factor.
+     */
+    public static void multiply(ComplexMatrix a, ComplexMatrix b, ComplexMatrix result, ForkJoinPool pool) {
+        if (a.columns != b.rows || result.rows != a.rows || result.columns != b.columns) {
+            throw new IllegalArgumentException("Cannot multiply " + a.rows + "x" + a.columns +
+                                               " by " + b.rows + "x" + b.columns +
+                                               " into " + result.rows + "x" + result.columns);
+        }
+        if (result.data == a.data || result.data == b.data) {
+            throw new IllegalArgumentException("Result must not be a factor");
+        }
+        Arrays.fill(result.data, 0);
+        final double[] x = a.data;
+        final double[] y = b.data;
+        final double[] z = result.data;
+        final int n = a.columns;
+        final int m = b.columns;
+        run(pool, (long) a.rows * n * m, 0, a.rows, (from, to) -> multiplyRows(x, y, z, n, m, from, to));
+    }
+
+    /**
+     * Computes the LU decomposition with partial pivoting.
+     *
+     * @return the decomposition.
+     * @throws IllegalArgumentException if the matrix is not square.
+     */
+    public LUDecomposition lu() {
+        return new LUDecomposition(this, null);
+    }
+
+    /**
+     * Computes the LU decomposition with partial pivoting, with the update
+     * of the remaining rows at each step split across a pool when the
+     * matrix is large.
+     *
+     * @param pool Executor.
+     * @return the decomposition.
+     * @throws IllegalArgumentException if the matrix is not square.
+     */
+    public LUDecomposition lu(ForkJoinPool pool) {
+        return new LUDecomposition(this, pool);
+    }
+
+    /**
+     * Solves the linear system {@code this * x = b}.
+     *
+     * @param b Right-hand side.
+     * @return a new vector holding the solution.
+     * @throws IllegalArgumentException if the matrix is not square or is
+     * singular, or if the size of {@code b} does not match.
+     */
+    public ComplexArray solve(ComplexArray b) {
+        return lu().solve(b);
+    }
+
+    /**
+     * Computes the determinant.
+     *
+     * @return the determinant.
+     * @throws IllegalArgumentException if the matrix is not square.
+     */
+    public Complex determinant() {
+        return lu().getDeterminant();
+    }
+
+    /**
+     * Test for equality with another object. Two matrices are equal if they
+     * have the same dimensions and their parts are equal as defined by
+     * {@link Arrays#equals(double[], double[])}.
+     *
+     * @param other Object to test for equality with this instance.
+     * @return {@code true} if the objects are equal.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other instanceof ComplexMatrix) {
+            final ComplexMatrix m = (ComplexMatrix) other;
+            return rows == m.rows && columns == m.columns && Arrays.equals(data, m.data);
+        }
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+        return 31 * (31 * rows + columns) + Arrays.hashCode(data);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder(16 + 24 * data.length).append('[');
+        for (int i = 0; i < rows; i++) {
+            if (i != 0) {
+                sb.append(", ");
+            }
+            sb.append('[');
+            for (int j = 0; j < columns; j++) {
+                if (j != 0) {
+                    sb.append(", ");
+                }
+                final int k = 2 * (i * columns + j);
+                sb.append('(').append(data[k]).append(',').append(data[k + 1]).append(')');
+            }
+            sb.append(']');
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Accumulates rows {@code [from, to)} of the product {@code x * y} into {@code z}.
+     * The loops go over blocks of {@code y} that fit in cache, and the
+     * innermost loop runs along rows of {@code y} and {@code z}.
+     *
+     * @param x Left factor.
+     * @param y Right factor.
+     * @param z Product.
+     * @param n Number of columns of {@code x} (rows of {@code y}).
+     * @param m Number of columns of {@code y}.
+     * @param from First row.
+     * @param to Last row (exclusive).
+     */
+    private static void multiplyRows(double[] x, double[] y, double[] z, int n, int m, int from, int to) {
+        for (int kk = 0; kk < n; kk += BLOCK) {
+            final int kEnd = Math.min(kk + BLOCK, n);
+            for (int jj = 0; jj < m; jj += BLOCK) {
+                final int jEnd = Math.min(jj + BLOCK, m);
+                for (int i = from; i < to; i++) {
+                    final int xi = 2 * i * n;
+                    final int zi = 2 * i * m;
+                    for (int k = kk; k < kEnd; k++) {
+                        final double a = x[xi + 2 * k];
+                        final double b = x[xi + 2 * k + 1];
+                        final int yk = 2 * k * m;
+                        for (int j = jj; j < jEnd; j++) {
+                            final double c = y[yk + 2 * j];
+                            final double d = y[yk + 2 * j + 1];
+                            z[zi + 2 * j] += a * c - b * d;
+                            z[zi + 2 * j + 1] += a * d + b * c;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies an operation to a range of rows, in parallel if a pool is given
+     * and there is enough work.
+     *
+     * @param pool Executor, or {@code null}.
+     * @param work Number of complex multiply-adds.
+     * @param from First row.
+     * @param to Last row (exclusive).
+     * @param operation Operation.
+     */
+    private static void run(ForkJoinPool pool, long work, int from, int to, RowOperation operation) {
+        if (pool == null || work < MIN_PARALLEL_WORK || to - from < 2) {
+            operation.apply(from, to);
+        } else {
+            // Tasks of about MIN_PARALLEL_WORK, with at least one row each.
+            final long rowWork = Math.max(1, work / (to - from));
+            final int minRows = (int) Math.max(1, MIN_PARALLEL_WORK / rowWork);
+            pool.invoke(new RowTask(operation, from, to, minRows));
+        }
+    }
+
+    /**
+     * @param rows Number of rows.
+     * @param columns Number of columns.
+     * @return the length of the interleaved array.
+     * @throws IllegalArgumentException if a dimension is negative or if
+     * the length is too large.
+     */
+    private static int length(int rows, int columns) {
+        if (rows < 0 || columns < 0) {
+            throw new IllegalArgumentException("Negative dimension: " + rows + "x" + columns);
+        }
+        final long length = 2L * rows * columns;
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Matrix too large: " + rows + "x" + columns);
+        }
+        return (int) length;
+    }
+
+    /**
+     * @param row Row index.
+     * @param column Column index.
+     * @return the index of the real part.
+     * @throws IndexOutOfBoundsException if an index is out of bounds.
+     */
+    private int index(int row, int column) {
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            throw new IndexOutOfBoundsException("Index (" + row + ", " + column + ") out of bounds for " +
+                                                rows + "x" + columns + " matrix");
+        }
+        return 2 * (row * columns + column);
+    }
+
+    /**
+     * Operation on a range of rows.
+     */
+    @FunctionalInterface
+    private interface RowOperation {
+        /**
+         * @param from First row.
+         * @param to Last row (exclusive).
+         */
+        void apply(int from, int to);
+    }
+
+    /**
+     * Applies an operation to a range of rows, split across the pool.
+     */
+    private static final class RowTask extends RecursiveAction {
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20261017L;
+        /** Operation. */
+        private final transient RowOperation operation;
+        /** First row. */
+        private final int from;
+        /** Last row (exclusive). */
+        private final int to;
+        /** Number of rows below which the range is not split. */
+        private final int minRows;
+
+        /**
+         * @param operation Operation.
+         * @param from First row.
+         * @param to Last row (exclusive).
+         * @param minRows Number of rows below which the range is not split.
+         */
+        RowTask(RowOperation operation, int from, int to, int minRows) {
+            this.operation = operation;
+            this.from = from;
+            this.to = to;
+            this.minRows = minRows;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void compute() {
+            if (to - from <= minRows) {
+                operation.apply(from, to);
+            } else {
+                final int mid = (from + to) >>> 1;
+                invokeAll(new RowTask(operation, from, mid, minRows),
+                          new RowTask(operation, mid, to, minRows));
+            }
+        }
+    }
+
+    /**
+     * LU decomposition with partial pivoting, {@code PA = LU}, of a square
+     * matrix {@code A}: {@code P} is a permutation, {@code L} is lower
+     * triangular with a unit diagonal and {@code U} is upper triangular.
+     * <p>
+     * The pivot of each column is the element of largest
+     * \(|\Re(z)| + |\Im(z)|\), as in LAPACK; the matrix is singular when a
+     * pivot is exactly zero.
+     * </p><p>
+     * Instances are immutable.
+     * </p>
+     */
+    public static final class LUDecomposition {
+        /** Size of the matrix. */
+        private final int n;
+        /** {@code L} below the diagonal and {@code U} above, interleaved row-major. */
+        private final double[] lu;
+        /** Row of {@code A} of each row of {@code PA}. */
+        private final int[] pivot;
+        /** Whether the permutation is even. */
+        private final boolean even;
+        /** Whether the matrix is singular. */
+        private final boolean singular;
+
+        /**
+         * @param matrix Matrix (copied).
+         * @param pool Executor, or {@code null}.
+         * @throws IllegalArgumentException if the matrix is not square.
+         */
+        LUDecomposition(ComplexMatrix matrix, ForkJoinPool pool) {
+            if (matrix.rows != matrix.columns) {
+                throw new IllegalArgumentException("Matrix is not square: " + matrix.rows + "x" + matrix.columns);
+            }
+            n = matrix.rows;
+            final double[] a = matrix.data.clone();
+            pivot = new int[n];
+            for (int i = 0; i < n; i++) {
+                pivot[i] = i;
+            }
+            boolean parity = true;
+            boolean zeroPivot = false;
+            final double[] inverse = new double[2];
+            for (int k = 0; k < n; k++) {
+                // Pivot.
+                int p = k;
+                double max = -1;
+                for (int i = k; i < n; i++) {
+                    final int ik = 2 * (i * n + k);
+                    final double v = Math.abs(a[ik]) + Math.abs(a[ik + 1]);
+                    if (v > max) {
+                        max = v;
+                        p = i;
+                    }
+                }
+                if (p != k) {
+                    swapRows(a, n, p, k);
+                    final int t = pivot[p];
+                    pivot[p] = pivot[k];
+                    pivot[k] = t;
+                    parity = !parity;
+                }
+                if (max == 0) {
+                    zeroPivot = true;
+                    continue;
+                }
+                final int kk = 2 * (k * n + k);
+                ComplexArray.reciprocal(a[kk], a[kk + 1], inverse, 0);
+                final double invRe = inverse[0];
+                final double invIm = inverse[1];
+                final int step = k;
+                run(pool, (long) (n - k - 1) * (n - k - 1), k + 1, n,
+                    (from, to) -> eliminate(a, n, step, invRe, invIm, from, to));
+            }
+            lu = a;
+            even = parity;
+            singular = zeroPivot;
+        }
+
+        /**
+         * @return {@code true} if the matrix is singular.
+         */
+        public boolean isSingular() {
+            return singular;
+        }
+
+        /**
+         * @return the lower triangular factor {@code L}, with a unit diagonal.
+         */
+        public ComplexMatrix getL() {
+            final ComplexMatrix l = ofSize(n, n);
+            for (int i = 0; i < n; i++) {
+                System.arraycopy(lu, 2 * i * n, l.data, 2 * i * n, 2 * i);
+                l.data[2 * (i * n + i)] = 1;
+            }
+            return l;
+        }
+
+        /**
+         * @return the upper triangular factor {@code U}.
+         */
+        public ComplexMatrix getU() {
+            final ComplexMatrix u = ofSize(n, n);
+            for (int i = 0; i < n; i++) {
+                final int start = 2 * (i * n + i);
+                System.arraycopy(lu, start, u.data, start, 2 * (n - i));
+            }
+            return u;
+        }
+
+        /**
+         * Gets the permutation, as the index in {@code A} of each row of {@code PA}.
+         *
+         * @return a new array.
+         */
+        public int[] getPivot() {
+            return pivot.clone();
+        }
+
+        /**
+         * @return the determinant of the matrix.
+         */
+        public Complex getDeterminant() {
+            if (singular) {
+                return Complex.ZERO;
+            }
+            double re = even ? 1 : -1;
+            double im = 0;
+            for (int i = 0; i < n; i++) {
+                final int ii = 2 * (i * n + i);
+                final double c = lu[ii];
+                final double d = lu[ii + 1];
+                final double t = re * c - im * d;
+                im = re * d + im * c;
+                re = t;
+            }
+            return Complex.ofCartesian(re, im);
+        }
+
+        /**
+         * Solves {@code A x = b}.
+         *
+         * @param b Right-hand side.
+         * @return a new vector holding the solution.
+         * @throws IllegalArgumentException if the matrix is singular or if the
+         * size of {@code b} is not the size of the matrix.
+         */
+        public ComplexArray solve(ComplexArray b) {
+            if (b.size() != n) {
+                throw new IllegalArgumentException("Expected size " + n + " but was " + b.size());
+            }
+            return ComplexArray.wrap(solve(b.getData(), 1));
+        }
+
+        /**
+         * Solves {@code A X = B}.
+         *
+         * @param b Right-hand sides, one per column.
+         * @return a new matrix holding the solutions.
+         * @throws IllegalArgumentException if the matrix is singular or if the
+         * number of rows of {@code b} is not the size of the matrix.
+         */
+        public ComplexMatrix solve(ComplexMatrix b) {
+            if (b.rows != n) {
+                throw new IllegalArgumentException("Expected " + n + " rows but was " + b.rows);
+            }
+            return new ComplexMatrix(n, b.columns, solve(b.data, b.columns));
+        }
+
+        /**
+         * Solves for right-hand sides stored in rows of {@code m} values.
+         *
+         * @param b Interleaved row-major right-hand sides.
+         * @param m Number of right-hand sides.
+         * @return the interleaved row-major solutions.
+         * @throws IllegalArgumentException if the matrix is singular.
+         */
+        private double[] solve(double[] b, int m) {
+            if (singular) {
+                throw new IllegalArgumentException("Singular matrix");
+            }
+            final int w = 2 * m;
+            final double[] x = new double[b.length];
+            for (int i = 0; i < n; i++) {
+                System.arraycopy(b, pivot[i] * w, x, i * w, w);
+            }
+            // L y = P b, row by row.
+            for (int i = 1; i < n; i++) {
+                for (int j = 0; j < i; j++) {
+                    final int ij = 2 * (i * n + j);
+                    subtractScaledRow(x, i * w, j * w, w, lu[ij], lu[ij + 1]);
+                }
+            }
+            // U x = y, from the last row.
+            for (int i = n - 1; i >= 0; i--) {
+                for (int j = i + 1; j < n; j++) {
+                    final int ij = 2 * (i * n + j);
+                    subtractScaledRow(x, i * w, j * w, w, lu[ij], lu[ij + 1]);
+                }
+                final int ii = 2 * (i * n + i);
+                final double c = lu[ii];
+                final double d = lu[ii + 1];
+                for (int k = i * w; k < (i + 1) * w; k += 2) {
+                    ComplexArray.divide(x[k], x[k + 1], c, d, x, k);
+                }
+            }
+            return x;
+        }
+
+        /**
+         * Computes {@code row[i] -= (c + di) row[j]}.
+         *
+         * @param x Rows.
+         * @param i Start of the updated row.
+         * @param j Start of the other row.
+         * @param w Length of the rows.
+         * @param c Real part of the factor.
+         * @param d Imaginary part of the factor.
+         */
+        private static void subtractScaledRow(double[] x, int i, int j, int w, double c, double d) {
+            if (c == 0 && d == 0) {
+                return;
+            }
+            for (int k = 0; k < w; k += 2) {
+                final double a = x[j + k];
+                final double b = x[j + k + 1];
+                x[i + k] -= a * c - b * d;
+                x[i + k + 1] -= a * d + b * c;
+            }
+        }
+
+        /**
+         * Eliminates column {@code k} from rows {@code [from, to)}.
+         *
+         * @param a Matrix being decomposed.
+         * @param n Size.
+         * @param k Column.
+         * @param invRe Real part of the reciprocal of the pivot.
+         * @param invIm Imaginary part of the reciprocal of the pivot.
+         * @param from First row.
+         * @param to Last row (exclusive).
+         */
+        private static void eliminate(double[] a, int n, int k, double invRe, double invIm, int from, int to) {
+            final int rowK = 2 * k * n;
+            for (int i = from; i < to; i++) {
+                final int ik = 2 * (i * n + k);
+                final double x = a[ik];
+                final double y = a[ik + 1];
+                // Multiplier l = a[i][k] / a[k][k].
+                final double lr = x * invRe - y * invIm;
+                final double li = x * invIm + y * invRe;
+                a[ik] = lr;
+                a[ik + 1] = li;
+                if (lr == 0 && li == 0) {
+                    continue;
+                }
+                final int rowI = 2 * i * n;
+                for (int j = 2 * (k + 1); j < 2 * n; j += 2) {
+                    final double c = a[rowK + j];
+                    final double d = a[rowK + j + 1];
+                    a[rowI + j] -= lr * c - li * d;
+                    a[rowI + j + 1] -= lr * d + li * c;
+                }
+            }
+        }
+
+        /**
+         * @param a Matrix.
+         * @param n Size.
+         * @param p Row.
+         * @param q Other row.
+         */
+        private static void swapRows(double[] a, int n, int p, int q) {
+            final int rp = 2 * p * n;
+            final int rq = 2 * q * n;
+            for (int j = 0; j < 2 * n; j++) {
+                final double t = a[rp + j];
+                a[rp + j] = a[rq + j];
+                a[rq + j] = t;
+            }
+        }
+    }
+}
@@ -0,0 +1,509 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.complex;
+
+import java.math.BigInteger;
+import java.nio.CharBuffer;
+
+/**
+ * Parser of the representation produced by {@link Complex#toString()},
+ * {@code (re,im)}, from a range of characters.
+ * <p>
+ * Each part is read as by {@link Double#parseDouble(String)}. Plain decimal
+ * numbers with at most 19 significant digits, which include all those
+ * written by {@link Double#toString(double)}, are converted directly from
+ * the characters with correct rounding:
+ * <ul>
+ *  <li>when the digits form an integer of at most \(2^{53}\) and the
+ *      decimal exponent is at most 22 in magnitude, by a single
+ *      multiplication or division of two exact values (Clinger's fast
+ *      path);</li>
+ *  <li>otherwise by multiplying the digits with a 128-bit approximation
+ *      of the power of ten (the Eisel-Lemire algorithm).</li>
+ * </ul>
+ * Other forms ({@code NaN}, {@code Infinity}, hexadecimal, surrounding
+ * spaces, longer mantissas, ...) are delegated to {@code Double.parseDouble}.
+ * The fast paths allocate no objects.
+ * </p><p>
+ * The methods that write into a {@code double[]} return the index that
+ * follows the closing parenthesis, so that consecutive values can be read
+ * by moving a cursor along the input.
+ * </p>
+ */
+public final class ComplexParser {
+    /** Start of a value. */
+    private static final char START = '(';
+    /** End of a value. */
+    private static final char END = ')';
+    /** Separator of the parts. */
+    private static final char SEP = ',';
+    /** Largest number of significant digits accumulated in an unsigned {@code long}. */
+    private static final int MAX_DIGITS = 19;
+    /** Largest mantissa that is exactly representable as a {@code double}. */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    /** Exponents beyond this value are delegated to {@code Double.parseDouble}. */
+    private static final int MAX_EXPONENT = 100000;
+    /** Powers of ten that are exactly representable as a {@code double}. */
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /** Number of explicit bits in the mantissa of a {@code double}. */
+    private static final int MANTISSA_BITS = 52;
+    /** Biased exponent of infinity. */
+    private static final int INFINITE_POWER = 0x7ff;
+    /** Mask of the low 32 bits. */
+    private static final long LOW_32 = 0xffffffffL;
+
+    /**
+     * Truncated 128-bit mantissas of the powers of five, \(5^q\), for
+     * {@code q} in {@code [SMALLEST_POWER, LARGEST_POWER]}. The negative
+     * powers are rounded up. They are created on first use since
+     * Clinger's fast path does not need them.
+     */
+    private static final class PowersOfFive {
+        /** Smallest decimal exponent that can produce a non-zero value. */
+        static final int SMALLEST_POWER = -342;
+        /** Largest decimal exponent that can produce a finite value. */
+        static final int LARGEST_POWER = 308;
+        /** High and low 64 bits of each mantissa. */
+        static final long[] TABLE = new long[2 * (LARGEST_POWER - SMALLEST_POWER + 1)];
+
+        static {
+            final BigInteger five = BigInteger.valueOf(5);
+            for (int q = SMALLEST_POWER; q <= LARGEST_POWER; q++) {
+                BigInteger c;
+                if (q >= 0) {
+                    c = five.pow(q);
+                    final int bits = c.bitLength();
+                    c = bits > 128 ? c.shiftRight(bits - 128) : c.shiftLeft(128 - bits);
+                } else {
+                    final BigInteger p = five.pow(-q);
+                    final int z = p.bitLength();
+                    final int b = q >= -27 ? z + 127 : 2 * z + 128;
+                    c = BigInteger.ONE.shiftLeft(b).divide(p).add(BigInteger.ONE);
+                    final int bits = c.bitLength();
+                    if (bits > 128) {
+                        c = c.shiftRight(bits - 128);
+                    }
+                }
+                final int index = 2 * (q - SMALLEST_POWER);
+                TABLE[index] = c.shiftRight(64).longValue();
+                TABLE[index + 1] = c.longValue();
+            }
+        }
+
+        /** Holder class. */
+        private PowersOfFive() {}
+    }
+
+    /** Utility class. */
+    private ComplexParser() {}
+
+    /**
+     * Parses a complex number that spans the whole input.
+     *
+     * @param s Input.
+     * @return the complex number.
+     * @throws IllegalArgumentException if the input is not a complex number
+     * in the format of {@link Complex#toString()}.
+     */
+    public static Complex parse(CharSequence s) {
+        return parse(s, 0, s.length());
+    }
+
+    /**
+     * Parses a complex number that spans the range {@code [from, to)}.
+     *
+     * @param s Input.
+     * @param from Index of the opening parenthesis.
+     * @param to Index that follows the closing parenthesis.
+     * @return the complex number.
+     * @throws IllegalArgumentException if the range is not a complex number
+     * in the format of {@link Complex#toString()}.
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    public static Complex parse(CharSequence s, int from, int to) {
+        checkRange(from, to, s.length());
+        final int sep = findSeparator(s, from, to);
+        return Complex.ofCartesian(parseReal(s, from + 1, sep),
+                                   parseImaginary(s, sep + 1, to - 1));
+    }
+
+    /**
+     * Parses a complex number that spans the range {@code [from, to)}.
+     *
+     * @param s Input.
+     * @param from Index of the opening parenthesis.
+     * @param to Index that follows the closing parenthesis.
+     * @return the complex number.
+     * @throws IllegalArgumentException if the range is not a complex number
+     * in the format of {@link Complex#toString()}.
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    public static Complex parse(char[] s, int from, int to) {
+        return parse(CharBuffer.wrap(s), from, to);
+    }
+
+    /**
+     * Parses the complex number that starts at index {@code from} and ends
+     * at the first closing parenthesis before index {@code to}, and stores
+     * its real and imaginary parts at {@code dest[destIndex]} and
+     * {@code dest[destIndex + 1]}.
+     *
+     * @param s Input.
+     * @param from Index of the opening parenthesis.
+     * @param to Index that bounds the search for the closing parenthesis.
+     * @param dest Interleaved output.
+     * @param destIndex Index of the real part in {@code dest}.
+     * @return the index that follows the closing parenthesis.
+     * @throws IllegalArgumentException if there is no complex number in the
+     * format of {@link Complex#toString()} at {@code from}.
+     * @throws IndexOutOfBoundsException if a range is out of bounds.
+     */
+    public static int parse(CharSequence s, int from, int to, double[] dest, int destIndex) {
+        checkRange(from, to, s.length());
+        final int end = findEnd(s, from, to);
+        final int sep = findSeparator(s, from, end);
+        final double re = parseReal(s, from + 1, sep);
+        final double im = parseImaginary(s, sep + 1, end - 1);
+        dest[destIndex] = re;
+        dest[destIndex + 1] = im;
+        return end;
+    }
+
+    /**
+     * Parses the complex number that starts at index {@code from} and ends
+     * at the first closing parenthesis before index {@code to}, and stores
+     * its real and imaginary parts at {@code dest[destIndex]} and
+     * {@code dest[destIndex + 1]}.
+     *
+     * @param s Input.
+     * @param from Index of the opening parenthesis.
+     * @param to Index that bounds the search for the closing parenthesis.
+     * @param dest Interleaved output.
+     * @param destIndex Index of the real part in {@code dest}.
+     * @return the index that follows the closing parenthesis.
+     * @throws IllegalArgumentException if there is no complex number in the
+     * format of {@link Complex#toString()} at {@code from}.
+     * @throws IndexOutOfBoundsException if a range is out of bounds.
+     */
+    public static int parse(char[] s, int from, int to, double[] dest, int destIndex) {
+        return parse(CharBuffer.wrap(s), from, to, dest, destIndex);
+    }
+
+    /**
+     * Parses a decimal number that spans the range {@code [from, to)}, with
+     * the same result as {@link Double#parseDouble(String)}.
+     *
+     * @param s Input.
+     * @param from Index of the first character.
+     * @param to Index that follows the last character.
+     * @return the number.
+     * @throws NumberFormatException if the range is not a number.
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    public static double parseDouble(CharSequence s, int from, int to) {
+        checkRange(from, to, s.length());
+        int i = from;
+        boolean negative = false;
+        if (i < to) {
+            final char c = s.charAt(i);
+            if (c == '-' || c == '+') {
+                negative = c == '-';
+                i++;
+            }
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean seenDigit = false;
+        boolean seenPoint = false;
+        for (; i < to; i++) {
+            final char c = s.charAt(i);
+            if (c >= '0' && c <= '9') {
+                seenDigit = true;
+                if (mantissa == 0 && c == '0') {
+                    // Leading zero.
+                    if (seenPoint) {
+                        scale--;
+                    }
+                    continue;
+                }
+                if (++digits > MAX_DIGITS) {
+                    return slowParseDouble(s, from, to);
+                }
+                mantissa = 10 * mantissa + (c - '0');
+                if (seenPoint) {
+                    scale--;
+                }
+            } else if (c == '.' && !seenPoint) {
+                seenPoint = true;
+            } else {
+                break;
+            }
+        }
+        if (!seenDigit) {
+            return slowParseDouble(s, from, to);
+        }
+
+        if (i < to) {
+            final char c = s.charAt(i);
+            if (c != 'e' && c != 'E') {
+                return slowParseDouble(s, from, to);
+            }
+            i++;
+            boolean negativeExponent = false;
+            if (i < to) {
+                final char d = s.charAt(i);
+                if (d == '-' || d == '+') {
+                    negativeExponent = d == '-';
+                    i++;
+                }
+            }
+            if (i == to) {
+                return slowParseDouble(s, from, to);
+            }
+            int exponent = 0;
+            for (; i < to; i++) {
+                final char d = s.charAt(i);
+                if (d < '0' || d > '9' || exponent > MAX_EXPONENT) {
+                    return slowParseDouble(s, from, to);
+                }
+                exponent = 10 * exponent + (d - '0');
+            }
+            scale += negativeExponent ? -exponent : exponent;
+        }
+
+        final double value;
+        if (mantissa == 0) {
+            value = 0;
+        } else if (mantissa > 0 &&
+                   mantissa <= MAX_EXACT_MANTISSA &&
+                   scale >= -22 &&
+                   scale <= 22) {
+            // Both operands are exact, so the result is correctly rounded.
+            value = scale < 0 ?
+                mantissa / POWERS_OF_TEN[-scale] :
+                mantissa * POWERS_OF_TEN[scale];
+        } else {
+            value = eiselLemire(mantissa, scale);
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Computes the {@code double} closest to \(w \times 10^q\).
+     * <p>
+     * The algorithm of D. Lemire, "Number Parsing at a Gigabyte per Second",
+     * Software: Practice and Experience 51(8), 2021, as implemented in the
+     * "fast_float" library. The two 128-bit products are sufficient for
+     * mantissas that are exact (N. Mushtak and D. Lemire, "Fast Number Parsing
+     * Without Fallback", 2023).
+     * </p>
+     *
+     * @param w Decimal mantissa (unsigned, not zero).
+     * @param q Decimal exponent.
+     * @return the positive value.
+     */
+    private static double eiselLemire(long w, int q) {
+        if (q < PowersOfFive.SMALLEST_POWER) {
+            return 0;
+        }
+        if (q > PowersOfFive.LARGEST_POWER) {
+            return Double.POSITIVE_INFINITY;
+        }
+        final int lz = Long.numberOfLeadingZeros(w);
+        final long x = w << lz;
+        final int index = 2 * (q - PowersOfFive.SMALLEST_POWER);
+        final long[] table = PowersOfFive.TABLE;
+        long high = unsignedMultiplyHigh(x, table[index]);
+        long low = x * table[index];
+        // 55 bits of precision are needed: refine if the bits below may carry.
+        if ((high & 0x1ff) == 0x1ff) {
+            final long secondHigh = unsignedMultiplyHigh(x, table[index + 1]);
+            low += secondHigh;
+            if (Long.compareUnsigned(secondHigh, low) > 0) {
+                high++;
+            }
+        }
+        final int upperBit = (int) (high >>> 63);
+        final int shift = upperBit + 64 - MANTISSA_BITS - 3;
+        long mantissa = high >>> shift;
+        // floor(log2(10^q)) + 63, plus the exponent bias.
+        int power2 = (((152170 + 65536) * q) >> 16) + 63 + upperBit - lz + 1023;
+
+        if (power2 <= 0) {
+            // Sub-normal.
+            if (-power2 + 1 >= 64) {
+                return 0;
+            }
+            mantissa >>>= -power2 + 1;
+            mantissa += mantissa & 1;
+            mantissa >>>= 1;
+            // Rounding up may produce the smallest normal number.
+            power2 = mantissa < (1L << MANTISSA_BITS) ? 0 : 1;
+            return Double.longBitsToDouble(mantissa | ((long) power2 << MANTISSA_BITS));
+        }
+
+        // Round half to even: an exact tie can only occur for small exponents.
+        if (Long.compareUnsigned(low, 1) <= 0 &&
+            q >= -4 &&
+            q <= 23 &&
+            (mantissa & 3) == 1 &&
+            mantissa << shift == high) {
+            mantissa &= ~1L;
+        }
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >= (2L << MANTISSA_BITS)) {
+            mantissa = 1L << MANTISSA_BITS;
+            power2++;
+        }
+        mantissa &= ~(1L << MANTISSA_BITS);
+        if (power2 >= INFINITE_POWER) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return Double.longBitsToDouble(mantissa | ((long) power2 << MANTISSA_BITS));
+    }
+
+    /**
+     * @param a Unsigned factor.
+     * @param b Unsigned factor.
+     * @return the high 64 bits of the unsigned 128-bit product.
+     */
+    private static long unsignedMultiplyHigh(long a, long b) {
+        final long aLow = a & LOW_32;
+        final long aHigh = a >>> 32;
+        final long bLow = b & LOW_32;
+        final long bHigh = b >>> 32;
+        final long lowLow = aLow * bLow;
+        final long highLow = aHigh * bLow;
+        final long lowHigh = aLow * bHigh;
+        final long cross = (lowLow >>> 32) + (highLow & LOW_32) + (lowHigh & LOW_32);
+        return aHigh * bHigh + (highLow >>> 32) + (lowHigh >>> 32) + (cross >>> 32);
+    }
+
+    /**
+     * @param s Input.
+     * @param from Index of the first character.
+     * @param to Index that follows the last character.
+     * @return the number.
+     * @throws NumberFormatException if the range is not a number.
+     */
+    private static double slowParseDouble(CharSequence s, int from, int to) {
+        return Double.parseDouble(s.subSequence(from, to).toString());
+    }
+
+    /**
+     * @param s Input.
+     * @param from Index of the first character.
+     * @param to Index that follows the last character.
+     * @return the real part.
+     */
+    private static double parseReal(CharSequence s, int from, int to) {
+        try {
+            return parseDouble(s, from, to);
+        } catch (NumberFormatException ex) {
+            throw new Complex.ComplexParsingException("Could not parse real part" + s.subSequence(from, to));
+        }
+    }
+
+    /**
+     * @param s Input.
+     * @param from Index of the first character.
+     * @param to Index that follows the last character.
+     * @return the imaginary part.
+     */
+    private static double parseImaginary(CharSequence s, int from, int to) {
+        try {
+            return parseDouble(s, from, to);
+        } catch (NumberFormatException ex) {
+            throw new Complex.ComplexParsingException("Could not parse imaginary part" + s.subSequence(from, to));
+        }
+    }
+
+    /**
+     * Finds the end of the value that starts at {@code from}.
+     *
+     * @param s Input.
+     * @param from Index of the opening parenthesis.
+     * @param to Index that bounds the search.
+     * @return the index that follows the closing parenthesis.
+     */
+    private static int findEnd(CharSequence s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (s.charAt(i) == END) {
+                return i + 1;
+            }
+        }
+        throw new Complex.ComplexParsingException("Expected end string: " + END);
+    }
+
+    /**
+     * Checks the delimiters of the value that spans {@code [from, to)} and
+     * finds the separator of its parts.
+     *
+     * @param s Input.
+     * @param from Index of the opening parenthesis.
+     * @param to Index that follows the closing parenthesis.
+     * @return the index of the separator.
+     */
+    private static int findSeparator(CharSequence s, int from, int to) {
+        if (from == to || s.charAt(from) != START) {
+            throw new Complex.ComplexParsingException("Expected start string: " + START);
+        }
+        if (to - from < 2 || s.charAt(to - 1) != END) {
+            throw new Complex.ComplexParsingException("Expected end string: " + END);
+        }
+        int sep = -1;
+        int parts = 1;
+        for (int i = from + 1; i < to - 1; i++) {
+            final char c = s.charAt(i);
+            if (c == END) {
+                throw new Complex.ComplexParsingException("Expected end string: " + END);
+            }
+            if (c == SEP) {
+                if (sep < 0) {
+                    sep = i;
+                }
+                parts++;
+            }
+        }
+        if (parts != 2) {
+            throw new Complex.ComplexParsingException("Incorrect number of parts: Expected 2 but was " +
+                                                      parts +
+                                                      " (separator is '" + SEP + "')");
+        }
+        return sep;
+    }
+
+    /**
+     * @param from Index of the first character.
+     * @param to Index that follows the last character.
+     * @param length Length of the input.
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    private static void checkRange(int from, int to, int length) {
+        if (from < 0 || from > to || to > length) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of [0, " + length + ")");
+        }
+    }
+}
@@ -0,0 +1,606 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.complex;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Polynomial with complex coefficients,
+ * \(p(z) = c_0 + c_1 z + \cdots + c_n z^n\).
+ * <p>
+ * The coefficients are stored in an interleaved {@code double[]}
+ * (the layout of {@link ComplexArray}), in increasing order of degree.
+ * Evaluation uses Horner's scheme with the semantics of
+ * {@link Complex#multiply(Complex)} and {@link Complex#add(Complex)}, without
+ * creating objects: several points are evaluated together so that their
+ * independent recurrences overlap.
+ * </p><p>
+ * All the roots are computed simultaneously by the Aberth-Ehrlich method,
+ * either in place (Gauss-Seidel style, each correction uses the roots already
+ * updated in the same sweep) or with the corrections of a sweep computed in
+ * parallel on a {@link ForkJoinPool} (Jacobi style).
+ * </p><p>
+ * Instances are immutable.
+ * </p>
+ */
+public final class ComplexPolynomial {
+    /** Number of points evaluated together. */
+    private static final int BLOCK = 4;
+    /** Maximum number of Aberth-Ehrlich sweeps. */
+    private static final int MAX_ITERATIONS = 500;
+    /** Angle of the first initial approximation, chosen to avoid symmetries. */
+    private static final double INITIAL_ANGLE = 0.4;
+    /** Number of roots updated by a single task of the parallel solver. */
+    private static final int MIN_TASK_SIZE = 16;
+
+    /** Interleaved coefficients, without trailing (highest degree) zeros. */
+    private final double[] coefficients;
+
+    /**
+     * @param coefficients Interleaved coefficients (not copied).
+     */
+    private ComplexPolynomial(double[] coefficients) {
+        this.coefficients = coefficients;
+    }
+
+    /**
+     * Creates a polynomial from its coefficients.
+     * Zero coefficients of the highest degrees are discarded.
+     *
+     * @param interleaved Alternating real and imaginary parts of
+     * \(c_0, c_1, \ldots, c_n\) (copied).
+     * @return the polynomial.
+     * @throws IllegalArgumentException if the length of the array is odd or zero.
+     */
+    public static ComplexPolynomial of(double[] interleaved) {
+        if (interleaved.length == 0 || (interleaved.length & 1) != 0) {
+            throw new IllegalArgumentException("Invalid length: " + interleaved.length);
+        }
+        int length = interleaved.length;
+        while (length > 2 && interleaved[length - 2] == 0 && interleaved[length - 1] == 0) {
+            length -= 2;
+        }
+        return new ComplexPolynomial(Arrays.copyOf(interleaved, length));
+    }
+
+    /**
+     * Creates a polynomial from its coefficients.
+     * Zero coefficients of the highest degrees are discarded.
+     *
+     * @param coefficients \(c_0, c_1, \ldots, c_n\).
+     * @return the polynomial.
+     * @throws IllegalArgumentException if there is no coefficient.
+     */
+    public static ComplexPolynomial of(Complex... coefficients) {
+        return of(ComplexArray.of(coefficients).getData());
+    }
+
+    /**
+     * Creates the monic polynomial \(\prod_k (z - r_k)\).
+     *
+     * @param roots Interleaved roots.
+     * @return the polynomial.
+     * @throws IllegalArgumentException if the length of the array is odd.
+     */
+    public static ComplexPolynomial fromRoots(double[] roots) {
+        if ((roots.length & 1) != 0) {
+            throw new IllegalArgumentException("Odd length: " + roots.length);
+        }
+        final int n = roots.length / 2;
+        final double[] c = new double[2 * (n + 1)];
+        c[0] = 1;
+        for (int k = 0; k < n; k++) {
+            final double rr = roots[2 * k];
+            final double ri = roots[2 * k + 1];
+            // Multiply the polynomial of degree k by (z - r):
+            // c[i] <- c[i - 1] - r c[i]
+            for (int i = k + 1; i >= 0; i--) {
+                final double ar = c[2 * i];
+                final double ai = c[2 * i + 1];
+                final double br = i == 0 ? 0 : c[2 * i - 2];
+                final double bi = i == 0 ? 0 : c[2 * i - 1];
+                c[2 * i] = br - (ar * rr - ai * ri);
+                c[2 * i + 1] = bi - (ar * ri + ai * rr);
+            }
+        }
+        return new ComplexPolynomial(c);
+    }
+
+    /**
+     * @return the degree {@code n}; the zero polynomial has degree 0.
+     */
+    public int degree() {
+        return coefficients.length / 2 - 1;
+    }
+
+    /**
+     * @return a copy of the interleaved coefficients \(c_0, \ldots, c_n\).
+     */
+    public double[] getCoefficients() {
+        return coefficients.clone();
+    }
+
+    /**
+     * @return the derivative \(p'\).
+     */
+    public ComplexPolynomial derivative() {
+        final int n = degree();
+        if (n == 0) {
+            return new ComplexPolynomial(new double[2]);
+        }
+        final double[] d = new double[2 * n];
+        for (int i = 1; i <= n; i++) {
+            d[2 * i - 2] = i * coefficients[2 * i];
+            d[2 * i - 1] = i * coefficients[2 * i + 1];
+        }
+        return new ComplexPolynomial(d);
+    }
+
+    /**
+     * Evaluates the polynomial.
+     *
+     * @param z Point.
+     * @return \(p(z)\).
+     */
+    public Complex value(Complex z) {
+        final double[] r = new double[2];
+        evaluateWithSemantics(z.getReal(), z.getImaginary(), r, 0);
+        return Complex.ofCartesian(r[0], r[1]);
+    }
+
+    /**
+     * Evaluates the polynomial at each point.
+     *
+     * @param points Interleaved points.
+     * @param result Interleaved values (output); it can be {@code points}.
+     * @throws IllegalArgumentException if the arrays do not have the same,
+     * even, length.
+     */
+    public void value(double[] points, double[] result) {
+        if ((points.length & 1) != 0 || points.length != result.length) {
+            throw new IllegalArgumentException("Invalid lengths: " + points.length + " and " + result.length);
+        }
+        value(points, 0, result, 0, points.length / 2);
+    }
+
+    /**
+     * Evaluates the polynomial at {@code count} points.
+     *
+     * @param points Interleaved points.
+     * @param pointsIndex Index of the first point.
+     * @param result Interleaved values (output); it can be {@code points}.
+     * @param resultIndex Index of the first value.
+     * @param count Number of points.
+     * @throws IndexOutOfBoundsException if a range is out of bounds.
+     */
+    public void value(double[] points, int pointsIndex, double[] result, int resultIndex, int count) {
+        if (pointsIndex < 0 || resultIndex < 0 || count < 0 ||
+            2L * (pointsIndex + count) > points.length ||
+            2L * (resultIndex + count) > result.length) {
+            throw new IndexOutOfBoundsException("Invalid range of " + count + " points");
+        }
+        final double[] c = coefficients;
+        final int n = degree();
+        int k = 0;
+        for (; k + BLOCK <= count; k += BLOCK) {
+            final int p = 2 * (pointsIndex + k);
+            final double z0r = points[p];
+            final double z0i = points[p + 1];
+            final double z1r = points[p + 2];
+            final double z1i = points[p + 3];
+            final double z2r = points[p + 4];
+            final double z2i = points[p + 5];
+            final double z3r = points[p + 6];
+            final double z3i = points[p + 7];
+            double a0r = c[2 * n];
+            double a0i = c[2 * n + 1];
+            double a1r = a0r;
+            double a1i = a0i;
+            double a2r = a0r;
+            double a2i = a0i;
+            double a3r = a0r;
+            double a3i = a0i;
+            for (int i = n - 1; i >= 0; i--) {
+                final double cr = c[2 * i];
+                final double ci = c[2 * i + 1];
+                double t = a0r * z0r - a0i * z0i + cr;
+                a0i = a0r * z0i + a0i * z0r + ci;
+                a0r = t;
+                t = a1r * z1r - a1i * z1i + cr;
+                a1i = a1r * z1i + a1i * z1r + ci;
+                a1r = t;
+                t = a2r * z2r - a2i * z2i + cr;
+                a2i = a2r * z2i + a2i * z2r + ci;
+                a2r = t;
+                t = a3r * z3r - a3i * z3i + cr;
+                a3i = a3r * z3i + a3i * z3r + ci;
+                a3r = t;
+            }
+            final int r = 2 * (resultIndex + k);
+            store(a0r, a0i, z0r, z0i, result, r);
+            store(a1r, a1i, z1r, z1i, result, r + 2);
+            store(a2r, a2i, z2r, z2i, result, r + 4);
+            store(a3r, a3i, z3r, z3i, result, r + 6);
+        }
+        for (; k < count; k++) {
+            final int p = 2 * (pointsIndex + k);
+            evaluateWithSemantics(points[p], points[p + 1], result, 2 * (resultIndex + k));
+        }
+    }
+
+    /**
+     * Stores a value computed with plain arithmetic, or recomputes it with
+     * the semantics of {@link Complex} if it contains NaN.
+     * <p>
+     * The special-value recovery of {@link Complex#multiply(Complex)} only
+     * applies when the accumulated value is NaN in both parts, after which
+     * every later step yields NaN: a result without NaN is therefore the
+     * same with both computations.
+     * </p>
+     *
+     * @param re Real part.
+     * @param im Imaginary part.
+     * @param zr Real part of the point.
+     * @param zi Imaginary part of the point.
+     * @param result Output.
+     * @param index Index of the real part in the output.
+     */
+    private void store(double re, double im, double zr, double zi, double[] result, int index) {
+        if (Double.isNaN(re) || Double.isNaN(im)) {
+            evaluateWithSemantics(zr, zi, result, index);
+        } else {
+            result[index] = re;
+            result[index + 1] = im;
+        }
+    }
+
+    /**
+     * Horner's scheme with {@link Complex#multiply(Complex)} and
+     * {@link Complex#add(Complex)}.
+     *
+     * @param zr Real part of the point.
+     * @param zi Imaginary part of the point.
+     * @param result Output.
+     * @param index Index of the real part in the output.
+     */
+    private void evaluateWithSemantics(double zr, double zi, double[] result, int index) {
+        final double[] c = coefficients;
+        final int n = degree();
+        result[index] = c[2 * n];
+        result[index + 1] = c[2 * n + 1];
+        for (int i = n - 1; i >= 0; i--) {
+            ComplexArray.multiply(result[index], result[index + 1], zr, zi, result, index);
+            result[index] += c[2 * i];
+            result[index + 1] += c[2 * i + 1];
+        }
+    }
+
+    /**
+     * Computes all the roots, updating the approximations in place.
+     *
+     * @return the interleaved roots.
+     * @throws IllegalStateException if the polynomial is zero, if a
+     * coefficient is not finite, or if the method does not converge.
+     */
+    public double[] roots() {
+        return solve(null);
+    }
+
+    /**
+     * Computes all the roots, with the corrections of each sweep computed in
+     * parallel.
+     *
+     * @param pool Executor of the corrections.
+     * @return the interleaved roots.
+     * @throws IllegalStateException if the polynomial is zero, if a
+     * coefficient is not finite, or if the method does not converge.
+     */
+    public double[] roots(ForkJoinPool pool) {
+        return solve(pool);
+    }
+
+    /**
+     * @param pool Executor, or {@code null} to update the roots in place.
+     * @return the interleaved roots.
+     */
+    private double[] solve(ForkJoinPool pool) {
+        final double[] c = coefficients;
+        for (final double x : c) {
+            if (!Double.isFinite(x)) {
+                throw new IllegalStateException("Non-finite coefficient");
+            }
+        }
+        final int n = degree();
+        if (n == 0) {
+            if (c[0] == 0 && c[1] == 0) {
+                throw new IllegalStateException("Zero polynomial");
+            }
+            return new double[0];
+        }
+        // Zero roots: remove the factor z^m.
+        int m = 0;
+        while (c[2 * m] == 0 && c[2 * m + 1] == 0) {
+            m++;
+        }
+        final double[] roots = new double[2 * n];
+        if (m == n) {
+            return roots;
+        }
+        final AberthSolver solver = new AberthSolver(Arrays.copyOfRange(c, 2 * m, c.length));
+        final double[] z = solver.solve(pool);
+        System.arraycopy(z, 0, roots, 2 * m, z.length);
+        return roots;
+    }
+
+    /**
+     * Aberth-Ehrlich iteration for a polynomial with non-zero constant and
+     * leading coefficients.
+     */
+    private static final class AberthSolver {
+        /** Coefficients. */
+        private final double[] c;
+        /** Coefficients in reverse order, \(z^n p(1/z)\). */
+        private final double[] reversed;
+        /** Moduli of the coefficients. */
+        private final double[] moduli;
+        /** Moduli of the reversed coefficients. */
+        private final double[] reversedModuli;
+        /** Degree. */
+        private final int n;
+
+        /**
+         * @param c Interleaved coefficients.
+         */
+        AberthSolver(double[] c) {
+            this.c = c;
+            n = c.length / 2 - 1;
+            reversed = new double[c.length];
+            moduli = new double[n + 1];
+            reversedModuli = new double[n + 1];
+            for (int i = 0; i <= n; i++) {
+                reversed[2 * i] = c[2 * (n - i)];
+                reversed[2 * i + 1] = c[2 * (n - i) + 1];
+                moduli[i] = Math.hypot(c[2 * i], c[2 * i + 1]);
+            }
+            for (int i = 0; i <= n; i++) {
+                reversedModuli[i] = moduli[n - i];
+            }
+        }
+
+        /**
+         * @param pool Executor, or {@code null} to update the roots in place.
+         * @return the interleaved roots.
+         */
+        double[] solve(ForkJoinPool pool) {
+            double[] z = initialApproximations();
+            double[] next = pool == null ? z : new double[z.length];
+            final boolean[] converged = new boolean[n];
+            for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+                if (pool == null) {
+                    update(z, z, converged, 0, n);
+                } else {
+                    System.arraycopy(z, 0, next, 0, z.length);
+                    pool.invoke(new UpdateTask(z, next, converged, 0, n));
+                    final double[] t = z;
+                    z = next;
+                    next = t;
+                }
+                boolean done = true;
+                for (final boolean b : converged) {
+                    done &= b;
+                }
+                if (done) {
+                    return z;
+                }
+            }
+            throw new IllegalStateException("No convergence after " + MAX_ITERATIONS + " iterations");
+        }
+
+        /**
+         * Points on a circle whose radius is the geometric mean of the moduli
+         * of the roots, \(|c_0 / c_n|^{1/n}\).
+         *
+         * @return the interleaved approximations.
+         */
+        private double[] initialApproximations() {
+            final double radius = Math.exp((Math.log(moduli[0]) - Math.log(moduli[n])) / n);
+            final RootsOfUnity unity = RootsOfUnityCache.getDefault().get(n);
+            final double cr = radius * Math.cos(INITIAL_ANGLE);
+            final double ci = radius * Math.sin(INITIAL_ANGLE);
+            final double[] z = new double[2 * n];
+            for (int k = 0; k < n; k++) {
+                final double wr = unity.getReal(k);
+                final double wi = unity.getImaginary(k);
+                z[2 * k] = cr * wr - ci * wi;
+                z[2 * k + 1] = cr * wi + ci * wr;
+            }
+            return z;
+        }
+
+        /**
+         * Computes the Aberth corrections of the roots {@code [from, to)}.
+         *
+         * @param z Current approximations.
+         * @param out Updated approximations (output); it can be {@code z}.
+         * @param converged Convergence flags (updated).
+         * @param from First root.
+         * @param to Last root (exclusive).
+         */
+        void update(double[] z, double[] out, boolean[] converged, int from, int to) {
+            final double[] ratio = new double[2];
+            for (int k = from; k < to; k++) {
+                if (converged[k]) {
+                    continue;
+                }
+                final double zr = z[2 * k];
+                final double zi = z[2 * k + 1];
+                if (newtonRatio(zr, zi, ratio)) {
+                    converged[k] = true;
+                    continue;
+                }
+                // sum_{j != k} 1 / (z_k - z_j)
+                double sr = 0;
+                double si = 0;
+                for (int j = 0; j < n; j++) {
+                    if (j != k) {
+                        final double dr = zr - z[2 * j];
+                        final double di = zi - z[2 * j + 1];
+                        final double d2 = dr * dr + di * di;
+                        sr += dr / d2;
+                        si -= di / d2;
+                    }
+                }
+                // w = ratio / (1 - ratio * sum)
+                final double nr = ratio[0];
+                final double ni = ratio[1];
+                final double dr = 1 - (nr * sr - ni * si);
+                final double di = -(nr * si + ni * sr);
+                final double d2 = dr * dr + di * di;
+                final double wr = (nr * dr + ni * di) / d2;
+                final double wi = (ni * dr - nr * di) / d2;
+                out[2 * k] = zr - wr;
+                out[2 * k + 1] = zi - wi;
+                if (Math.abs(wr) + Math.abs(wi) <= Math.ulp(Math.abs(zr) + Math.abs(zi))) {
+                    converged[k] = true;
+                }
+            }
+        }
+
+        /**
+         * Computes the Newton correction \(p(z) / p'(z)\), evaluating the
+         * reversed polynomial at \(1/z\) when \(|z| > 1\) to avoid overflow.
+         *
+         * @param zr Real part of the point.
+         * @param zi Imaginary part of the point.
+         * @param ratio Newton correction (output).
+         * @return {@code true} if \(|p(z)|\) is below the bound of its rounding
+         * error, so that {@code z} cannot be improved.
+         */
+        private boolean newtonRatio(double zr, double zi, double[] ratio) {
+            final double modulus = Math.hypot(zr, zi);
+            final boolean inside = modulus <= 1;
+            final double[] a = inside ? c : reversed;
+            final double[] am = inside ? moduli : reversedModuli;
+            final double xr;
+            final double xi;
+            final double x;
+            if (inside) {
+                xr = zr;
+                xi = zi;
+                x = modulus;
+            } else {
+                // 1 / z
+                final double m2 = modulus * modulus;
+                xr = zr / m2;
+                xi = -zi / m2;
+                x = 1 / modulus;
+            }
+            // Horner for the value, the derivative and the error bound.
+            double pr = a[2 * n];
+            double pi = a[2 * n + 1];
+            double dr = 0;
+            double di = 0;
+            double bound = am[n];
+            for (int i = n - 1; i >= 0; i--) {
+                final double t = dr * xr - di * xi + pr;
+                di = dr * xi + di * xr + pi;
+                dr = t;
+                final double u = pr * xr - pi * xi + a[2 * i];
+                pi = pr * xi + pi * xr + a[2 * i + 1];
+                pr = u;
+                bound = bound * x + am[i];
+            }
+            if (Math.hypot(pr, pi) <= 4 * (n + 1) * Math.ulp(1.0) * bound) {
+                return true;
+            }
+            if (inside) {
+                // p / p'
+                divide(pr, pi, dr, di, ratio);
+            } else {
+                // p(z) / p'(z) = z / (n - w q'(w) / q(w)), with w = 1 / z.
+                divide(dr, di, pr, pi, ratio);
+                final double er = n - (xr * ratio[0] - xi * ratio[1]);
+                final double ei = -(xr * ratio[1] + xi * ratio[0]);
+                divide(zr, zi, er, ei, ratio);
+            }
+            return false;
+        }
+
+        /**
+         * Computes {@code (a + ib) / (c + id)} without special-value handling.
+         *
+         * @param a Real part of the numerator.
+         * @param b Imaginary part of the numerator.
+         * @param c Real part of the denominator.
+         * @param d Imaginary part of the denominator.
+         * @param r Quotient (output).
+         */
+        private static void divide(double a, double b, double c, double d, double[] r) {
+            final double d2 = c * c + d * d;
+            r[0] = (a * c + b * d) / d2;
+            r[1] = (b * c - a * d) / d2;
+        }
+
+        /**
+         * Computes the corrections of a range of roots, split across the pool.
+         */
+        private final class UpdateTask extends RecursiveAction {
+            /** Serializable UID. */
+            private static final long serialVersionUID = 20261017L;
+            /** Current approximations. */
+            private final transient double[] z;
+            /** Updated approximations. */
+            private final transient double[] out;
+            /** Convergence flags. */
+            private final transient boolean[] converged;
+            /** First root. */
+            private final int from;
+            /** Last root (exclusive). */
+            private final int to;
+
+            /**
+             * @param z Current approximations.
+             * @param out Updated approximations.
+             * @param converged Convergence flags.
+             * @param from First root.
+             * @param to Last root (exclusive).
+             */
+            UpdateTask(double[] z, double[] out, boolean[] converged, int from, int to) {
+                this.z = z;
+                this.out = out;
+                this.converged = converged;
+                this.from = from;
+                this.to = to;
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            protected void compute() {
+                if (to - from <= MIN_TASK_SIZE) {
+                    update(z, out, converged, from, to);
+                } else {
+                    final int mid = (from + to) >>> 1;
+                    invokeAll(new UpdateTask(z, out, converged, from, mid),
+                              new UpdateTask(z, out, converged, mid, to));
+                }
+            }
+        }
+    }
+}
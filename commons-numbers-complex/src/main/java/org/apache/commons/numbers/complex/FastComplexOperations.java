@@ -0,0 +1,242 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.complex;
+
+/**
+ * Element by element operations on {@link ComplexArray} vectors that assume
+ * finite inputs.
+ * <p>
+ * The methods of {@link Complex} and {@link ComplexArray} recover infinities
+ * as specified in C.99 standard G.5.1, which adds branches to every product
+ * and quotient. The methods of this class use straight-line arithmetic, so
+ * that loops over large vectors are compact enough to be inlined and
+ * unrolled by the JIT compiler. The inputs can be checked once with
+ * {@link #isFinite(ComplexArray)} or {@link #checkFinite(ComplexArray)}.
+ * </p><p>
+ * For finite inputs:
+ * <ul>
+ *  <li>{@link #multiply(ComplexArray, ComplexArray, ComplexArray) multiply}
+ *   and {@link #multiplyAccumulate(ComplexArray, ComplexArray, ComplexArray)
+ *   multiplyAccumulate} give exactly the same results as
+ *   {@link ComplexArray#multiply(ComplexArray, ComplexArray, ComplexArray)}
+ *   and {@link ComplexArray#multiplyAccumulate(ComplexArray, ComplexArray, ComplexArray)};</li>
+ *  <li>{@link #divide(ComplexArray, ComplexArray, ComplexArray) divide} scales
+ *   the divisor by a power of two, as {@link Complex#divide(Complex)} does,
+ *   but the scale factor is derived from the exponent bits instead of a
+ *   logarithm (after multiplying a subnormal divisor by {@code 2^54});
+ *   the results can differ in the last bits, and they overflow
+ *   to infinity when an intermediate product exceeds
+ *   {@link Double#MAX_VALUE}, i.e. up to a factor 8 below the limit of the
+ *   range.</li>
+ * </ul>
+ * With infinite or NaN inputs the results are those of the plain formulas,
+ * typically NaN where {@link Complex} would return an infinity or zero;
+ * division by zero gives NaN or infinite parts.
+ * </p>
+ */
+public final class FastComplexOperations {
+    /** Mask of the exponent bits of a {@code double}. */
+    private static final long EXPONENT_MASK = 0x7ff0000000000000L;
+    /** Exponent bits of {@code 2^1022}: larger divisors are scaled by {@code 2^-1022}. */
+    private static final long MAX_EXPONENT = 0x7fd0000000000000L;
+    /** Sum of the exponent bits of {@code 2^k} and {@code 2^(1-k)}. */
+    private static final long TWICE_BIAS = 0x7fe0000000000000L;
+    /** Bits of {@code 2^-1023}. */
+    private static final long HALF_MIN_NORMAL = 0x0008000000000000L;
+    /** Scale of the subnormal divisors, {@code 2^54}. */
+    private static final double SUBNORMAL_SCALE = 0x1.0p54;
+
+    /** Utility class. */
+    private FastComplexOperations() {}
+
+    /**
+     * Tests whether all the parts of the vector are finite.
+     *
+     * @param x Vector.
+     * @return {@code true} if no part is infinite or NaN.
+     */
+    public static boolean isFinite(ComplexArray x) {
+        final double[] a = x.getData();
+        // x * 0 is NaN for infinite and NaN x, and 0 otherwise: the sums are
+        // computed without branches, in independent chains.
+        double s0 = 0;
+        double s1 = 0;
+        double s2 = 0;
+        double s3 = 0;
+        int i = 0;
+        for (; i + 4 <= a.length; i += 4) {
+            s0 += a[i] * 0;
+            s1 += a[i + 1] * 0;
+            s2 += a[i + 2] * 0;
+            s3 += a[i + 3] * 0;
+        }
+        for (; i < a.length; i++) {
+            s0 += a[i] * 0;
+        }
+        return s0 + s1 + s2 + s3 == 0;
+    }
+
+    /**
+     * Checks that all the parts of the vector are finite.
+     *
+     * @param x Vector.
+     * @throws IllegalArgumentException if a part is infinite or NaN.
+     */
+    public static void checkFinite(ComplexArray x) {
+        if (!isFinite(x)) {
+            final double[] a = x.getData();
+            for (int i = 0; i < a.length; i++) {
+                if (!Double.isFinite(a[i])) {
+                    throw new IllegalArgumentException("Non-finite value at index " + (i >> 1) + ": " + x.get(i >> 1));
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes {@code result[i] = x[i] * y[i]}.
+     *
+     * @param x First operand.
+     * @param y Second operand.
+     * @param result Result (can be one of the operands).
+     * @throws IllegalArgumentException if the sizes differ.
+     */
+    public static void multiply(ComplexArray x, ComplexArray y, ComplexArray result) {
+        checkSize(x, y, result);
+        final double[] a = x.getData();
+        final double[] b = y.getData();
+        final double[] r = result.getData();
+        for (int i = 0; i < r.length; i += 2) {
+            final double ar = a[i];
+            final double ai = a[i + 1];
+            final double br = b[i];
+            final double bi = b[i + 1];
+            r[i] = ar * br - ai * bi;
+            r[i + 1] = ar * bi + ai * br;
+        }
+    }
+
+    /**
+     * Computes {@code result[i] = result[i] + x[i] * y[i]}.
+     *
+     * @param x First factor.
+     * @param y Second factor.
+     * @param result Accumulator (can be one of the factors).
+     * @throws IllegalArgumentException if the sizes differ.
+     */
+    public static void multiplyAccumulate(ComplexArray x, ComplexArray y, ComplexArray result) {
+        checkSize(x, y, result);
+        final double[] a = x.getData();
+        final double[] b = y.getData();
+        final double[] r = result.getData();
+        for (int i = 0; i < r.length; i += 2) {
+            final double ar = a[i];
+            final double ai = a[i + 1];
+            final double br = b[i];
+            final double bi = b[i + 1];
+            r[i] += ar * br - ai * bi;
+            r[i + 1] += ar * bi + ai * br;
+        }
+    }
+
+    /**
+     * Computes {@code result[i] = x[i] / y[i]}.
+     *
+     * @param x Dividend.
+     * @param y Divisor.
+     * @param result Result (can be one of the operands).
+     * @throws IllegalArgumentException if the sizes differ.
+     */
+    public static void divide(ComplexArray x, ComplexArray y, ComplexArray result) {
+        checkSize(x, y, result);
+        final double[] a = x.getData();
+        final double[] b = y.getData();
+        final double[] r = result.getData();
+        for (int i = 0; i < r.length; i += 2) {
+            final double ar = a[i];
+            final double ai = a[i + 1];
+            final double br = b[i];
+            final double bi = b[i + 1];
+            // A subnormal divisor is normalized first, otherwise the inverse
+            // of its scale, folded into f, would overflow; the quotient is
+            // multiplied back by the same power of two.
+            final double pre = Math.max(Math.abs(br), Math.abs(bi)) < Double.MIN_NORMAL ? SUBNORMAL_SCALE : 1;
+            final double bn = br * pre;
+            final double bm = bi * pre;
+            final double scale = inverseScale(bn, bm);
+            final double c = bn * scale;
+            final double d = bm * scale;
+            final double f = scale / (c * c + d * d);
+            // The dividend is multiplied by f first, which keeps the
+            // intermediate values normal when the quotient is.
+            final double af = ar * f;
+            final double bf = ai * f;
+            r[i] = (af * c + bf * d) * pre;
+            r[i + 1] = (bf * c - af * d) * pre;
+        }
+    }
+
+    /**
+     * Computes a power of two close to {@code 1 / max(|x|, |y|)}: the largest
+     * of the scaled values is in {@code [1, 4)} (at least {@code 2^-51} for
+     * subnormal values), so that the sum of their squares cannot overflow.
+     * The scale is derived from the exponent bits, without branches.
+     *
+     * @param x First value.
+     * @param y Second value.
+     * @return the scale factor (a power of two).
+     */
+    static double inverseScale(double x, double y) {
+        return Double.longBitsToDouble(TWICE_BIAS - scaleBits(x, y));
+    }
+
+    /**
+     * Computes the inverse of {@link #inverseScale(double, double)}, without
+     * division.
+     *
+     * @param x First value.
+     * @param y Second value.
+     * @return {@code 1 / inverseScale(x, y)}.
+     */
+    static double scale(double x, double y) {
+        // 2^-1023 (subnormal) when the values are subnormal.
+        return Double.longBitsToDouble(Math.max(scaleBits(x, y), HALF_MIN_NORMAL));
+    }
+
+    /**
+     * @param x First value.
+     * @param y Second value.
+     * @return the exponent bits of {@code max(|x|, |y|)}, at most those of {@code 2^1022}.
+     */
+    private static long scaleBits(double x, double y) {
+        return Math.min(Double.doubleToRawLongBits(Math.max(Math.abs(x), Math.abs(y))) & EXPONENT_MASK,
+                        MAX_EXPONENT);
+    }
+
+    /**
+     * @param x Vector.
+     * @param y Vector.
+     * @param result Vector.
+     * @throws IllegalArgumentException if the sizes differ.
+     */
+    private static void checkSize(ComplexArray x, ComplexArray y, ComplexArray result) {
+        if (x.size() != result.size() || y.size() != result.size()) {
+            throw new IllegalArgumentException("Size mismatch: " + x.size() + ", " + y.size() + ", " + result.size());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.complex;
+
+/**
+ * Accurate sums and differences of two products, used by
+ * {@link AccurateComplexOperations}.
+ * <p>
+ * This is the Java 8 implementation: the rounding error of each product is
+ * computed exactly by splitting the factors (Dekker's algorithm). The
+ * multi-release JAR holds a Java 9 implementation under
+ * {@code META-INF/versions/9} that uses {@code Math.fma} (Kahan's algorithm)
+ * instead. Both compute the results with an error of a few ulp, even when
+ * the products cancel.
+ * </p>
+ */
+final class FusedMultiplyAdd {
+    /** Veltkamp's constant {@code 2^27 + 1}, which splits a factor in two parts of 26 bits. */
+    private static final double SPLIT = 0x1.0p27 + 1;
+    /** Largest magnitude that can be split without overflow of {@code SPLIT * value}. */
+    private static final double SPLIT_MAX = 0x1.0p995;
+    /** Scale applied to larger values before the split (exact). */
+    private static final double SPLIT_DOWN_SCALE = 0x1.0p-30;
+    /** Inverse of {@link #SPLIT_DOWN_SCALE}. */
+    private static final double SPLIT_UP_SCALE = 0x1.0p30;
+
+    /** Utility class. */
+    private FusedMultiplyAdd() {}
+
+    /**
+     * Tells whether this implementation uses {@code Math.fma}.
+     * This is a method rather than a constant, so that the tests see the
+     * class actually loaded (a constant would be inlined in their code).
+     *
+     * @return {@code false}.
+     */
+    static boolean usesMathFma() {
+        return false;
+    }
+
+    /**
+     * Computes {@code a * b - c * d}.
+     *
+     * @param a First factor of the first product.
+     * @param b Second factor of the first product.
+     * @param c First factor of the second product.
+     * @param d Second factor of the second product.
+     * @return the difference of the products.
+     */
+    static double differenceOfProducts(double a, double b, double c, double d) {
+        final double p = a * b;
+        final double q = c * d;
+        // p - q is exact when the products cancel (Sterbenz lemma).
+        return (p - q) + (productError(a, b, p) - productError(c, d, q));
+    }
+
+    /**
+     * Computes {@code a * b + c * d}.
+     *
+     * @param a First factor of the first product.
+     * @param b Second factor of the first product.
+     * @param c First factor of the second product.
+     * @param d Second factor of the second product.
+     * @return the sum of the products.
+     */
+    static double sumOfProducts(double a, double b, double c, double d) {
+        return differenceOfProducts(a, b, -c, d);
+    }
+
+    /**
+     * Computes {@code x * x + y * y}.
+     *
+     * @param x First value.
+     * @param y Second value.
+     * @return the sum of the squares.
+     */
+    static double sumOfSquares(double x, double y) {
+        final double p = x * x;
+        final double q = y * y;
+        return (p + q) + (productError(x, x, p) + productError(y, y, q));
+    }
+
+    /**
+     * Computes the rounding error of a product.
+     *
+     * @param a First factor.
+     * @param b Second factor.
+     * @param p Product {@code a * b}.
+     * @return {@code a * b - p}, computed exactly, barring underflow and
+     * overflow of the product.
+     */
+    private static double productError(double a, double b, double p) {
+        final double aHigh = highPart(a);
+        final double aLow = a - aHigh;
+        final double bHigh = highPart(b);
+        final double bLow = b - bHigh;
+        return aLow * bLow - (((p - aHigh * bHigh) - aLow * bHigh) - aHigh * bLow);
+    }
+
+    /**
+     * @param value Value.
+     * @return the 26 most significant bits of the value, such that
+     * {@code value - highPart(value)} also fits in 26 bits.
+     */
+    private static double highPart(double value) {
+        if (Math.abs(value) > SPLIT_MAX) {
+            // Avoid the overflow of the multiplication; the scaling is exact.
+            final double x = value * SPLIT_DOWN_SCALE;
+            final double c = SPLIT * x;
+            return (c - (c - x)) * SPLIT_UP_SCALE;
+        }
+        final double c = SPLIT * value;
+        return c - (c - value);
+    }
+}
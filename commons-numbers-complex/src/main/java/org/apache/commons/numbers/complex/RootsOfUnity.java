@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.complex;
+
+/**
+ * Table of the {@code n}-th roots of unity,
+ * \(\omega_k = e^{2 \pi i k / n} = \cos(2 \pi k / n) + i \sin(2 \pi k / n)\)
+ * for \(k = 0, \ldots, n - 1\).
+ * <p>
+ * The table is computed once, with the symmetries
+ * \(\omega_{n-k} = \overline{\omega_k}\), \(\omega_{n/2} = -1\) and
+ * \(\omega_{n/4} = i\) applied exactly, so that only about {@code n / 2}
+ * sine and cosine pairs are evaluated. Instances are immutable; use
+ * {@link RootsOfUnityCache} to share them between users of the same order.
+ * </p>
+ */
+public final class RootsOfUnity {
+    /** Number of bytes used by each root. */
+    private static final int BYTES_PER_ROOT = 2 * Double.BYTES;
+
+    /** Order. */
+    private final int order;
+    /** Interleaved real and imaginary parts of the roots. */
+    private final double[] table;
+
+    /**
+     * @param order Order.
+     * @param table Interleaved real and imaginary parts of the roots.
+     */
+    private RootsOfUnity(int order, double[] table) {
+        this.order = order;
+        this.table = table;
+    }
+
+    /**
+     * Computes the roots of unity of the given order.
+     *
+     * @param n Order.
+     * @return a new table.
+     * @throws IllegalArgumentException if {@code n < 1}.
+     */
+    public static RootsOfUnity of(int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Order must be strictly positive: " + n);
+        }
+        final double[] table = new double[2 * n];
+        table[0] = 1;
+        for (int k = 1; k < n; k++) {
+            final long twice = 2L * k;
+            if (twice > n) {
+                // Conjugate of a root already computed.
+                table[2 * k] = table[2 * (n - k)];
+                table[2 * k + 1] = -table[2 * (n - k) + 1];
+            } else if (twice == n) {
+                table[2 * k] = -1;
+            } else if (2 * twice == n) {
+                table[2 * k + 1] = 1;
+            } else {
+                final double angle = 2 * Math.PI * k / n;
+                table[2 * k] = Math.cos(angle);
+                table[2 * k + 1] = Math.sin(angle);
+            }
+        }
+        return new RootsOfUnity(n, table);
+    }
+
+    /**
+     * Gets the order {@code n} of the roots.
+     *
+     * @return the number of roots in the table.
+     */
+    public int getOrder() {
+        return order;
+    }
+
+    /**
+     * Gets the real part of \(\omega_k\), \(\cos(2 \pi k / n)\).
+     *
+     * @param k Index, in {@code [0, n)}.
+     * @return the real part.
+     * @throws IndexOutOfBoundsException if {@code k} is out of range.
+     */
+    public double getReal(int k) {
+        checkIndex(k);
+        return table[2 * k];
+    }
+
+    /**
+     * Gets the imaginary part of \(\omega_k\), \(\sin(2 \pi k / n)\).
+     *
+     * @param k Index, in {@code [0, n)}.
+     * @return the imaginary part.
+     * @throws IndexOutOfBoundsException if {@code k} is out of range.
+     */
+    public double getImaginary(int k) {
+        checkIndex(k);
+        return table[2 * k + 1];
+    }
+
+    /**
+     * Gets \(\omega_k\).
+     *
+     * @param k Index, in {@code [0, n)}.
+     * @return the root.
+     * @throws IndexOutOfBoundsException if {@code k} is out of range.
+     */
+    public Complex get(int k) {
+        checkIndex(k);
+        return Complex.ofCartesian(table[2 * k], table[2 * k + 1]);
+    }
+
+    /**
+     * Copies the table into a new array.
+     *
+     * @return the interleaved array {@code cos(2 pi k / n), sin(2 pi k / n)},
+     * for {@code k = 0, ..., n - 1}.
+     */
+    public double[] toInterleaved() {
+        return table.clone();
+    }
+
+    /**
+     * Gets the memory used by the table.
+     *
+     * @return the size of the table in bytes.
+     */
+    long getBytes() {
+        return (long) BYTES_PER_ROOT * order;
+    }
+
+    /**
+     * @param k Index.
+     * @throws IndexOutOfBoundsException if {@code k} is out of range.
+     */
+    private void checkIndex(int k) {
+        if (k < 0 || k >= order) {
+            throw new IndexOutOfBoundsException("Index " + k + " out of [0, " + order + ")");
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.complex;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Thread-safe cache of {@link RootsOfUnity} tables, keyed by order.
+ * <p>
+ * The total size of the cached tables is bounded: when a new table does not
+ * fit, the least recently used tables are evicted. A table larger than the
+ * bound is computed but not cached. The numbers of hits and misses are
+ * counted so that the bound can be tuned.
+ * </p><p>
+ * A {@linkplain #getDefault() shared instance} is used by
+ * {@link Complex#nthRoot(int)}; transforms that repeatedly need tables of
+ * the same order should use it too, so that the trigonometric functions are
+ * evaluated only once per order.
+ * </p>
+ */
+public final class RootsOfUnityCache {
+    /** Bound of the shared instance, in bytes (16 MiB, or 2^20 roots). */
+    public static final long DEFAULT_MAX_BYTES = 1L << 24;
+    /** Shared instance. */
+    private static final RootsOfUnityCache DEFAULT = new RootsOfUnityCache(DEFAULT_MAX_BYTES);
+
+    /** Maximum total size of the cached tables, in bytes. */
+    private final long maxBytes;
+    /** Tables in order of access, least recently used first. */
+    private final LinkedHashMap<Integer, RootsOfUnity> tables =
+        new LinkedHashMap<Integer, RootsOfUnity>(16, 0.75f, true);
+    /** Total size of the cached tables, in bytes. */
+    private long bytes;
+    /** Number of requests served from the cache. */
+    private long hits;
+    /** Number of requests that computed a table. */
+    private long misses;
+
+    /**
+     * @param maxBytes Maximum total size of the cached tables, in bytes.
+     * @throws IllegalArgumentException if {@code maxBytes < 0}.
+     */
+    public RootsOfUnityCache(long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Negative size: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Gets the shared instance, bounded by {@link #DEFAULT_MAX_BYTES}.
+     *
+     * @return the shared cache.
+     */
+    public static RootsOfUnityCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Gets the roots of unity of the given order, computing them if they
+     * are not in the cache.
+     *
+     * @param n Order.
+     * @return the table.
+     * @throws IllegalArgumentException if {@code n < 1}.
+     */
+    public RootsOfUnity get(int n) {
+        final Integer key = n;
+        synchronized (this) {
+            final RootsOfUnity cached = tables.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+        // Computed without holding the lock: concurrent misses on the same
+        // order may compute it twice, but only one table is kept.
+        final RootsOfUnity table = RootsOfUnity.of(n);
+        final long size = table.getBytes();
+        if (size > maxBytes) {
+            return table;
+        }
+        synchronized (this) {
+            final RootsOfUnity cached = tables.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            final Iterator<RootsOfUnity> eldest = tables.values().iterator();
+            while (bytes + size > maxBytes) {
+                bytes -= eldest.next().getBytes();
+                eldest.remove();
+            }
+            tables.put(key, table);
+            bytes += size;
+        }
+        return table;
+    }
+
+    /**
+     * Removes all the tables from the cache. The counters are not reset.
+     */
+    public synchronized void clear() {
+        tables.clear();
+        bytes = 0;
+    }
+
+    /**
+     * @return the maximum total size of the cached tables, in bytes.
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * @return the total size of the cached tables, in bytes.
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return the number of cached tables.
+     */
+    public synchronized int getTableCount() {
+        return tables.size();
+    }
+
+    /**
+     * @return the number of requests served from the cache.
+     */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * @return the number of requests that computed a table.
+     */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.complex;
+
+/**
+ * Accurate sums and differences of two products, used by
+ * {@link AccurateComplexOperations}.
+ * <p>
+ * This is the Java 9 implementation, packaged under
+ * {@code META-INF/versions/9} of the multi-release JAR: it uses
+ * {@link Math#fma(double, double, double)} in Kahan's algorithm, which needs
+ * fewer operations than the splitting of the factors used on Java 8.
+ * </p>
+ */
+final class FusedMultiplyAdd {
+    /** Utility class. */
+    private FusedMultiplyAdd() {}
+
+    /**
+     * Tells whether this implementation uses {@code Math.fma}.
+     * This is a method rather than a constant, so that the tests see the
+     * class actually loaded (a constant would be inlined in their code).
+     *
+     * @return {@code true}.
+     */
+    static boolean usesMathFma() {
+        return true;
+    }
+
+    /**
+     * Computes {@code a * b - c * d}.
+     *
+     * @param a First factor of the first product.
+     * @param b Second factor of the first product.
+     * @param c First factor of the second product.
+     * @param d Second factor of the second product.
+     * @return the difference of the products.
+     */
+    static double differenceOfProducts(double a, double b, double c, double d) {
+        final double w = c * d;
+        // Rounding error of c * d, computed exactly.
+        final double e = Math.fma(-c, d, w);
+        return Math.fma(a, b, -w) + e;
+    }
+
+    /**
+     * Computes {@code a * b + c * d}.
+     *
+     * @param a First factor of the first product.
+     * @param b Second factor of the first product.
+     * @param c First factor of the second product.
+     * @param d Second factor of the second product.
+     * @return the sum of the products.
+     */
+    static double sumOfProducts(double a, double b, double c, double d) {
+        return differenceOfProducts(a, b, -c, d);
+    }
+
+    /**
+     * Computes {@code x * x + y * y}.
+     *
+     * @param x First value.
+     * @param y Second value.
+     * @return the sum of the squares.
+     */
+    static double sumOfSquares(double x, double y) {
+        final double w = y * y;
+        final double e = Math.fma(y, y, -w);
+        return Math.fma(x, x, w) + e;
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.complex;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AccurateComplexOperationsTest {
+
+    private static final double inf = Double.POSITIVE_INFINITY;
+    private static final double nan = Double.NaN;
+
+    /** Precision of the reference quotients. */
+    private static final MathContext MC = new MathContext(50);
+
+    /**
+     * Creates pairs of factors whose products cancel in both parts of the
+     * complex product.
+     *
+     * @param n Number of pairs.
+     * @param seed Seed.
+     * @return {x, y}
+     */
+    private static ComplexArray[] cancellingPairs(int n, long seed) {
+        final Random rng = new Random(seed);
+        final ComplexArray x = ComplexArray.ofSize(n);
+        final ComplexArray y = ComplexArray.ofSize(n);
+        for (int i = 0; i < n; i++) {
+            final double a = rng.nextDouble() + 0.5;
+            final double b = rng.nextDouble() + 0.5;
+            final double c = rng.nextDouble() + 0.5;
+            // a * c ~ b * d
+            final double d = a * c / b;
+            x.set(i, a, b);
+            y.set(i, (i & 1) == 0 ? c : -c, d);
+        }
+        return new ComplexArray[] {x, y};
+    }
+
+    /**
+     * @param x Value.
+     * @return the exact decimal value.
+     */
+    private static BigDecimal exact(double x) {
+        return new BigDecimal(x);
+    }
+
+    /**
+     * Asserts that the value is within {@code ulps} of the exact value.
+     */
+    private static void assertUlps(String msg, BigDecimal expected, double actual, double ulps) {
+        final double e = expected.doubleValue();
+        final double error = exact(actual).subtract(expected).abs().doubleValue();
+        Assert.assertTrue(msg + ": expected " + e + " but was " + actual, error <= ulps * Math.ulp(e));
+    }
+
+    @Test
+    public void testMultiplyAccuracy() {
+        final ComplexArray[] xy = cancellingPairs(2000, 1);
+        final ComplexArray r = ComplexArray.ofSize(2000);
+        AccurateComplexOperations.multiply(xy[0], xy[1], r);
+        for (int i = 0; i < r.size(); i++) {
+            final BigDecimal a = exact(xy[0].getReal(i));
+            final BigDecimal b = exact(xy[0].getImaginary(i));
+            final BigDecimal c = exact(xy[1].getReal(i));
+            final BigDecimal d = exact(xy[1].getImaginary(i));
+            assertUlps("real " + i, a.multiply(c).subtract(b.multiply(d)), r.getReal(i), 2);
+            assertUlps("imaginary " + i, a.multiply(d).add(b.multiply(c)), r.getImaginary(i), 2);
+        }
+    }
+
+    @Test
+    public void testDivideAccuracy() {
+        final ComplexArray[] xy = cancellingPairs(2000, 2);
+        final ComplexArray r = ComplexArray.ofSize(2000);
+        // Divide by the conjugate so that the products of the numerator cancel.
+        ComplexArray.conjugate(xy[1], xy[1]);
+        AccurateComplexOperations.divide(xy[0], xy[1], r);
+        for (int i = 0; i < r.size(); i++) {
+            final BigDecimal a = exact(xy[0].getReal(i));
+            final BigDecimal b = exact(xy[0].getImaginary(i));
+            final BigDecimal c = exact(xy[1].getReal(i));
+            final BigDecimal d = exact(xy[1].getImaginary(i));
+            final BigDecimal den = c.multiply(c).add(d.multiply(d));
+            assertUlps("real " + i, a.multiply(c).add(b.multiply(d)).divide(den, MC), r.getReal(i), 4);
+            assertUlps("imaginary " + i, b.multiply(c).subtract(a.multiply(d)).divide(den, MC), r.getImaginary(i), 4);
+        }
+    }
+
+    @Test
+    public void testCancellationIsResolved() {
+        // a * d + b * c = (1 + 2^-27)(1 - 2^-27) - 1 = -2^-54, which the
+        // plain formula rounds to zero.
+        final Complex x = Complex.ofCartesian(1 + 0x1.0p-27, -1);
+        final Complex y = Complex.ofCartesian(1, 1 - 0x1.0p-27);
+        Assert.assertEquals(0.0, x.multiply(y).getImaginary(), 0);
+        Assert.assertEquals(-0x1.0p-54, AccurateComplexOperations.multiply(x, y).getImaginary(), 0);
+    }
+
+    @Test
+    public void testAbs() {
+        final Random rng = new Random(3);
+        final double[] parts = new double[2000];
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = (rng.nextDouble() - 0.5) * Math.pow(2, rng.nextInt(2000) - 1000);
+        }
+        final ComplexArray x = ComplexArray.wrap(parts);
+        final double[] r = new double[x.size()];
+        AccurateComplexOperations.abs(x, r);
+        for (int i = 0; i < r.length; i++) {
+            final double expected = Math.hypot(x.getReal(i), x.getImaginary(i));
+            Assert.assertEquals(expected, r[i], 1.5 * Math.ulp(expected));
+            Assert.assertEquals(r[i], AccurateComplexOperations.abs(x.get(i)), 0);
+        }
+        Assert.assertEquals(Double.MAX_VALUE, AccurateComplexOperations.abs(Complex.ofCartesian(Double.MAX_VALUE, 0)), 0);
+        Assert.assertEquals(5 * Double.MIN_VALUE,
+                            AccurateComplexOperations.abs(Complex.ofCartesian(3 * Double.MIN_VALUE, 4 * Double.MIN_VALUE)), 0);
+        Assert.assertEquals(0, AccurateComplexOperations.abs(Complex.ZERO), 0);
+    }
+
+    @Test
+    public void testSpecialValuesFollowComplex() {
+        // The ratio of the finite parts is below 2^1000, so that no scaled
+        // product is subnormal.
+        final double[] parts = {0, -0.0, 1, -2.5, 3e150, -7e-150, inf, -inf, nan};
+        for (double a : parts) {
+            for (double b : parts) {
+                final Complex x = Complex.ofCartesian(a, b);
+                Assert.assertEquals(x.toString(), x.abs(), AccurateComplexOperations.abs(x),
+                                    Double.isFinite(x.abs()) ? 2 * Math.ulp(x.abs()) : 0);
+                for (double c : parts) {
+                    for (double d : parts) {
+                        final Complex y = Complex.ofCartesian(c, d);
+                        assertConsistent(x.multiply(y), AccurateComplexOperations.multiply(x, y), exactProduct(a, b, c, d));
+                        assertConsistent(x.divide(y), AccurateComplexOperations.divide(x, y), exactQuotient(a, b, c, d));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the exact product {@code (a + bi)(c + di)}, or {@code null} if
+     * a part is not finite.
+     */
+    private static BigDecimal[] exactProduct(double a, double b, double c, double d) {
+        if (!(Double.isFinite(a) && Double.isFinite(b) && Double.isFinite(c) && Double.isFinite(d))) {
+            return null;
+        }
+        return new BigDecimal[] {
+            exact(a).multiply(exact(c)).subtract(exact(b).multiply(exact(d))),
+            exact(a).multiply(exact(d)).add(exact(b).multiply(exact(c)))
+        };
+    }
+
+    /**
+     * @return the quotient {@code (a + bi) / (c + di)}, or {@code null} if
+     * a part is not finite or the divisor is zero.
+     */
+    private static BigDecimal[] exactQuotient(double a, double b, double c, double d) {
+        if (!(Double.isFinite(a) && Double.isFinite(b) && Double.isFinite(c) && Double.isFinite(d)) ||
+            (c == 0 && d == 0)) {
+            return null;
+        }
+        final BigDecimal den = exact(c).multiply(exact(c)).add(exact(d).multiply(exact(d)));
+        return new BigDecimal[] {
+            exact(a).multiply(exact(c)).add(exact(b).multiply(exact(d))).divide(den, MC),
+            exact(b).multiply(exact(c)).subtract(exact(a).multiply(exact(d))).divide(den, MC)
+        };
+    }
+
+    /**
+     * Asserts that results are identical to those of {@link Complex} when
+     * they are not finite, and accurate otherwise.
+     *
+     * @param expected Result of {@link Complex}.
+     * @param actual Result of {@link AccurateComplexOperations}.
+     * @param exact Exact result (can be {@code null} if not finite).
+     */
+    private static void assertConsistent(Complex expected, Complex actual, BigDecimal[] exact) {
+        assertConsistent(expected + " real", expected.getReal(), actual.getReal(), exact == null ? null : exact[0]);
+        assertConsistent(expected + " imaginary", expected.getImaginary(), actual.getImaginary(),
+                         exact == null ? null : exact[1]);
+    }
+
+    /**
+     * Asserts that a part is identical to that of {@link Complex} when it is
+     * not finite, and accurate otherwise.
+     *
+     * @param msg Message.
+     * @param expected Part computed by {@link Complex}.
+     * @param actual Part computed by {@link AccurateComplexOperations}.
+     * @param exact Exact part (can be {@code null} if not finite).
+     */
+    private static void assertConsistent(String msg, double expected, double actual, BigDecimal exact) {
+        if (exact != null && Double.isFinite(actual)) {
+            assertUlps(msg, exact, actual, 4);
+        } else {
+            Assert.assertEquals(msg, expected, actual, 0);
+        }
+    }
+
+    @Test
+    public void testOverflowKeepsFinitePart() {
+        // The imaginary part overflows; the real part cancels to -7.9e292,
+        // which the C99 formula computes as -5.99e292.
+        final double a = 9.231025886016533E236;
+        final double b = 9.231025886016539E236;
+        final double c = 1.3247138462884273E71;
+        final Complex p = AccurateComplexOperations.multiply(Complex.ofCartesian(a, b), Complex.ofCartesian(c, c));
+        assertUlps("real", exact(a).subtract(exact(b)).multiply(exact(c)), p.getReal(), 2);
+        Assert.assertEquals(Double.POSITIVE_INFINITY, p.getImaginary(), 0);
+        // The same parts from the quotient by 1 / (c + ci) = (e - ei).
+        final double e = 0.5 / c;
+        final Complex q = AccurateComplexOperations.divide(Complex.ofCartesian(a, b), Complex.ofCartesian(e, -e));
+        assertUlps("quotient real", exactQuotient(a, b, e, -e)[0], q.getReal(), 4);
+        Assert.assertEquals(Double.POSITIVE_INFINITY, q.getImaginary(), 0);
+    }
+
+    @Test
+    public void testDivideSubnormal() {
+        // Exactly representable subnormal values.
+        final double tiny = -0x1.0p20 * Double.MIN_VALUE;
+        final Complex x = Complex.ofCartesian(1.5 * tiny, tiny);
+        final Complex y = Complex.ofCartesian(tiny, tiny);
+        final Complex q = AccurateComplexOperations.divide(x, y);
+        Assert.assertEquals(1.25, q.getReal(), Math.ulp(1.25));
+        Assert.assertEquals(-0.25, q.getImaginary(), Math.ulp(0.25));
+        Assert.assertEquals(1, AccurateComplexOperations.divide(y, y).getReal(), 0);
+    }
+
+    @Test
+    public void testArraysMatchScalars() {
+        final ComplexArray[] xy = cancellingPairs(100, 4);
+        final ComplexArray p = ComplexArray.ofSize(100);
+        final ComplexArray q = ComplexArray.ofSize(100);
+        AccurateComplexOperations.multiply(xy[0], xy[1], p);
+        AccurateComplexOperations.divide(xy[0], xy[1], q);
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(AccurateComplexOperations.multiply(xy[0].get(i), xy[1].get(i)), p.get(i));
+            Assert.assertEquals(AccurateComplexOperations.divide(xy[0].get(i), xy[1].get(i)), q.get(i));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMultiplySizeMismatch() {
+        AccurateComplexOperations.multiply(ComplexArray.ofSize(2), ComplexArray.ofSize(1), ComplexArray.ofSize(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAbsSizeMismatch() {
+        AccurateComplexOperations.abs(ComplexArray.ofSize(2), new double[3]);
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.complex;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ComplexArrayTest {
+
+    private static final double inf = Double.POSITIVE_INFINITY;
+    private static final double neginf = Double.NEGATIVE_INFINITY;
+    private static final double nan = Double.NaN;
+
+    /** Parts used to build operands, including special values. */
+    private static final double[] PARTS = {
+        0, -0.0, 1, -2.5, 3e300, -7e-310, inf, neginf, nan
+    };
+
+    /**
+     * @return all combinations of {@link #PARTS}.
+     */
+    private static Complex[] specialValues() {
+        final Complex[] c = new Complex[PARTS.length * PARTS.length];
+        int k = 0;
+        for (double re : PARTS) {
+            for (double im : PARTS) {
+                c[k++] = Complex.ofCartesian(re, im);
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Creates two vectors holding every pair of special values.
+     *
+     * @return {x, y}
+     */
+    private static ComplexArray[] allPairs() {
+        final Complex[] values = specialValues();
+        final ComplexArray x = ComplexArray.ofSize(values.length * values.length);
+        final ComplexArray y = ComplexArray.ofSize(values.length * values.length);
+        int k = 0;
+        for (Complex a : values) {
+            for (Complex b : values) {
+                x.set(k, a);
+                y.set(k, b);
+                k++;
+            }
+        }
+        return new ComplexArray[] {x, y};
+    }
+
+    /**
+     * Asserts that the parts are bitwise identical (NaN payloads aside).
+     */
+    private static void assertIdentical(String msg, Complex expected, ComplexArray actual, int index) {
+        Assert.assertEquals(msg + " real", Double.doubleToLongBits(expected.getReal()),
+                            Double.doubleToLongBits(actual.getReal(index)));
+        Assert.assertEquals(msg + " imaginary", Double.doubleToLongBits(expected.getImaginary()),
+                            Double.doubleToLongBits(actual.getImaginary(index)));
+    }
+
+    @Test
+    public void testOfSize() {
+        final ComplexArray a = ComplexArray.ofSize(3);
+        Assert.assertEquals(3, a.size());
+        Assert.assertEquals(6, a.getData().length);
+        for (int i = 0; i < a.size(); i++) {
+            Assert.assertEquals(Complex.ZERO, a.get(i));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOfNegativeSize() {
+        ComplexArray.ofSize(-1);
+    }
+
+    @Test
+    public void testWrapIsNotCopied() {
+        final double[] data = {1, 2, 3, 4};
+        final ComplexArray a = ComplexArray.wrap(data);
+        Assert.assertSame(data, a.getData());
+        Assert.assertEquals(2, a.size());
+        a.set(1, -5, 6);
+        Assert.assertEquals(-5, data[2], 0);
+        Assert.assertEquals(6, data[3], 0);
+        data[0] = 9;
+        Assert.assertEquals(9, a.getReal(0), 0);
+        Assert.assertEquals(2, a.getImaginary(0), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrapOddLength() {
+        ComplexArray.wrap(new double[3]);
+    }
+
+    @Test
+    public void testOfAndToArray() {
+        final Complex[] values = specialValues();
+        final ComplexArray a = ComplexArray.of(values);
+        Assert.assertArrayEquals(values, a.toArray());
+        Assert.assertEquals(a, a.copy());
+        Assert.assertEquals(a.hashCode(), a.copy().hashCode());
+        Assert.assertNotSame(a.getData(), a.copy().getData());
+        Assert.assertNotEquals(a, ComplexArray.ofSize(values.length));
+        Assert.assertNotEquals(a, ComplexArray.ofSize(1));
+        Assert.assertNotEquals(a, values);
+    }
+
+    @Test
+    public void testAdd() {
+        final ComplexArray[] xy = allPairs();
+        final ComplexArray r = ComplexArray.ofSize(xy[0].size());
+        ComplexArray.add(xy[0], xy[1], r);
+        for (int i = 0; i < r.size(); i++) {
+            assertIdentical("add " + i, xy[0].get(i).add(xy[1].get(i)), r, i);
+        }
+        Assert.assertEquals(r, xy[0].add(xy[1]));
+    }
+
+    @Test
+    public void testSubtract() {
+        final ComplexArray[] xy = allPairs();
+        final ComplexArray r = ComplexArray.ofSize(xy[0].size());
+        ComplexArray.subtract(xy[0], xy[1], r);
+        for (int i = 0; i < r.size(); i++) {
+            assertIdentical("subtract " + i, xy[0].get(i).subtract(xy[1].get(i)), r, i);
+        }
+        Assert.assertEquals(r, xy[0].subtract(xy[1]));
+    }
+
+    @Test
+    public void testMultiply() {
+        final ComplexArray[] xy = allPairs();
+        final ComplexArray r = ComplexArray.ofSize(xy[0].size());
+        ComplexArray.multiply(xy[0], xy[1], r);
+        for (int i = 0; i < r.size(); i++) {
+            assertIdentical("multiply " + i, xy[0].get(i).multiply(xy[1].get(i)), r, i);
+        }
+        Assert.assertEquals(r, xy[0].multiply(xy[1]));
+    }
+
+    @Test
+    public void testDivide() {
+        final ComplexArray[] xy = allPairs();
+        final ComplexArray r = ComplexArray.ofSize(xy[0].size());
+        ComplexArray.divide(xy[0], xy[1], r);
+        for (int i = 0; i < r.size(); i++) {
+            assertIdentical("divide " + i, xy[0].get(i).divide(xy[1].get(i)), r, i);
+        }
+        Assert.assertEquals(r, xy[0].divide(xy[1]));
+    }
+
+    @Test
+    public void testConjugate() {
+        final Complex[] values = specialValues();
+        final ComplexArray a = ComplexArray.of(values).conjugate();
+        for (int i = 0; i < values.length; i++) {
+            assertIdentical("conjugate " + i, values[i].conjugate(), a, i);
+        }
+    }
+
+    @Test
+    public void testScale() {
+        final Complex[] values = specialValues();
+        for (double factor : PARTS) {
+            final ComplexArray a = ComplexArray.of(values).scale(factor);
+            for (int i = 0; i < values.length; i++) {
+                assertIdentical("scale " + i, values[i].multiply(factor), a, i);
+            }
+        }
+    }
+
+    @Test
+    public void testPow() {
+        final Complex[] values = specialValues();
+        for (int n : new int[] {0, 1, 2, 3, 7, 64, -1, -2, -5, Integer.MAX_VALUE, Integer.MIN_VALUE}) {
+            final ComplexArray a = ComplexArray.of(values).pow(n);
+            for (int i = 0; i < values.length; i++) {
+                assertIdentical("pow " + n + " " + values[i], values[i].pow(n), a, i);
+            }
+        }
+    }
+
+    @Test
+    public void testReciprocal() {
+        final Complex[] values = specialValues();
+        final double[] r = new double[2];
+        for (Complex z : values) {
+            ComplexArray.reciprocal(z.getReal(), z.getImaginary(), r, 0);
+            final Complex expected = z.reciprocal();
+            Assert.assertEquals(expected.getReal(), r[0], 0);
+            Assert.assertEquals(expected.getImaginary(), r[1], 0);
+        }
+    }
+
+    @Test
+    public void testMultiplyAccumulate() {
+        final ComplexArray[] xy = allPairs();
+        final ComplexArray acc = ComplexArray.ofSize(xy[0].size());
+        for (int i = 0; i < acc.size(); i++) {
+            acc.set(i, 0.5 * i, -0.25 * i);
+        }
+        final ComplexArray expected = acc.copy();
+        acc.multiplyAccumulate(xy[0], xy[1]);
+        for (int i = 0; i < acc.size(); i++) {
+            assertIdentical("mac " + i, expected.get(i).add(xy[0].get(i).multiply(xy[1].get(i))), acc, i);
+        }
+    }
+
+    @Test
+    public void testAliasedOperands() {
+        final ComplexArray a = ComplexArray.of(Complex.ofCartesian(1, 2), Complex.ofCartesian(-3, 0.5));
+        final ComplexArray expected = ComplexArray.of(Complex.ofCartesian(1, 2).square(),
+                                                      Complex.ofCartesian(-3, 0.5).square());
+        Assert.assertEquals(expected, a.multiply(a));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSizeMismatch() {
+        ComplexArray.ofSize(2).add(ComplexArray.ofSize(3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testResultSizeMismatch() {
+        ComplexArray.multiply(ComplexArray.ofSize(2), ComplexArray.ofSize(2), ComplexArray.ofSize(1));
+    }
+}
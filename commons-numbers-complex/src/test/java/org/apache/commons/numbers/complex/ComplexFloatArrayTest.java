@@ -0,0 +1,280 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.complex;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ComplexFloatArrayTest {
+
+    private static final float inf = Float.POSITIVE_INFINITY;
+    private static final float neginf = Float.NEGATIVE_INFINITY;
+    private static final float nan = Float.NaN;
+
+    /** Parts used to build operands, including special values. */
+    private static final float[] PARTS = {
+        0, -0.0f, 1, -2.5f, 3e30f, -7e-40f, inf, neginf, nan
+    };
+
+    /**
+     * Creates two vectors holding every pair of special values.
+     *
+     * @return {x, y}
+     */
+    private static ComplexFloatArray[] allPairs() {
+        final int n = PARTS.length * PARTS.length;
+        final ComplexFloatArray x = ComplexFloatArray.ofSize(n * n);
+        final ComplexFloatArray y = ComplexFloatArray.ofSize(n * n);
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                x.set(k, PARTS[i / PARTS.length], PARTS[i % PARTS.length]);
+                y.set(k, PARTS[j / PARTS.length], PARTS[j % PARTS.length]);
+                k++;
+            }
+        }
+        return new ComplexFloatArray[] {x, y};
+    }
+
+    /**
+     * @param n Size.
+     * @param seed Seed.
+     * @return a vector of random values.
+     */
+    private static ComplexFloatArray random(int n, long seed) {
+        final Random rng = new Random(seed);
+        final ComplexFloatArray a = ComplexFloatArray.ofSize(n);
+        for (int i = 0; i < n; i++) {
+            a.set(i, rng.nextFloat() * 4 - 2, rng.nextFloat() * 4 - 2);
+        }
+        return a;
+    }
+
+    /**
+     * Asserts that a part is close to the double precision result rounded to
+     * single precision.
+     */
+    private static void assertClose(String msg, double expected, float actual, double relTol) {
+        final float e = (float) expected;
+        if (Float.isNaN(e) || Float.isInfinite(e) || e == 0) {
+            Assert.assertEquals(msg, e, actual, 0);
+        } else {
+            // Subnormal results have fewer significant bits.
+            Assert.assertEquals(msg, e, actual, Math.max(Math.abs(e) * relTol, 2 * Float.MIN_VALUE));
+        }
+    }
+
+    @Test
+    public void testOfSize() {
+        final ComplexFloatArray a = ComplexFloatArray.ofSize(3);
+        Assert.assertEquals(3, a.size());
+        Assert.assertEquals(6, a.getData().length);
+        Assert.assertEquals(0, a.getReal(2), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOfNegativeSize() {
+        ComplexFloatArray.ofSize(-1);
+    }
+
+    @Test
+    public void testWrapIsNotCopied() {
+        final float[] data = {1, 2, 3, 4};
+        final ComplexFloatArray a = ComplexFloatArray.wrap(data);
+        Assert.assertSame(data, a.getData());
+        a.set(1, 5, 6);
+        Assert.assertEquals(5, data[2], 0);
+        Assert.assertEquals(6, data[3], 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrapOddLength() {
+        ComplexFloatArray.wrap(new float[3]);
+    }
+
+    @Test
+    public void testConversions() {
+        final Complex[] c = {Complex.ofCartesian(1, 2), Complex.ofCartesian(0.1, -3)};
+        final ComplexFloatArray a = ComplexFloatArray.of(c);
+        Assert.assertEquals(0.1f, a.getReal(1), 0);
+        Assert.assertEquals(Complex.ofCartesian(0.1f, -3), a.get(1));
+        Assert.assertArrayEquals(new Complex[] {c[0], Complex.ofCartesian(0.1f, -3)}, a.toArray());
+        Assert.assertEquals(a, ComplexFloatArray.of(ComplexArray.of(c)));
+        Assert.assertEquals(ComplexArray.of(a.toArray()), a.toComplexArray());
+
+        final float[] re = new float[2];
+        final float[] im = new float[2];
+        a.toSplit(re, im);
+        Assert.assertArrayEquals(new float[] {1, 0.1f}, re, 0);
+        Assert.assertArrayEquals(new float[] {2, -3}, im, 0);
+        Assert.assertEquals(a, ComplexFloatArray.ofSplit(re, im));
+
+        a.set(0, Complex.ofCartesian(1e300, 4));
+        Assert.assertEquals(inf, a.getReal(0), 0);
+        Assert.assertEquals(4, a.getImaginary(0), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOfSplitMismatch() {
+        ComplexFloatArray.ofSplit(new float[2], new float[3]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testToSplitMismatch() {
+        ComplexFloatArray.ofSize(2).toSplit(new float[2], new float[3]);
+    }
+
+    @Test
+    public void testAddSubtractScaleConjugate() {
+        final ComplexFloatArray x = random(100, 1);
+        final ComplexFloatArray y = random(100, 2);
+        final ComplexFloatArray r = ComplexFloatArray.ofSize(100);
+        ComplexFloatArray.add(x, y, r);
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(x.getReal(i) + y.getReal(i), r.getReal(i), 0);
+            Assert.assertEquals(x.getImaginary(i) + y.getImaginary(i), r.getImaginary(i), 0);
+        }
+        r.subtract(y);
+        r.subtract(x);
+        Assert.assertEquals(ComplexFloatArray.ofSize(100), r);
+        final ComplexFloatArray s = x.copy().scale(-0.5f).conjugate();
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(x.getReal(i) * -0.5f, s.getReal(i), 0);
+            Assert.assertEquals(x.getImaginary(i) * 0.5f, s.getImaginary(i), 0);
+        }
+    }
+
+    @Test
+    public void testMultiply() {
+        final ComplexFloatArray x = random(100, 3);
+        final ComplexFloatArray y = random(100, 4);
+        final ComplexFloatArray r = x.copy().multiply(y);
+        for (int i = 0; i < 100; i++) {
+            final Complex e = x.get(i).multiply(y.get(i));
+            // The float products cancel in the sums.
+            final double tol = 2 * Math.ulp(8f);
+            Assert.assertEquals(e.getReal(), r.getReal(i), tol);
+            Assert.assertEquals(e.getImaginary(), r.getImaginary(i), tol);
+        }
+    }
+
+    @Test
+    public void testMultiplySpecialValues() {
+        final ComplexFloatArray[] xy = allPairs();
+        final ComplexFloatArray r = xy[0].copy().multiply(xy[1]);
+        for (int i = 0; i < r.size(); i++) {
+            final Complex e = xy[0].get(i).multiply(xy[1].get(i));
+            final String msg = xy[0].get(i) + " * " + xy[1].get(i);
+            final double a = xy[0].getReal(i);
+            final double b = xy[0].getImaginary(i);
+            final double c = xy[1].getReal(i);
+            final double d = xy[1].getImaginary(i);
+            if (Math.max(Math.max(Math.abs(a * c), Math.abs(b * d)),
+                         Math.max(Math.abs(a * d), Math.abs(b * c))) > Float.MAX_VALUE) {
+                // A product overflows in single precision.
+                continue;
+            }
+            assertClose(msg + " real", e.getReal(), r.getReal(i), 1e-6);
+            assertClose(msg + " imaginary", e.getImaginary(), r.getImaginary(i), 1e-6);
+        }
+    }
+
+    @Test
+    public void testDivide() {
+        final ComplexFloatArray x = random(100, 5);
+        final ComplexFloatArray y = random(100, 6);
+        final ComplexFloatArray r = x.copy().divide(y);
+        for (int i = 0; i < 100; i++) {
+            final Complex e = x.get(i).divide(y.get(i));
+            final double tol = 1e-5 * e.abs();
+            Assert.assertEquals(e.getReal(), r.getReal(i), tol);
+            Assert.assertEquals(e.getImaginary(), r.getImaginary(i), tol);
+        }
+    }
+
+    @Test
+    public void testDivideSpecialValues() {
+        final ComplexFloatArray[] xy = allPairs();
+        final ComplexFloatArray r = xy[0].copy().divide(xy[1]);
+        for (int i = 0; i < r.size(); i++) {
+            final Complex e = xy[0].get(i).divide(xy[1].get(i));
+            final String msg = xy[0].get(i) + " / " + xy[1].get(i);
+            final float c = xy[1].getReal(i);
+            final float d = xy[1].getImaginary(i);
+            final float m = Math.max(Math.abs(c), Math.abs(d));
+            if (m != 0 && m != inf &&
+                (underflows(c, m) || underflows(d, m))) {
+                // A part of the divisor vanishes when it is scaled, as it
+                // does in double precision for larger ranges of exponents.
+                continue;
+            }
+            // Scaling a subnormal part of the divisor loses bits.
+            assertClose(msg + " real", e.getReal(), r.getReal(i), 1e-5);
+            assertClose(msg + " imaginary", e.getImaginary(), r.getImaginary(i), 1e-5);
+        }
+    }
+
+    /**
+     * @param x Part of the divisor.
+     * @param m Largest magnitude of the parts of the divisor.
+     * @return whether {@code x} underflows to zero when the divisor is scaled.
+     */
+    private static boolean underflows(float x, float m) {
+        return x != 0 && Math.scalb(x, -Math.getExponent(m)) == 0;
+    }
+
+    @Test
+    public void testMultiplyAccumulate() {
+        final ComplexFloatArray x = random(10, 7);
+        final ComplexFloatArray y = random(10, 8);
+        final ComplexFloatArray acc = random(10, 9);
+        final ComplexFloatArray expected = x.copy().multiply(y).add(acc);
+        Assert.assertEquals(expected, acc.multiplyAccumulate(x, y));
+    }
+
+    @Test
+    public void testAliasedOperands() {
+        final ComplexFloatArray x = random(10, 10);
+        final ComplexFloatArray expected = x.copy().multiply(x.copy());
+        Assert.assertEquals(expected, x.multiply(x));
+    }
+
+    @Test
+    public void testEqualsAndToString() {
+        final ComplexFloatArray a = ComplexFloatArray.wrap(new float[] {1, -2, nan, 0});
+        final ComplexFloatArray b = ComplexFloatArray.wrap(new float[] {1, -2, nan, 0});
+        Assert.assertEquals(a, b);
+        Assert.assertEquals(a.hashCode(), b.hashCode());
+        Assert.assertNotEquals(a, ComplexFloatArray.wrap(new float[] {1, -2, nan, -0.0f}));
+        Assert.assertNotEquals(a, a.toComplexArray());
+        Assert.assertEquals("[(1.0,-2.0), (NaN,0.0)]", a.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSizeMismatch() {
+        ComplexFloatArray.ofSize(2).add(ComplexFloatArray.ofSize(3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testResultSizeMismatch() {
+        ComplexFloatArray.multiply(ComplexFloatArray.ofSize(2), ComplexFloatArray.ofSize(2),
+            ComplexFloatArray.ofSize(3));
+    }
+}
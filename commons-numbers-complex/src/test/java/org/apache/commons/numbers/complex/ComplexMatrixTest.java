@@ -0,0 +1,320 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.complex;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ComplexMatrixTest {
+
+    /**
+     * @param rows Number of rows.
+     * @param columns Number of columns.
+     * @param seed Seed.
+     * @return a matrix with random parts in [-1, 1).
+     */
+    private static ComplexMatrix random(int rows, int columns, long seed) {
+        final Random rng = new Random(seed);
+        final double[] data = new double[2 * rows * columns];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = rng.nextDouble() * 2 - 1;
+        }
+        return ComplexMatrix.wrap(rows, columns, data);
+    }
+
+    /**
+     * Product with {@link Complex} objects.
+     */
+    private static Complex[][] naiveMultiply(Complex[][] a, Complex[][] b, int m) {
+        final int n = b.length;
+        final Complex[][] c = new Complex[a.length][m];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < m; j++) {
+                Complex sum = Complex.ZERO;
+                for (int k = 0; k < n; k++) {
+                    sum = sum.add(a[i][k].multiply(b[k][j]));
+                }
+                c[i][j] = sum;
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Asserts that all the parts are within the tolerance.
+     */
+    private static void assertClose(String msg, ComplexMatrix expected, ComplexMatrix actual, double tol) {
+        Assert.assertEquals(msg, expected.getRowDimension(), actual.getRowDimension());
+        Assert.assertEquals(msg, expected.getColumnDimension(), actual.getColumnDimension());
+        final double[] e = expected.getData();
+        final double[] a = actual.getData();
+        for (int i = 0; i < e.length; i++) {
+            Assert.assertEquals(msg + " [" + i + "]", e[i], a[i], tol);
+        }
+    }
+
+    @Test
+    public void testMultiply() {
+        // Dimensions around the block size.
+        final int[][] dims = {{1, 1, 1}, {3, 5, 2}, {2, 0, 3}, {70, 130, 65}, {64, 64, 64}, {1, 200, 1}};
+        for (final int[] d : dims) {
+            final ComplexMatrix a = random(d[0], d[1], d[0] + d[1]);
+            final ComplexMatrix b = random(d[1], d[2], d[1] * d[2] + 1);
+            final ComplexMatrix expected = ComplexMatrix.of(naiveMultiply(a.toArray(), b.toArray(), d[2]));
+            final String msg = d[0] + "x" + d[1] + "x" + d[2];
+            assertClose(msg, expected, a.multiply(b), 1e-13);
+        }
+    }
+
+    @Test
+    public void testMultiplyParallel() {
+        final ComplexMatrix a = random(150, 90, 1);
+        final ComplexMatrix b = random(90, 110, 2);
+        final ComplexMatrix expected = a.multiply(b);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Assert.assertEquals(expected, a.multiply(b, pool));
+            // Reused result.
+            final ComplexMatrix result = random(150, 110, 3);
+            ComplexMatrix.multiply(a, b, result, pool);
+            Assert.assertEquals(expected, result);
+            // Small products run in the calling thread.
+            Assert.assertEquals(random(3, 4, 4).multiply(random(4, 2, 5)),
+                                random(3, 4, 4).multiply(random(4, 2, 5), pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testMultiplyIdentity() {
+        final ComplexMatrix a = random(7, 9, 6);
+        Assert.assertEquals(a, ComplexMatrix.identity(7).multiply(a));
+        Assert.assertEquals(a, a.multiply(ComplexMatrix.identity(9)));
+    }
+
+    @Test
+    public void testOperate() {
+        final ComplexMatrix a = random(13, 8, 7);
+        final ComplexMatrix x = random(8, 1, 8);
+        final ComplexArray v = ComplexArray.wrap(x.getData().clone());
+        final ComplexArray r = a.operate(v);
+        Assert.assertEquals(13, r.size());
+        Assert.assertArrayEquals(a.multiply(x).getData(), r.getData(), 0);
+    }
+
+    @Test
+    public void testConjugateTranspose() {
+        final ComplexMatrix a = random(70, 3, 9);
+        final ComplexMatrix h = a.conjugateTranspose();
+        Assert.assertEquals(3, h.getRowDimension());
+        Assert.assertEquals(70, h.getColumnDimension());
+        for (int i = 0; i < 70; i++) {
+            for (int j = 0; j < 3; j++) {
+                Assert.assertEquals(a.get(i, j).conj(), h.get(j, i));
+            }
+        }
+        Assert.assertEquals(a, h.conjugateTranspose());
+    }
+
+    @Test
+    public void testLU() {
+        for (int n : new int[] {1, 2, 5, 33, 100}) {
+            final ComplexMatrix a = random(n, n, n);
+            final ComplexMatrix.LUDecomposition lu = a.lu();
+            Assert.assertFalse(lu.isSingular());
+            final ComplexMatrix l = lu.getL();
+            final ComplexMatrix u = lu.getU();
+            final int[] p = lu.getPivot();
+            final ComplexMatrix pa = ComplexMatrix.ofSize(n, n);
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    pa.set(i, j, a.get(p[i], j));
+                    if (j > i) {
+                        Assert.assertEquals(Complex.ZERO, l.get(i, j));
+                    } else if (j < i) {
+                        Assert.assertEquals(Complex.ZERO, u.get(i, j));
+                        // Partial pivoting on |re| + |im| bounds the multipliers by sqrt(2).
+                        Assert.assertTrue(l.get(i, j).abs() <= Math.sqrt(2) * (1 + 1e-15));
+                    }
+                }
+                Assert.assertEquals(Complex.ONE, l.get(i, i));
+            }
+            assertClose("n=" + n, pa, l.multiply(u), 1e-13 * n);
+        }
+    }
+
+    @Test
+    public void testLUParallel() {
+        final ComplexMatrix a = random(200, 200, 10);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final ComplexMatrix.LUDecomposition expected = a.lu();
+            final ComplexMatrix.LUDecomposition actual = a.lu(pool);
+            Assert.assertEquals(expected.getL(), actual.getL());
+            Assert.assertEquals(expected.getU(), actual.getU());
+            Assert.assertArrayEquals(expected.getPivot(), actual.getPivot());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSolve() {
+        for (int n : new int[] {1, 4, 50}) {
+            final ComplexMatrix a = random(n, n, 11 * n);
+            final ComplexMatrix x = random(n, 3, 12 * n);
+            final ComplexMatrix b = a.multiply(x);
+            assertClose("n=" + n, x, a.lu().solve(b), 1e-11);
+            final ComplexArray column = ComplexArray.ofSize(n);
+            for (int i = 0; i < n; i++) {
+                column.set(i, b.get(i, 1));
+            }
+            final ComplexArray solution = a.solve(column);
+            for (int i = 0; i < n; i++) {
+                Assert.assertEquals(x.getReal(i, 1), solution.getReal(i), 1e-11);
+                Assert.assertEquals(x.getImaginary(i, 1), solution.getImaginary(i), 1e-11);
+            }
+        }
+    }
+
+    @Test
+    public void testDeterminant() {
+        final ComplexMatrix a = ComplexMatrix.of(new Complex[][] {
+            {Complex.ofCartesian(1, 2), Complex.ofCartesian(3, -1)},
+            {Complex.ofCartesian(0, 1), Complex.ofCartesian(2, 2)},
+        });
+        // (1+2i)(2+2i) - (3-i)(i) = (-2+6i) - (1+3i)
+        final Complex det = a.determinant();
+        Assert.assertEquals(-3, det.getReal(), 1e-15);
+        Assert.assertEquals(3, det.getImaginary(), 1e-15);
+
+        // Triangular matrix: product of the diagonal; one swap.
+        final ComplexMatrix t = ComplexMatrix.ofSize(3, 3);
+        t.set(0, 1, 1, 0);
+        t.set(1, 0, 2, 1);
+        t.set(2, 2, 0, 3);
+        // det = -(1)(2+i)(3i) = 3 - 6i
+        final Complex d = t.determinant();
+        Assert.assertEquals(3, d.getReal(), 1e-15);
+        Assert.assertEquals(-6, d.getImaginary(), 1e-15);
+
+        Assert.assertEquals(Complex.ONE, ComplexMatrix.identity(5).determinant());
+        Assert.assertEquals(Complex.ONE, ComplexMatrix.ofSize(0, 0).determinant());
+    }
+
+    @Test
+    public void testSingular() {
+        final ComplexMatrix a = random(4, 4, 13);
+        // Row 3 = (1 + i) row 1.
+        for (int j = 0; j < 4; j++) {
+            a.set(3, j, a.get(1, j).multiply(Complex.ofCartesian(1, 1)));
+        }
+        final ComplexMatrix zero = ComplexMatrix.ofSize(3, 3);
+        Assert.assertTrue(zero.lu().isSingular());
+        Assert.assertEquals(Complex.ZERO, zero.determinant());
+        try {
+            zero.solve(ComplexArray.ofSize(3));
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+        // Rounding may leave a tiny pivot: the determinant is still negligible.
+        Assert.assertEquals(0, a.determinant().abs(), 1e-14);
+    }
+
+    @Test
+    public void testComplexArrayConversion() {
+        final ComplexMatrix a = random(3, 4, 14);
+        final Complex[][] c = a.toArray();
+        Assert.assertEquals(3, c.length);
+        Assert.assertEquals(4, c[0].length);
+        Assert.assertEquals(a.get(2, 3), c[2][3]);
+        Assert.assertEquals(a, ComplexMatrix.of(c));
+        Assert.assertEquals(0, ComplexMatrix.of(new Complex[0][]).getRowDimension());
+    }
+
+    @Test
+    public void testAccessors() {
+        final ComplexMatrix a = ComplexMatrix.ofSize(2, 3);
+        a.set(1, 2, 4, 5);
+        Assert.assertEquals(4, a.getReal(1, 2), 0);
+        Assert.assertEquals(5, a.getImaginary(1, 2), 0);
+        Assert.assertEquals(4, a.getData()[10], 0);
+        a.set(0, 1, Complex.I);
+        Assert.assertEquals(Complex.I, a.get(0, 1));
+        final ComplexMatrix b = a.copy();
+        Assert.assertEquals(a, b);
+        Assert.assertEquals(a.hashCode(), b.hashCode());
+        b.set(0, 0, 1, 0);
+        Assert.assertNotEquals(a, b);
+        Assert.assertNotEquals(a, ComplexMatrix.ofSize(3, 2));
+        Assert.assertEquals("[[(0.0,0.0), (0.0,1.0)], [(1.0,0.0), (0.0,0.0)]]",
+            ComplexMatrix.of(new Complex[][] {{Complex.ZERO, Complex.I}, {Complex.ONE, Complex.ZERO}}).toString());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds() {
+        // Would be a valid array index in the next row.
+        ComplexMatrix.ofSize(2, 3).getReal(0, 3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeSize() {
+        ComplexMatrix.ofSize(-1, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrapWrongLength() {
+        ComplexMatrix.wrap(2, 2, new double[6]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRaggedArray() {
+        ComplexMatrix.of(new Complex[][] {{Complex.ONE}, {Complex.ONE, Complex.I}});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMultiplyDimensionMismatch() {
+        ComplexMatrix.ofSize(2, 3).multiply(ComplexMatrix.ofSize(2, 3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMultiplyAliasedResult() {
+        final ComplexMatrix a = ComplexMatrix.identity(3);
+        ComplexMatrix.multiply(a, ComplexMatrix.identity(3), a);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOperateDimensionMismatch() {
+        ComplexMatrix.ofSize(2, 3).operate(ComplexArray.ofSize(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLUNotSquare() {
+        ComplexMatrix.ofSize(2, 3).lu();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSolveDimensionMismatch() {
+        ComplexMatrix.identity(3).lu().solve(ComplexMatrix.ofSize(2, 1));
+    }
+}
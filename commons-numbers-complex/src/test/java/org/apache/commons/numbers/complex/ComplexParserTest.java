@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.complex;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ComplexParserTest {
+
+    /**
+     * Asserts that the parser gives the same result as {@link Double#parseDouble(String)}.
+     *
+     * @param s Number.
+     */
+    private static void assertSameAsDouble(String s) {
+        final double expected = Double.parseDouble(s);
+        final String padded = "xx" + s + "yy";
+        final double actual = ComplexParser.parseDouble(padded, 2, 2 + s.length());
+        Assert.assertEquals(s, Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(actual));
+    }
+
+    @Test
+    public void testParseDoubleSpecialValues() {
+        final String[] values = {
+            "0", "-0", "0.0", "-0.0", "+0.0", "1", "-1", "1.", ".5", "-.5", "00.25",
+            "1e5", "1E5", "1e+5", "1e-5", "1.0E-5", "123.456e-7", "0.000123",
+            "9007199254740992", "9007199254740993", "9007199254740993.5",
+            "123456789012345678", "1234567890123456789", "12345678901234567890123",
+            "1e22", "1e23", "1e-22", "1e-23", "4.9E-324", "2.2250738585072014E-308",
+            "1.7976931348623157E308", "1e309", "1e-400", "1e100000000",
+            "NaN", "-NaN", "Infinity", "-Infinity", "+Infinity",
+            " 1.5", "1.5 ", "1.5d", "1.5F", "0x1.8p1", "-0x1p-1074",
+            "0.1", "0.2", "0.3", "3.141592653589793", "2.718281828459045",
+            // Rounding boundaries.
+            "2.2250738585072011e-308", "2.2250738585072012e-308", "4.9406564584124654E-324",
+            "2.4703282292062328E-324", "2.4703282292062327E-324", "1.7976931348623158e308",
+            "1.7976931348623159e308", "9007199254740993e-5", "9007199254740995e-5",
+            "18014398509481985", "18014398509481986", "1.00000000000000011102230246251565",
+            "9999999999999999999", "9999999999999999999e-342", "1e-342", "1e-343", "1e308", "1e309",
+        };
+        for (String s : values) {
+            assertSameAsDouble(s);
+        }
+    }
+
+    @Test
+    public void testParseDoubleRandom() {
+        final Random rng = new Random(2018);
+        for (int i = 0; i < 100000; i++) {
+            final double x;
+            switch (i % 4) {
+            case 0:
+                x = rng.nextDouble();
+                break;
+            case 1:
+                x = (rng.nextDouble() - 0.5) * Math.pow(10, rng.nextInt(40) - 20);
+                break;
+            case 2:
+                x = Double.longBitsToDouble(rng.nextLong());
+                break;
+            default:
+                x = rng.nextInt(100000) / 100.0;
+                break;
+            }
+            assertSameAsDouble(Double.toString(x));
+            assertSameAsDouble(String.format("%.6e", x));
+        }
+    }
+
+    @Test
+    public void testParseDoubleRandomDigits() {
+        final Random rng = new Random(42);
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            sb.setLength(0);
+            final int digits = 1 + rng.nextInt(19);
+            for (int j = 0; j < digits; j++) {
+                sb.append((char) ('0' + rng.nextInt(10)));
+            }
+            sb.append('e').append(rng.nextInt(680) - 360);
+            assertSameAsDouble(sb.toString());
+        }
+    }
+
+    @Test
+    public void testParseDoubleInvalid() {
+        final String[] values = {"", "-", "+", ".", "e5", "1e", "1e+", "1.2.3", "1,5", "abc", "1e5.5", "--1"};
+        for (String s : values) {
+            try {
+                ComplexParser.parseDouble(s, 0, s.length());
+                Assert.fail(s);
+            } catch (NumberFormatException ex) {
+                // Expected.
+            }
+        }
+    }
+
+    @Test
+    public void testParseSameAsToString() {
+        final Complex[] values = {
+            Complex.ZERO, Complex.ONE, Complex.I, Complex.INF,
+            Complex.ofCartesian(Double.NaN, Double.NaN),
+            Complex.ofCartesian(-0.0, 0.0),
+            Complex.ofCartesian(1, Double.NEGATIVE_INFINITY),
+            Complex.ofCartesian(Math.PI, -Math.E),
+            Complex.ofCartesian(Double.MIN_VALUE, -Double.MAX_VALUE),
+            Complex.ofCartesian(1.234e-200, 5.6789e300),
+        };
+        for (Complex z : values) {
+            final String s = z.toString();
+            Assert.assertEquals(z, ComplexParser.parse(s));
+            Assert.assertEquals(z, ComplexParser.parse(s.toCharArray(), 0, s.length()));
+            Assert.assertEquals(z, ComplexParser.parse(new StringBuilder("ab").append(s), 2, 2 + s.length()));
+        }
+    }
+
+    @Test
+    public void testCursor() {
+        final String text = "(1.5,-2.0)(3.0,4.25) (-0.0,NaN)";
+        final double[] dest = new double[8];
+        int pos = ComplexParser.parse(text, 0, text.length(), dest, 2);
+        Assert.assertEquals(10, pos);
+        pos = ComplexParser.parse(text.toCharArray(), pos, text.length(), dest, 4);
+        Assert.assertEquals(20, pos);
+        pos = ComplexParser.parse(text, pos + 1, text.length(), dest, 6);
+        Assert.assertEquals(text.length(), pos);
+        Assert.assertArrayEquals(new double[] {0, 0, 1.5, -2.0, 3.0, 4.25, -0.0, Double.NaN}, dest, 0);
+    }
+
+    @Test
+    public void testInvalidValues() {
+        final String[] values = {
+            "", "(", ")", "()", "(1)", "(1 2)", "1,2)", "(1,2", "(1,2))", "((1,2)",
+            "(1,2,3)", "(1,2,)", "(,2)", "(1,)", "(a,2)", "(1,b)", "(1,2) ",
+        };
+        for (String s : values) {
+            try {
+                ComplexParser.parse(s);
+                Assert.fail(s);
+            } catch (IllegalArgumentException ex) {
+                // Expected.
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCursorMissingEnd() {
+        ComplexParser.parse("(1,2) (3,4", 6, 10, new double[2], 0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testRangeOutOfBounds() {
+        ComplexParser.parse("(1,2)", 0, 6);
+    }
+}
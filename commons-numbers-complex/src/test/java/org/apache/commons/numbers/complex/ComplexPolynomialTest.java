@@ -0,0 +1,286 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.complex;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ComplexPolynomialTest {
+
+    /**
+     * @param n Number of values.
+     * @param seed Seed.
+     * @return random interleaved values in the unit square.
+     */
+    private static double[] random(int n, long seed) {
+        final Random rng = new Random(seed);
+        final double[] data = new double[2 * n];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = rng.nextDouble() * 2 - 1;
+        }
+        return data;
+    }
+
+    /**
+     * Horner's scheme with {@link Complex} objects.
+     *
+     * @param c Interleaved coefficients.
+     * @param z Point.
+     * @return the value.
+     */
+    private static Complex horner(double[] c, Complex z) {
+        final int n = c.length / 2 - 1;
+        Complex p = Complex.ofCartesian(c[2 * n], c[2 * n + 1]);
+        for (int i = n - 1; i >= 0; i--) {
+            p = p.multiply(z).add(Complex.ofCartesian(c[2 * i], c[2 * i + 1]));
+        }
+        return p;
+    }
+
+    /**
+     * Asserts that each expected root is close to a distinct computed root.
+     *
+     * @param expected Interleaved expected roots.
+     * @param actual Interleaved computed roots.
+     * @param tol Absolute tolerance.
+     */
+    private static void assertRoots(double[] expected, double[] actual, double tol) {
+        Assert.assertEquals(expected.length, actual.length);
+        final boolean[] used = new boolean[actual.length / 2];
+        for (int i = 0; i < expected.length; i += 2) {
+            int best = -1;
+            double distance = Double.POSITIVE_INFINITY;
+            for (int j = 0; j < used.length; j++) {
+                final double d = Math.hypot(expected[i] - actual[2 * j], expected[i + 1] - actual[2 * j + 1]);
+                if (!used[j] && d < distance) {
+                    distance = d;
+                    best = j;
+                }
+            }
+            Assert.assertTrue("root " + i / 2 + ": " + distance, distance <= tol);
+            used[best] = true;
+        }
+    }
+
+    @Test
+    public void testOfTrimsLeadingZeros() {
+        final ComplexPolynomial p = ComplexPolynomial.of(new double[] {1, 2, 3, 4, 0, 0, 0, 0});
+        Assert.assertEquals(1, p.degree());
+        Assert.assertArrayEquals(new double[] {1, 2, 3, 4}, p.getCoefficients(), 0);
+        Assert.assertEquals(0, ComplexPolynomial.of(new double[2]).degree());
+        Assert.assertEquals(1, ComplexPolynomial.of(Complex.ONE, Complex.I).degree());
+    }
+
+    @Test
+    public void testFromRoots() {
+        // (z - 1)(z - i) = z^2 - (1 + i) z + i
+        final ComplexPolynomial p = ComplexPolynomial.fromRoots(new double[] {1, 0, 0, 1});
+        Assert.assertArrayEquals(new double[] {0, 1, -1, -1, 1, 0}, p.getCoefficients(), 0);
+        Assert.assertArrayEquals(new double[] {1, 0}, ComplexPolynomial.fromRoots(new double[0]).getCoefficients(), 0);
+    }
+
+    @Test
+    public void testDerivative() {
+        final ComplexPolynomial p = ComplexPolynomial.of(new double[] {5, 5, 1, 2, 3, 4});
+        Assert.assertArrayEquals(new double[] {1, 2, 6, 8}, p.derivative().getCoefficients(), 0);
+        Assert.assertEquals(0, ComplexPolynomial.of(new double[] {1, 1}).derivative().degree());
+    }
+
+    @Test
+    public void testValueMatchesComplex() {
+        for (final int n : new int[] {0, 1, 2, 5, 31, 100}) {
+            final double[] c = random(n + 1, n);
+            final ComplexPolynomial p = ComplexPolynomial.of(c);
+            // Odd count exercises the tail loop.
+            final double[] z = random(23, 7 * n);
+            final double[] values = new double[z.length];
+            p.value(z, values);
+            for (int k = 0; k < z.length / 2; k++) {
+                final Complex point = Complex.ofCartesian(z[2 * k], z[2 * k + 1]);
+                final Complex expected = horner(c, point);
+                Assert.assertEquals(expected.getReal(), values[2 * k], 0);
+                Assert.assertEquals(expected.getImaginary(), values[2 * k + 1], 0);
+                Assert.assertEquals(expected, p.value(point));
+            }
+        }
+    }
+
+    @Test
+    public void testValueSpecialCases() {
+        final double inf = Double.POSITIVE_INFINITY;
+        final double nan = Double.NaN;
+        final double[] c = {1, 2, 3, -4, 0.5, 1};
+        final double[] z = {inf, 0, nan, 1, inf, inf, 1e300, 1e300, 0, nan, 1, 1, -inf, nan, nan, nan};
+        final double[] values = new double[z.length];
+        ComplexPolynomial.of(c).value(z, values);
+        for (int k = 0; k < z.length / 2; k++) {
+            final Complex expected = horner(c, Complex.ofCartesian(z[2 * k], z[2 * k + 1]));
+            Assert.assertEquals("re " + k, expected.getReal(), values[2 * k], 0);
+            Assert.assertEquals("im " + k, expected.getImaginary(), values[2 * k + 1], 0);
+        }
+    }
+
+    @Test
+    public void testValueInPlaceWithOffsets() {
+        final ComplexPolynomial p = ComplexPolynomial.of(random(8, 1));
+        final double[] z = random(10, 2);
+        final double[] expected = new double[z.length];
+        p.value(z, expected);
+        final double[] data = z.clone();
+        p.value(data, 3, data, 3, 6);
+        Assert.assertArrayEquals(Arrays.copyOfRange(expected, 6, 18), Arrays.copyOfRange(data, 6, 18), 0);
+        Assert.assertArrayEquals(Arrays.copyOf(z, 6), Arrays.copyOf(data, 6), 0);
+    }
+
+    @Test
+    public void testRootsRandom() {
+        for (final int n : new int[] {1, 2, 3, 10, 20}) {
+            final double[] roots = random(n, 3 * n);
+            final ComplexPolynomial p = ComplexPolynomial.fromRoots(roots);
+            assertRoots(roots, p.roots(), 1e-8);
+        }
+    }
+
+    /**
+     * Asserts that each root is exact for a polynomial whose coefficients
+     * are within a small relative error of those of {@code p}.
+     *
+     * @param c Interleaved coefficients.
+     * @param roots Interleaved roots.
+     */
+    private static void assertBackwardStable(double[] c, double[] roots) {
+        final int n = c.length / 2 - 1;
+        Assert.assertEquals(2 * n, roots.length);
+        final ComplexPolynomial p = ComplexPolynomial.of(c);
+        final double[] values = new double[roots.length];
+        p.value(roots, values);
+        for (int k = 0; k < n; k++) {
+            final double x = Math.hypot(roots[2 * k], roots[2 * k + 1]);
+            double bound = 0;
+            for (int i = n; i >= 0; i--) {
+                bound = bound * x + Math.hypot(c[2 * i], c[2 * i + 1]);
+            }
+            final double error = Math.hypot(values[2 * k], values[2 * k + 1]);
+            Assert.assertTrue("root " + k + ": " + error / bound, error <= 64 * n * Math.ulp(1.0) * bound);
+        }
+    }
+
+    @Test
+    public void testRootsRandomCoefficients() {
+        for (final int n : new int[] {50, 500}) {
+            final double[] c = random(n + 1, n);
+            assertBackwardStable(c, ComplexPolynomial.of(c).roots());
+        }
+    }
+
+    @Test
+    public void testRootsOfUnity() {
+        // z^n - 1
+        final int n = 1000;
+        final double[] c = new double[2 * (n + 1)];
+        c[0] = -1;
+        c[2 * n] = 1;
+        final RootsOfUnity unity = RootsOfUnity.of(n);
+        assertRoots(unity.toInterleaved(), ComplexPolynomial.of(c).roots(), 1e-12);
+    }
+
+    @Test
+    public void testRootsLargeModuli() {
+        // Roots far from the unit circle use the reversed polynomial.
+        final double[] roots = {1e5, 0, -3e5, 2e5, 0, 7e4, 1e-4, 1e-4};
+        final double[] computed = ComplexPolynomial.fromRoots(roots).roots();
+        for (int i = 0; i < roots.length; i += 2) {
+            final double scale = Math.hypot(roots[i], roots[i + 1]);
+            assertRoots(new double[] {roots[i], roots[i + 1]},
+                        nearest(computed, roots[i], roots[i + 1]), 1e-9 * scale);
+        }
+    }
+
+    /**
+     * @param roots Interleaved roots.
+     * @param re Real part.
+     * @param im Imaginary part.
+     * @return the nearest root.
+     */
+    private static double[] nearest(double[] roots, double re, double im) {
+        int best = 0;
+        for (int j = 0; j < roots.length; j += 2) {
+            if (Math.hypot(roots[j] - re, roots[j + 1] - im) <
+                Math.hypot(roots[best] - re, roots[best + 1] - im)) {
+                best = j;
+            }
+        }
+        return new double[] {roots[best], roots[best + 1]};
+    }
+
+    @Test
+    public void testRootsZero() {
+        // z^2 (z - 2)
+        final double[] roots = ComplexPolynomial.of(new double[] {0, 0, 0, 0, -2, 0, 1, 0}).roots();
+        assertRoots(new double[] {0, 0, 0, 0, 2, 0}, roots, 1e-15);
+        Assert.assertEquals(0, ComplexPolynomial.of(new double[] {3, 0}).roots().length);
+    }
+
+    @Test
+    public void testRootsParallel() {
+        final double[] c = random(301, 11);
+        final ComplexPolynomial p = ComplexPolynomial.of(c);
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            final double[] roots = p.roots(pool);
+            assertBackwardStable(c, roots);
+            assertRoots(p.roots(), roots, 1e-8);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRootsOfZeroPolynomial() {
+        ComplexPolynomial.of(new double[4]).roots();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRootsNonFinite() {
+        ComplexPolynomial.of(new double[] {1, 0, Double.NaN, 0}).roots();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOddLength() {
+        ComplexPolynomial.of(new double[3]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmpty() {
+        ComplexPolynomial.of(new double[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testValueLengthMismatch() {
+        ComplexPolynomial.of(new double[2]).value(new double[4], new double[6]);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testValueRange() {
+        ComplexPolynomial.of(new double[2]).value(new double[4], 1, new double[4], 0, 2);
+    }
+}
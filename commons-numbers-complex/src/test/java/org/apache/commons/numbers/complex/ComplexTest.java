@@ -574,6 +574,71 @@ public class ComplexTest {
         Assert.assertEquals(x.pow(yComplex), x.pow(yDouble));
     }
 
+    @Test
+    public void testPowInt() {
+        final Complex z = Complex.ofCartesian(0.75, -1.25);
+        Assert.assertEquals(z, z.pow(1));
+        Assert.assertEquals(z.multiply(z), z.pow(2));
+        Assert.assertEquals(z.multiply(z).multiply(z), z.pow(3));
+        Assert.assertEquals(z.reciprocal(), z.pow(-1));
+        for (int n = -20; n <= 20; n++) {
+            final Complex expected = z.pow((double) n);
+            final Complex actual = z.pow(n);
+            Assert.assertTrue("n=" + n, Complex.equals(expected, actual, 1e-13 * expected.abs()));
+        }
+    }
+
+    @Test
+    public void testPowIntExactForGaussianIntegers() {
+        // (1 + i)^8 = 16 exactly, whereas exp(8 log(1 + i)) is not exact.
+        final Complex z = Complex.ofCartesian(1, 1);
+        assertPartsEqual(16, 0, z.pow(8));
+        assertPartsEqual(-4, 0, z.pow(4));
+        assertPartsEqual(-0.25, 0, z.pow(-4));
+        assertPartsEqual(-3, 4, Complex.ofCartesian(1, 2).pow(2));
+    }
+
+    /**
+     * Asserts the values of the parts, ignoring the sign of zeros.
+     */
+    private static void assertPartsEqual(double re, double im, Complex z) {
+        Assert.assertEquals(re, z.getReal(), 0);
+        Assert.assertEquals(im, z.getImaginary(), 0);
+    }
+
+    @Test
+    public void testPowIntSpecialValues() {
+        Assert.assertEquals(Complex.ONE, Complex.ofCartesian(3, 4).pow(0));
+        Assert.assertEquals(Complex.ZERO, Complex.ZERO.pow(5));
+        Assert.assertTrue(Complex.ZERO.pow(0).isNaN());
+        Assert.assertTrue(Complex.ZERO.pow(-2).isNaN());
+        Assert.assertTrue(NAN.pow(3).isNaN());
+        // Overflow to infinity, then infinities are kept by multiply.
+        Assert.assertTrue(Complex.ofCartesian(1e200, 1e200).pow(2).isInfinite());
+        assertPartsEqual(0, 0, Complex.ofCartesian(inf, 0).pow(-3));
+        // Unit modulus: the result stays finite for extreme exponents.
+        final Complex w = Complex.ofCartesian(0.6, 0.8);
+        Assert.assertFalse(w.pow(Integer.MIN_VALUE).isInfinite());
+        Assert.assertFalse(w.pow(Integer.MAX_VALUE).isNaN());
+    }
+
+    @Test
+    public void testPowIntZeroExponentConsistentWithPowDouble() {
+        final Complex[] values = {
+            NAN, Complex.ofCartesian(nan, 1), Complex.ofCartesian(1, nan),
+            Complex.ofCartesian(inf, 0), Complex.ofCartesian(0, neginf), Complex.ofCartesian(1, inf),
+            Complex.ZERO, Complex.ofCartesian(3, 4), Complex.ofCartesian(-0.5, 1e-300),
+        };
+        for (Complex z : values) {
+            final boolean expected = z.pow(0.0).isNaN();
+            Assert.assertEquals(z.toString(), expected, z.pow(Complex.ZERO).isNaN());
+            Assert.assertEquals(z.toString(), expected, z.pow(0).isNaN());
+            if (!expected) {
+                Assert.assertEquals(Complex.ONE, z.pow(0));
+            }
+        }
+    }
+
     @Test
     public void testScalarPowNaNBase() {
         Complex x = NAN;
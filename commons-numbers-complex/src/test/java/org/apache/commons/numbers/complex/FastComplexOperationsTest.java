@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.complex;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FastComplexOperationsTest {
+
+    /**
+     * @param n Number of values.
+     * @param seed Seed.
+     * @return finite values with exponents spread over most of the range.
+     */
+    private static ComplexArray random(int n, long seed) {
+        final Random rng = new Random(seed);
+        final ComplexArray x = ComplexArray.ofSize(n);
+        for (int i = 0; i < n; i++) {
+            x.set(i,
+                  (rng.nextDouble() - 0.5) * Math.pow(2, rng.nextInt(1200) - 600),
+                  (rng.nextDouble() - 0.5) * Math.pow(2, rng.nextInt(1200) - 600));
+        }
+        return x;
+    }
+
+    @Test
+    public void testMultiplyMatchesComplexArray() {
+        final ComplexArray x = random(1000, 1);
+        final ComplexArray y = random(1000, 2);
+        final ComplexArray expected = ComplexArray.ofSize(1000);
+        final ComplexArray actual = ComplexArray.ofSize(1000);
+        ComplexArray.multiply(x, y, expected);
+        FastComplexOperations.multiply(x, y, actual);
+        Assert.assertArrayEquals(expected.getData(), actual.getData(), 0);
+        // In place.
+        FastComplexOperations.multiply(x, y, x);
+        Assert.assertArrayEquals(expected.getData(), x.getData(), 0);
+    }
+
+    @Test
+    public void testMultiplyAccumulateMatchesComplexArray() {
+        final ComplexArray x = random(500, 3);
+        final ComplexArray y = random(500, 4);
+        final ComplexArray expected = random(500, 5);
+        final ComplexArray actual = expected.copy();
+        ComplexArray.multiplyAccumulate(x, y, expected);
+        FastComplexOperations.multiplyAccumulate(x, y, actual);
+        Assert.assertArrayEquals(expected.getData(), actual.getData(), 0);
+    }
+
+    @Test
+    public void testDivideMatchesComplex() {
+        final ComplexArray x = random(1000, 6);
+        final ComplexArray y = random(1000, 7);
+        final ComplexArray r = ComplexArray.ofSize(1000);
+        FastComplexOperations.divide(x, y, r);
+        for (int i = 0; i < r.size(); i++) {
+            assertClose(x.get(i).divide(y.get(i)), r.get(i));
+        }
+    }
+
+    @Test
+    public void testDivideExtremeDivisors() {
+        final double[] parts = {1, -3, 0, 1e300, -1.7e308, Double.MAX_VALUE, 1e-300, Double.MIN_NORMAL, -5e-320, Double.MIN_VALUE};
+        final Complex[] values = new Complex[parts.length * parts.length - 1];
+        int k = 0;
+        for (double re : parts) {
+            for (double im : parts) {
+                if (re != 0 || im != 0) {
+                    values[k++] = Complex.ofCartesian(re, im);
+                }
+            }
+        }
+        final Complex[] dividends = {
+            Complex.ofCartesian(1.25, -0.5), Complex.ofCartesian(1e-300, 0),
+            Complex.ofCartesian(3e-320, 1e-320), Complex.ofCartesian(-2e-310, 7e-312),
+        };
+        final ComplexArray x = ComplexArray.ofSize(values.length);
+        final ComplexArray y = ComplexArray.of(values);
+        final ComplexArray r = ComplexArray.ofSize(values.length);
+        for (Complex dividend : dividends) {
+            for (int i = 0; i < x.size(); i++) {
+                x.set(i, dividend);
+            }
+            FastComplexOperations.divide(x, y, r);
+            for (int i = 0; i < r.size(); i++) {
+                assertClose(exactQuotient(x.get(i), y.get(i)), r.get(i));
+            }
+        }
+        // x / x, including subnormal values.
+        FastComplexOperations.divide(y, y, r);
+        for (int i = 0; i < r.size(); i++) {
+            assertClose(Complex.ONE, r.get(i));
+        }
+    }
+
+    @Test
+    public void testDivideSubnormalDivisors() {
+        final ComplexArray x = ComplexArray.wrap(new double[] {1e-310, 0, 3e-320, 1e-320, 1e-300, 0});
+        final ComplexArray y = ComplexArray.wrap(new double[] {1e-310, 0, 3e-320, 1e-320, 1e-310, 0});
+        final ComplexArray r = ComplexArray.ofSize(3);
+        FastComplexOperations.divide(x, y, r);
+        assertClose(Complex.ONE, r.get(0));
+        assertClose(Complex.ONE, r.get(1));
+        assertClose(exactQuotient(x.get(2), y.get(2)), r.get(2));
+        Assert.assertEquals(1e10, r.get(2).getReal(), 1e-3);
+    }
+
+    /**
+     * Computes the quotient of finite values with {@link BigDecimal}; unlike
+     * {@link Complex#divide(Complex)} it does not lose the low bits of a
+     * subnormal dividend.
+     *
+     * @param x Dividend.
+     * @param y Divisor (not zero).
+     * @return the quotient rounded to {@code double}.
+     */
+    private static Complex exactQuotient(Complex x, Complex y) {
+        final BigDecimal a = new BigDecimal(x.getReal());
+        final BigDecimal b = new BigDecimal(x.getImaginary());
+        final BigDecimal c = new BigDecimal(y.getReal());
+        final BigDecimal d = new BigDecimal(y.getImaginary());
+        final BigDecimal denominator = c.multiply(c).add(d.multiply(d));
+        return Complex.ofCartesian(
+            a.multiply(c).add(b.multiply(d)).divide(denominator, MathContext.DECIMAL128).doubleValue(),
+            b.multiply(c).subtract(a.multiply(d)).divide(denominator, MathContext.DECIMAL128).doubleValue());
+    }
+
+    /**
+     * Asserts that the parts are within a few ulp, relative to the modulus
+     * (and allowing for the loss of accuracy of subnormal results).
+     */
+    private static void assertClose(Complex expected, Complex actual) {
+        final double tol = Math.max(8 * Math.ulp(expected.abs()), 4 * Double.MIN_VALUE);
+        Assert.assertEquals(expected + " real", expected.getReal(), actual.getReal(), tol);
+        Assert.assertEquals(expected + " imaginary", expected.getImaginary(), actual.getImaginary(), tol);
+    }
+
+    @Test
+    public void testIsFinite() {
+        Assert.assertTrue(FastComplexOperations.isFinite(random(100, 8)));
+        Assert.assertTrue(FastComplexOperations.isFinite(ComplexArray.ofSize(0)));
+        Assert.assertTrue(FastComplexOperations.isFinite(ComplexArray.wrap(new double[] {Double.MAX_VALUE, -Double.MIN_VALUE})));
+        for (double special : new double[] {Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY}) {
+            final ComplexArray x = random(100, 9);
+            x.set(57, 1, special);
+            Assert.assertFalse(FastComplexOperations.isFinite(x));
+        }
+    }
+
+    @Test
+    public void testCheckFinite() {
+        FastComplexOperations.checkFinite(random(10, 10));
+        final ComplexArray x = random(10, 11);
+        x.set(7, Double.NEGATIVE_INFINITY, 0);
+        try {
+            FastComplexOperations.checkFinite(x);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("index 7"));
+        }
+    }
+
+    @Test
+    public void testNonFiniteInputsUsePlainFormulas() {
+        // Documented difference: no recovery of the infinity.
+        final ComplexArray x = ComplexArray.wrap(new double[] {1, 1});
+        final ComplexArray y = ComplexArray.wrap(new double[] {0, 0});
+        final ComplexArray r = ComplexArray.ofSize(1);
+        FastComplexOperations.divide(x, y, r);
+        Assert.assertTrue(r.get(0).isNaN());
+        Assert.assertTrue(x.get(0).divide(y.get(0)).isInfinite());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMultiplySizeMismatch() {
+        FastComplexOperations.multiply(ComplexArray.ofSize(2), ComplexArray.ofSize(3), ComplexArray.ofSize(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDivideSizeMismatch() {
+        FastComplexOperations.divide(ComplexArray.ofSize(2), ComplexArray.ofSize(2), ComplexArray.ofSize(1));
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.complex;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FusedMultiplyAddTest {
+
+    @Test
+    public void testImplementation() {
+        // The "java9-multi-release" build profile runs the tests a second
+        // time against the Java 9 classes, with this property set.
+        Assert.assertEquals(Boolean.getBoolean("commons.numbers.java9"),
+                            FusedMultiplyAdd.usesMathFma());
+    }
+
+    @Test
+    public void testDifferenceOfProductsExact() {
+        // (1 + 2^-30)(1 - 2^-30) - 1 = -2^-60, which the plain formula rounds to zero.
+        final double a = 1 + 0x1.0p-30;
+        final double b = 1 - 0x1.0p-30;
+        Assert.assertEquals(-0x1.0p-60, FusedMultiplyAdd.differenceOfProducts(a, b, 1, 1), 0);
+        Assert.assertEquals(-0x1.0p-60, FusedMultiplyAdd.sumOfProducts(a, b, -1, 1), 0);
+        Assert.assertEquals(0x1.0p-60, FusedMultiplyAdd.differenceOfProducts(1, 1, a, b), 0);
+    }
+
+    @Test
+    public void testLargeFactors() {
+        // Scaling a factor by 2^k and the other by 2^-k does not change the
+        // products, also for factors too large for a plain Veltkamp split
+        // (the small factors stay large enough for their low parts to be exact).
+        final Random rng = new Random(7);
+        for (int i = 0; i < 1000; i++) {
+            final double a = rng.nextDouble() + 0.5;
+            final double b = rng.nextDouble() + 0.5;
+            final double c = rng.nextDouble() + 0.5;
+            final double d = a * b / c;
+            final double expected = FusedMultiplyAdd.differenceOfProducts(a, b, c, d);
+            final double sum = FusedMultiplyAdd.sumOfProducts(a, b, -c, d);
+            final BigDecimal exact = new BigDecimal(a).multiply(new BigDecimal(b))
+                .subtract(new BigDecimal(c).multiply(new BigDecimal(d)));
+            Assert.assertEquals(exact.doubleValue(), expected, 2 * Math.ulp(exact.doubleValue()));
+            for (int k : new int[] {990, 1000, 1010}) {
+                final double s = Math.scalb(1.0, k);
+                final double r = Math.scalb(1.0, -k);
+                Assert.assertEquals(expected, FusedMultiplyAdd.differenceOfProducts(a * s, b * r, c * s, d * r), 0);
+                Assert.assertEquals(expected, FusedMultiplyAdd.differenceOfProducts(a * r, b * s, c * r, d * s), 0);
+                Assert.assertEquals(sum, FusedMultiplyAdd.sumOfProducts(a * s, b * r, -c * s, d * r), 0);
+            }
+        }
+    }
+}
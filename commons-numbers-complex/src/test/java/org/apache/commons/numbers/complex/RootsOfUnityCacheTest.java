@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.complex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RootsOfUnityCacheTest {
+
+    @Test
+    public void testHitsAndMisses() {
+        final RootsOfUnityCache cache = new RootsOfUnityCache(1 << 20);
+        final RootsOfUnity a = cache.get(10);
+        Assert.assertEquals(0, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertSame(a, cache.get(10));
+        Assert.assertEquals(1, cache.getHitCount());
+        cache.get(11);
+        Assert.assertEquals(2, cache.getMissCount());
+        Assert.assertEquals(2, cache.getTableCount());
+        Assert.assertEquals(16 * (10 + 11), cache.getBytes());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        // Room for 100 roots.
+        final RootsOfUnityCache cache = new RootsOfUnityCache(1600);
+        final RootsOfUnity a = cache.get(40);
+        final RootsOfUnity b = cache.get(40 + 1);
+        // Use "a" so that "b" is the eldest.
+        Assert.assertSame(a, cache.get(40));
+        cache.get(30);
+        Assert.assertEquals(2, cache.getTableCount());
+        Assert.assertEquals(16 * 70, cache.getBytes());
+        Assert.assertSame(a, cache.get(40));
+        Assert.assertNotSame(b, cache.get(41));
+        Assert.assertTrue(cache.getBytes() <= cache.getMaxBytes());
+    }
+
+    @Test
+    public void testTableLargerThanBound() {
+        final RootsOfUnityCache cache = new RootsOfUnityCache(160);
+        cache.get(5);
+        final RootsOfUnity big = cache.get(11);
+        Assert.assertEquals(11, big.getOrder());
+        // Not cached, and the cached tables are kept.
+        Assert.assertEquals(1, cache.getTableCount());
+        Assert.assertNotSame(big, cache.get(11));
+        Assert.assertEquals(3, cache.getMissCount());
+    }
+
+    @Test
+    public void testZeroBound() {
+        final RootsOfUnityCache cache = new RootsOfUnityCache(0);
+        Assert.assertEquals(3, cache.get(3).getOrder());
+        Assert.assertEquals(0, cache.getTableCount());
+    }
+
+    @Test
+    public void testClear() {
+        final RootsOfUnityCache cache = new RootsOfUnityCache(1000);
+        cache.get(4);
+        cache.get(4);
+        cache.clear();
+        Assert.assertEquals(0, cache.getTableCount());
+        Assert.assertEquals(0, cache.getBytes());
+        Assert.assertEquals(1, cache.getHitCount());
+        cache.get(4);
+        Assert.assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        final RootsOfUnityCache cache = new RootsOfUnityCache(16 * 200);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+            for (int t = 0; t < 8; t++) {
+                final int seed = t;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 2000; i++) {
+                        final int n = 1 + (i * 7 + seed) % 50;
+                        final RootsOfUnity roots = cache.get(n);
+                        if (roots.getOrder() != n) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> f : results) {
+                Assert.assertTrue(f.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertEquals(8 * 2000, cache.getHitCount() + cache.getMissCount());
+        Assert.assertTrue(cache.getBytes() <= cache.getMaxBytes());
+    }
+
+    @Test
+    public void testDefault() {
+        final RootsOfUnityCache cache = RootsOfUnityCache.getDefault();
+        Assert.assertSame(cache, RootsOfUnityCache.getDefault());
+        Assert.assertEquals(RootsOfUnityCache.DEFAULT_MAX_BYTES, cache.getMaxBytes());
+        final long hits = cache.getHitCount();
+        Complex.ofCartesian(3, 4).nthRoot(123457);
+        Complex.ofCartesian(-1, 2).nthRoot(123457);
+        Assert.assertTrue(cache.getHitCount() > hits);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeBound() {
+        new RootsOfUnityCache(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroOrder() {
+        new RootsOfUnityCache(100).get(0);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.complex;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RootsOfUnityTest {
+
+    @Test
+    public void testValues() {
+        for (int n = 1; n <= 64; n++) {
+            final RootsOfUnity roots = RootsOfUnity.of(n);
+            Assert.assertEquals(n, roots.getOrder());
+            final double[] table = roots.toInterleaved();
+            Assert.assertEquals(2 * n, table.length);
+            for (int k = 0; k < n; k++) {
+                // Reduced angle, in [-pi, pi].
+                final double angle = 2 * Math.PI * (2 * k > n ? k - n : k) / n;
+                Assert.assertEquals(Math.cos(angle), roots.getReal(k), 1e-15);
+                Assert.assertEquals(Math.sin(angle), roots.getImaginary(k), 1e-15);
+                Assert.assertEquals(roots.getReal(k), table[2 * k], 0);
+                Assert.assertEquals(roots.getImaginary(k), table[2 * k + 1], 0);
+                Assert.assertEquals(Complex.ofCartesian(table[2 * k], table[2 * k + 1]), roots.get(k));
+            }
+        }
+    }
+
+    @Test
+    public void testSymmetries() {
+        final RootsOfUnity roots = RootsOfUnity.of(24);
+        Assert.assertEquals(Complex.ONE, roots.get(0));
+        Assert.assertEquals(Complex.I, roots.get(6));
+        Assert.assertEquals(Complex.ofCartesian(-1, 0), roots.get(12));
+        for (int k = 1; k < 24; k++) {
+            Assert.assertEquals(roots.getReal(k), roots.getReal(24 - k), 0);
+            Assert.assertEquals(roots.getImaginary(k), -roots.getImaginary(24 - k), 0);
+        }
+    }
+
+    @Test
+    public void testCopy() {
+        final RootsOfUnity roots = RootsOfUnity.of(3);
+        roots.toInterleaved()[0] = 42;
+        Assert.assertEquals(1, roots.getReal(0), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroOrder() {
+        RootsOfUnity.of(0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testIndexTooLarge() {
+        RootsOfUnity.of(4).getReal(4);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testNegativeIndex() {
+        RootsOfUnity.of(4).getImaginary(-1);
+    }
+}
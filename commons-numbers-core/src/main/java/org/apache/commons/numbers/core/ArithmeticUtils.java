@@ -762,6 +762,36 @@ public final class ArithmeticUtils {
         return dividend >= 0L || dividend < divisor ? 0L : 1L;
     }
 
+    /**
+     * Returns the most significant 64 bits of the 128-bit product of two
+     * signed 64-bit values.
+     * <p>This is equivalent to {@code Math.multiplyHigh(a, b)} (Java 9),
+     * which is used when running on Java 9 or later.</p>
+     *
+     * @param a the first value
+     * @param b the second value
+     * @return the high half of the product {@code a * b}.
+     */
+    public static long multiplyHigh(long a, long b) {
+        return MultiplyHigh.multiplyHigh(a, b);
+    }
+
+    /**
+     * Returns the most significant 64 bits of the 128-bit product of two
+     * values where each argument and the result is interpreted as an
+     * unsigned value.
+     * <p>The low 64 bits of the product are given by {@code a * b}.</p>
+     *
+     * @param a the first value
+     * @param b the second value
+     * @return the high half of the unsigned product {@code a * b}.
+     */
+    public static long unsignedMultiplyHigh(long a, long b) {
+        // A negative argument stands for x + 2^64: add the other argument
+        // times 2^64 to the signed product.
+        return MultiplyHigh.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+    }
+
     /**
      * Exception.
      */
@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.core;
+
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleSupplier;
+import java.util.stream.DoubleStream;
+
+/**
+ * Summation of {@code double} values through a cascade of error-free
+ * additions (TwoSum), for ill-conditioned sums.
+ * <p>
+ * A cascade of order \( K \) holds \( K \) running sums: each value is
+ * added to the first one, the exact rounding error of that addition is
+ * added to the second one, and so on; the last one is a plain sum. The
+ * result is as accurate as if the values were summed with \( K \) times
+ * the working precision and then rounded (T. Ogita, S. M. Rump and
+ * S. Oishi, "Accurate sum and dot product", 2005): its error is bounded by
+ * \( \epsilon |s| + \gamma_{n}^{K} \sum |x_i| \), where \( s \) is the exact
+ * sum, \( \epsilon = 2^{-53} \) and \( \gamma_n \approx n \epsilon \).
+ * The order 2 is equivalent to {@link CompensatedSum}, which is faster.
+ * </p><p>
+ * Infinite and {@code NaN} values give the same result as the naive sum.
+ * </p><p>
+ * Instances are mutable and not thread-safe. Partial sums computed
+ * concurrently can be merged with {@link #combine(CascadedSum)}, as in
+ * {@link #of(DoubleStream)}.
+ * </p>
+ *
+ * @see ExactSum
+ */
+public final class CascadedSum implements DoubleConsumer, DoubleSupplier {
+    /** Default order. */
+    private static final int DEFAULT_ORDER = 3;
+
+    /** Running sums of the levels that compute an error. */
+    private final double[] sums;
+    /** Plain sum of the last level. */
+    private double last;
+
+    /**
+     * @param order Number of levels.
+     */
+    private CascadedSum(int order) {
+        sums = new double[order - 1];
+    }
+
+    /**
+     * Creates an instance of order 3, holding a sum of zero.
+     *
+     * @return a new instance.
+     */
+    public static CascadedSum create() {
+        return new CascadedSum(DEFAULT_ORDER);
+    }
+
+    /**
+     * Creates an instance holding a sum of zero.
+     *
+     * @param order Number of levels of the cascade.
+     * @return a new instance.
+     * @throws IllegalArgumentException if {@code order < 2}.
+     */
+    public static CascadedSum create(int order) {
+        if (order < 2) {
+            throw new IllegalArgumentException("Order must be at least 2: " + order);
+        }
+        return new CascadedSum(order);
+    }
+
+    /**
+     * Creates an instance of order 3 holding the sum of the given values.
+     *
+     * @param values Values.
+     * @return a new instance.
+     */
+    public static CascadedSum of(double... values) {
+        return create().add(values, 0, values.length);
+    }
+
+    /**
+     * Computes the sum, with a cascade of order 3, of the values of a
+     * stream, which may be parallel.
+     *
+     * @param values Values.
+     * @return a new instance holding the sum.
+     */
+    public static CascadedSum of(DoubleStream values) {
+        return values.collect(CascadedSum::create, CascadedSum::add, CascadedSum::combine);
+    }
+
+    /**
+     * Gets the number of levels of the cascade.
+     *
+     * @return the order.
+     */
+    public int getOrder() {
+        return sums.length + 1;
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param x Value.
+     * @return this instance.
+     */
+    public CascadedSum add(double x) {
+        double t = x;
+        for (int i = 0; i < sums.length; i++) {
+            final double a = sums[i];
+            final double s = a + t;
+            t = CompensatedSum.twoSumError(a, t, s);
+            sums[i] = s;
+        }
+        last += t;
+        return this;
+    }
+
+    /**
+     * Adds the values of the range {@code [from, to)} of an array.
+     *
+     * @param values Values.
+     * @param from Index of the first value (inclusive).
+     * @param to Index of the last value (exclusive).
+     * @return this instance.
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    public CascadedSum add(double[] values, int from, int to) {
+        CompensatedSum.checkRange(from, to, values.length);
+        if (sums.length == 2) {
+            // Common case, with the sums in local variables.
+            double s0 = sums[0];
+            double s1 = sums[1];
+            double s2 = last;
+            for (int i = from; i < to; i++) {
+                final double x = values[i];
+                final double t0 = s0 + x;
+                final double e0 = CompensatedSum.twoSumError(s0, x, t0);
+                s0 = t0;
+                final double t1 = s1 + e0;
+                s2 += CompensatedSum.twoSumError(s1, e0, t1);
+                s1 = t1;
+            }
+            sums[0] = s0;
+            sums[1] = s1;
+            last = s2;
+        } else {
+            for (int i = from; i < to; i++) {
+                add(values[i]);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Adds the sum held by another instance, to merge partial sums.
+     *
+     * @param other Other sum (not modified).
+     * @return this instance.
+     */
+    public CascadedSum combine(CascadedSum other) {
+        for (final double s : other.sums) {
+            add(s);
+        }
+        return add(other.last);
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param x Value.
+     */
+    @Override
+    public void accept(double x) {
+        add(x);
+    }
+
+    /**
+     * Gets the sum.
+     *
+     * @return the sum of the values added so far.
+     */
+    @Override
+    public double getAsDouble() {
+        final double s0 = sums[0];
+        if (!Double.isFinite(s0)) {
+            // The other levels are NaN.
+            return s0;
+        }
+        // Compensated sum of the levels, from the smallest.
+        double s = last;
+        double c = 0;
+        for (int i = sums.length - 1; i >= 0; i--) {
+            final double t = s + sums[i];
+            c += CompensatedSum.twoSumError(s, sums[i], t);
+            s = t;
+        }
+        return s + c;
+    }
+}
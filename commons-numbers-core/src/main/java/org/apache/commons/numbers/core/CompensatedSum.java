@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.core;
+
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleSupplier;
+import java.util.stream.DoubleStream;
+
+/**
+ * Compensated summation of {@code double} values (Kahan-Babuška-Neumaier).
+ * <p>
+ * The rounding error of each addition to the running sum is computed
+ * exactly, with Knuth's branch-free TwoSum, and accumulated separately;
+ * it is added to the sum at the end. The result is as accurate as if the
+ * values were summed with twice the working precision and then rounded:
+ * its error is bounded by \( \epsilon |s| + n^2 \epsilon^2 \sum |x_i| \),
+ * where \( s \) is the exact sum and \( \epsilon = 2^{-53} \).
+ * </p><p>
+ * Infinite and {@code NaN} values give the same result as the naive sum.
+ * </p><p>
+ * Instances are mutable and not thread-safe. Partial sums computed
+ * concurrently can be merged with {@link #combine(CompensatedSum)}, as in
+ * {@link #of(DoubleStream)}.
+ * </p>
+ *
+ * @see CascadedSum
+ * @see ExactSum
+ */
+public final class CompensatedSum implements DoubleConsumer, DoubleSupplier {
+    /** Running sum. */
+    private double sum;
+    /** Sum of the rounding errors. */
+    private double compensation;
+
+    /** Create an instance. */
+    private CompensatedSum() {}
+
+    /**
+     * Creates an instance holding a sum of zero.
+     *
+     * @return a new instance.
+     */
+    public static CompensatedSum create() {
+        return new CompensatedSum();
+    }
+
+    /**
+     * Creates an instance holding the sum of the given values.
+     *
+     * @param values Values.
+     * @return a new instance.
+     */
+    public static CompensatedSum of(double... values) {
+        return create().add(values, 0, values.length);
+    }
+
+    /**
+     * Computes the sum of the values of a stream, which may be parallel.
+     *
+     * @param values Values.
+     * @return a new instance holding the sum.
+     */
+    public static CompensatedSum of(DoubleStream values) {
+        return values.collect(CompensatedSum::create, CompensatedSum::add, CompensatedSum::combine);
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param x Value.
+     * @return this instance.
+     */
+    public CompensatedSum add(double x) {
+        final double s = sum + x;
+        compensation += twoSumError(sum, x, s);
+        sum = s;
+        return this;
+    }
+
+    /**
+     * Adds the values of the range {@code [from, to)} of an array.
+     *
+     * @param values Values.
+     * @param from Index of the first value (inclusive).
+     * @param to Index of the last value (exclusive).
+     * @return this instance.
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    public CompensatedSum add(double[] values, int from, int to) {
+        checkRange(from, to, values.length);
+        double s = sum;
+        double c = compensation;
+        for (int i = from; i < to; i++) {
+            final double x = values[i];
+            final double t = s + x;
+            c += twoSumError(s, x, t);
+            s = t;
+        }
+        sum = s;
+        compensation = c;
+        return this;
+    }
+
+    /**
+     * Adds the sum held by another instance, to merge partial sums.
+     *
+     * @param other Other sum (not modified).
+     * @return this instance.
+     */
+    public CompensatedSum combine(CompensatedSum other) {
+        return add(other.sum).add(other.compensation);
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param x Value.
+     */
+    @Override
+    public void accept(double x) {
+        add(x);
+    }
+
+    /**
+     * Gets the sum.
+     *
+     * @return the sum of the values added so far.
+     */
+    @Override
+    public double getAsDouble() {
+        // The compensation is NaN when the sum is not finite.
+        return Double.isFinite(sum) ? sum + compensation : sum;
+    }
+
+    /**
+     * Computes the rounding error of {@code a + b} (Knuth's TwoSum).
+     *
+     * @param a First value.
+     * @param b Second value.
+     * @param s Rounded sum {@code a + b}.
+     * @return the exact value of {@code a + b - s}, unless it overflows.
+     */
+    static double twoSumError(double a, double b, double s) {
+        final double bVirtual = s - a;
+        return (a - (s - bVirtual)) + (b - bVirtual);
+    }
+
+    /**
+     * @param from Index of the first value (inclusive).
+     * @param to Index of the last value (exclusive).
+     * @param length Length of the array.
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    static void checkRange(int from, int to, int length) {
+        if (from < 0 || to > length || from > to) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for length " + length);
+        }
+    }
+}
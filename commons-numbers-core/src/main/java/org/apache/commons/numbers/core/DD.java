@@ -0,0 +1,735 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.core;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Double-double number: an unevaluated sum of two {@code double} values,
+ * with about 106 bits of precision.
+ * <p>
+ * The value is \( h + l \), where the high part \( h \) is the value
+ * rounded to a {@code double} and the low part \( l \) is the rounding
+ * error, \( |l| \le \frac{1}{2} \mathrm{ulp}(h) \). The operations rely on
+ * error-free transformations of the native operations: the sum and the
+ * product of two {@code double} values are exactly the sum of a
+ * {@code double} result and a {@code double} error, computed by
+ * {@link #ofSum(double, double)} and {@link #ofProduct(double, double)}.
+ * The relative error of {@link #add(DD) add}, {@link #multiply(DD) multiply},
+ * {@link #divide(DD) divide} and {@link #sqrt()} is below
+ * \( 2^{-100} \) (M. Joldes, J.-M. Muller, V. Popescu, "Tight and rigorous
+ * error bounds for basic building blocks of double-word arithmetic",
+ * ACM TOMS 44, 2017), unless a result or an intermediate product is outside
+ * the range of the normal {@code double} numbers, where the accuracy
+ * degrades to that of the {@code double} operation.
+ * </p><p>
+ * If a result is not finite, its high part is the result of the
+ * {@code double} operation on the high parts, and its low part is zero.
+ * A zero low part is always {@code 0.0}, so that the numbers
+ * created by different operations are {@linkplain #equals(Object) equal}
+ * when their values are equal, apart from the sign of zero.
+ * </p><p>
+ * Instances are immutable. {@link DDAccumulator} is a mutable version that
+ * avoids creating an instance for each operation of a long computation.
+ * </p>
+ */
+public final class DD
+    extends Number
+    implements Comparable<DD>,
+               NativeOperators<DD>,
+               Serializable {
+    /** Zero. */
+    public static final DD ZERO = new DD(0, 0);
+    /** One. */
+    public static final DD ONE = new DD(1, 0);
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20261017L;
+    /** Multiplier of the Veltkamp split, {@code 2^27 + 1}. */
+    private static final double SPLIT_MULTIPLIER = 0x1.0p27 + 1;
+    /** Magnitude above which the split would overflow. */
+    private static final double SPLIT_MAX = 0x1.0p995;
+    /** Down-scaling of the values split when they are large. */
+    private static final double SPLIT_DOWN_SCALE = 0x1.0p-30;
+    /** Up-scaling of the values split when they are large. */
+    private static final double SPLIT_UP_SCALE = 0x1.0p30;
+    /** \( 2^{63} \). */
+    private static final double TWO_POW_63 = 0x1.0p63;
+
+    /** High part. */
+    private final double hi;
+    /** Low part. */
+    private final double lo;
+
+    /**
+     * @param hi High part.
+     * @param lo Low part.
+     */
+    private DD(double hi, double lo) {
+        this.hi = hi;
+        this.lo = lo;
+    }
+
+    /**
+     * Creates an instance equal to a {@code double}.
+     *
+     * @param x Value.
+     * @return the number.
+     */
+    public static DD of(double x) {
+        return new DD(x, 0);
+    }
+
+    /**
+     * Creates an instance equal to the exact sum of two {@code double} values.
+     *
+     * @param a Value.
+     * @param b Value.
+     * @return {@code a + b}.
+     */
+    public static DD ofSum(double a, double b) {
+        final double s = a + b;
+        return result(finish(s, CompensatedSum.twoSumError(a, b, s), s, DDAccumulator.create()));
+    }
+
+    /**
+     * Creates an instance equal to the exact product of two {@code double} values.
+     *
+     * @param a Value.
+     * @param b Value.
+     * @return {@code a * b}.
+     */
+    public static DD ofProduct(double a, double b) {
+        final double p = a * b;
+        return result(finish(p, productLow(a, b, p), p, DDAccumulator.create()));
+    }
+
+    /**
+     * Creates an instance from a {@code BigDecimal}, rounded to the nearest
+     * double-double number. Values outside the range of {@code double} give
+     * an infinite or zero number.
+     *
+     * @param x Value.
+     * @return the number.
+     */
+    public static DD from(BigDecimal x) {
+        final double h = x.doubleValue();
+        if (!Double.isFinite(h)) {
+            return new DD(h, 0);
+        }
+        return ofSum(h, x.subtract(new BigDecimal(h)).doubleValue());
+    }
+
+    /**
+     * Gets the high part: the value rounded to a {@code double}.
+     *
+     * @return the high part.
+     */
+    public double getHigh() {
+        return hi;
+    }
+
+    /**
+     * Gets the low part: the difference between the value and the high part.
+     *
+     * @return the low part.
+     */
+    public double getLow() {
+        return lo;
+    }
+
+    /**
+     * Checks whether the value is finite.
+     *
+     * @return {@code true} if the value is neither infinite nor {@code NaN}.
+     */
+    public boolean isFinite() {
+        return Double.isFinite(hi);
+    }
+
+    /**
+     * Converts the value to a {@code BigDecimal}, exactly.
+     *
+     * @return the value.
+     * @throws NumberFormatException if the value is not finite.
+     */
+    public BigDecimal bigDecimalValue() {
+        return new BigDecimal(hi).add(new BigDecimal(lo));
+    }
+
+    /**
+     * Gets the value rounded to a {@code double}: the high part.
+     *
+     * @return the value.
+     */
+    @Override
+    public double doubleValue() {
+        return hi;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public float floatValue() {
+        return (float) hi;
+    }
+
+    /**
+     * Gets the value truncated to a {@code long}, with the same rules as
+     * the conversion of a {@code double}: values outside the range of
+     * {@code long} are saturated and {@code NaN} gives zero.
+     *
+     * @return the value.
+     */
+    @Override
+    public long longValue() {
+        if (hi != Math.rint(hi) || Double.isInfinite(hi)) {
+            // Not an integer: the low part is too small to move the value
+            // past an integer.
+            return (long) hi;
+        }
+        // Integer part of the low part, towards zero (the sign of the value is that of hi).
+        final double l = hi > 0 ? Math.floor(lo) : Math.ceil(lo);
+        if (hi == TWO_POW_63 && l < 0) {
+            return Long.MAX_VALUE + ((long) l + 1);
+        }
+        if (hi == -TWO_POW_63 && l > 0) {
+            return Long.MIN_VALUE + (long) l;
+        }
+        if (Math.abs(hi) < TWO_POW_63) {
+            // |hi| <= 2^63 - 2^10 and |l| <= 2^9: no overflow.
+            return (long) hi + (long) l;
+        }
+        return (long) hi;
+    }
+
+    /**
+     * Gets the value truncated to an {@code int}, with the same rules as
+     * the conversion of a {@code double}.
+     *
+     * @return the value.
+     */
+    @Override
+    public int intValue() {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, longValue()));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DD zero() {
+        return ZERO;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DD one() {
+        return ONE;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DD negate() {
+        // 0.0 - lo, rather than -lo, so that a zero low part stays 0.0.
+        return new DD(-hi, 0.0 - lo);
+    }
+
+    /**
+     * Gets the absolute value.
+     *
+     * @return {@code |this|}.
+     */
+    public DD abs() {
+        return hi < 0 || (hi == 0 && 1 / hi < 0) ? negate() : this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DD add(DD a) {
+        return result(add(hi, lo, a.hi, a.lo, DDAccumulator.create()));
+    }
+
+    /**
+     * Adds a {@code double}.
+     *
+     * @param a Value.
+     * @return {@code this + a}.
+     */
+    public DD add(double a) {
+        return result(add(hi, lo, a, DDAccumulator.create()));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DD subtract(DD a) {
+        return result(add(hi, lo, -a.hi, -a.lo, DDAccumulator.create()));
+    }
+
+    /**
+     * Subtracts a {@code double}.
+     *
+     * @param a Value.
+     * @return {@code this - a}.
+     */
+    public DD subtract(double a) {
+        return result(add(hi, lo, -a, DDAccumulator.create()));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DD multiply(DD a) {
+        return result(multiply(hi, lo, a.hi, a.lo, DDAccumulator.create()));
+    }
+
+    /**
+     * Multiplies by a {@code double}.
+     *
+     * @param a Value.
+     * @return {@code this * a}.
+     */
+    public DD multiply(double a) {
+        return result(multiply(hi, lo, a, DDAccumulator.create()));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DD multiply(int n) {
+        return result(multiply(hi, lo, n, DDAccumulator.create()));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DD divide(DD a) {
+        return result(divide(hi, lo, a.hi, a.lo, DDAccumulator.create()));
+    }
+
+    /**
+     * Divides by a {@code double}.
+     *
+     * @param a Value.
+     * @return {@code this / a}.
+     */
+    public DD divide(double a) {
+        return result(divide(hi, lo, a, DDAccumulator.create()));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DD reciprocal() {
+        return result(divide(1, 0, hi, lo, DDAccumulator.create()));
+    }
+
+    /**
+     * Computes the square root.
+     *
+     * @return \( \sqrt{this} \), or {@code NaN} if the value is negative.
+     */
+    public DD sqrt() {
+        return result(sqrt(hi, lo, DDAccumulator.create()));
+    }
+
+    /**
+     * Computes an integer power, by repeated squaring.
+     * Any number to the power zero is one.
+     *
+     * @param n Power.
+     * @return {@code this^n}.
+     */
+    @Override
+    public DD pow(int n) {
+        long e = Math.abs((long) n);
+        DD result = ONE;
+        DD square = this;
+        while (e != 0) {
+            if ((e & 1) != 0) {
+                result = result.multiply(square);
+            }
+            e >>>= 1;
+            if (e != 0) {
+                square = square.multiply(square);
+            }
+        }
+        return n < 0 ? result.reciprocal() : result;
+    }
+
+    /**
+     * Compares the values numerically. {@code NaN} is greater than any other
+     * value, and {@code -0.0} is smaller than {@code 0.0}, as in
+     * {@link Double#compare(double, double)}.
+     *
+     * @param other Other number.
+     * @return a negative integer, zero, or a positive integer as this number
+     * is smaller than, equal to, or greater than {@code other}.
+     */
+    @Override
+    public int compareTo(DD other) {
+        final int c = Double.compare(hi, other.hi);
+        return c != 0 ? c : Double.compare(lo, other.lo);
+    }
+
+    /**
+     * Test for the equality of two numbers: they are equal if their high
+     * parts and their low parts are equal in the sense of
+     * {@link Double#equals(Object)}.
+     *
+     * @param other Object to test for equality with this instance.
+     * @return {@code true} if the objects are equal.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other instanceof DD) {
+            final DD d = (DD) other;
+            return Double.doubleToLongBits(hi) == Double.doubleToLongBits(d.hi) &&
+                Double.doubleToLongBits(lo) == Double.doubleToLongBits(d.lo);
+        }
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+        return 31 * Double.hashCode(hi) + Double.hashCode(lo);
+    }
+
+    /**
+     * Returns a string of the form {@code "(high + low)"}; the exact decimal
+     * value is given by {@link #bigDecimalValue()}.
+     *
+     * @return a string representation of the number.
+     */
+    @Override
+    public String toString() {
+        return "(" + hi + " + " + lo + ")";
+    }
+
+    /**
+     * Returns {@code true} if the absolute difference between the numbers,
+     * computed in double-double precision, is smaller than or equal to the
+     * given tolerance. Returns {@code false} if either of the numbers is NaN.
+     *
+     * @param x First value (cannot be {@code null}).
+     * @param y Second value (cannot be {@code null}).
+     * @param eps Amount of allowed absolute error.
+     * @return {@code true} if the values are within range of each other.
+     *
+     * @see Precision#equals(double,double,double)
+     */
+    public static boolean equals(DD x, DD y, double eps) {
+        return Math.abs(x.subtract(y).hi) <= eps;
+    }
+
+    /**
+     * Returns {@code true} if the relative difference between the numbers,
+     * computed in double-double precision, is smaller than or equal to the
+     * given tolerance. Returns {@code false} if either of the numbers is NaN.
+     *
+     * @param x First value (cannot be {@code null}).
+     * @param y Second value (cannot be {@code null}).
+     * @param eps Amount of allowed relative error.
+     * @return {@code true} if the values are within range of each other.
+     *
+     * @see Precision#equalsWithRelativeTolerance(double,double,double)
+     */
+    public static boolean equalsWithRelativeTolerance(DD x, DD y, double eps) {
+        final double absoluteMax = Math.max(Math.abs(x.hi), Math.abs(y.hi));
+        return Math.abs(x.subtract(y).hi) <= eps * absoluteMax;
+    }
+
+    /**
+     * Compares two numbers given some amount of allowed absolute error.
+     *
+     * @param x First value (cannot be {@code null}).
+     * @param y Second value (cannot be {@code null}).
+     * @param eps Allowed error when checking for equality.
+     * @return 0 if {@link #equals(DD,DD,double) equals(x, y, eps)}, -1 if
+     * the first is smaller than the second, and 1 if the first is larger
+     * than the second or either argument is {@code NaN}.
+     *
+     * @see Precision#compareTo(double,double,double)
+     */
+    public static int compareTo(DD x, DD y, double eps) {
+        if (equals(x, y, eps)) {
+            return 0;
+        } else if (x.hi < y.hi || (x.hi == y.hi && x.lo < y.lo)) {
+            return -1;
+        }
+        return 1;
+    }
+
+    /**
+     * Adds two double-double numbers (Joldes et al, algorithm 6;
+     * relative error below \( 3 \cdot 2^{-106} \)).
+     *
+     * @param xh High part of the first number.
+     * @param xl Low part of the first number.
+     * @param yh High part of the second number.
+     * @param yl Low part of the second number.
+     * @param z Result (can hold one of the operands).
+     * @return {@code z}, set to the sum.
+     */
+    static DDAccumulator add(double xh, double xl, double yh, double yl, DDAccumulator z) {
+        final double sh = xh + yh;
+        final double sl = CompensatedSum.twoSumError(xh, yh, sh);
+        final double th = xl + yl;
+        final double tl = CompensatedSum.twoSumError(xl, yl, th);
+        final double c = sl + th;
+        final double vh = sh + c;
+        final double vl = fastTwoSumError(sh, c, vh);
+        final double w = tl + vl;
+        final double zh = vh + w;
+        return finish(zh, fastTwoSumError(vh, w, zh), sh, z);
+    }
+
+    /**
+     * Adds a double-double number and a {@code double} (Joldes et al,
+     * algorithm 4; relative error below \( 2 \cdot 2^{-106} \)).
+     *
+     * @param xh High part of the first number.
+     * @param xl Low part of the first number.
+     * @param y Second number.
+     * @param z Result (can hold one of the operands).
+     * @return {@code z}, set to the sum.
+     */
+    static DDAccumulator add(double xh, double xl, double y, DDAccumulator z) {
+        final double sh = xh + y;
+        final double sl = CompensatedSum.twoSumError(xh, y, sh);
+        final double v = xl + sl;
+        final double zh = sh + v;
+        return finish(zh, fastTwoSumError(sh, v, zh), sh, z);
+    }
+
+    /**
+     * Multiplies two double-double numbers (Joldes et al, algorithm 10;
+     * relative error below \( 7 \cdot 2^{-106} \)).
+     *
+     * @param xh High part of the first number.
+     * @param xl Low part of the first number.
+     * @param yh High part of the second number.
+     * @param yl Low part of the second number.
+     * @param z Result (can hold one of the operands).
+     * @return {@code z}, set to the product.
+     */
+    static DDAccumulator multiply(double xh, double xl, double yh, double yl, DDAccumulator z) {
+        final double ch = xh * yh;
+        final double cl1 = productLow(xh, yh, ch);
+        final double cl2 = xh * yl + xl * yh;
+        final double cl3 = cl1 + cl2;
+        final double zh = ch + cl3;
+        return finish(zh, fastTwoSumError(ch, cl3, zh), ch, z);
+    }
+
+    /**
+     * Multiplies a double-double number by a {@code double} (Joldes et al,
+     * algorithm 9; relative error below \( 3 \cdot 2^{-106} \)).
+     *
+     * @param xh High part of the first number.
+     * @param xl Low part of the first number.
+     * @param y Second number.
+     * @param z Result (can hold one of the operands).
+     * @return {@code z}, set to the product.
+     */
+    static DDAccumulator multiply(double xh, double xl, double y, DDAccumulator z) {
+        final double ch = xh * y;
+        final double cl1 = productLow(xh, y, ch);
+        final double cl2 = xl * y;
+        final double th = ch + cl2;
+        final double tl = fastTwoSumError(ch, cl2, th) + cl1;
+        final double zh = th + tl;
+        return finish(zh, fastTwoSumError(th, tl, zh), ch, z);
+    }
+
+    /**
+     * Divides two double-double numbers (Joldes et al, algorithm 17;
+     * relative error below \( 15 \cdot 2^{-106} \)).
+     *
+     * @param xh High part of the dividend.
+     * @param xl Low part of the dividend.
+     * @param yh High part of the divisor.
+     * @param yl Low part of the divisor.
+     * @param z Result (can hold one of the operands).
+     * @return {@code z}, set to the quotient.
+     */
+    static DDAccumulator divide(double xh, double xl, double yh, double yl, DDAccumulator z) {
+        final double th = xh / yh;
+        // r = y * th
+        final double ch = yh * th;
+        final double cl1 = productLow(yh, th, ch);
+        final double cl2 = yl * th;
+        final double uh = ch + cl2;
+        final double ul = fastTwoSumError(ch, cl2, uh) + cl1;
+        final double rh = uh + ul;
+        final double rl = fastTwoSumError(uh, ul, rh);
+        // (x - r) / yh
+        final double d = (xh - rh) + (xl - rl);
+        final double tl = d / yh;
+        final double zh = th + tl;
+        return finish(zh, fastTwoSumError(th, tl, zh), th, z);
+    }
+
+    /**
+     * Divides a double-double number by a {@code double} (Joldes et al,
+     * algorithm 15; relative error below \( 3.5 \cdot 2^{-106} \)).
+     *
+     * @param xh High part of the dividend.
+     * @param xl Low part of the dividend.
+     * @param y Divisor.
+     * @param z Result (can hold one of the operands).
+     * @return {@code z}, set to the quotient.
+     */
+    static DDAccumulator divide(double xh, double xl, double y, DDAccumulator z) {
+        final double th = xh / y;
+        final double ph = th * y;
+        final double pl = productLow(th, y, ph);
+        // x - th * y, where xh - ph is exact
+        final double d = ((xh - ph) - pl) + xl;
+        final double tl = d / y;
+        final double zh = th + tl;
+        return finish(zh, fastTwoSumError(th, tl, zh), th, z);
+    }
+
+    /**
+     * Computes the square root of a double-double number with one Newton
+     * step from the {@code double} square root of the high part.
+     *
+     * @param xh High part.
+     * @param xl Low part.
+     * @param z Result (can hold one of the operands).
+     * @return {@code z}, set to the square root.
+     */
+    static DDAccumulator sqrt(double xh, double xl, DDAccumulator z) {
+        final double s = Math.sqrt(xh);
+        if (!(xh > 0) || s == Double.POSITIVE_INFINITY) {
+            // Zero, negative, infinite or NaN.
+            return z.set(s, 0);
+        }
+        // (x - s^2) / 2s, where xh - ph is exact
+        final double ph = s * s;
+        final double pl = productLow(s, s, ph);
+        final double d = ((xh - ph) - pl) + xl;
+        final double t = d / (2 * s);
+        final double zh = s + t;
+        return finish(zh, fastTwoSumError(s, t, zh), s, z);
+    }
+
+    /**
+     * Stores the result of an operation.
+     *
+     * @param zh High part.
+     * @param zl Low part.
+     * @param naive Result of the {@code double} operation on the high parts,
+     * stored when the high part is not finite, since the error terms
+     * are then meaningless.
+     * @param z Result.
+     * @return {@code z}.
+     */
+    private static DDAccumulator finish(double zh, double zl, double naive, DDAccumulator z) {
+        if (zh == 0) {
+            // Keep the sign of a zero given by the double operation.
+            return z.set(naive == 0 ? naive : 0.0, 0);
+        }
+        if (!Double.isFinite(zh)) {
+            return z.set(naive, 0);
+        }
+        // Adding 0.0 turns a low part of -0.0 into 0.0.
+        return z.set(zh, zl + 0.0);
+    }
+
+    /**
+     * Creates an instance holding the result of an operation.
+     *
+     * @param z Result, as stored by {@link #finish(double, double, double, DDAccumulator)}.
+     * @return the number.
+     */
+    private static DD result(DDAccumulator z) {
+        return new DD(z.getHigh(), z.getLow());
+    }
+
+    /**
+     * Computes the rounding error of the sum of two values, when
+     * {@code |a| >= |b|} (Dekker's fast two-sum).
+     *
+     * @param a Value.
+     * @param b Value.
+     * @param s Sum of the values, {@code a + b}.
+     * @return the exact value of {@code a + b - s}.
+     */
+    static double fastTwoSumError(double a, double b, double s) {
+        return b - (s - a);
+    }
+
+    /**
+     * Gets the high part of the value, with 26 significant bits, such that
+     * the low part, {@code value - highPart(value)}, is exact and has 26
+     * significant bits.
+     * <p>
+     * Unlike the bit mask used by {@code LinearCombination}, which leaves a
+     * low part of 27 bits, this rounding split (Veltkamp) makes the products
+     * of the parts exact, so that {@link #productLow(double, double, double)}
+     * is exact.
+     * </p>
+     *
+     * @param value Finite value.
+     * @return the high part of the value.
+     */
+    static double highPart(double value) {
+        if (Math.abs(value) > SPLIT_MAX) {
+            // Avoid the overflow of the multiplication; the scaling is exact.
+            final double x = value * SPLIT_DOWN_SCALE;
+            final double c = SPLIT_MULTIPLIER * x;
+            return (c - (c - x)) * SPLIT_UP_SCALE;
+        }
+        final double c = SPLIT_MULTIPLIER * value;
+        return c - (c - value);
+    }
+
+    /**
+     * Computes the rounding error of the product of two values
+     * (Dekker's two-product).
+     *
+     * @param a Value.
+     * @param b Value.
+     * @param p Product of the values, {@code a * b}.
+     * @return the exact value of {@code a * b - p}, unless the product
+     * underflows or overflows.
+     */
+    static double productLow(double a, double b, double p) {
+        final double aHigh = highPart(a);
+        final double aLow = a - aHigh;
+        final double bHigh = highPart(b);
+        final double bLow = b - bHigh;
+        return prodLow(aLow, bLow, p, aHigh, bHigh);
+    }
+
+    /**
+     * @param aLow Low part of first factor.
+     * @param bLow Low part of second factor.
+     * @param prodHigh Product of the factors.
+     * @param aHigh High part of first factor.
+     * @param bHigh High part of second factor.
+     * @return <code>aLow * bLow - (((prodHigh - aHigh * bHigh) - aLow * bHigh) - aHigh * bLow)</code>
+     */
+    private static double prodLow(double aLow,
+                                  double bLow,
+                                  double prodHigh,
+                                  double aHigh,
+                                  double bHigh) {
+        return aLow * bLow - (((prodHigh - aHigh * bHigh) - aLow * bHigh) - aHigh * bLow);
+    }
+}
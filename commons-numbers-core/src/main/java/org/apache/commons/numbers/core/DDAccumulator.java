@@ -0,0 +1,307 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.core;
+
+import java.math.BigDecimal;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Mutable double-double number, for long computations in about 106 bits
+ * of precision, such as the accumulation of sums and dot products.
+ * <p>
+ * The operations are those of {@link DD}, with the same accuracy, but
+ * update this instance in place and return it, so that they can be chained
+ * without creating an object for each intermediate result:
+ * </p>
+ * <pre>
+ * DDAccumulator dot = DDAccumulator.create();
+ * for (int i = 0; i &lt; a.length; i++) {
+ *     dot.addProduct(a[i], b[i]);
+ * }
+ * double result = dot.getAsDouble();
+ * </pre>
+ * <p>
+ * Instances are mutable and not thread-safe.
+ * </p>
+ *
+ * @see DD
+ */
+public final class DDAccumulator implements DoubleConsumer, DoubleSupplier {
+    /** High part. */
+    private double hi;
+    /** Low part. */
+    private double lo;
+
+    /**
+     * @param hi High part.
+     * @param lo Low part.
+     */
+    private DDAccumulator(double hi, double lo) {
+        this.hi = hi;
+        this.lo = lo;
+    }
+
+    /**
+     * Creates an instance holding zero.
+     *
+     * @return a new instance.
+     */
+    public static DDAccumulator create() {
+        return new DDAccumulator(0, 0);
+    }
+
+    /**
+     * Creates an instance holding a {@code double}.
+     *
+     * @param x Value.
+     * @return a new instance.
+     */
+    public static DDAccumulator of(double x) {
+        return new DDAccumulator(x, 0);
+    }
+
+    /**
+     * Creates an instance holding a double-double number.
+     *
+     * @param x Value.
+     * @return a new instance.
+     */
+    public static DDAccumulator of(DD x) {
+        return new DDAccumulator(x.getHigh(), x.getLow());
+    }
+
+    /**
+     * Sets the value to a {@code double}.
+     *
+     * @param x Value.
+     * @return this instance.
+     */
+    public DDAccumulator set(double x) {
+        hi = x;
+        lo = 0;
+        return this;
+    }
+
+    /**
+     * Sets the value to a double-double number.
+     *
+     * @param x Value.
+     * @return this instance.
+     */
+    public DDAccumulator set(DD x) {
+        return set(x.getHigh(), x.getLow());
+    }
+
+    /**
+     * Adds a {@code double}.
+     *
+     * @param x Value.
+     * @return this instance.
+     */
+    public DDAccumulator add(double x) {
+        return DD.add(hi, lo, x, this);
+    }
+
+    /**
+     * Adds a double-double number.
+     *
+     * @param x Value.
+     * @return this instance.
+     */
+    public DDAccumulator add(DD x) {
+        return DD.add(hi, lo, x.getHigh(), x.getLow(), this);
+    }
+
+    /**
+     * Adds the values of the range {@code [from, to)} of an array.
+     *
+     * @param values Values.
+     * @param from Index of the first value (inclusive).
+     * @param to Index of the last value (exclusive).
+     * @return this instance.
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    public DDAccumulator add(double[] values, int from, int to) {
+        CompensatedSum.checkRange(from, to, values.length);
+        for (int i = from; i < to; i++) {
+            add(values[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Adds the exact product of two {@code double} values.
+     *
+     * @param a Factor.
+     * @param b Factor.
+     * @return this instance.
+     */
+    public DDAccumulator addProduct(double a, double b) {
+        final double p = a * b;
+        if (!Double.isFinite(p)) {
+            return add(p);
+        }
+        return DD.add(hi, lo, p, DD.productLow(a, b, p), this);
+    }
+
+    /**
+     * Subtracts a {@code double}.
+     *
+     * @param x Value.
+     * @return this instance.
+     */
+    public DDAccumulator subtract(double x) {
+        return add(-x);
+    }
+
+    /**
+     * Subtracts a double-double number.
+     *
+     * @param x Value.
+     * @return this instance.
+     */
+    public DDAccumulator subtract(DD x) {
+        return DD.add(hi, lo, -x.getHigh(), -x.getLow(), this);
+    }
+
+    /**
+     * Multiplies by a {@code double}.
+     *
+     * @param x Value.
+     * @return this instance.
+     */
+    public DDAccumulator multiply(double x) {
+        return DD.multiply(hi, lo, x, this);
+    }
+
+    /**
+     * Multiplies by a double-double number.
+     *
+     * @param x Value.
+     * @return this instance.
+     */
+    public DDAccumulator multiply(DD x) {
+        return DD.multiply(hi, lo, x.getHigh(), x.getLow(), this);
+    }
+
+    /**
+     * Divides by a {@code double}.
+     *
+     * @param x Value.
+     * @return this instance.
+     */
+    public DDAccumulator divide(double x) {
+        return DD.divide(hi, lo, x, this);
+    }
+
+    /**
+     * Divides by a double-double number.
+     *
+     * @param x Value.
+     * @return this instance.
+     */
+    public DDAccumulator divide(DD x) {
+        return DD.divide(hi, lo, x.getHigh(), x.getLow(), this);
+    }
+
+    /**
+     * Replaces the value by its square root ({@code NaN} if it is negative).
+     *
+     * @return this instance.
+     */
+    public DDAccumulator sqrt() {
+        return DD.sqrt(hi, lo, this);
+    }
+
+    /**
+     * Adds a {@code double}.
+     *
+     * @param x Value.
+     */
+    @Override
+    public void accept(double x) {
+        add(x);
+    }
+
+    /**
+     * Gets the value rounded to a {@code double}: the high part.
+     *
+     * @return the value.
+     */
+    @Override
+    public double getAsDouble() {
+        return hi;
+    }
+
+    /**
+     * Gets the high part: the value rounded to a {@code double}.
+     *
+     * @return the high part.
+     */
+    public double getHigh() {
+        return hi;
+    }
+
+    /**
+     * Gets the low part: the difference between the value and the high part.
+     *
+     * @return the low part.
+     */
+    public double getLow() {
+        return lo;
+    }
+
+    /**
+     * Gets the current value as an immutable number.
+     *
+     * @return the value.
+     */
+    public DD toDD() {
+        return DD.ofSum(hi, lo);
+    }
+
+    /**
+     * Converts the value to a {@code BigDecimal}, exactly.
+     *
+     * @return the value.
+     * @throws NumberFormatException if the value is not finite.
+     */
+    public BigDecimal bigDecimalValue() {
+        return new BigDecimal(hi).add(new BigDecimal(lo));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "(" + hi + " + " + lo + ")";
+    }
+
+    /**
+     * Sets the parts; used by the arithmetic kernels of {@link DD}.
+     *
+     * @param h High part.
+     * @param l Low part.
+     * @return this instance.
+     */
+    DDAccumulator set(double h, double l) {
+        hi = h;
+        lo = l;
+        return this;
+    }
+}
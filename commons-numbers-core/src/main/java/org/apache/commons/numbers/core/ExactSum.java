@@ -0,0 +1,274 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.core;
+
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleSupplier;
+import java.util.stream.DoubleStream;
+
+/**
+ * Exact summation of {@code double} values, with a superaccumulator.
+ * <p>
+ * Every finite {@code double} is an integer multiple of \( 2^{-1074} \)
+ * smaller than \( 2^{1024} \), so that the exact sum is held as a fixed
+ * point number of 2176 bits, in 32-bit chunks stored in {@code long}
+ * values: adding a value adds its 53-bit significand to at most three
+ * chunks, without any rounding or branch on the magnitudes, and the carries
+ * between chunks are only propagated every \( 2^{30} \) additions
+ * (R. M. Neal, "Fast exact summation using small and large
+ * superaccumulators", 2015). The {@linkplain #getAsDouble() result} is the
+ * exact sum correctly rounded to the nearest {@code double}, whatever the
+ * number and order of the values; it is infinite if the exact sum overflows.
+ * </p><p>
+ * Infinite and {@code NaN} values give the same result as the naive sum;
+ * an exact sum of zero is {@code +0.0}.
+ * </p><p>
+ * Instances are mutable and not thread-safe. Partial sums computed
+ * concurrently can be merged with {@link #combine(ExactSum)}, as in
+ * {@link #of(DoubleStream)}.
+ * </p>
+ *
+ * @see CompensatedSum
+ */
+public final class ExactSum implements DoubleConsumer, DoubleSupplier {
+    /** Number of bits of a chunk. */
+    private static final int CHUNK_BITS = 32;
+    /** Mask of the bits of a chunk. */
+    private static final long CHUNK_MASK = 0xffffffffL;
+    /**
+     * Number of chunks: the 2098 bits of the finite values, scaled by
+     * \( 2^{1074} \), and room for the carries.
+     */
+    private static final int CHUNKS = 68;
+    /**
+     * Number of additions after which the carries are propagated: each adds
+     * less than \( 2^{32} \) to a chunk, which holds less than \( 2^{63} \).
+     */
+    private static final int MAX_PENDING = 1 << 30;
+    /** Mask of the significand of a {@code double}. */
+    private static final long SIGNIFICAND_MASK = 0xfffffffffffffL;
+    /** Largest exact sum handled by {@link #getAsDouble()} without rounding. */
+    private static final long MAX_EXACT = 1L << 53;
+
+    /** Chunks of the sum, least significant first. */
+    private final long[] chunks = new long[CHUNKS];
+    /** Number of additions since the carries were propagated. */
+    private int pending;
+    /** Sum of the infinite and {@code NaN} values. */
+    private double special;
+
+    /** Create an instance. */
+    private ExactSum() {}
+
+    /**
+     * Creates an instance holding a sum of zero.
+     *
+     * @return a new instance.
+     */
+    public static ExactSum create() {
+        return new ExactSum();
+    }
+
+    /**
+     * Creates an instance holding the sum of the given values.
+     *
+     * @param values Values.
+     * @return a new instance.
+     */
+    public static ExactSum of(double... values) {
+        return create().add(values, 0, values.length);
+    }
+
+    /**
+     * Computes the sum of the values of a stream, which may be parallel.
+     *
+     * @param values Values.
+     * @return a new instance holding the sum.
+     */
+    public static ExactSum of(DoubleStream values) {
+        return values.collect(ExactSum::create, ExactSum::add, ExactSum::combine);
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param x Value.
+     * @return this instance.
+     */
+    public ExactSum add(double x) {
+        final long bits = Double.doubleToRawLongBits(x);
+        final int exponent = (int) (bits >>> 52) & 0x7ff;
+        if (exponent == 0x7ff) {
+            special += x;
+            return this;
+        }
+        long m = bits & SIGNIFICAND_MASK;
+        // Position of the least significant bit, relative to 2^-1074.
+        int position = 0;
+        if (exponent != 0) {
+            m |= 1L << 52;
+            position = exponent - 1;
+        }
+        final int i = position >>> 5;
+        final int shift = position & 31;
+        // Negate the parts of negative values without a branch, which random
+        // signs would mispredict: -v == (v ^ -1) + 1.
+        final long sign = bits >> 63;
+        chunks[i] += (((m << shift) & CHUNK_MASK) ^ sign) - sign;
+        chunks[i + 1] += (((m >>> (CHUNK_BITS - shift)) & CHUNK_MASK) ^ sign) - sign;
+        chunks[i + 2] += (((m >>> CHUNK_BITS) >>> (CHUNK_BITS - shift)) ^ sign) - sign;
+        if (++pending == MAX_PENDING) {
+            propagateCarries(chunks);
+            pending = 0;
+        }
+        return this;
+    }
+
+    /**
+     * Adds the values of the range {@code [from, to)} of an array.
+     *
+     * @param values Values.
+     * @param from Index of the first value (inclusive).
+     * @param to Index of the last value (exclusive).
+     * @return this instance.
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    public ExactSum add(double[] values, int from, int to) {
+        CompensatedSum.checkRange(from, to, values.length);
+        for (int i = from; i < to; i++) {
+            add(values[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Adds the sum held by another instance, to merge partial sums.
+     *
+     * @param other Other sum (its value is not modified).
+     * @return this instance.
+     */
+    public ExactSum combine(ExactSum other) {
+        propagateCarries(chunks);
+        propagateCarries(other.chunks);
+        other.pending = 0;
+        for (int i = 0; i < CHUNKS; i++) {
+            chunks[i] += other.chunks[i];
+        }
+        propagateCarries(chunks);
+        pending = 0;
+        special += other.special;
+        return this;
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param x Value.
+     */
+    @Override
+    public void accept(double x) {
+        add(x);
+    }
+
+    /**
+     * Gets the sum, correctly rounded.
+     *
+     * @return the sum of the values added so far.
+     */
+    @Override
+    public double getAsDouble() {
+        if (special != 0 || Double.isNaN(special)) {
+            return special;
+        }
+        final long[] c = chunks.clone();
+        propagateCarries(c);
+        // The most significant chunk holds the sign.
+        final boolean negative = c[CHUNKS - 1] < 0;
+        if (negative) {
+            for (int i = 0; i < CHUNKS; i++) {
+                c[i] = -c[i];
+            }
+            propagateCarries(c);
+        }
+        int h = CHUNKS - 1;
+        while (h >= 0 && c[h] == 0) {
+            h--;
+        }
+        final double magnitude;
+        if (h < 0) {
+            return 0;
+        } else if (h == CHUNKS - 1) {
+            // At least 2^(32 * 67 - 1074).
+            magnitude = Double.POSITIVE_INFINITY;
+        } else if (h <= 1 && ((c[1] << CHUNK_BITS) | c[0]) < MAX_EXACT) {
+            // Representable: an integer multiple of 2^-1074 below 2^-1021,
+            // which includes all the subnormal numbers.
+            magnitude = ((c[1] << CHUNK_BITS) | c[0]) * Double.MIN_VALUE;
+        } else {
+            magnitude = round(c, h);
+        }
+        return negative ? -magnitude : magnitude;
+    }
+
+    /**
+     * Rounds a sum of at least \( 2^{53} \) units.
+     *
+     * @param c Chunks, with the carries propagated (non-negative).
+     * @param h Index of the most significant non-zero chunk ({@code h < CHUNKS - 1}).
+     * @return the sum rounded to the nearest {@code double}.
+     */
+    private static double round(long[] c, int h) {
+        // Window of the 96 bits of the three most significant chunks.
+        final long w0 = c[h];
+        final long w1 = h >= 1 ? c[h - 1] : 0;
+        final long w2 = h >= 2 ? c[h - 2] : 0;
+        boolean sticky = false;
+        for (int i = 0; i < h - 2; i++) {
+            sticky |= c[i] != 0;
+        }
+        // Shift the window so that its most significant bit is set, and keep 64 bits.
+        final int lz = Long.numberOfLeadingZeros(w0) - CHUNK_BITS;
+        final long top = (w0 << (CHUNK_BITS + lz)) |
+                         (w1 << lz) |
+                         (lz == 0 ? 0 : w2 >>> (CHUNK_BITS - lz));
+        sticky |= (w2 & (CHUNK_MASK >>> lz)) != 0;
+        // Fold the discarded bits into the lowest bit, well below the rounding position,
+        // and convert as an unsigned value.
+        final long r = top | (sticky ? 1 : 0);
+        final double d = (double) ((r >>> 1) | (r & 1));
+        // Exponent of the least significant bit of top, plus 1 for the shift.
+        // The result is a normal number: scaling is exact unless it overflows.
+        return Math.scalb(d, CHUNK_BITS * (h - 2) + CHUNK_BITS - lz - 1074 + 1);
+    }
+
+    /**
+     * Propagates the carries so that all chunks are in {@code [0, 2^32)},
+     * except the most significant one, which holds the sign.
+     *
+     * @param c Chunks.
+     */
+    private static void propagateCarries(long[] c) {
+        long carry = 0;
+        for (int i = 0; i < CHUNKS - 1; i++) {
+            final long v = c[i] + carry;
+            c[i] = v & CHUNK_MASK;
+            carry = v >> CHUNK_BITS;
+        }
+        c[CHUNKS - 1] += carry;
+    }
+}
@@ -0,0 +1,349 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.core;
+
+import java.math.BigInteger;
+
+/**
+ * Division of {@code int} values by a fixed divisor.
+ * <p>
+ * The division is replaced by a multiplication by a precomputed
+ * approximation of the reciprocal of the divisor, followed by shifts
+ * (T. Granlund and P. L. Montgomery, "Division by invariant integers using
+ * multiplication", 1994; H. S. Warren, "Hacker's Delight", chapter 10).
+ * The results are identical to those of {@code n / d} and {@code n % d}, or
+ * of {@link Integer#divideUnsigned(int, int)} and
+ * {@link Integer#remainderUnsigned(int, int)} for an
+ * {@linkplain #ofUnsigned(int) unsigned divisor}.
+ * </p><p>
+ * Computing the constants costs much more than a division, so that an
+ * instance is only worth creating for dividing many values.
+ * Instances are immutable and thread-safe.
+ * </p>
+ *
+ * @see LongDivisor
+ */
+public abstract class IntDivisor {
+    /** Mask for the low 32 bits. */
+    private static final long LOW_32 = 0xffffffffL;
+
+    /** Divisor. */
+    private final int d;
+
+    /**
+     * @param d Divisor.
+     */
+    IntDivisor(int d) {
+        this.d = d;
+    }
+
+    /**
+     * Creates an instance for the signed divisor {@code d}.
+     *
+     * @param d Divisor.
+     * @return a new instance.
+     * @throws IllegalArgumentException if {@code d == 0}.
+     */
+    public static IntDivisor of(int d) {
+        checkDivisor(d);
+        if (d == 1) {
+            return new PowerOfTwo(d);
+        }
+        if (d == -1) {
+            return new Negation();
+        }
+        return new Signed(d);
+    }
+
+    /**
+     * Creates an instance for the divisor {@code d} interpreted as an
+     * unsigned value.
+     *
+     * @param d Divisor.
+     * @return a new instance.
+     * @throws IllegalArgumentException if {@code d == 0}.
+     */
+    public static IntDivisor ofUnsigned(int d) {
+        checkDivisor(d);
+        if ((d & (d - 1)) == 0) {
+            return new PowerOfTwo(d);
+        }
+        return new Unsigned(d);
+    }
+
+    /**
+     * Gets the divisor.
+     *
+     * @return the divisor.
+     */
+    public int getDivisor() {
+        return d;
+    }
+
+    /**
+     * Divides a value.
+     *
+     * @param n Dividend.
+     * @return the quotient, rounded toward zero.
+     */
+    public abstract int divide(int n);
+
+    /**
+     * Computes the remainder of a division.
+     *
+     * @param n Dividend.
+     * @return the remainder, {@code n - divide(n) * getDivisor()}.
+     */
+    public int remainder(int n) {
+        return n - divide(n) * d;
+    }
+
+    /**
+     * Divides values.
+     * The {@code result} array may be the dividend array.
+     *
+     * @param n Dividends.
+     * @param result Quotients (output).
+     * @throws IllegalArgumentException if the arrays do not have the same length.
+     */
+    public void divide(int[] n, int[] result) {
+        checkLength(n.length, result.length);
+        for (int i = 0; i < n.length; i++) {
+            result[i] = divide(n[i]);
+        }
+    }
+
+    /**
+     * Computes the remainders of divisions.
+     * The {@code result} array may be the dividend array.
+     *
+     * @param n Dividends.
+     * @param result Remainders (output).
+     * @throws IllegalArgumentException if the arrays do not have the same length.
+     */
+    public void remainder(int[] n, int[] result) {
+        checkLength(n.length, result.length);
+        for (int i = 0; i < n.length; i++) {
+            result[i] = remainder(n[i]);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + d + "]";
+    }
+
+    /**
+     * @param d Divisor.
+     * @throws IllegalArgumentException if {@code d == 0}.
+     */
+    private static void checkDivisor(int d) {
+        if (d == 0) {
+            throw new IllegalArgumentException("Divisor must not be zero");
+        }
+    }
+
+    /**
+     * @param expected Expected length.
+     * @param actual Actual length.
+     * @throws IllegalArgumentException if the lengths differ.
+     */
+    private static void checkLength(int expected, int actual) {
+        if (expected != actual) {
+            throw new IllegalArgumentException("Expected length " + expected + " but was " + actual);
+        }
+    }
+
+    /**
+     * Unsigned division by a power of two (or signed division by 1).
+     */
+    private static final class PowerOfTwo extends IntDivisor {
+        /** Shift. */
+        private final int shift;
+        /** Mask of the remainder, {@code d - 1}. */
+        private final int mask;
+
+        /**
+         * @param d Divisor.
+         */
+        PowerOfTwo(int d) {
+            super(d);
+            shift = Integer.numberOfTrailingZeros(d);
+            mask = d - 1;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int divide(int n) {
+            return n >>> shift;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int remainder(int n) {
+            return n & mask;
+        }
+    }
+
+    /**
+     * Signed division by -1.
+     */
+    private static final class Negation extends IntDivisor {
+        /** Create an instance. */
+        Negation() {
+            super(-1);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int divide(int n) {
+            return -n;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int remainder(int n) {
+            return 0;
+        }
+    }
+
+    /**
+     * Signed division by \( d \), with \( |d| \ge 2 \).
+     * <p>
+     * The quotient is \( \lfloor M n / 2^{32+s} \rfloor \), plus 1 if it is
+     * negative, where the magic number \( M \), \( |M| < 2^{32} \), has the
+     * sign of \( d \) (Hacker's Delight, section 10-4). The product fits in
+     * a {@code long}.
+     * </p>
+     */
+    private static final class Signed extends IntDivisor {
+        /** Magic number. */
+        private final long mul;
+        /** Shift, including the 32 bits of the high half of the product. */
+        private final int shift;
+
+        /**
+         * @param d Divisor.
+         */
+        Signed(int d) {
+            super(d);
+            final BigInteger[] magic = signedMagic(d, Integer.SIZE);
+            mul = d < 0 ? -magic[0].longValue() : magic[0].longValue();
+            shift = Integer.SIZE + magic[1].intValue();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int divide(int n) {
+            final int q = (int) ((mul * n) >> shift);
+            // Round toward zero.
+            return q + (q >>> 31);
+        }
+    }
+
+    /**
+     * Unsigned division by \( d \), not a power of two.
+     * <p>
+     * The quotient is \( \lfloor m n / 2^{32+l} \rfloor \) with
+     * \( m = \lceil 2^{32+l} / d \rceil \) (Granlund and Montgomery, section 4).
+     * When \( l = \lfloor \log_2 d \rfloor \) is not precise enough, the
+     * 33-bit \( m \) for \( l + 1 \) is used, and the \( 2^{32} n \) term of
+     * the product is added separately.
+     * </p>
+     */
+    private static final class Unsigned extends IntDivisor {
+        /** Low 32 bits of the multiplier. */
+        private final long mul;
+        /** Mask of the dividend added to the high half of the product. */
+        private final long add;
+        /** Shift of the high half of the product. */
+        private final int shift;
+
+        /**
+         * @param d Divisor.
+         */
+        Unsigned(int d) {
+            super(d);
+            final long[] magic = unsignedMagic(BigInteger.valueOf(d & LOW_32), Integer.SIZE);
+            mul = magic[0];
+            add = magic[1];
+            shift = (int) magic[2];
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int divide(int n) {
+            final long x = n & LOW_32;
+            return (int) ((((x * mul) >>> 32) + (x & add)) >>> shift);
+        }
+    }
+
+    /**
+     * Computes the magic number for a signed division with Hacker's Delight
+     * algorithm (section 10-6).
+     *
+     * @param d Divisor, \( |d| \ge 2 \).
+     * @param bits Number of bits of the values.
+     * @return \( |M| \) and the shift \( s \).
+     */
+    static BigInteger[] signedMagic(long d, int bits) {
+        final BigInteger ad = BigInteger.valueOf(d).abs();
+        final BigInteger t = BigInteger.ONE.shiftLeft(bits - 1).add(d < 0 ? BigInteger.ONE : BigInteger.ZERO);
+        // Largest dividend, in magnitude, with a remainder of |d| - 1.
+        final BigInteger anc = t.subtract(BigInteger.ONE).subtract(t.mod(ad));
+        int p = bits;
+        BigInteger twoP = BigInteger.ONE.shiftLeft(p);
+        BigInteger r = twoP.mod(ad);
+        while (twoP.compareTo(anc.multiply(ad.subtract(r))) <= 0) {
+            p++;
+            twoP = twoP.shiftLeft(1);
+            r = twoP.mod(ad);
+        }
+        return new BigInteger[] {
+            twoP.add(ad).subtract(r).divide(ad),
+            BigInteger.valueOf(p - bits),
+        };
+    }
+
+    /**
+     * Computes the multiplier for an unsigned division.
+     *
+     * @param d Divisor, not a power of two.
+     * @param bits Number of bits of the values.
+     * @return the low {@code bits} bits of the multiplier, the mask of the
+     * dividend to add to the high half of the product (0 or -1) and the
+     * shift of the sum.
+     */
+    static long[] unsignedMagic(BigInteger d, int bits) {
+        final int l = d.bitLength() - 1;
+        final BigInteger twoL = BigInteger.ONE.shiftLeft(l);
+        final BigInteger x = BigInteger.ONE.shiftLeft(bits + l);
+        // m = ceil(2^(bits + l) / d) < 2^bits
+        final BigInteger[] qr = x.divideAndRemainder(d);
+        final BigInteger m = qr[0].add(BigInteger.ONE);
+        // Error of the approximation, m d - 2^(bits + l), in (0, d)
+        final BigInteger e = d.subtract(qr[1]);
+        if (e.compareTo(twoL) < 0) {
+            return new long[] {m.longValue(), 0, l};
+        }
+        // m = ceil(2^(bits + l + 1) / d), in (2^bits, 2^(bits + 1)).
+        final BigInteger m1 = x.shiftLeft(1).divide(d).add(BigInteger.ONE);
+        return new long[] {m1.subtract(BigInteger.ONE.shiftLeft(bits)).longValue(), -1, l + 1};
+    }
+}
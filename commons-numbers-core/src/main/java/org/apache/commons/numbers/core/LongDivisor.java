@@ -0,0 +1,307 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.core;
+
+import java.math.BigInteger;
+
+/**
+ * Division of {@code long} values by a fixed divisor.
+ * <p>
+ * The division is replaced by a multiplication by a precomputed
+ * approximation of the reciprocal of the divisor, followed by shifts
+ * (T. Granlund and P. L. Montgomery, "Division by invariant integers using
+ * multiplication", 1994; H. S. Warren, "Hacker's Delight", chapter 10).
+ * The results are identical to those of {@code n / d} and {@code n % d}, or
+ * of {@link Long#divideUnsigned(long, long)} and
+ * {@link Long#remainderUnsigned(long, long)} for an
+ * {@linkplain #ofUnsigned(long) unsigned divisor}.
+ * </p><p>
+ * Computing the constants costs much more than a division, so that an
+ * instance is only worth creating for dividing many values.
+ * Instances are immutable and thread-safe.
+ * </p>
+ *
+ * @see IntDivisor
+ */
+public abstract class LongDivisor {
+    /** Divisor. */
+    private final long d;
+
+    /**
+     * @param d Divisor.
+     */
+    LongDivisor(long d) {
+        this.d = d;
+    }
+
+    /**
+     * Creates an instance for the signed divisor {@code d}.
+     *
+     * @param d Divisor.
+     * @return a new instance.
+     * @throws IllegalArgumentException if {@code d == 0}.
+     */
+    public static LongDivisor of(long d) {
+        checkDivisor(d);
+        if (d == 1) {
+            return new PowerOfTwo(d);
+        }
+        if (d == -1) {
+            return new Negation();
+        }
+        return new Signed(d);
+    }
+
+    /**
+     * Creates an instance for the divisor {@code d} interpreted as an
+     * unsigned value.
+     *
+     * @param d Divisor.
+     * @return a new instance.
+     * @throws IllegalArgumentException if {@code d == 0}.
+     */
+    public static LongDivisor ofUnsigned(long d) {
+        checkDivisor(d);
+        if ((d & (d - 1)) == 0) {
+            return new PowerOfTwo(d);
+        }
+        return new Unsigned(d);
+    }
+
+    /**
+     * Gets the divisor.
+     *
+     * @return the divisor.
+     */
+    public long getDivisor() {
+        return d;
+    }
+
+    /**
+     * Divides a value.
+     *
+     * @param n Dividend.
+     * @return the quotient, rounded toward zero.
+     */
+    public abstract long divide(long n);
+
+    /**
+     * Computes the remainder of a division.
+     *
+     * @param n Dividend.
+     * @return the remainder, {@code n - divide(n) * getDivisor()}.
+     */
+    public long remainder(long n) {
+        return n - divide(n) * d;
+    }
+
+    /**
+     * Divides values.
+     * The {@code result} array may be the dividend array.
+     *
+     * @param n Dividends.
+     * @param result Quotients (output).
+     * @throws IllegalArgumentException if the arrays do not have the same length.
+     */
+    public void divide(long[] n, long[] result) {
+        checkLength(n.length, result.length);
+        for (int i = 0; i < n.length; i++) {
+            result[i] = divide(n[i]);
+        }
+    }
+
+    /**
+     * Computes the remainders of divisions.
+     * The {@code result} array may be the dividend array.
+     *
+     * @param n Dividends.
+     * @param result Remainders (output).
+     * @throws IllegalArgumentException if the arrays do not have the same length.
+     */
+    public void remainder(long[] n, long[] result) {
+        checkLength(n.length, result.length);
+        for (int i = 0; i < n.length; i++) {
+            result[i] = remainder(n[i]);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + d + "]";
+    }
+
+    /**
+     * @param d Divisor.
+     * @throws IllegalArgumentException if {@code d == 0}.
+     */
+    private static void checkDivisor(long d) {
+        if (d == 0) {
+            throw new IllegalArgumentException("Divisor must not be zero");
+        }
+    }
+
+    /**
+     * @param expected Expected length.
+     * @param actual Actual length.
+     * @throws IllegalArgumentException if the lengths differ.
+     */
+    private static void checkLength(int expected, int actual) {
+        if (expected != actual) {
+            throw new IllegalArgumentException("Expected length " + expected + " but was " + actual);
+        }
+    }
+
+    /**
+     * Unsigned division by a power of two (or signed division by 1).
+     */
+    private static final class PowerOfTwo extends LongDivisor {
+        /** Shift. */
+        private final int shift;
+        /** Mask of the remainder, {@code d - 1}. */
+        private final long mask;
+
+        /**
+         * @param d Divisor.
+         */
+        PowerOfTwo(long d) {
+            super(d);
+            shift = Long.numberOfTrailingZeros(d);
+            mask = d - 1;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public long divide(long n) {
+            return n >>> shift;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public long remainder(long n) {
+            return n & mask;
+        }
+    }
+
+    /**
+     * Signed division by -1.
+     */
+    private static final class Negation extends LongDivisor {
+        /** Create an instance. */
+        Negation() {
+            super(-1);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public long divide(long n) {
+            return -n;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public long remainder(long n) {
+            return 0;
+        }
+    }
+
+    /**
+     * Signed division by \( d \), with \( |d| \ge 2 \).
+     * <p>
+     * The quotient is \( \lfloor M n / 2^{64+s} \rfloor \), plus 1 if it is
+     * negative, where the magic number \( M \), \( |M| < 2^{64} \), has the
+     * sign of \( d \) (Hacker's Delight, section 10-4). When \( |M| \ge 2^{63} \)
+     * it is stored modulo \( 2^{64} \), and the missing \( \pm 2^{64} n \) term
+     * of the product is added separately.
+     * </p>
+     */
+    private static final class Signed extends LongDivisor {
+        /** Magic number (modulo {@code 2^64}). */
+        private final long mul;
+        /** Mask of the dividend added to the high half of the product. */
+        private final long add;
+        /** Mask of the dividend subtracted from the high half of the product. */
+        private final long sub;
+        /** Shift of the high half of the product. */
+        private final int shift;
+
+        /**
+         * @param d Divisor.
+         */
+        Signed(long d) {
+            super(d);
+            final BigInteger[] magic = IntDivisor.signedMagic(d, Long.SIZE);
+            final long m = magic[0].longValue();
+            mul = d < 0 ? -m : m;
+            // Correction when the sign of the stored value differs from that of d.
+            add = d > 0 && mul < 0 ? -1 : 0;
+            sub = d < 0 && mul > 0 ? -1 : 0;
+            shift = magic[1].intValue();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public long divide(long n) {
+            final long q = (MultiplyHigh.multiplyHigh(mul, n) + (n & add) - (n & sub)) >> shift;
+            // Round toward zero.
+            return q + (q >>> 63);
+        }
+    }
+
+    /**
+     * Unsigned division by \( d \), not a power of two.
+     * <p>
+     * The quotient is \( \lfloor m n / 2^{64+l} \rfloor \) with
+     * \( m = \lceil 2^{64+l} / d \rceil \) (Granlund and Montgomery, section 4).
+     * When \( l = \lfloor \log_2 d \rfloor \) is not precise enough, the
+     * 65-bit \( m \) for \( l + 1 \) is used: with \( t \) the high half of
+     * the product of \( n \) by its low 64 bits, the quotient is computed
+     * without overflow as \( \lfloor (t + \lfloor (n - t) / 2 \rfloor) / 2^l \rfloor \).
+     * </p>
+     */
+    private static final class Unsigned extends LongDivisor {
+        /** Low 64 bits of the multiplier. */
+        private final long mul;
+        /** Whether the multiplier has 65 bits. */
+        private final boolean add;
+        /** Shift of the high half of the product. */
+        private final int shift;
+
+        /**
+         * @param d Divisor.
+         */
+        Unsigned(long d) {
+            super(d);
+            final BigInteger bd = new BigInteger(Long.toUnsignedString(d));
+            final long[] magic = IntDivisor.unsignedMagic(bd, Long.SIZE);
+            mul = magic[0];
+            add = magic[1] != 0;
+            shift = add ? (int) magic[2] - 1 : (int) magic[2];
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public long divide(long n) {
+            final long t = ArithmeticUtils.unsignedMultiplyHigh(mul, n);
+            if (add) {
+                return (t + ((n - t) >>> 1)) >>> shift;
+            }
+            return t >>> shift;
+        }
+    }
+}
@@ -0,0 +1,414 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.core;
+
+import java.math.BigInteger;
+
+/**
+ * Modular arithmetic for a fixed modulus \( m \), with \( 1 \le m < 2^{63} \).
+ * <p>
+ * The constants needed to reduce a 128-bit product without a division are
+ * computed once, when the instance is created, so that instances should be
+ * reused for all the operations with the same modulus:
+ * <ul>
+ *  <li>{@link #montgomery(long) Montgomery} reduction, for odd moduli;</li>
+ *  <li>{@link #barrett(long) Barrett} reduction, for any modulus.</li>
+ * </ul>
+ * Both compute the 128-bit products with {@link ArithmeticUtils#multiplyHigh(long, long)}.
+ * </p><p>
+ * All the methods accept any {@code long} argument, and return a value in
+ * the range \( [0, m) \): arguments outside this range are first reduced as
+ * by {@link Math#floorMod(long, long)}.
+ * </p><p>
+ * Instances are immutable and thread-safe.
+ * </p>
+ */
+public abstract class Modulus {
+    /** Modulus. */
+    private final long m;
+
+    /**
+     * @param m Modulus.
+     */
+    Modulus(long m) {
+        this.m = m;
+    }
+
+    /**
+     * Creates an instance for the given modulus, using Montgomery reduction
+     * if it is odd and Barrett reduction otherwise.
+     *
+     * @param m Modulus.
+     * @return a new instance.
+     * @throws IllegalArgumentException if {@code m < 1}.
+     */
+    public static Modulus of(long m) {
+        checkModulus(m);
+        return (m & 1) == 1 ? new MontgomeryModulus(m) : new BarrettModulus(m);
+    }
+
+    /**
+     * Creates an instance that uses Montgomery reduction: a product is
+     * reduced with two multiplications and no division.
+     *
+     * @param m Modulus.
+     * @return a new instance.
+     * @throws IllegalArgumentException if {@code m < 1} or if {@code m} is even.
+     */
+    public static Modulus montgomery(long m) {
+        checkModulus(m);
+        if ((m & 1) == 0) {
+            throw new IllegalArgumentException("Montgomery modulus must be odd: " + m);
+        }
+        return new MontgomeryModulus(m);
+    }
+
+    /**
+     * Creates an instance that uses Barrett reduction: a product is reduced
+     * with two multiplications and no division.
+     *
+     * @param m Modulus.
+     * @return a new instance.
+     * @throws IllegalArgumentException if {@code m < 1}.
+     */
+    public static Modulus barrett(long m) {
+        checkModulus(m);
+        return new BarrettModulus(m);
+    }
+
+    /**
+     * Gets the modulus.
+     *
+     * @return \( m \).
+     */
+    public long getModulus() {
+        return m;
+    }
+
+    /**
+     * Reduces a value.
+     *
+     * @param a Value.
+     * @return \( a \bmod m \).
+     */
+    public long reduce(long a) {
+        return a >= 0 && a < m ? a : Math.floorMod(a, m);
+    }
+
+    /**
+     * Computes a modular product.
+     *
+     * @param a First factor.
+     * @param b Second factor.
+     * @return \( a b \bmod m \).
+     */
+    public long mulMod(long a, long b) {
+        return multiply(reduce(a), reduce(b));
+    }
+
+    /**
+     * Computes a modular power.
+     * A negative exponent raises the {@linkplain #inverseMod(long) inverse}
+     * of {@code a} to the power {@code -e}.
+     *
+     * @param a Base.
+     * @param e Exponent.
+     * @return \( a^e \bmod m \).
+     * @throws ArithmeticException if {@code e < 0} and {@code a} is not
+     * invertible modulo {@code m}.
+     */
+    public long powMod(long a, long e) {
+        if (e < 0) {
+            // -e is correct for Long.MIN_VALUE when read as unsigned.
+            return pow(inverseMod(a), -e);
+        }
+        return pow(reduce(a), e);
+    }
+
+    /**
+     * Computes a modular inverse with the extended Euclidean algorithm.
+     *
+     * @param a Value.
+     * @return \( x \in [0, m) \) such that \( a x \equiv 1 \pmod m \).
+     * @throws ArithmeticException if {@code a} and {@code m} are not coprime.
+     */
+    public long inverseMod(long a) {
+        // Invariant: r0 = s0 * a and r1 = s1 * a (mod m).
+        long r0 = m;
+        long r1 = reduce(a);
+        long s0 = 0;
+        long s1 = 1;
+        while (r1 != 0) {
+            final long q = r0 / r1;
+            final long r = r0 - q * r1;
+            r0 = r1;
+            r1 = r;
+            final long s = s0 - q * s1;
+            s0 = s1;
+            s1 = s;
+        }
+        if (r0 != 1) {
+            throw new ArithmeticException(a + " is not invertible modulo " + m);
+        }
+        // |s0| <= m / 2.
+        return s0 < 0 ? s0 + m : s0 % m;
+    }
+
+    /**
+     * Computes modular products element-wise.
+     * The {@code result} array may be one of the factor arrays.
+     *
+     * @param a First factors.
+     * @param b Second factors.
+     * @param result Products \( a_i b_i \bmod m \) (output).
+     * @throws IllegalArgumentException if the arrays do not have the same length.
+     */
+    public void mulMod(long[] a, long[] b, long[] result) {
+        checkLength(a.length, b.length);
+        checkLength(a.length, result.length);
+        for (int i = 0; i < a.length; i++) {
+            result[i] = multiply(reduce(a[i]), reduce(b[i]));
+        }
+    }
+
+    /**
+     * Multiplies an array by a constant.
+     * The {@code result} array may be the factor array.
+     *
+     * @param a First factors.
+     * @param b Second factor.
+     * @param result Products \( a_i b \bmod m \) (output).
+     * @throws IllegalArgumentException if the arrays do not have the same length.
+     */
+    public void mulMod(long[] a, long b, long[] result) {
+        checkLength(a.length, result.length);
+        final long c = reduce(b);
+        for (int i = 0; i < a.length; i++) {
+            result[i] = multiply(reduce(a[i]), c);
+        }
+    }
+
+    /**
+     * Computes a modular product of reduced values.
+     *
+     * @param a First factor, in {@code [0, m)}.
+     * @param b Second factor, in {@code [0, m)}.
+     * @return \( a b \bmod m \).
+     */
+    abstract long multiply(long a, long b);
+
+    /**
+     * Computes a modular power of a reduced value.
+     *
+     * @param a Base, in {@code [0, m)}.
+     * @param e Exponent, interpreted as an unsigned value.
+     * @return \( a^e \bmod m \).
+     */
+    abstract long pow(long a, long e);
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + m + "]";
+    }
+
+    /**
+     * @param m Modulus.
+     * @throws IllegalArgumentException if {@code m < 1}.
+     */
+    private static void checkModulus(long m) {
+        if (m < 1) {
+            throw new IllegalArgumentException("Modulus must be strictly positive: " + m);
+        }
+    }
+
+    /**
+     * @param expected Expected length.
+     * @param actual Actual length.
+     * @throws IllegalArgumentException if the lengths differ.
+     */
+    private static void checkLength(int expected, int actual) {
+        if (expected != actual) {
+            throw new IllegalArgumentException("Expected length " + expected + " but was " + actual);
+        }
+    }
+
+    /**
+     * Montgomery reduction, with \( R = 2^{64} \).
+     * <p>
+     * Values are mapped to the Montgomery domain \( \bar{a} = a R \bmod m \),
+     * where the product \( \bar{a} \bar{b} R^{-1} \bmod m \) of a 128-bit
+     * value is computed with the high halves of two products, without a
+     * division.
+     * </p>
+     */
+    private static final class MontgomeryModulus extends Modulus {
+        /** \( m^{-1} \bmod 2^{64} \). */
+        private final long inv;
+        /** \( R \bmod m \) (the Montgomery form of 1). */
+        private final long r1;
+        /** \( R^2 \bmod m \). */
+        private final long r2;
+
+        /**
+         * @param m Modulus (odd).
+         */
+        MontgomeryModulus(long m) {
+            super(m);
+            // Newton iteration: each step doubles the number of correct bits,
+            // starting from 3 (m * m = 1 mod 8 for odd m).
+            long x = m;
+            for (int i = 0; i < 5; i++) {
+                x *= 2 - m * x;
+            }
+            inv = x;
+            final BigInteger bm = BigInteger.valueOf(m);
+            r1 = BigInteger.ONE.shiftLeft(64).mod(bm).longValue();
+            r2 = BigInteger.ONE.shiftLeft(128).mod(bm).longValue();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        long multiply(long a, long b) {
+            return redc(redc(a, b), r2);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        long pow(long a, long e) {
+            final long x = redc(a, r2);
+            long y = r1;
+            for (long bit = Long.highestOneBit(e); bit != 0; bit >>>= 1) {
+                y = redc(y, y);
+                if ((e & bit) != 0) {
+                    y = redc(y, x);
+                }
+            }
+            return redc(y, 1);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void mulMod(long[] a, long b, long[] result) {
+            checkLength(a.length, result.length);
+            // Montgomery form of b: a single reduction per element.
+            final long c = redc(reduce(b), r2);
+            for (int i = 0; i < a.length; i++) {
+                result[i] = redc(reduce(a[i]), c);
+            }
+        }
+
+        /**
+         * Computes \( a b R^{-1} \bmod m \).
+         *
+         * @param a First factor, in {@code [0, m)}.
+         * @param b Second factor, in {@code [0, m)}.
+         * @return the reduced product, in {@code [0, m)}.
+         */
+        private long redc(long a, long b) {
+            final long m = getModulus();
+            // t = a * b < m^2 < m R
+            final long lo = a * b;
+            final long hi = MultiplyHigh.multiplyHigh(a, b);
+            // u * m = lo (mod R) so that (t - u * m) / R = hi - high(u * m).
+            final long u = lo * inv;
+            // Unsigned high half of u * m (m >= 0).
+            final long um = MultiplyHigh.multiplyHigh(u, m) + ((u >> 63) & m);
+            final long r = hi - um;
+            return r < 0 ? r + m : r;
+        }
+    }
+
+    /**
+     * Barrett reduction of a 128-bit product \( x < m^2 \) with the constant
+     * \( \mu = \lfloor 2^{2k} / m \rfloor \), where \( k \) is the number of
+     * bits of \( m \): the quotient is estimated as
+     * \( q = \lfloor \lfloor x / 2^{k-1} \rfloor \mu / 2^{k+1} \rfloor \),
+     * which is at most 2 less than \( \lfloor x / m \rfloor \).
+     * <p>
+     * A power of two modulus uses a mask.
+     * </p>
+     */
+    private static final class BarrettModulus extends Modulus {
+        /** Number of bits of the modulus. */
+        private final int k;
+        /** \( \lfloor 2^{2k} / m \rfloor \) (unsigned), or 0 for a power of two. */
+        private final long mu;
+
+        /**
+         * @param m Modulus.
+         */
+        BarrettModulus(long m) {
+            super(m);
+            k = Long.SIZE - Long.numberOfLeadingZeros(m);
+            mu = ArithmeticUtils.isPowerOfTwo(m) ?
+                0 :
+                BigInteger.ONE.shiftLeft(2 * k).divide(BigInteger.valueOf(m)).longValue();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        long multiply(long a, long b) {
+            if (mu == 0) {
+                return (a * b) & (getModulus() - 1);
+            }
+            return reduce128(MultiplyHigh.multiplyHigh(a, b), a * b);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        long pow(long a, long e) {
+            long y = 1 % getModulus();
+            for (long bit = Long.highestOneBit(e); bit != 0; bit >>>= 1) {
+                y = multiply(y, y);
+                if ((e & bit) != 0) {
+                    y = multiply(y, a);
+                }
+            }
+            return y;
+        }
+
+        /**
+         * Reduces the 128-bit value {@code x = hi * 2^64 + lo < m^2}.
+         *
+         * @param hi High half.
+         * @param lo Low half.
+         * @return \( x \bmod m \).
+         */
+        private long reduce128(long hi, long lo) {
+            final long m = getModulus();
+            // q1 = x >> (k - 1) < 2^(k+1) <= 2^64 (k >= 2)
+            final long q1 = (hi << (65 - k)) | (lo >>> (k - 1));
+            // q = (q1 * mu) >> (k + 1), with the shift by 64 when k = 63
+            final long ph = ArithmeticUtils.unsignedMultiplyHigh(q1, mu);
+            final long pl = q1 * mu;
+            final long q = (ph << (63 - k)) | ((pl >>> k) >>> 1);
+            // r = x - q * m, in [0, 3m)
+            final long ql = q * m;
+            long rl = lo - ql;
+            long rh = hi - MultiplyHigh.multiplyHigh(q, m) - (Long.compareUnsigned(lo, ql) < 0 ? 1 : 0);
+            while (rh != 0 || Long.compareUnsigned(rl, m) >= 0) {
+                if (Long.compareUnsigned(rl, m) < 0) {
+                    rh--;
+                }
+                rl -= m;
+            }
+            return rl;
+        }
+    }
+}
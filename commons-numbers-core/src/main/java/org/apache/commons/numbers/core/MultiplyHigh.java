@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.core;
+
+/**
+ * High half of the 128-bit product of two {@code long} values, used by
+ * {@link ArithmeticUtils} and {@link Modulus}.
+ * <p>
+ * This is the Java 8 implementation: it multiplies the 32-bit halves of
+ * the factors. The multi-release JAR contains a Java 9 version, under
+ * {@code META-INF/versions/9}, that calls {@code Math.multiplyHigh}, which
+ * the JIT compiler replaces with a single instruction.
+ * </p>
+ */
+final class MultiplyHigh {
+    /** Mask for the low 32 bits. */
+    private static final long LOW_32 = 0xffffffffL;
+
+    /** Utility class. */
+    private MultiplyHigh() {}
+
+    /**
+     * Tells whether this implementation uses {@code Math.multiplyHigh}.
+     * This is a method rather than a constant, so that the tests see the
+     * class actually loaded (a constant would be inlined in their code).
+     *
+     * @return {@code false}.
+     */
+    static boolean usesMathMultiplyHigh() {
+        return false;
+    }
+
+    /**
+     * Computes the high 64 bits of the signed 128-bit product {@code a * b}.
+     *
+     * @param a First factor.
+     * @param b Second factor.
+     * @return the high half of the product.
+     */
+    static long multiplyHigh(long a, long b) {
+        // Same algorithm as Math.multiplyHigh (Hacker's Delight, section 8-2).
+        final long a1 = a >> 32;
+        final long a0 = a & LOW_32;
+        final long b1 = b >> 32;
+        final long b0 = b & LOW_32;
+
+        final long t = a1 * b0 + ((a0 * b0) >>> 32);
+        final long w1 = (t & LOW_32) + a0 * b1;
+        return a1 * b1 + (t >> 32) + (w1 >> 32);
+    }
+}
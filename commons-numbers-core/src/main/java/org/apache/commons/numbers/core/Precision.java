@@ -63,6 +63,15 @@ public class Precision {
     private static final int POSITIVE_ZERO_FLOAT_BITS = Float.floatToRawIntBits(+0.0f);
     /** Negative zero bits. */
     private static final int NEGATIVE_ZERO_FLOAT_BITS = Float.floatToRawIntBits(-0.0f);
+    /** Largest scale handled by {@link #roundBinary(double, int, RoundingMode)}. */
+    private static final int MAX_BINARY_ROUND_SCALE = 17;
+    /** Powers of ten, exactly representable as {@code long} values. */
+    private static final long[] POWERS_OF_TEN = {
+        1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L,
+        1000000000L, 10000000000L, 100000000000L, 1000000000000L, 10000000000000L,
+        100000000000000L, 1000000000000000L, 10000000000000000L, 100000000000000000L,
+        1000000000000000000L
+    };
 
     static {
         /*
@@ -435,6 +444,16 @@ public class Precision {
      * in {@link BigDecimal}.
      * If {@code x} is infinite or {@code NaN}, then the value of {@code x} is
      * returned unchanged, regardless of the other parameters.
+     * <p>
+     * The number that is rounded is the decimal representation of {@code x}
+     * given by {@link Double#toString(double)}, not its exact binary value:
+     * {@code round(39.245, 2)} is 39.25 although the {@code double} closest
+     * to 39.245 is slightly less.
+     * </p><p>
+     * Scales from 0 to 17 are handled without {@link BigDecimal} (and
+     * without allocation) unless the decimal representation lies exactly
+     * on a rounding boundary of the binary value.
+     * </p>
      *
      * @param x Value to round.
      * @param scale Number of digits to the right of the decimal point.
@@ -447,19 +466,193 @@ public class Precision {
     public static double round(double x,
                                int scale,
                                RoundingMode roundingMethod) {
-        try {
-            final double rounded = (new BigDecimal(Double.toString(x))
-                   .setScale(scale, roundingMethod))
-                   .doubleValue();
-            // MATH-1089: negative values rounded to zero should result in negative zero
-            return rounded == POSITIVE_ZERO ? POSITIVE_ZERO * x : rounded;
-        } catch (NumberFormatException ex) {
-            if (Double.isInfinite(x)) {
-                return x;
-            } else {
-                return Double.NaN;
+        if (Double.isNaN(x)) {
+            return Double.NaN;
+        }
+        if (Double.isInfinite(x) || x == 0) {
+            return x;
+        }
+        if (scale >= 0 && scale <= MAX_BINARY_ROUND_SCALE) {
+            final double rounded = roundBinary(x, scale, roundingMethod);
+            if (!Double.isNaN(rounded)) {
+                return rounded;
             }
         }
+        final double rounded = (new BigDecimal(Double.toString(x))
+               .setScale(scale, roundingMethod))
+               .doubleValue();
+        // MATH-1089: negative values rounded to zero should result in negative zero
+        return rounded == POSITIVE_ZERO ? POSITIVE_ZERO * x : rounded;
+    }
+
+    /**
+     * Rounds the given values to the specified number of decimal places,
+     * as {@link #round(double, int, RoundingMode)}.
+     * The {@code result} array may be the {@code x} array.
+     *
+     * @param x Values to round.
+     * @param scale Number of digits to the right of the decimal point.
+     * @param roundingMethod Rounding method as defined in {@link BigDecimal}.
+     * @param result Rounded values (output).
+     * @throws IllegalArgumentException if the arrays do not have the same length.
+     * @throws ArithmeticException if {@code roundingMethod} is
+     * {@link RoundingMode#UNNECESSARY} and the specified scaling operation
+     * would require rounding.
+     */
+    public static void round(double[] x,
+                             int scale,
+                             RoundingMode roundingMethod,
+                             double[] result) {
+        if (x.length != result.length) {
+            throw new IllegalArgumentException("Expected length " + x.length + " but was " + result.length);
+        }
+        for (int i = 0; i < x.length; i++) {
+            result[i] = round(x[i], scale, roundingMethod);
+        }
+    }
+
+    /**
+     * Rounds the decimal representation of a value, working on its binary
+     * representation.
+     * <p>
+     * Let \( a = |x| = m 2^{-k} \) and \( A = a 10^{s+1} \) (exact, using
+     * 128-bit products). The decimal \( D \) given by {@link Double#toString(double)}
+     * lies in the rounding interval of \( a \): the reals that round to
+     * \( a \). When the interval is narrower than \( 10^{-(s+1)} \), it
+     * holds at most one of \( \lfloor A \rfloor 10^{-(s+1)} \) and
+     * \( (\lfloor A \rfloor + 1) 10^{-(s+1)} \). If it does, that number
+     * is the shortest decimal in the interval, hence \( D \). Otherwise no
+     * multiple of \( 10^{-(s+1)} \) lies between \( a \) and \( D \), so
+     * that \( \lfloor D 10^{s+1} \rfloor = \lfloor A \rfloor \) with a
+     * non-zero remainder. Either way, the digits of \( D \) up to the
+     * position \( s + 1 \) are known, together with whether more non-zero
+     * digits follow, which is all that the rounding needs.
+     * </p>
+     *
+     * @param x Value to round (finite, non-zero).
+     * @param scale Number of digits to the right of the decimal point,
+     * in {@code [0, 17]}.
+     * @param roundingMethod Rounding method.
+     * @return the rounded value, or {@code NaN} if it must be computed
+     * with {@link BigDecimal}.
+     * @throws ArithmeticException if {@code roundingMethod} is
+     * {@link RoundingMode#UNNECESSARY} and rounding is necessary.
+     */
+    private static double roundBinary(double x,
+                                      int scale,
+                                      RoundingMode roundingMethod) {
+        final long bits = Double.doubleToRawLongBits(x);
+        final int biasedExponent = (int) (bits >>> 52) & 0x7ff;
+        long m = bits & 0xfffffffffffffL;
+        final int k;
+        // Whether the gap to the double below a is half the gap above.
+        final boolean narrowBelow;
+        if (biasedExponent == 0) {
+            k = 1074;
+            narrowBelow = false;
+        } else {
+            k = 1075 - biasedExponent;
+            narrowBelow = m == 0 && biasedExponent > 1;
+            m |= 1L << 52;
+        }
+        final long p = POWERS_OF_TEN[scale + 1];
+        // The rounding interval, of width 2^-k at most, must be narrower than 1 / p.
+        if (k <= 0 || (k < 63 && p >= 1L << k)) {
+            return Double.NaN;
+        }
+
+        // A = P / 2^k with P = m p < 2^113; F = P mod 2^k.
+        // floor(A) is in the interval if F / 2^k is less than the half-gap
+        // below a, i.e. 2F < p (4F < p if narrowBelow); floor(A) + 1 is in
+        // the interval if U = 2^k - F satisfies 2U < p.
+        final long hi = MultiplyHigh.multiplyHigh(m, p);
+        final long lo = m * p;
+        long integer;
+        long f;
+        long u;
+        if (k < 64) {
+            integer = (hi << (64 - k)) | (lo >>> k);
+            f = lo & ((1L << k) - 1);
+            // 2^k - F, as an unsigned value when k = 63.
+            u = (1L << k) - f;
+        } else if (k < 114) {
+            final int j = k - 64;
+            integer = hi >>> j;
+            final long mask = (1L << j) - 1;
+            final long fh = hi & mask;
+            // F or U, when they are less than 2^64; -1 (too large) otherwise.
+            f = fh == 0 ? lo : -1;
+            u = fh == mask && lo != 0 ? -lo : -1;
+        } else {
+            // A < 1/2, and 1 - A > 1/2: neither candidate is in the interval.
+            integer = 0;
+            f = -1;
+            u = -1;
+        }
+        final long fScaled = narrowBelow ? 4 * f : 2 * f;
+        final boolean lowInside = Long.compareUnsigned(f, p) < 0 && fScaled < p;
+        final boolean highInside = Long.compareUnsigned(u, p) < 0 && 2 * u < p;
+        if ((Long.compareUnsigned(f, p) < 0 && fScaled == p) ||
+            (Long.compareUnsigned(u, p) < 0 && 2 * u == p)) {
+            // A candidate is on the boundary of the interval.
+            return Double.NaN;
+        }
+        // sticky: whether non-zero digits follow the position s + 1.
+        final boolean sticky;
+        if (lowInside) {
+            sticky = false;
+        } else if (highInside) {
+            integer++;
+            sticky = false;
+        } else {
+            sticky = true;
+        }
+
+        long q = integer / 10;
+        final int r = (int) (integer - q * 10);
+        final boolean inexact = r != 0 || sticky;
+        final boolean negative = bits < 0;
+        final boolean increment;
+        switch (roundingMethod) {
+        case UP:
+            increment = inexact;
+            break;
+        case DOWN:
+            increment = false;
+            break;
+        case CEILING:
+            increment = inexact && !negative;
+            break;
+        case FLOOR:
+            increment = inexact && negative;
+            break;
+        case HALF_UP:
+            increment = r >= 5;
+            break;
+        case HALF_DOWN:
+            increment = r > 5 || (r == 5 && sticky);
+            break;
+        case HALF_EVEN:
+            increment = r > 5 || (r == 5 && (sticky || (q & 1) != 0));
+            break;
+        default:
+            // UNNECESSARY
+            if (inexact) {
+                throw new ArithmeticException("Rounding necessary");
+            }
+            increment = false;
+            break;
+        }
+        if (increment) {
+            q++;
+        }
+        if (q == 0) {
+            // MATH-1089: negative values rounded to zero should result in negative zero
+            return POSITIVE_ZERO * x;
+        }
+        // Correctly rounded, as BigDecimal.doubleValue(): q < 2^53 and 10^scale are exact.
+        final double rounded = q / (double) POWERS_OF_TEN[scale];
+        return negative ? -rounded : rounded;
     }
 
     /**
@@ -19,6 +19,7 @@ package org.apache.commons.numbers.core;
 import java.util.Arrays;
 import java.math.BigInteger;
 import java.util.Collections;
+import java.util.Random;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -779,4 +780,37 @@ public class ArithmeticUtilsTest {
             }
         }
     }
+    @Test
+    public void testMultiplyHigh() {
+        final Random rng = new Random(123);
+        final long[] values = new long[50];
+        final long[] special = {0, 1, -1, 2, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1,
+                                0xffffffffL, 0x100000000L, -0x100000000L};
+        System.arraycopy(special, 0, values, 0, special.length);
+        for (int i = special.length; i < values.length; i++) {
+            values[i] = rng.nextLong();
+        }
+        final BigInteger two64 = BigInteger.ONE.shiftLeft(64);
+        for (long a : values) {
+            for (long b : values) {
+                final BigInteger ba = BigInteger.valueOf(a);
+                final BigInteger bb = BigInteger.valueOf(b);
+                Assert.assertEquals(ba.multiply(bb).shiftRight(64).longValue(),
+                                    ArithmeticUtils.multiplyHigh(a, b));
+                final BigInteger ua = a < 0 ? ba.add(two64) : ba;
+                final BigInteger ub = b < 0 ? bb.add(two64) : bb;
+                Assert.assertEquals(ua.multiply(ub).shiftRight(64).longValue(),
+                                    ArithmeticUtils.unsignedMultiplyHigh(a, b));
+            }
+        }
+    }
+
+    @Test
+    public void testMultiplyHighImplementation() {
+        // The "java9-multi-release" build profile runs the tests a second
+        // time against the Java 9 classes, with this property set.
+        Assert.assertEquals(Boolean.getBoolean("commons.numbers.java9"),
+                            MultiplyHigh.usesMathMultiplyHigh());
+    }
+
 }
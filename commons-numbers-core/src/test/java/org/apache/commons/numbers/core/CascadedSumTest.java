@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.core;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.DoubleStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link CascadedSum}.
+ */
+public class CascadedSumTest {
+
+    @Test
+    public void testOrder() {
+        Assert.assertEquals(3, CascadedSum.create().getOrder());
+        Assert.assertEquals(3, CascadedSum.of(1, 2).getOrder());
+        Assert.assertEquals(5, CascadedSum.create(5).getOrder());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOrderTooSmall() {
+        CascadedSum.create(1);
+    }
+
+    @Test
+    public void testSum() {
+        for (int order = 2; order <= 5; order++) {
+            Assert.assertEquals(0, CascadedSum.create(order).getAsDouble(), 0);
+            Assert.assertEquals(2, CascadedSum.create(order).add(1).add(1e100).add(1).add(-1e100)
+                                              .getAsDouble(), 0);
+            // Several values lost below the running sum.
+            Assert.assertEquals(3, CascadedSum.create(order).add(1e100).add(1).add(1).add(1).add(-1e100)
+                                              .getAsDouble(), 0);
+        }
+    }
+
+    @Test
+    public void testIllConditioned() {
+        final Random rng = new Random(8642);
+        for (int i = 0; i < 100; i++) {
+            final double[] values = ExactSumTest.illConditioned(rng, 2 + rng.nextInt(200));
+            final double expected = ExactSumTest.exactSum(values);
+            for (int order = 2; order <= 4; order++) {
+                final CascadedSum sum = CascadedSum.create(order);
+                for (double x : values) {
+                    sum.add(x);
+                }
+                // The sum is faithfully rounded.
+                Assert.assertEquals(expected, sum.getAsDouble(), Math.ulp(expected));
+                // Same result on arrays.
+                Assert.assertEquals(sum.getAsDouble(),
+                                    CascadedSum.create(order).add(values, 0, values.length).getAsDouble(), 0);
+            }
+        }
+    }
+
+    @Test
+    public void testSpecialValues() {
+        Assert.assertEquals(Double.NEGATIVE_INFINITY,
+                            CascadedSum.of(1, Double.NEGATIVE_INFINITY).getAsDouble(), 0);
+        Assert.assertEquals(Double.POSITIVE_INFINITY,
+                            CascadedSum.of(Double.MAX_VALUE, Double.MAX_VALUE).getAsDouble(), 0);
+        Assert.assertTrue(Double.isNaN(CascadedSum.of(Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY)
+                                                  .getAsDouble()));
+        Assert.assertTrue(Double.isNaN(CascadedSum.of(1, Double.NaN).getAsDouble()));
+    }
+
+    @Test
+    public void testCombineAndStream() {
+        final double[] values = ExactSumTest.illConditioned(new Random(5), 1000);
+        final double expected = ExactSumTest.exactSum(values);
+        final CascadedSum a = CascadedSum.create().add(values, 0, 600);
+        Assert.assertSame(a, a.combine(CascadedSum.create().add(values, 600, 1000)));
+        Assert.assertEquals(expected, a.getAsDouble(), Math.ulp(expected));
+        Assert.assertEquals(expected, CascadedSum.of(Arrays.stream(values)).getAsDouble(), Math.ulp(expected));
+        Assert.assertEquals(expected, CascadedSum.of(Arrays.stream(values).parallel()).getAsDouble(),
+                            Math.ulp(expected));
+        final CascadedSum sum = CascadedSum.create();
+        Arrays.stream(values).forEach(sum);
+        Assert.assertEquals(expected, sum.getAsDouble(), Math.ulp(expected));
+        Assert.assertEquals(0, CascadedSum.of(DoubleStream.empty()).getAsDouble(), 0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testAddRangeOutOfBounds() {
+        CascadedSum.create().add(new double[3], 0, 4);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.core;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.DoubleStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link CompensatedSum}.
+ */
+public class CompensatedSumTest {
+
+    @Test
+    public void testSum() {
+        Assert.assertEquals(0, CompensatedSum.create().getAsDouble(), 0);
+        Assert.assertEquals(6, CompensatedSum.of(1, 2, 3).getAsDouble(), 0);
+        // Kahan's algorithm gives 0.
+        Assert.assertEquals(2, CompensatedSum.of(1, 1e100, 1, -1e100).getAsDouble(), 0);
+        Assert.assertEquals(1, CompensatedSum.of(1e100, 1, -1e100).getAsDouble(), 0);
+        // 0.1 summed 10 times.
+        final double[] tenths = new double[10];
+        Arrays.fill(tenths, 0.1);
+        Assert.assertEquals(1, CompensatedSum.of(tenths).getAsDouble(), 0);
+    }
+
+    @Test
+    public void testErrorBound() {
+        final Random rng = new Random(12345);
+        for (int i = 0; i < 100; i++) {
+            final double[] values = ExactSumTest.illConditioned(rng, 2 + rng.nextInt(200));
+            final double expected = ExactSumTest.exactSum(values);
+            double sumAbs = 0;
+            for (double x : values) {
+                sumAbs += Math.abs(x);
+            }
+            final double n = values.length;
+            final double eps = 0x1.0p-53;
+            final double bound = 2 * eps * Math.abs(expected) + n * n * eps * eps * sumAbs;
+            Assert.assertEquals(expected, CompensatedSum.of(values).getAsDouble(), bound);
+        }
+    }
+
+    @Test
+    public void testSpecialValues() {
+        Assert.assertEquals(Double.POSITIVE_INFINITY,
+                            CompensatedSum.of(1, Double.POSITIVE_INFINITY).getAsDouble(), 0);
+        Assert.assertEquals(Double.POSITIVE_INFINITY,
+                            CompensatedSum.of(Double.MAX_VALUE, Double.MAX_VALUE).getAsDouble(), 0);
+        Assert.assertTrue(Double.isNaN(CompensatedSum.of(Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY)
+                                                     .getAsDouble()));
+        Assert.assertTrue(Double.isNaN(CompensatedSum.of(1, Double.NaN).getAsDouble()));
+    }
+
+    @Test
+    public void testCombineAndStream() {
+        final double[] values = ExactSumTest.illConditioned(new Random(3), 1000);
+        final double expected = CompensatedSum.of(values).getAsDouble();
+        final CompensatedSum a = CompensatedSum.create().add(values, 0, 400);
+        Assert.assertSame(a, a.combine(CompensatedSum.create().add(values, 400, 1000)));
+        Assert.assertEquals(expected, a.getAsDouble(), Math.ulp(expected));
+        Assert.assertEquals(expected, CompensatedSum.of(Arrays.stream(values)).getAsDouble(), 0);
+        Assert.assertEquals(expected, CompensatedSum.of(Arrays.stream(values).parallel()).getAsDouble(),
+                            Math.ulp(expected));
+        final CompensatedSum sum = CompensatedSum.create();
+        Arrays.stream(values).forEach(sum);
+        Assert.assertEquals(expected, sum.getAsDouble(), 0);
+        Assert.assertEquals(0, CompensatedSum.of(DoubleStream.empty()).getAsDouble(), 0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testAddRangeOutOfBounds() {
+        CompensatedSum.create().add(new double[3], -1, 2);
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.core;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link DDAccumulator}.
+ */
+public class DDAccumulatorTest {
+
+    @Test
+    public void testSameAsDD() {
+        final Random rng = new Random(2468);
+        for (int i = 0; i < 500; i++) {
+            final DD x = DDTest.random(rng);
+            final DD y = DDTest.random(rng);
+            final double z = DDTest.random(rng).getHigh();
+            Assert.assertEquals(x.add(y), DDAccumulator.of(x).add(y).toDD());
+            Assert.assertEquals(x.add(z), DDAccumulator.of(x).add(z).toDD());
+            Assert.assertEquals(x.subtract(y), DDAccumulator.of(x).subtract(y).toDD());
+            Assert.assertEquals(x.subtract(z), DDAccumulator.of(x).subtract(z).toDD());
+            Assert.assertEquals(x.multiply(y), DDAccumulator.of(x).multiply(y).toDD());
+            Assert.assertEquals(x.multiply(z), DDAccumulator.of(x).multiply(z).toDD());
+            Assert.assertEquals(x.divide(y), DDAccumulator.of(x).divide(y).toDD());
+            Assert.assertEquals(x.divide(z), DDAccumulator.of(x).divide(z).toDD());
+            Assert.assertEquals(x.abs().sqrt(), DDAccumulator.of(x.abs()).sqrt().toDD());
+            Assert.assertEquals(x.add(DD.ofProduct(z, z)), DDAccumulator.of(x).addProduct(z, z).toDD());
+        }
+    }
+
+    @Test
+    public void testOperationsDoNotAllocate() {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported() &&
+                          threads.isThreadAllocatedMemoryEnabled());
+        final DD y = DD.ofSum(1.5, 0x1.0p-60);
+        final DDAccumulator acc = DDAccumulator.of(2);
+        final long id = Thread.currentThread().getId();
+        final int n = 10000;
+        final long before = threads.getThreadAllocatedBytes(id);
+        for (int i = 0; i < n; i++) {
+            acc.add(y).add(0.25).subtract(y).subtract(0.25)
+                .multiply(y).divide(y).multiply(1.5).divide(1.5)
+                .addProduct(0.1, 0.3).sqrt();
+        }
+        final long allocated = threads.getThreadAllocatedBytes(id) - before;
+        // A DD per operation would allocate at least 10 * 16 bytes per iteration,
+        // also in interpreted code.
+        Assert.assertTrue("Allocated " + allocated + " bytes", allocated < n);
+        Assert.assertTrue(acc.getHigh() > 1 && acc.getHigh() < 2);
+    }
+
+    @Test
+    public void testDotProduct() {
+        final Random rng = new Random(97531);
+        final int n = 1000;
+        final double[] a = new double[n];
+        final double[] b = new double[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = Math.scalb(rng.nextDouble() - 0.5, rng.nextInt(60) - 30);
+            b[i] = Math.scalb(rng.nextDouble() - 0.5, rng.nextInt(60) - 30);
+        }
+        BigDecimal expected = BigDecimal.ZERO;
+        double sumAbs = 0;
+        final DDAccumulator dot = DDAccumulator.create();
+        for (int i = 0; i < n; i++) {
+            expected = expected.add(new BigDecimal(a[i]).multiply(new BigDecimal(b[i])));
+            sumAbs += Math.abs(a[i] * b[i]);
+            Assert.assertSame(dot, dot.addProduct(a[i], b[i]));
+        }
+        // Error bounded relative to the sum of the magnitudes.
+        final BigDecimal error = dot.bigDecimalValue().subtract(expected).abs();
+        Assert.assertTrue(error.doubleValue() <= n * 0x1.0p-104 * sumAbs);
+        Assert.assertEquals(expected.doubleValue(), dot.getAsDouble(), Math.ulp(expected.doubleValue()));
+    }
+
+    @Test
+    public void testSum() {
+        final double[] values = ExactSumTest.illConditioned(new Random(13579), 500);
+        final DDAccumulator sum = DDAccumulator.create();
+        Assert.assertSame(sum, sum.add(values, 0, values.length));
+        final double expected = ExactSumTest.exactSum(values);
+        Assert.assertEquals(expected, sum.getAsDouble(), Math.ulp(expected));
+        final DDAccumulator sum2 = DDAccumulator.create();
+        Arrays.stream(values).forEach(sum2);
+        Assert.assertEquals(sum.toDD(), sum2.toDD());
+        Assert.assertEquals(sum.getHigh(), sum2.getHigh(), 0);
+        Assert.assertEquals(sum.getLow(), sum2.getLow(), 0);
+    }
+
+    @Test
+    public void testSet() {
+        final DDAccumulator x = DDAccumulator.of(5);
+        Assert.assertEquals(5, x.getAsDouble(), 0);
+        Assert.assertSame(x, x.set(DD.ofSum(1, 0x1.0p-60)));
+        Assert.assertEquals(DD.ofSum(1, 0x1.0p-60), x.toDD());
+        DDTest.assertEqualValue(new BigDecimal(1).add(new BigDecimal(0x1.0p-60)), x.bigDecimalValue());
+        Assert.assertEquals("(1.0 + 8.673617379884035E-19)", x.toString());
+        Assert.assertSame(x, x.set(2));
+        Assert.assertEquals(DD.of(2), x.toDD());
+        Assert.assertEquals(DD.ZERO, DDAccumulator.create().toDD());
+    }
+
+    @Test
+    public void testSpecialValues() {
+        Assert.assertEquals(Double.POSITIVE_INFINITY,
+                            DDAccumulator.create().addProduct(Double.MAX_VALUE, 2).getAsDouble(), 0);
+        Assert.assertTrue(Double.isNaN(DDAccumulator.create().addProduct(Double.POSITIVE_INFINITY, 0)
+                                                    .getAsDouble()));
+        Assert.assertEquals(Double.POSITIVE_INFINITY, DDAccumulator.of(1).divide(0.0).getAsDouble(), 0);
+    }
+
+    @Test
+    public void testCompensatedDivision() {
+        // 1/3 + 1/3 + 1/3 = 1 to double-double precision.
+        final DDAccumulator third = DDAccumulator.of(1).divide(3);
+        final DD t = third.toDD();
+        final BigDecimal sum = third.add(t).add(t).bigDecimalValue();
+        Assert.assertTrue(sum.subtract(BigDecimal.ONE).abs().compareTo(new BigDecimal(0x1.0p-104)) <= 0);
+        Assert.assertEquals(0, BigDecimal.ONE.divide(new BigDecimal(3), new MathContext(30))
+                                             .subtract(t.bigDecimalValue()).abs()
+                                             .compareTo(new BigDecimal(0x1.0p-106)), 1);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testAddRangeOutOfBounds() {
+        DDAccumulator.create().add(new double[2], 1, 3);
+    }
+}
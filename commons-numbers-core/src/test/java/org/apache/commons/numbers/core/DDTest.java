@@ -0,0 +1,285 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.core;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link DD}.
+ */
+public class DDTest {
+    /** Precision of the reference computations. */
+    private static final MathContext MC = new MathContext(60);
+    /** Maximum relative error of the operations. */
+    private static final double EPS = 0x1.0p-100;
+
+    /**
+     * @param rng Generator.
+     * @return a random number, with a random low part.
+     */
+    static DD random(Random rng) {
+        final double hi = Math.scalb(rng.nextDouble() + 0.5, rng.nextInt(80) - 40) * (rng.nextBoolean() ? 1 : -1);
+        return DD.ofSum(hi, hi * 0x1.0p-54 * (rng.nextDouble() - 0.5));
+    }
+
+    /**
+     * Checks the invariant of the representation and the relative error of a number.
+     *
+     * @param msg Message.
+     * @param expected Exact value.
+     * @param actual Number.
+     * @param eps Maximum relative error.
+     */
+    static void assertClose(String msg, BigDecimal expected, DD actual, double eps) {
+        Assert.assertEquals(msg, actual.getHigh(), actual.getHigh() + actual.getLow(), 0);
+        final BigDecimal error = actual.bigDecimalValue().subtract(expected).abs();
+        Assert.assertTrue(msg + ": " + expected + " " + actual.bigDecimalValue(),
+                          error.compareTo(expected.abs().multiply(new BigDecimal(eps))) <= 0);
+    }
+
+    /**
+     * Asserts that two {@code BigDecimal} values are numerically equal.
+     *
+     * @param expected Expected value.
+     * @param actual Actual value.
+     */
+    static void assertEqualValue(BigDecimal expected, BigDecimal actual) {
+        Assert.assertEquals(expected + " " + actual, 0, expected.compareTo(actual));
+    }
+
+    @Test
+    public void testOf() {
+        final DD x = DD.of(1.5);
+        Assert.assertEquals(1.5, x.getHigh(), 0);
+        Assert.assertEquals(0, x.getLow(), 0);
+        Assert.assertEquals(1.5, x.doubleValue(), 0);
+        Assert.assertTrue(x.isFinite());
+        Assert.assertFalse(DD.of(Double.NaN).isFinite());
+        Assert.assertFalse(DD.of(Double.NEGATIVE_INFINITY).isFinite());
+    }
+
+    @Test
+    public void testOfSum() {
+        final DD x = DD.ofSum(1, 0x1.0p-60);
+        Assert.assertEquals(1, x.getHigh(), 0);
+        Assert.assertEquals(0x1.0p-60, x.getLow(), 0);
+        assertEqualValue(new BigDecimal(1).add(new BigDecimal(0x1.0p-60)), x.bigDecimalValue());
+        final DD y = DD.ofSum(0x1.0p-60, 1);
+        Assert.assertEquals(x, y);
+        Assert.assertEquals(Double.POSITIVE_INFINITY, DD.ofSum(Double.MAX_VALUE, Double.MAX_VALUE).getHigh(), 0);
+        Assert.assertEquals(0, DD.ofSum(Double.MAX_VALUE, Double.MAX_VALUE).getLow(), 0);
+    }
+
+    @Test
+    public void testOfProduct() {
+        final Random rng = new Random(123);
+        for (int i = 0; i < 1000; i++) {
+            // Full 53-bit significands.
+            final double a = Math.scalb(1 + rng.nextDouble(), rng.nextInt(200) - 100);
+            final double b = -Math.scalb(1 + rng.nextDouble(), rng.nextInt(200) - 100);
+            final DD p = DD.ofProduct(a, b);
+            // Exact.
+            assertEqualValue(new BigDecimal(a).multiply(new BigDecimal(b)), p.bigDecimalValue());
+        }
+        // Not exact if the factors are split with a bit mask.
+        assertEqualValue(new BigDecimal(0x1.d466a4de10239p0).multiply(new BigDecimal(0x1.9a1713dcdc97bp0)),
+                         DD.ofProduct(0x1.d466a4de10239p0, 0x1.9a1713dcdc97bp0).bigDecimalValue());
+        // Large values, where the split must not overflow.
+        final double a = Double.MAX_VALUE / 3;
+        assertEqualValue(new BigDecimal(a).multiply(new BigDecimal(1.75)),
+                            DD.ofProduct(a, 1.75).bigDecimalValue());
+        final double c = 0x1.fffffffffffffp1000;
+        assertEqualValue(new BigDecimal(c).multiply(new BigDecimal(0x1.0000000000001p-1000)),
+                            DD.ofProduct(c, 0x1.0000000000001p-1000).bigDecimalValue());
+    }
+
+    @Test
+    public void testFromBigDecimal() {
+        final BigDecimal x = new BigDecimal("0.1");
+        final DD d = DD.from(x);
+        Assert.assertEquals(0.1, d.getHigh(), 0);
+        assertClose("0.1", x, d, 0x1.0p-106);
+        Assert.assertEquals(Double.POSITIVE_INFINITY, DD.from(new BigDecimal("1e400")).getHigh(), 0);
+        Assert.assertEquals(Double.NEGATIVE_INFINITY, DD.from(new BigDecimal("-1e400")).getHigh(), 0);
+        final BigDecimal y = new BigDecimal(Math.PI).add(new BigDecimal(0x1.0p-60));
+        assertEqualValue(y, DD.from(y).bigDecimalValue());
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testBigDecimalValueNaN() {
+        DD.of(Double.NaN).bigDecimalValue();
+    }
+
+    @Test
+    public void testArithmetic() {
+        final Random rng = new Random(456789);
+        for (int i = 0; i < 2000; i++) {
+            final DD x = random(rng);
+            final DD y = random(rng);
+            final double z = random(rng).getHigh();
+            final BigDecimal bx = x.bigDecimalValue();
+            final BigDecimal by = y.bigDecimalValue();
+            final BigDecimal bz = new BigDecimal(z);
+            assertClose("add", bx.add(by), x.add(y), EPS);
+            assertClose("add double", bx.add(bz), x.add(z), EPS);
+            assertClose("subtract", bx.subtract(by), x.subtract(y), EPS);
+            assertClose("subtract double", bx.subtract(bz), x.subtract(z), EPS);
+            assertClose("multiply", bx.multiply(by), x.multiply(y), EPS);
+            assertClose("multiply double", bx.multiply(bz), x.multiply(z), EPS);
+            assertClose("multiply int", bx.multiply(new BigDecimal(i - 1000)), x.multiply(i - 1000), EPS);
+            assertClose("divide", bx.divide(by, MC), x.divide(y), EPS);
+            assertClose("divide double", bx.divide(bz, MC), x.divide(z), EPS);
+            assertClose("reciprocal", BigDecimal.ONE.divide(bx, MC), x.reciprocal(), EPS);
+            final DD ax = x.abs();
+            final DD s = ax.sqrt();
+            Assert.assertEquals("sqrt", s.getHigh(), s.getHigh() + s.getLow(), 0);
+            // s^2 = |x| (the relative error of s is half that of s^2).
+            final BigDecimal bax = ax.bigDecimalValue();
+            final BigDecimal error = s.bigDecimalValue().pow(2).subtract(bax).abs();
+            Assert.assertTrue("sqrt", error.compareTo(bax.multiply(new BigDecimal(2 * EPS))) <= 0);
+        }
+    }
+
+    @Test
+    public void testCancellation() {
+        // (1 + 2^-80) - 1
+        final DD x = DD.ofSum(1, 0x1.0p-80).subtract(DD.ONE);
+        Assert.assertEquals(0x1.0p-80, x.getHigh(), 0);
+        Assert.assertEquals(0, x.getLow(), 0);
+        // 1/3 * 3 - 1 is tiny.
+        final DD third = DD.ONE.divide(3);
+        Assert.assertEquals(0, third.multiply(3).subtract(1).getHigh(), 0x1.0p-104);
+    }
+
+    @Test
+    public void testPow() {
+        final DD x = DD.ofSum(1, 0x1.0p-70);
+        final BigDecimal bx = x.bigDecimalValue();
+        for (int n = 0; n <= 20; n++) {
+            assertClose("n=" + n, bx.pow(n), x.pow(n), 2 * n * EPS);
+            assertClose("n=" + -n, BigDecimal.ONE.divide(bx.pow(n), MC), x.pow(-n), (2 * n + 1) * EPS);
+        }
+        Assert.assertEquals(DD.ONE, DD.of(Double.NaN).pow(0));
+        Assert.assertEquals(0, DD.of(2).pow(Integer.MIN_VALUE).getHigh(), 0);
+        Assert.assertEquals(Double.POSITIVE_INFINITY, DD.of(2).pow(Integer.MAX_VALUE).getHigh(), 0);
+    }
+
+    @Test
+    public void testSpecialValues() {
+        final DD inf = DD.of(Double.POSITIVE_INFINITY);
+        final DD one = DD.ONE;
+        Assert.assertEquals(inf, inf.add(one));
+        Assert.assertEquals(inf, one.add(Double.POSITIVE_INFINITY));
+        Assert.assertEquals(inf, inf.multiply(2));
+        Assert.assertEquals(inf, one.divide(0.0));
+        Assert.assertEquals(inf, one.divide(DD.ZERO));
+        Assert.assertEquals(DD.of(Double.NEGATIVE_INFINITY), one.negate().divide(0.0));
+        Assert.assertEquals(inf, inf.sqrt());
+        Assert.assertEquals(DD.ZERO, one.divide(inf));
+        Assert.assertEquals(DD.of(Double.NaN), inf.subtract(inf));
+        Assert.assertEquals(DD.of(Double.NaN), inf.multiply(DD.ZERO));
+        Assert.assertEquals(DD.of(Double.NaN), one.negate().sqrt());
+        Assert.assertEquals(DD.of(-0.0), DD.of(-0.0).sqrt());
+        Assert.assertEquals(DD.of(-0.0), DD.of(-0.0).add(-0.0));
+        Assert.assertEquals(DD.of(-0.0), DD.of(-1).multiply(DD.ZERO));
+        Assert.assertEquals(DD.ZERO, DD.of(-0.0).abs());
+        // Overflow of the result.
+        Assert.assertEquals(inf, DD.of(Double.MAX_VALUE).multiply(DD.of(2)));
+        Assert.assertEquals(inf, DD.of(Double.MAX_VALUE).add(DD.of(Double.MAX_VALUE)));
+    }
+
+    @Test
+    public void testNegate() {
+        final DD x = DD.ofSum(1, 0x1.0p-60);
+        Assert.assertEquals(DD.ofSum(-1, -0x1.0p-60), x.negate());
+        Assert.assertEquals(DD.of(-1), DD.ONE.negate());
+        Assert.assertEquals(x, x.negate().abs());
+        Assert.assertSame(x, x.abs());
+    }
+
+    @Test
+    public void testConversions() {
+        Assert.assertEquals(3, DD.of(3.75).intValue());
+        Assert.assertEquals(-3, DD.of(-3.75).intValue());
+        // Integer high part, fractional low part.
+        Assert.assertEquals(2, DD.ofSum(3, -0x1.0p-60).longValue());
+        Assert.assertEquals(-2, DD.ofSum(-3, 0x1.0p-60).longValue());
+        Assert.assertEquals(3, DD.ofSum(3, 0x1.0p-60).longValue());
+        // Beyond the precision of a double.
+        final long big = (1L << 60) + 12345;
+        Assert.assertEquals(big, DD.ofSum(1L << 60, 12345).longValue());
+        Assert.assertEquals(-big, DD.ofSum(-(1L << 60), -12345).longValue());
+        Assert.assertEquals(Long.MAX_VALUE - 99, DD.ofSum(0x1.0p63, -100).longValue());
+        Assert.assertEquals(Long.MIN_VALUE + 100, DD.ofSum(-0x1.0p63, 100).longValue());
+        Assert.assertEquals(Long.MAX_VALUE, DD.ofSum(0x1.0p63, 100).longValue());
+        Assert.assertEquals(Long.MIN_VALUE, DD.ofSum(-0x1.0p63, -100).longValue());
+        Assert.assertEquals(Long.MAX_VALUE, DD.of(1e300).longValue());
+        Assert.assertEquals(0, DD.of(Double.NaN).longValue());
+        Assert.assertEquals(Integer.MAX_VALUE, DD.of(1e300).intValue());
+        Assert.assertEquals(Integer.MIN_VALUE, DD.of(Double.NEGATIVE_INFINITY).intValue());
+        Assert.assertEquals(0.1f, DD.from(new BigDecimal("0.1")).floatValue(), 0);
+    }
+
+    @Test
+    public void testEqualsAndCompareTo() {
+        final DD x = DD.ofSum(1, 0x1.0p-60);
+        final DD y = DD.ofSum(1, 0x1.0p-61);
+        Assert.assertEquals(x, DD.ofSum(1, 0x1.0p-60));
+        Assert.assertEquals(x.hashCode(), DD.ofSum(1, 0x1.0p-60).hashCode());
+        Assert.assertNotEquals(x, y);
+        Assert.assertNotEquals(x, null);
+        Assert.assertNotEquals(x, 1.0);
+        Assert.assertEquals(DD.of(Double.NaN), DD.of(Double.NaN));
+        Assert.assertNotEquals(DD.ZERO, DD.of(-0.0));
+        Assert.assertTrue(x.compareTo(y) > 0);
+        Assert.assertTrue(y.compareTo(x) < 0);
+        Assert.assertEquals(0, x.compareTo(DD.ofSum(1, 0x1.0p-60)));
+        Assert.assertTrue(DD.of(-0.0).compareTo(DD.ZERO) < 0);
+        Assert.assertTrue(DD.of(Double.NaN).compareTo(DD.of(Double.POSITIVE_INFINITY)) > 0);
+        Assert.assertEquals(DD.ZERO, x.zero());
+        Assert.assertEquals(DD.ONE, x.one());
+    }
+
+    @Test
+    public void testEqualsWithTolerance() {
+        final DD x = DD.ofSum(1, 0x1.0p-60);
+        final DD y = DD.ofSum(1, 0x1.0p-61);
+        // Equal as double values.
+        Assert.assertEquals(x.getHigh(), y.getHigh(), 0);
+        Assert.assertTrue(DD.equals(x, y, 0x1.0p-61));
+        Assert.assertFalse(DD.equals(x, y, 0x1.0p-62));
+        Assert.assertTrue(DD.equalsWithRelativeTolerance(x, y, 0x1.0p-61));
+        Assert.assertFalse(DD.equalsWithRelativeTolerance(x, y, 0x1.0p-62));
+        Assert.assertTrue(DD.equalsWithRelativeTolerance(DD.ZERO, DD.ZERO, 0));
+        Assert.assertEquals(0, DD.compareTo(x, y, 0x1.0p-61));
+        Assert.assertEquals(1, DD.compareTo(x, y, 0x1.0p-62));
+        Assert.assertEquals(-1, DD.compareTo(y, x, 0x1.0p-62));
+        Assert.assertFalse(DD.equals(x, DD.of(Double.NaN), 1));
+        Assert.assertEquals(1, DD.compareTo(x, DD.of(Double.NaN), 1));
+    }
+
+    @Test
+    public void testToString() {
+        Assert.assertEquals("(1.0 + 8.673617379884035E-19)", DD.ofSum(1, 0x1.0p-60).toString());
+    }
+}
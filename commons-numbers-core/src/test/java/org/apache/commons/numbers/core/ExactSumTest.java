@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.core;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.DoubleStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link ExactSum}.
+ */
+public class ExactSumTest {
+
+    /**
+     * Computes the exact sum of finite values, correctly rounded.
+     *
+     * @param values Values.
+     * @return the sum.
+     */
+    static double exactSum(double... values) {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (double x : values) {
+            sum = sum.add(new BigDecimal(x));
+        }
+        return sum.doubleValue();
+    }
+
+    /**
+     * @param rng Generator.
+     * @param n Number of values.
+     * @return values of random signs and magnitudes, with heavy cancellation.
+     */
+    static double[] illConditioned(Random rng, int n) {
+        final double[] values = new double[n];
+        for (int i = 0; i < n; i += 2) {
+            final double x = Math.scalb(rng.nextDouble(), rng.nextInt(200) - 100);
+            values[i] = x;
+            if (i + 1 < n) {
+                // Cancel the large value, almost.
+                values[i + 1] = -x * (1 + Math.scalb(rng.nextDouble(), -40));
+            }
+        }
+        return values;
+    }
+
+    @Test
+    public void testEmpty() {
+        Assert.assertEquals(0.0, ExactSum.create().getAsDouble(), 0);
+        Assert.assertEquals(0.0, ExactSum.of().getAsDouble(), 0);
+        // An exact zero is positive.
+        Assert.assertEquals(Double.doubleToLongBits(0.0),
+                            Double.doubleToLongBits(ExactSum.of(-0.0, -0.0).getAsDouble()));
+        Assert.assertEquals(0.0, ExactSum.of(1.5, -1.5).getAsDouble(), 0);
+    }
+
+    @Test
+    public void testCancellation() {
+        Assert.assertEquals(1, ExactSum.of(1e100, 1, -1e100).getAsDouble(), 0);
+        Assert.assertEquals(2, ExactSum.of(1, 1e100, 1, -1e100).getAsDouble(), 0);
+        Assert.assertEquals(-0x1.0p-1074, ExactSum.of(Double.MAX_VALUE, -Double.MIN_VALUE, -Double.MAX_VALUE)
+                                                  .getAsDouble(), 0);
+        Assert.assertEquals(0x1.0p-100, ExactSum.of(1, 0x1.0p-100, -1).getAsDouble(), 0);
+    }
+
+    @Test
+    public void testRounding() {
+        // Ties to even.
+        Assert.assertEquals(1, ExactSum.of(1, 0x1.0p-53).getAsDouble(), 0);
+        Assert.assertEquals(1 + 0x1.0p-51, ExactSum.of(1 + 0x1.0p-52, 0x1.0p-53).getAsDouble(), 0);
+        // Just above the tie, by a bit far below the significand.
+        Assert.assertEquals(1 + 0x1.0p-52, ExactSum.of(1, 0x1.0p-53, 0x1.0p-1000).getAsDouble(), 0);
+        Assert.assertEquals(-1 - 0x1.0p-52, ExactSum.of(-1, -0x1.0p-53, -0x1.0p-1000).getAsDouble(), 0);
+        // Just below the tie.
+        Assert.assertEquals(1, ExactSum.of(1, 0x1.0p-53, -0x1.0p-1000).getAsDouble(), 0);
+    }
+
+    @Test
+    public void testSubnormal() {
+        Assert.assertEquals(3 * Double.MIN_VALUE,
+                            ExactSum.of(Double.MIN_VALUE, Double.MIN_VALUE, Double.MIN_VALUE).getAsDouble(), 0);
+        Assert.assertEquals(Double.MIN_NORMAL,
+                            ExactSum.of(Double.MIN_NORMAL - Double.MIN_VALUE, Double.MIN_VALUE).getAsDouble(), 0);
+        Assert.assertEquals(-2 * Double.MIN_NORMAL,
+                            ExactSum.of(-Double.MIN_NORMAL, -Double.MIN_NORMAL).getAsDouble(), 0);
+    }
+
+    @Test
+    public void testOverflow() {
+        Assert.assertEquals(Double.POSITIVE_INFINITY,
+                            ExactSum.of(Double.MAX_VALUE, Double.MAX_VALUE).getAsDouble(), 0);
+        Assert.assertEquals(Double.NEGATIVE_INFINITY,
+                            ExactSum.of(-Double.MAX_VALUE, -Double.MAX_VALUE).getAsDouble(), 0);
+        // The intermediate overflow does not matter.
+        Assert.assertEquals(Double.MAX_VALUE,
+                            ExactSum.of(Double.MAX_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE).getAsDouble(), 0);
+        // Rounding up to 2^1024.
+        Assert.assertEquals(Double.POSITIVE_INFINITY,
+                            ExactSum.of(Double.MAX_VALUE, Math.ulp(Double.MAX_VALUE) / 2).getAsDouble(), 0);
+        Assert.assertEquals(Double.MAX_VALUE,
+                            ExactSum.of(Double.MAX_VALUE, Math.ulp(Double.MAX_VALUE) / 4).getAsDouble(), 0);
+        final double[] values = new double[1000];
+        Arrays.fill(values, Double.MAX_VALUE);
+        Assert.assertEquals(Double.POSITIVE_INFINITY, ExactSum.of(values).getAsDouble(), 0);
+    }
+
+    @Test
+    public void testSpecialValues() {
+        Assert.assertEquals(Double.POSITIVE_INFINITY,
+                            ExactSum.of(1, Double.POSITIVE_INFINITY, -Double.MAX_VALUE).getAsDouble(), 0);
+        Assert.assertEquals(Double.NEGATIVE_INFINITY,
+                            ExactSum.of(Double.NEGATIVE_INFINITY, Double.MAX_VALUE).getAsDouble(), 0);
+        Assert.assertTrue(Double.isNaN(ExactSum.of(Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY)
+                                               .getAsDouble()));
+        Assert.assertTrue(Double.isNaN(ExactSum.of(1, Double.NaN).getAsDouble()));
+    }
+
+    @Test
+    public void testSameAsBigDecimal() {
+        final Random rng = new Random(1234567);
+        for (int i = 0; i < 200; i++) {
+            final double[] values = illConditioned(rng, 1 + rng.nextInt(100));
+            Assert.assertEquals(exactSum(values), ExactSum.of(values).getAsDouble(), 0);
+        }
+        for (int i = 0; i < 200; i++) {
+            // Full exponent range, including the subnormal numbers.
+            final double[] values = new double[1 + rng.nextInt(20)];
+            for (int j = 0; j < values.length; j++) {
+                values[j] = Double.longBitsToDouble(rng.nextLong() & 0xffefffffffffffffL);
+            }
+            final double expected = exactSum(values);
+            final double actual = ExactSum.of(values).getAsDouble();
+            if (Double.isInfinite(expected)) {
+                Assert.assertEquals(expected, actual, 0);
+            } else {
+                Assert.assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(actual));
+            }
+        }
+    }
+
+    @Test
+    public void testOrderIndependent() {
+        final Random rng = new Random(42);
+        final double[] values = illConditioned(rng, 1001);
+        final double expected = exactSum(values);
+        for (int i = 0; i < 10; i++) {
+            // Shuffle.
+            for (int j = values.length - 1; j > 0; j--) {
+                final int k = rng.nextInt(j + 1);
+                final double t = values[j];
+                values[j] = values[k];
+                values[k] = t;
+            }
+            Assert.assertEquals(expected, ExactSum.of(values).getAsDouble(), 0);
+        }
+    }
+
+    @Test
+    public void testCombine() {
+        final double[] values = illConditioned(new Random(7), 100);
+        final ExactSum a = ExactSum.create().add(values, 0, 37);
+        final ExactSum b = ExactSum.create().add(values, 37, 100);
+        final double sumB = b.getAsDouble();
+        Assert.assertSame(a, a.combine(b));
+        Assert.assertEquals(exactSum(values), a.getAsDouble(), 0);
+        Assert.assertEquals(sumB, b.getAsDouble(), 0);
+        Assert.assertTrue(Double.isNaN(ExactSum.of(1).combine(ExactSum.of(Double.NaN)).getAsDouble()));
+    }
+
+    @Test
+    public void testStream() {
+        final double[] values = illConditioned(new Random(99), 10000);
+        final double expected = exactSum(values);
+        Assert.assertEquals(expected, ExactSum.of(Arrays.stream(values)).getAsDouble(), 0);
+        Assert.assertEquals(expected, ExactSum.of(Arrays.stream(values).parallel()).getAsDouble(), 0);
+        final ExactSum sum = ExactSum.create();
+        Arrays.stream(values).forEach(sum);
+        Assert.assertEquals(expected, sum.getAsDouble(), 0);
+        Assert.assertEquals(0, ExactSum.of(DoubleStream.empty()).getAsDouble(), 0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testAddRangeOutOfBounds() {
+        ExactSum.create().add(new double[3], 1, 4);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testAddRangeReversed() {
+        ExactSum.create().add(new double[3], 2, 1);
+    }
+}
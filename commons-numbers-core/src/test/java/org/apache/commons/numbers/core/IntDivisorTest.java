@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.core;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for the {@link IntDivisor} class.
+ */
+public class IntDivisorTest {
+
+    /**
+     * @param rng Generator.
+     * @param size Number of values.
+     * @return special and random values.
+     */
+    private static int[] values(Random rng, int size) {
+        final int[] special = {
+            0, 1, -1, 2, -2, 3, -3, 5, 6, 7, 10, 641, 1000, 6700417, 1 << 30, (1 << 30) + 1,
+            Integer.MAX_VALUE, Integer.MAX_VALUE - 1, Integer.MIN_VALUE, Integer.MIN_VALUE + 1,
+            -7, -10, -1000, 0x80000001, 0xfffffffe, 0xaaaaaaab
+        };
+        final int[] values = new int[size];
+        System.arraycopy(special, 0, values, 0, special.length);
+        for (int i = special.length; i < size; i++) {
+            // Random values of random magnitudes.
+            values[i] = rng.nextInt() >> rng.nextInt(32);
+        }
+        return values;
+    }
+
+    @Test
+    public void testDivide() {
+        final Random rng = new Random(1234);
+        final int[] divisors = values(rng, 500);
+        final int[] dividends = values(rng, 500);
+        for (int d : divisors) {
+            if (d == 0) {
+                continue;
+            }
+            final IntDivisor signed = IntDivisor.of(d);
+            final IntDivisor unsigned = IntDivisor.ofUnsigned(d);
+            Assert.assertEquals(d, signed.getDivisor());
+            Assert.assertEquals(d, unsigned.getDivisor());
+            for (int n : dividends) {
+                Assert.assertEquals(n + " / " + d, n / d, signed.divide(n));
+                Assert.assertEquals(n + " % " + d, n % d, signed.remainder(n));
+                Assert.assertEquals(n + " /u " + d, Integer.divideUnsigned(n, d), unsigned.divide(n));
+                Assert.assertEquals(n + " %u " + d, Integer.remainderUnsigned(n, d), unsigned.remainder(n));
+            }
+        }
+    }
+
+    @Test
+    public void testAllDividends() {
+        // Divisors that need the different forms of the multiplier.
+        for (int d : new int[] {3, 7, 641, -7, 1000000007, Integer.MIN_VALUE}) {
+            final IntDivisor signed = IntDivisor.of(d);
+            final IntDivisor unsigned = IntDivisor.ofUnsigned(d);
+            for (long x = Integer.MIN_VALUE; x <= Integer.MAX_VALUE; x += 997) {
+                final int n = (int) x;
+                Assert.assertEquals(n / d, signed.divide(n));
+                Assert.assertEquals(Integer.divideUnsigned(n, d), unsigned.divide(n));
+            }
+        }
+    }
+
+    @Test
+    public void testArrays() {
+        final Random rng = new Random(99);
+        final int[] n = values(rng, 100);
+        final int[] result = new int[n.length];
+        for (int d : new int[] {7, -7, 16, 1}) {
+            for (IntDivisor divisor : new IntDivisor[] {IntDivisor.of(d), IntDivisor.ofUnsigned(d)}) {
+                divisor.divide(n, result);
+                for (int i = 0; i < n.length; i++) {
+                    Assert.assertEquals(divisor.divide(n[i]), result[i]);
+                }
+                divisor.remainder(n, result);
+                for (int i = 0; i < n.length; i++) {
+                    Assert.assertEquals(divisor.remainder(n[i]), result[i]);
+                }
+                // In place.
+                final int[] copy = n.clone();
+                divisor.divide(copy, copy);
+                for (int i = 0; i < n.length; i++) {
+                    Assert.assertEquals(divisor.divide(n[i]), copy[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testToString() {
+        Assert.assertTrue(IntDivisor.of(-42).toString().contains("-42"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZero() {
+        IntDivisor.of(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsignedZero() {
+        IntDivisor.ofUnsigned(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testArrayLength() {
+        IntDivisor.of(3).divide(new int[3], new int[2]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRemainderArrayLength() {
+        IntDivisor.ofUnsigned(3).remainder(new int[3], new int[4]);
+    }
+}
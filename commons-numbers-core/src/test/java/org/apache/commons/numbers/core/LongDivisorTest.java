@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.core;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for the {@link LongDivisor} class.
+ */
+public class LongDivisorTest {
+
+    /**
+     * @param rng Generator.
+     * @param size Number of values.
+     * @return special and random values.
+     */
+    private static long[] values(Random rng, int size) {
+        final long[] special = {
+            0, 1, -1, 2, -2, 3, -3, 5, 6, 7, 10, 641, 1000, 6700417, 1L << 62, (1L << 62) + 1,
+            Integer.MAX_VALUE, Integer.MIN_VALUE, 1L << 32, 0xffffffffL, 1000000007,
+            Long.MAX_VALUE, Long.MAX_VALUE - 1, Long.MIN_VALUE, Long.MIN_VALUE + 1,
+            -7, -10, -1000, 0x8000000000000001L, 0xfffffffffffffffeL, 0xaaaaaaaaaaaaaaabL,
+            274177, 67280421310721L
+        };
+        final long[] values = new long[size];
+        System.arraycopy(special, 0, values, 0, special.length);
+        for (int i = special.length; i < size; i++) {
+            // Random values of random magnitudes.
+            values[i] = rng.nextLong() >> rng.nextInt(64);
+        }
+        return values;
+    }
+
+    @Test
+    public void testDivide() {
+        final Random rng = new Random(4321);
+        final long[] divisors = values(rng, 500);
+        final long[] dividends = values(rng, 500);
+        for (long d : divisors) {
+            if (d == 0) {
+                continue;
+            }
+            final LongDivisor signed = LongDivisor.of(d);
+            final LongDivisor unsigned = LongDivisor.ofUnsigned(d);
+            Assert.assertEquals(d, signed.getDivisor());
+            Assert.assertEquals(d, unsigned.getDivisor());
+            for (long n : dividends) {
+                Assert.assertEquals(n + " / " + d, n / d, signed.divide(n));
+                Assert.assertEquals(n + " % " + d, n % d, signed.remainder(n));
+                Assert.assertEquals(n + " /u " + d, Long.divideUnsigned(n, d), unsigned.divide(n));
+                Assert.assertEquals(n + " %u " + d, Long.remainderUnsigned(n, d), unsigned.remainder(n));
+            }
+        }
+    }
+
+    @Test
+    public void testArrays() {
+        final Random rng = new Random(77);
+        final long[] n = values(rng, 100);
+        final long[] result = new long[n.length];
+        for (long d : new long[] {7, -7, 1L << 40, 1}) {
+            for (LongDivisor divisor : new LongDivisor[] {LongDivisor.of(d), LongDivisor.ofUnsigned(d)}) {
+                divisor.divide(n, result);
+                for (int i = 0; i < n.length; i++) {
+                    Assert.assertEquals(divisor.divide(n[i]), result[i]);
+                }
+                divisor.remainder(n, result);
+                for (int i = 0; i < n.length; i++) {
+                    Assert.assertEquals(divisor.remainder(n[i]), result[i]);
+                }
+                // In place.
+                final long[] copy = n.clone();
+                divisor.remainder(copy, copy);
+                for (int i = 0; i < n.length; i++) {
+                    Assert.assertEquals(divisor.remainder(n[i]), copy[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testToString() {
+        Assert.assertTrue(LongDivisor.ofUnsigned(42).toString().contains("42"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZero() {
+        LongDivisor.of(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsignedZero() {
+        LongDivisor.ofUnsigned(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testArrayLength() {
+        LongDivisor.of(3).divide(new long[3], new long[2]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRemainderArrayLength() {
+        LongDivisor.ofUnsigned(3).remainder(new long[3], new long[4]);
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.core;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for the {@link Modulus} class.
+ */
+public class ModulusTest {
+
+    /** Moduli that exercise the special cases of the reductions. */
+    private static final long[] MODULI = {
+        1, 2, 3, 4, 5, 7, 10, 64, 97, 1000, 1L << 31, (1L << 31) + 1, 1000000007,
+        (1L << 32) - 5, 1L << 32, (1L << 32) + 15, 0xffffffffffffL,
+        (1L << 61) - 1, (1L << 62) - 57, 1L << 62, (1L << 62) + 1,
+        Long.MAX_VALUE - 1, Long.MAX_VALUE - 24, Long.MAX_VALUE
+    };
+
+    /**
+     * @param m Modulus.
+     * @return the instances to test.
+     */
+    private static Modulus[] create(long m) {
+        if ((m & 1) == 1) {
+            return new Modulus[] {Modulus.of(m), Modulus.montgomery(m), Modulus.barrett(m)};
+        }
+        return new Modulus[] {Modulus.of(m), Modulus.barrett(m)};
+    }
+
+    /**
+     * @param rng Generator.
+     * @param m Modulus.
+     * @return values in and out of the range {@code [0, m)}.
+     */
+    private static long[] values(Random rng, long m) {
+        final long[] values = new long[40];
+        values[0] = 0;
+        values[1] = 1;
+        values[2] = m - 1;
+        values[3] = -1;
+        values[4] = Long.MIN_VALUE;
+        values[5] = Long.MAX_VALUE;
+        values[6] = m;
+        for (int i = 7; i < 30; i++) {
+            values[i] = Math.floorMod(rng.nextLong(), m);
+        }
+        for (int i = 30; i < values.length; i++) {
+            values[i] = rng.nextLong();
+        }
+        return values;
+    }
+
+    @Test
+    public void testFactories() {
+        Assert.assertEquals(97, Modulus.of(97).getModulus());
+        Assert.assertEquals(Modulus.montgomery(97).getClass(), Modulus.of(97).getClass());
+        Assert.assertEquals(Modulus.barrett(98).getClass(), Modulus.of(98).getClass());
+        Assert.assertNotEquals(Modulus.montgomery(97).getClass(), Modulus.barrett(97).getClass());
+        Assert.assertTrue(Modulus.of(10).toString().contains("10"));
+    }
+
+    @Test
+    public void testReduce() {
+        final Modulus mod = Modulus.of(10);
+        Assert.assertEquals(3, mod.reduce(3));
+        Assert.assertEquals(3, mod.reduce(13));
+        Assert.assertEquals(7, mod.reduce(-3));
+        Assert.assertEquals(2, mod.reduce(Long.MIN_VALUE));
+    }
+
+    @Test
+    public void testMulMod() {
+        final Random rng = new Random(42);
+        for (long m : MODULI) {
+            final BigInteger bm = BigInteger.valueOf(m);
+            final long[] values = values(rng, m);
+            for (Modulus mod : create(m)) {
+                for (long a : values) {
+                    for (long b : values) {
+                        final long expected = BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)).mod(bm).longValue();
+                        Assert.assertEquals(mod + " " + a + " * " + b, expected, mod.mulMod(a, b));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPowMod() {
+        final Random rng = new Random(17);
+        final long[] exponents = {0, 1, 2, 3, 62, 63, 64, 1000, Long.MAX_VALUE, 0, 0, 0, 0};
+        for (long m : MODULI) {
+            final BigInteger bm = BigInteger.valueOf(m);
+            final long[] values = values(rng, m);
+            for (int i = 9; i < exponents.length; i++) {
+                exponents[i] = rng.nextLong() >>> 1;
+            }
+            for (Modulus mod : create(m)) {
+                for (long a : values) {
+                    for (long e : exponents) {
+                        final long expected = BigInteger.valueOf(a).modPow(BigInteger.valueOf(e), bm).longValue();
+                        Assert.assertEquals(mod + " " + a + " ^ " + e, expected, mod.powMod(a, e));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testNegativePowMod() {
+        final long[] exponents = {-1, -2, -63, -1000, Long.MIN_VALUE + 1, Long.MIN_VALUE};
+        for (long m : new long[] {97, 1000000007, (1L << 61) - 1}) {
+            final BigInteger bm = BigInteger.valueOf(m);
+            for (Modulus mod : create(m)) {
+                for (long a : new long[] {2, 3, -5, m - 1, 123456789}) {
+                    for (long e : exponents) {
+                        final long expected = BigInteger.valueOf(a).modPow(BigInteger.valueOf(e), bm).longValue();
+                        Assert.assertEquals(mod + " " + a + " ^ " + e, expected, mod.powMod(a, e));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testNegativePowModNotInvertible() {
+        Modulus.of(10).powMod(4, -1);
+    }
+
+    @Test
+    public void testInverseMod() {
+        final Random rng = new Random(5);
+        for (long m : MODULI) {
+            final BigInteger bm = BigInteger.valueOf(m);
+            for (Modulus mod : create(m)) {
+                for (long a : values(rng, m)) {
+                    final BigInteger ba = BigInteger.valueOf(a);
+                    if (ba.gcd(bm).equals(BigInteger.ONE)) {
+                        Assert.assertEquals(mod + " " + a, ba.modInverse(bm).longValue(), mod.inverseMod(a));
+                    } else {
+                        try {
+                            mod.inverseMod(a);
+                            Assert.fail("Expecting ArithmeticException for " + mod + " " + a);
+                        } catch (ArithmeticException ex) {
+                            // Expected
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testBatchMulMod() {
+        final Random rng = new Random(11);
+        for (long m : MODULI) {
+            final long[] a = values(rng, m);
+            final long[] b = values(rng, m);
+            for (Modulus mod : create(m)) {
+                final long[] result = new long[a.length];
+                mod.mulMod(a, b, result);
+                for (int i = 0; i < a.length; i++) {
+                    Assert.assertEquals(mod.mulMod(a[i], b[i]), result[i]);
+                }
+                for (long c : new long[] {0, 1, -1, m - 1, rng.nextLong()}) {
+                    mod.mulMod(a, c, result);
+                    for (int i = 0; i < a.length; i++) {
+                        Assert.assertEquals(mod.mulMod(a[i], c), result[i]);
+                    }
+                }
+                // In place.
+                final long[] copy = a.clone();
+                mod.mulMod(copy, b, copy);
+                for (int i = 0; i < a.length; i++) {
+                    Assert.assertEquals(mod.mulMod(a[i], b[i]), copy[i]);
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBatchMulModLength() {
+        Modulus.of(7).mulMod(new long[3], new long[2], new long[3]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBatchScalarMulModLength() {
+        Modulus.of(7).mulMod(new long[3], 2, new long[2]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroModulus() {
+        Modulus.of(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeModulus() {
+        Modulus.barrett(-7);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEvenMontgomeryModulus() {
+        Modulus.montgomery(10);
+    }
+}
@@ -14,7 +14,10 @@
 package org.apache.commons.numbers.core;
 
 import java.math.BigDecimal;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.math.RoundingMode;
+import java.util.Random;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -24,6 +27,9 @@ import org.junit.Test;
  *
  */
 public class PrecisionTest {
+    /** Bounds of the unscaled values of random decimal numbers. */
+    private static final long[] POWERS = {10L, 1000L, 100000L, 10000000L, 1000000000L, 100000000000000L, 10000000000000000L};
+
     @Test
     public void testEqualsWithRelativeTolerance() {
         Assert.assertTrue(Precision.equalsWithRelativeTolerance(0d, 0d, 0d));
@@ -389,6 +395,115 @@ public class PrecisionTest {
     }
 
 
+    /**
+     * Reference implementation of {@link Precision#round(double, int, RoundingMode)},
+     * with {@link BigDecimal}.
+     */
+    private static double roundBigDecimal(double x, int scale, RoundingMode roundingMethod) {
+        try {
+            final double rounded = (new BigDecimal(Double.toString(x))
+                   .setScale(scale, roundingMethod))
+                   .doubleValue();
+            return rounded == 0d ? 0d * x : rounded;
+        } catch (NumberFormatException ex) {
+            return Double.isInfinite(x) ? x : Double.NaN;
+        }
+    }
+
+    /**
+     * Asserts that {@link Precision#round(double, int, RoundingMode)} gives
+     * the same result, or exception, as the reference implementation for
+     * all the rounding modes.
+     */
+    private static void assertRoundSameAsBigDecimal(double x, int scale) {
+        for (RoundingMode mode : RoundingMode.values()) {
+            double expected;
+            try {
+                expected = roundBigDecimal(x, scale, mode);
+            } catch (ArithmeticException ex) {
+                try {
+                    Precision.round(x, scale, mode);
+                    Assert.fail("Expecting ArithmeticException: " + x + " " + scale + " " + mode);
+                } catch (ArithmeticException ex2) {
+                    // Expected
+                }
+                continue;
+            }
+            final double actual = Precision.round(x, scale, mode);
+            if (Double.doubleToRawLongBits(expected) != Double.doubleToRawLongBits(actual)) {
+                Assert.fail(x + " (" + Double.toString(x) + ") scale " + scale + " " + mode +
+                            ": expected " + expected + " but was " + actual);
+            }
+        }
+    }
+
+    @Test
+    public void testRoundSameAsBigDecimal() {
+        final Random rng = new Random(20200101);
+        final int[] scales = {-3, -1, 0, 1, 2, 3, 4, 6, 9, 12, 15, 16, 17, 18, 25};
+        for (int scale : scales) {
+            for (int i = 0; i < 500; i++) {
+                // Short decimal numbers, ties, and their neighbours.
+                final int digits = rng.nextInt(10);
+                final long unscaled = rng.nextLong() % POWERS[rng.nextInt(POWERS.length)];
+                final double d = new BigDecimal(BigInteger.valueOf(unscaled), digits).doubleValue();
+                final double t = new BigDecimal(BigInteger.valueOf(unscaled * 10 + 5), digits + 1).doubleValue();
+                for (double x : new double[] {d, t}) {
+                    assertRoundSameAsBigDecimal(x, scale);
+                    assertRoundSameAsBigDecimal(Math.nextUp(x), scale);
+                    assertRoundSameAsBigDecimal(Math.nextDown(x), scale);
+                }
+                // Random values of all magnitudes.
+                assertRoundSameAsBigDecimal(rng.nextDouble() * Math.pow(10, rng.nextInt(40) - 20), scale);
+                assertRoundSameAsBigDecimal(-rng.nextDouble(), scale);
+                assertRoundSameAsBigDecimal(Double.longBitsToDouble(rng.nextLong()), scale);
+            }
+        }
+    }
+
+    @Test
+    public void testRoundSameAsBigDecimalSpecialValues() {
+        final double[] values = {
+            0.5, 1.5, 2.5, 0.05, 0.15, 0.25, 0.35, 1e-5, 5e-5, 1e-300, Double.MIN_VALUE, Double.MIN_NORMAL,
+            Math.nextDown(Double.MIN_NORMAL), Double.MAX_VALUE, 0x1.0p52, 0x1.0p53, 0x1.0p52 - 0.5,
+            0x1.0p-1, 0x1.0p-20, 0x1.0p-60, 0x1.0p-64, 0x1.0p-100, 4503599627370495.5, 9007199254740991.0,
+            1e15, 1e16, 1e17, 0.1, 0.2, 0.3, 0.7, 0.9999999999999999, 123456.785, 39.245, 30.095,
+            2.0E-3, 1.0E23, 2.82879384806159E17, 1.1, 1.005, 1.0000000000000002,
+            Double.NaN, Double.POSITIVE_INFINITY, 0.0, -0.0
+        };
+        for (double v : values) {
+            for (double x : new double[] {v, -v, Math.nextUp(v), Math.nextDown(v)}) {
+                for (int scale = -2; scale <= 20; scale++) {
+                    assertRoundSameAsBigDecimal(x, scale);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRoundArray() {
+        final double[] x = {1.2345, -1.2355, 39.245, Double.NaN, -0.0, 1e-10};
+        final double[] result = new double[x.length];
+        Precision.round(x, 3, RoundingMode.HALF_EVEN, result);
+        for (int i = 0; i < x.length; i++) {
+            Assert.assertEquals(Precision.round(x[i], 3, RoundingMode.HALF_EVEN), result[i], 0.0);
+        }
+        // In place.
+        Precision.round(x, 1, RoundingMode.UP, x);
+        Assert.assertEquals(1.3, x[0], 0.0);
+        Assert.assertEquals(-1.3, x[1], 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRoundArrayLength() {
+        Precision.round(new double[2], 2, RoundingMode.HALF_UP, new double[3]);
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testRoundArrayUnnecessary() {
+        Precision.round(new double[] {1.5, 1.25}, 1, RoundingMode.UNNECESSARY, new double[2]);
+    }
+
     @Test
     public void testIssue721() {
         Assert.assertEquals(-53,   Math.getExponent(Precision.EPSILON));
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.examples.jmh.complex;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.numbers.complex.AccurateComplexOperations;
+import org.apache.commons.numbers.complex.Complex;
+import org.apache.commons.numbers.complex.ComplexArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Executes a benchmark of {@link AccurateComplexOperations} against the
+ * arithmetic of {@link Complex} and {@link ComplexArray}.
+ * <p>
+ * On Java 9 or later the accurate operations use {@code Math.fma}; the Java 8
+ * implementation can be measured with
+ * {@code -jvmArgsAppend -Djdk.util.jar.enableMultiRelease=false}.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class AccurateComplexOperationsPerformance {
+    /** Number of values. */
+    private static final int SIZE = 4096;
+
+    /** First operand. */
+    private ComplexArray x;
+    /** Second operand. */
+    private ComplexArray y;
+    /** Result. */
+    private ComplexArray result;
+    /** Moduli. */
+    private double[] moduli;
+
+    /** Create the data. */
+    @Setup
+    public void setup() {
+        final Random rng = new Random(SIZE);
+        x = ComplexArray.ofSize(SIZE);
+        y = ComplexArray.ofSize(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            x.set(i, rng.nextDouble() - 0.5, rng.nextDouble() - 0.5);
+            y.set(i, rng.nextDouble() - 0.5, rng.nextDouble() - 0.5);
+        }
+        result = ComplexArray.ofSize(SIZE);
+        moduli = new double[SIZE];
+    }
+
+    /**
+     * @return the products computed with {@link ComplexArray}.
+     */
+    @Benchmark
+    public ComplexArray multiply() {
+        ComplexArray.multiply(x, y, result);
+        return result;
+    }
+
+    /**
+     * @return the accurate products.
+     */
+    @Benchmark
+    public ComplexArray accurateMultiply() {
+        AccurateComplexOperations.multiply(x, y, result);
+        return result;
+    }
+
+    /**
+     * @return the quotients computed with {@link ComplexArray}.
+     */
+    @Benchmark
+    public ComplexArray divide() {
+        ComplexArray.divide(x, y, result);
+        return result;
+    }
+
+    /**
+     * @return the accurate quotients.
+     */
+    @Benchmark
+    public ComplexArray accurateDivide() {
+        AccurateComplexOperations.divide(x, y, result);
+        return result;
+    }
+
+    /**
+     * @return the moduli computed with {@link Complex#abs()}.
+     */
+    @Benchmark
+    public double[] abs() {
+        for (int i = 0; i < SIZE; i++) {
+            moduli[i] = x.get(i).abs();
+        }
+        return moduli;
+    }
+
+    /**
+     * @return the moduli computed with {@link Math#hypot(double, double)}.
+     */
+    @Benchmark
+    public double[] hypot() {
+        for (int i = 0; i < SIZE; i++) {
+            moduli[i] = Math.hypot(x.getReal(i), x.getImaginary(i));
+        }
+        return moduli;
+    }
+
+    /**
+     * @return the accurate moduli.
+     */
+    @Benchmark
+    public double[] accurateAbs() {
+        AccurateComplexOperations.abs(x, moduli);
+        return moduli;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.examples.jmh.complex;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.numbers.complex.ComplexArray;
+import org.apache.commons.numbers.complex.ComplexFloatArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Executes a benchmark of the element by element product of vectors in
+ * single precision ({@link ComplexFloatArray}) and in double precision
+ * ({@link ComplexArray}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class ComplexFloatArrayPerformance {
+    /** Number of complex values. */
+    @Param({"1000", "4000000"})
+    private int size;
+
+    /** First operand in single precision. */
+    private ComplexFloatArray x;
+    /** Second operand in single precision. */
+    private ComplexFloatArray y;
+    /** Result in single precision. */
+    private ComplexFloatArray r;
+    /** First operand in double precision. */
+    private ComplexArray xd;
+    /** Second operand in double precision. */
+    private ComplexArray yd;
+    /** Result in double precision. */
+    private ComplexArray rd;
+
+    /** Create the data. */
+    @Setup
+    public void setup() {
+        final Random rng = new Random(size);
+        x = ComplexFloatArray.ofSize(size);
+        y = ComplexFloatArray.ofSize(size);
+        for (int i = 0; i < size; i++) {
+            x.set(i, rng.nextFloat(), rng.nextFloat());
+            y.set(i, rng.nextFloat(), rng.nextFloat());
+        }
+        r = ComplexFloatArray.ofSize(size);
+        xd = x.toComplexArray();
+        yd = y.toComplexArray();
+        rd = ComplexArray.ofSize(size);
+    }
+
+    /**
+     * Product in single precision.
+     *
+     * @return the result.
+     */
+    @Benchmark
+    public ComplexFloatArray multiplyFloat() {
+        ComplexFloatArray.multiply(x, y, r);
+        return r;
+    }
+
+    /**
+     * Product in double precision.
+     *
+     * @return the result.
+     */
+    @Benchmark
+    public ComplexArray multiplyDouble() {
+        ComplexArray.multiply(xd, yd, rd);
+        return rd;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.examples.jmh.complex;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.numbers.complex.Complex;
+import org.apache.commons.numbers.complex.streams.ComplexUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Executes a benchmark of the computation of the magnitudes and phases of
+ * an interleaved spectrum, through {@code Complex[]} arrays and with the
+ * primitive kernels of {@link ComplexUtils}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class ComplexMagnitudePerformance {
+    /** Number of complex values. */
+    @Param({"1024", "65536"})
+    private int size;
+
+    /** Interleaved data. */
+    private double[] data;
+    /** Magnitudes. */
+    private double[] abs;
+    /** Phases. */
+    private double[] arg;
+
+    /** Create the data. */
+    @Setup
+    public void setup() {
+        final Random rng = new Random(size);
+        data = new double[2 * size];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = rng.nextGaussian();
+        }
+        abs = new double[size];
+        arg = new double[size];
+    }
+
+    /**
+     * Magnitudes through {@code Complex[]}.
+     *
+     * @return the magnitudes.
+     */
+    @Benchmark
+    public double[] absComplex() {
+        return ComplexUtils.abs(ComplexUtils.interleaved2Complex(data));
+    }
+
+    /**
+     * Magnitudes with the primitive kernel.
+     *
+     * @return the magnitudes.
+     */
+    @Benchmark
+    public double[] absKernel() {
+        ComplexUtils.abs(data, abs);
+        return abs;
+    }
+
+    /**
+     * Magnitudes and phases through {@code Complex[]}.
+     *
+     * @return the phases.
+     */
+    @Benchmark
+    public double[] absArgComplex() {
+        final Complex[] c = ComplexUtils.interleaved2Complex(data);
+        abs = ComplexUtils.abs(c);
+        return ComplexUtils.arg(c);
+    }
+
+    /**
+     * Magnitudes and phases with the fused kernel.
+     *
+     * @return the phases.
+     */
+    @Benchmark
+    public double[] absArgKernel() {
+        ComplexUtils.absArg(data, abs, arg);
+        return arg;
+    }
+
+    /**
+     * Powers in decibels with the primitive kernel.
+     *
+     * @return the powers.
+     */
+    @Benchmark
+    public double[] decibelsKernel() {
+        ComplexUtils.decibels(data, abs);
+        return abs;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.examples.jmh.complex;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.numbers.complex.Complex;
+import org.apache.commons.numbers.complex.ComplexMatrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Executes a benchmark of the product of square {@link ComplexMatrix}
+ * instances against the same product of {@code Complex[][]} arrays, and of
+ * the LU decomposition.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class ComplexMatrixPerformance {
+    /** Size of the matrices. */
+    @Param({"64", "256"})
+    private int size;
+
+    /** Left factor. */
+    private ComplexMatrix a;
+    /** Right factor. */
+    private ComplexMatrix b;
+    /** Product. */
+    private ComplexMatrix c;
+    /** Left factor. */
+    private Complex[][] x;
+    /** Right factor. */
+    private Complex[][] y;
+
+    /** Create the data. */
+    @Setup
+    public void setup() {
+        a = random(size, 1);
+        b = random(size, 2);
+        c = ComplexMatrix.ofSize(size, size);
+        x = a.toArray();
+        y = b.toArray();
+    }
+
+    /**
+     * @param n Size.
+     * @param seed Seed.
+     * @return a random matrix.
+     */
+    private static ComplexMatrix random(int n, long seed) {
+        final Random rng = new Random(seed);
+        final double[] data = new double[2 * n * n];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = rng.nextDouble() - 0.5;
+        }
+        return ComplexMatrix.wrap(n, n, data);
+    }
+
+    /**
+     * Product of {@code Complex[][]} arrays.
+     *
+     * @return the product.
+     */
+    @Benchmark
+    public Complex[][] complexArrays() {
+        final int n = x.length;
+        final Complex[][] z = new Complex[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                Complex sum = Complex.ZERO;
+                for (int k = 0; k < n; k++) {
+                    sum = sum.add(x[i][k].multiply(y[k][j]));
+                }
+                z[i][j] = sum;
+            }
+        }
+        return z;
+    }
+
+    /**
+     * Blocked product.
+     *
+     * @return the product.
+     */
+    @Benchmark
+    public ComplexMatrix matrix() {
+        ComplexMatrix.multiply(a, b, c);
+        return c;
+    }
+
+    /**
+     * Blocked product in the common pool.
+     *
+     * @return the product.
+     */
+    @Benchmark
+    public ComplexMatrix matrixParallel() {
+        ComplexMatrix.multiply(a, b, c, ForkJoinPool.commonPool());
+        return c;
+    }
+
+    /**
+     * LU decomposition.
+     *
+     * @return the determinant.
+     */
+    @Benchmark
+    public Complex lu() {
+        return a.lu().getDeterminant();
+    }
+}
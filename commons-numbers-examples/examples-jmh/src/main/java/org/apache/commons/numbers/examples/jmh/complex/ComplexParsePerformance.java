@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.examples.jmh.complex;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.numbers.complex.Complex;
+import org.apache.commons.numbers.complex.ComplexParser;
+import org.apache.commons.numbers.complex.streams.ComplexTextReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Executes a benchmark of reading text written by {@link Complex#toString()}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class ComplexParsePerformance {
+    /** Number of values. */
+    private static final int SIZE = 10000;
+
+    /**
+     * Kind of values: {@code SHORT} have a few decimal digits,
+     * {@code FULL} are random doubles printed with all their digits.
+     */
+    @Param({"SHORT", "FULL"})
+    private String kind;
+
+    /** Values, one per line. */
+    private String text;
+    /** Individual values. */
+    private String[] values;
+
+    /** Create the text. */
+    @Setup
+    public void setup() {
+        final Random rng = new Random(SIZE);
+        final StringBuilder sb = new StringBuilder();
+        values = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            final Complex z = "SHORT".equals(kind) ?
+                Complex.ofCartesian((rng.nextInt(200000) - 100000) / 1000.0, rng.nextInt(2000) / 100.0) :
+                Complex.ofCartesian(rng.nextGaussian(), rng.nextGaussian() * 1e-3);
+            values[i] = z.toString();
+            sb.append(values[i]).append('\n');
+        }
+        text = sb.toString();
+    }
+
+    /**
+     * Previous implementation of {@link Complex#parse(String)}, based on
+     * {@code substring} and {@code split}.
+     *
+     * @param s String.
+     * @return the value.
+     */
+    private static Complex splitParse(String s) {
+        final int len = s.length();
+        if (s.indexOf('(') != 0 || s.indexOf(')') != len - 1) {
+            throw new IllegalArgumentException(s);
+        }
+        final String[] elements = s.substring(1, len - 1).split(",");
+        if (elements.length != 2) {
+            throw new IllegalArgumentException(s);
+        }
+        return Complex.ofCartesian(Double.parseDouble(elements[0]), Double.parseDouble(elements[1]));
+    }
+
+    /**
+     * @return the parsed values.
+     */
+    @Benchmark
+    public double[] splitParse() {
+        final double[] data = new double[2 * SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            final Complex z = splitParse(values[i]);
+            data[2 * i] = z.getReal();
+            data[2 * i + 1] = z.getImaginary();
+        }
+        return data;
+    }
+
+    /**
+     * @return the parsed values.
+     */
+    @Benchmark
+    public double[] parserToArray() {
+        final double[] data = new double[2 * SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            ComplexParser.parse(values[i], 0, values[i].length(), data, 2 * i);
+        }
+        return data;
+    }
+
+    /**
+     * @return the parsed values.
+     * @throws IOException never.
+     */
+    @Benchmark
+    public double[] textReader() throws IOException {
+        return ComplexTextReader.readAll(new StringReader(text));
+    }
+}
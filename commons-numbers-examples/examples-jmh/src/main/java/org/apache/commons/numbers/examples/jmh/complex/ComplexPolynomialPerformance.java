@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.examples.jmh.complex;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.numbers.complex.Complex;
+import org.apache.commons.numbers.complex.ComplexPolynomial;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Executes a benchmark of the evaluation of a {@link ComplexPolynomial} at
+ * many points, against Horner's scheme with {@link Complex} objects.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class ComplexPolynomialPerformance {
+    /** Number of points. */
+    private static final int POINTS = 1024;
+
+    /** Degree of the polynomial. */
+    @Param({"100", "1000"})
+    private int degree;
+
+    /** Polynomial. */
+    private ComplexPolynomial polynomial;
+    /** Coefficients. */
+    private Complex[] coefficients;
+    /** Interleaved points. */
+    private double[] points;
+    /** Points. */
+    private Complex[] complexPoints;
+    /** Interleaved values. */
+    private double[] values;
+
+    /** Create the data. */
+    @Setup
+    public void setup() {
+        final Random rng = new Random(degree);
+        coefficients = new Complex[degree + 1];
+        for (int i = 0; i <= degree; i++) {
+            coefficients[i] = Complex.ofCartesian(rng.nextDouble() - 0.5, rng.nextDouble() - 0.5);
+        }
+        polynomial = ComplexPolynomial.of(coefficients);
+        points = new double[2 * POINTS];
+        complexPoints = new Complex[POINTS];
+        for (int k = 0; k < POINTS; k++) {
+            // Points on the unit circle keep the values bounded.
+            complexPoints[k] = Complex.ofPolar(1, 2 * Math.PI * rng.nextDouble());
+            points[2 * k] = complexPoints[k].getReal();
+            points[2 * k + 1] = complexPoints[k].getImaginary();
+        }
+        values = new double[2 * POINTS];
+    }
+
+    /**
+     * Evaluation with {@link ComplexPolynomial#value(double[], double[])}.
+     *
+     * @return the values.
+     */
+    @Benchmark
+    public double[] polynomial() {
+        polynomial.value(points, values);
+        return values;
+    }
+
+    /**
+     * Evaluation with {@link Complex#multiply(Complex)} and {@link Complex#add(Complex)}.
+     *
+     * @return the values.
+     */
+    @Benchmark
+    public Complex[] complexHorner() {
+        final Complex[] c = coefficients;
+        final Complex[] result = new Complex[POINTS];
+        for (int k = 0; k < POINTS; k++) {
+            final Complex z = complexPoints[k];
+            Complex p = c[degree];
+            for (int i = degree - 1; i >= 0; i--) {
+                p = p.multiply(z).add(c[i]);
+            }
+            result[k] = p;
+        }
+        return result;
+    }
+}
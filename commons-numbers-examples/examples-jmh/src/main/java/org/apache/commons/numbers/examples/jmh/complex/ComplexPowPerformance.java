@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.examples.jmh.complex;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.numbers.complex.Complex;
+import org.apache.commons.numbers.complex.ComplexArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Executes a benchmark of raising complex numbers to a small integer power
+ * with {@link Complex#pow(double)}, {@link Complex#pow(int)} and
+ * {@link ComplexArray#pow(ComplexArray, int, ComplexArray)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class ComplexPowPerformance {
+    /** Number of values. */
+    private static final int SIZE = 1024;
+
+    /** Exponent. */
+    @Param({"2", "3", "7"})
+    private int exponent;
+
+    /** Values. */
+    private Complex[] values;
+    /** Values as a vector. */
+    private ComplexArray array;
+    /** Powers. */
+    private ComplexArray result;
+
+    /** Create the data. */
+    @Setup
+    public void setup() {
+        final Random rng = new Random(SIZE);
+        values = new Complex[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            values[i] = Complex.ofCartesian(rng.nextDouble() * 2 - 1, rng.nextDouble() * 2 - 1);
+        }
+        array = ComplexArray.of(values);
+        result = ComplexArray.ofSize(SIZE);
+    }
+
+    /**
+     * @return the powers computed with {@link Complex#pow(double)}.
+     */
+    @Benchmark
+    public Complex[] powDouble() {
+        final Complex[] r = new Complex[SIZE];
+        final double x = exponent;
+        for (int i = 0; i < SIZE; i++) {
+            r[i] = values[i].pow(x);
+        }
+        return r;
+    }
+
+    /**
+     * @return the powers computed with {@link Complex#pow(int)}.
+     */
+    @Benchmark
+    public Complex[] powInt() {
+        final Complex[] r = new Complex[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            r[i] = values[i].pow(exponent);
+        }
+        return r;
+    }
+
+    /**
+     * @return the powers computed with {@link ComplexArray#pow(ComplexArray, int, ComplexArray)}.
+     */
+    @Benchmark
+    public ComplexArray powArray() {
+        ComplexArray.pow(array, exponent, result);
+        return result;
+    }
+}
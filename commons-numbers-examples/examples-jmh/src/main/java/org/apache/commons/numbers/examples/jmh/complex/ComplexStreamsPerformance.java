@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.examples.jmh.complex;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.numbers.complex.Complex;
+import org.apache.commons.numbers.complex.streams.ComplexStreams;
+import org.apache.commons.numbers.complex.streams.ComplexUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Executes a benchmark of reductions over an interleaved array, with the
+ * lazy streams of {@link ComplexStreams} and with the {@code Complex[]}
+ * conversions of {@link ComplexUtils}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class ComplexStreamsPerformance {
+    /** Number of complex values. */
+    @Param({"1000", "1000000"})
+    private int size;
+
+    /** Interleaved data. */
+    private double[] data;
+
+    /** Create the data. */
+    @Setup
+    public void setup() {
+        final Random rng = new Random(size);
+        data = new double[2 * size];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = rng.nextDouble() - 0.5;
+        }
+    }
+
+    /**
+     * Sum of the moduli through {@code Complex[]} and {@code double[]} arrays.
+     *
+     * @return the sum.
+     */
+    @Benchmark
+    public double complexUtilsAbs() {
+        return Arrays.stream(ComplexUtils.abs(ComplexUtils.interleaved2Complex(data))).sum();
+    }
+
+    /**
+     * Sum of the moduli with a lazy primitive stream.
+     *
+     * @return the sum.
+     */
+    @Benchmark
+    public double streamAbs() {
+        return ComplexStreams.abs(data).sum();
+    }
+
+    /**
+     * Sum of the moduli with a lazy parallel primitive stream.
+     *
+     * @return the sum.
+     */
+    @Benchmark
+    public double parallelStreamAbs() {
+        return ComplexStreams.abs(data).parallel().sum();
+    }
+
+    /**
+     * Sum of the moduli with a lazy stream of {@code Complex}.
+     *
+     * @return the sum.
+     */
+    @Benchmark
+    public double complexStreamAbs() {
+        return ComplexStreams.stream(data).mapToDouble(Complex::abs).sum();
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.examples.jmh.complex;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.numbers.complex.Complex;
+import org.apache.commons.numbers.complex.streams.ComplexTensor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Executes a benchmark of the transposition of a cubic volume, stored as a
+ * jagged {@code Complex[][][]} array and as a {@link ComplexTensor}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class ComplexTensorPerformance {
+    /** Length of the sides of the volume. */
+    @Param({"32", "128"})
+    private int side;
+
+    /** Volume as a jagged array. */
+    private Complex[][][] jagged;
+    /** Volume as a tensor. */
+    private ComplexTensor tensor;
+
+    /** Create the data. */
+    @Setup
+    public void setup() {
+        final Random rng = new Random(side);
+        jagged = new Complex[side][side][side];
+        for (final Complex[][] plane : jagged) {
+            for (final Complex[] row : plane) {
+                for (int k = 0; k < side; k++) {
+                    row[k] = Complex.ofCartesian(rng.nextDouble(), rng.nextDouble());
+                }
+            }
+        }
+        tensor = ComplexTensor.of(jagged);
+    }
+
+    /**
+     * Swaps the first and last dimensions of the jagged array.
+     *
+     * @return the transposed volume.
+     */
+    @Benchmark
+    public Complex[][][] jaggedTranspose() {
+        final Complex[][][] result = new Complex[side][side][side];
+        for (int i = 0; i < side; i++) {
+            for (int j = 0; j < side; j++) {
+                for (int k = 0; k < side; k++) {
+                    result[k][j][i] = jagged[i][j][k];
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Swaps the first and last dimensions of the tensor, into a contiguous copy.
+     *
+     * @return the transposed volume.
+     */
+    @Benchmark
+    public ComplexTensor tensorTranspose() {
+        return tensor.transpose(0, 2).copy();
+    }
+}
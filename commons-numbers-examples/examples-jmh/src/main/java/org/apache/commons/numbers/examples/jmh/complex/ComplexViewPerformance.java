@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.examples.jmh.complex;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.numbers.complex.Complex;
+import org.apache.commons.numbers.complex.streams.ComplexUtils;
+import org.apache.commons.numbers.complex.streams.ComplexView;
+import org.apache.commons.numbers.complex.streams.DoubleView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Executes a benchmark of an update of the real parts of an interleaved
+ * array, through the split arrays of {@link ComplexUtils} and in place
+ * through a {@link ComplexView}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class ComplexViewPerformance {
+    /** Number of complex values. */
+    @Param({"1000", "1000000"})
+    private int size;
+
+    /** Interleaved data. */
+    private double[] data;
+
+    /** Create the data. */
+    @Setup
+    public void setup() {
+        final Random rng = new Random(size);
+        data = new double[2 * size];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = rng.nextDouble() - 0.5;
+        }
+    }
+
+    /**
+     * Negates the real parts by converting to split arrays and back.
+     *
+     * @return the updated data.
+     */
+    @Benchmark
+    public double[] complexUtils() {
+        final Complex[] c = ComplexUtils.interleaved2Complex(data);
+        final double[] re = ComplexUtils.complex2Real(c);
+        final double[] im = ComplexUtils.complex2Imaginary(c);
+        for (int i = 0; i < re.length; i++) {
+            re[i] = -re[i];
+        }
+        data = ComplexUtils.complex2Interleaved(ComplexUtils.split2Complex(re, im));
+        return data;
+    }
+
+    /**
+     * Negates the real parts through a view.
+     *
+     * @return the updated data.
+     */
+    @Benchmark
+    public double[] view() {
+        final DoubleView re = ComplexView.ofInterleaved(data).real();
+        for (int i = 0; i < re.size(); i++) {
+            re.set(i, -re.get(i));
+        }
+        return data;
+    }
+}
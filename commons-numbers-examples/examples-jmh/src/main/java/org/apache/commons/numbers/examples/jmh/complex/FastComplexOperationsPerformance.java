@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.examples.jmh.complex;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.numbers.complex.ComplexArray;
+import org.apache.commons.numbers.complex.FastComplexOperations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Executes a benchmark of the element by element product and quotient of
+ * {@link ComplexArray} vectors, with and without the recovery of infinities.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class FastComplexOperationsPerformance {
+    /** Number of values. */
+    @Param({"1024", "65536"})
+    private int size;
+
+    /** First operand. */
+    private ComplexArray x;
+    /** Second operand. */
+    private ComplexArray y;
+    /** Result. */
+    private ComplexArray result;
+
+    /** Create the data. */
+    @Setup
+    public void setup() {
+        final Random rng = new Random(size);
+        x = ComplexArray.ofSize(size);
+        y = ComplexArray.ofSize(size);
+        for (int i = 0; i < size; i++) {
+            x.set(i, rng.nextDouble() - 0.5, rng.nextDouble() - 0.5);
+            y.set(i, rng.nextDouble() - 0.5, rng.nextDouble() - 0.5);
+        }
+        result = ComplexArray.ofSize(size);
+    }
+
+    /**
+     * @return the products, with recovery of infinities.
+     */
+    @Benchmark
+    public ComplexArray multiply() {
+        ComplexArray.multiply(x, y, result);
+        return result;
+    }
+
+    /**
+     * @return the products, assuming finite values.
+     */
+    @Benchmark
+    public ComplexArray fastMultiply() {
+        FastComplexOperations.multiply(x, y, result);
+        return result;
+    }
+
+    /**
+     * @return the quotients, with recovery of infinities.
+     */
+    @Benchmark
+    public ComplexArray divide() {
+        ComplexArray.divide(x, y, result);
+        return result;
+    }
+
+    /**
+     * @return the quotients, assuming finite values.
+     */
+    @Benchmark
+    public ComplexArray fastDivide() {
+        FastComplexOperations.divide(x, y, result);
+        return result;
+    }
+
+    /**
+     * @return the quotients, assuming finite values after checking them.
+     */
+    @Benchmark
+    public ComplexArray checkedFastDivide() {
+        FastComplexOperations.checkFinite(x);
+        FastComplexOperations.checkFinite(y);
+        FastComplexOperations.divide(x, y, result);
+        return result;
+    }
+}
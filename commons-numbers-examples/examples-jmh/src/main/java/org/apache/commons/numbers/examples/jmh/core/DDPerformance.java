@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.examples.jmh.core;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.numbers.core.DD;
+import org.apache.commons.numbers.core.DDAccumulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Executes a benchmark of the accumulation of products and quotients in
+ * double-double precision with {@link DD} and {@link DDAccumulator}
+ * against {@code BigDecimal} with a similar precision (34 digits).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class DDPerformance {
+    /** Number of values. */
+    private static final int SIZE = 1000;
+    /** Precision of the {@code BigDecimal} computations. */
+    private static final MathContext MC = MathContext.DECIMAL128;
+
+    /** Values. */
+    private double[] a;
+    /** Values. */
+    private double[] b;
+
+    /** Create the data. */
+    @Setup
+    public void setup() {
+        final Random rng = new Random(SIZE);
+        a = new double[SIZE];
+        b = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            a[i] = Math.scalb(rng.nextDouble() + 0.5, rng.nextInt(40) - 20);
+            b[i] = Math.scalb(rng.nextDouble() - 0.5, rng.nextInt(40) - 20);
+        }
+    }
+
+    /**
+     * Dot product with {@code BigDecimal}.
+     *
+     * @return the result.
+     */
+    @Benchmark
+    public double dotBigDecimal() {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (int i = 0; i < SIZE; i++) {
+            sum = sum.add(new BigDecimal(a[i]).multiply(new BigDecimal(b[i]), MC), MC);
+        }
+        return sum.doubleValue();
+    }
+
+    /**
+     * Dot product with {@link DD}.
+     *
+     * @return the result.
+     */
+    @Benchmark
+    public double dotDD() {
+        DD sum = DD.ZERO;
+        for (int i = 0; i < SIZE; i++) {
+            sum = sum.add(DD.ofProduct(a[i], b[i]));
+        }
+        return sum.doubleValue();
+    }
+
+    /**
+     * Dot product with {@link DDAccumulator}.
+     *
+     * @return the result.
+     */
+    @Benchmark
+    public double dotAccumulator() {
+        final DDAccumulator sum = DDAccumulator.create();
+        for (int i = 0; i < SIZE; i++) {
+            sum.addProduct(a[i], b[i]);
+        }
+        return sum.getAsDouble();
+    }
+
+    /**
+     * Sum of quotients with {@code BigDecimal}.
+     *
+     * @return the result.
+     */
+    @Benchmark
+    public double quotientsBigDecimal() {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (int i = 0; i < SIZE; i++) {
+            sum = sum.add(new BigDecimal(b[i]).divide(new BigDecimal(a[i]), MC), MC);
+        }
+        return sum.doubleValue();
+    }
+
+    /**
+     * Sum of quotients with {@link DD}.
+     *
+     * @return the result.
+     */
+    @Benchmark
+    public double quotientsDD() {
+        DD sum = DD.ZERO;
+        for (int i = 0; i < SIZE; i++) {
+            sum = sum.add(DD.of(b[i]).divide(a[i]));
+        }
+        return sum.doubleValue();
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.examples.jmh.core;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.numbers.core.IntDivisor;
+import org.apache.commons.numbers.core.LongDivisor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Executes a benchmark of the division by a fixed divisor with
+ * {@link IntDivisor} and {@link LongDivisor} against the division operator
+ * and {@link Long#divideUnsigned(long, long)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class DivisorPerformance {
+    /** Number of values. */
+    private static final int SIZE = 1000;
+
+    /** Divisor: small, needing a 33/65-bit multiplier, and large. */
+    @Param({"10", "7", "1000000007"})
+    private int divisor;
+
+    /** Divisor. */
+    private IntDivisor intDivisor;
+    /** Unsigned divisor. */
+    private IntDivisor unsignedIntDivisor;
+    /** Divisor. */
+    private LongDivisor longDivisor;
+    /** Unsigned divisor. */
+    private LongDivisor unsignedLongDivisor;
+    /** Dividends. */
+    private int[] ints;
+    /** Dividends. */
+    private long[] longs;
+    /** Quotients. */
+    private int[] intResult;
+    /** Quotients. */
+    private long[] longResult;
+
+    /** Create the data. */
+    @Setup
+    public void setup() {
+        intDivisor = IntDivisor.of(divisor);
+        unsignedIntDivisor = IntDivisor.ofUnsigned(divisor);
+        longDivisor = LongDivisor.of(divisor);
+        unsignedLongDivisor = LongDivisor.ofUnsigned(divisor);
+        final Random rng = new Random(divisor);
+        ints = new int[SIZE];
+        longs = new long[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            ints[i] = rng.nextInt();
+            longs[i] = rng.nextLong();
+        }
+        intResult = new int[SIZE];
+        longResult = new long[SIZE];
+    }
+
+    /**
+     * @return the quotients.
+     */
+    @Benchmark
+    public int[] intOperator() {
+        final int d = divisor;
+        for (int i = 0; i < SIZE; i++) {
+            intResult[i] = ints[i] / d;
+        }
+        return intResult;
+    }
+
+    /**
+     * @return the quotients.
+     */
+    @Benchmark
+    public int[] intDivisor() {
+        intDivisor.divide(ints, intResult);
+        return intResult;
+    }
+
+    /**
+     * @return the quotients.
+     */
+    @Benchmark
+    public int[] intDivideUnsigned() {
+        final int d = divisor;
+        for (int i = 0; i < SIZE; i++) {
+            intResult[i] = Integer.divideUnsigned(ints[i], d);
+        }
+        return intResult;
+    }
+
+    /**
+     * @return the quotients.
+     */
+    @Benchmark
+    public int[] intUnsignedDivisor() {
+        unsignedIntDivisor.divide(ints, intResult);
+        return intResult;
+    }
+
+    /**
+     * @return the quotients.
+     */
+    @Benchmark
+    public long[] longOperator() {
+        final long d = divisor;
+        for (int i = 0; i < SIZE; i++) {
+            longResult[i] = longs[i] / d;
+        }
+        return longResult;
+    }
+
+    /**
+     * @return the quotients.
+     */
+    @Benchmark
+    public long[] longDivisor() {
+        longDivisor.divide(longs, longResult);
+        return longResult;
+    }
+
+    /**
+     * @return the quotients.
+     */
+    @Benchmark
+    public long[] longDivideUnsigned() {
+        final long d = divisor;
+        for (int i = 0; i < SIZE; i++) {
+            longResult[i] = Long.divideUnsigned(longs[i], d);
+        }
+        return longResult;
+    }
+
+    /**
+     * @return the quotients.
+     */
+    @Benchmark
+    public long[] longUnsignedDivisor() {
+        unsignedLongDivisor.divide(longs, longResult);
+        return longResult;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.examples.jmh.core;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.numbers.core.Modulus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Executes a benchmark of the modular arithmetic of {@link Modulus} against
+ * {@link BigInteger} for 64-bit moduli.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class ModulusPerformance {
+    /** Number of values. */
+    private static final int SIZE = 1000;
+
+    /** Modulus: a 61-bit prime, a 62-bit even number or a 63-bit prime. */
+    @Param({"2305843009213693951", "4611686018427387906", "9223372036854775783"})
+    private long modulus;
+
+    /** Reduction: {@code OF} (Montgomery for odd moduli) or {@code BARRETT}. */
+    @Param({"OF", "BARRETT"})
+    private String reduction;
+
+    /** Modulus. */
+    private Modulus mod;
+    /** Modulus. */
+    private BigInteger bigModulus;
+    /** Values in {@code [0, modulus)}. */
+    private long[] a;
+    /** Values in {@code [0, modulus)}. */
+    private long[] b;
+    /** Output. */
+    private long[] result;
+
+    /** Create the data. */
+    @Setup
+    public void setup() {
+        mod = "BARRETT".equals(reduction) ? Modulus.barrett(modulus) : Modulus.of(modulus);
+        bigModulus = BigInteger.valueOf(modulus);
+        final Random rng = new Random(modulus);
+        a = new long[SIZE];
+        b = new long[SIZE];
+        result = new long[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            a[i] = Math.floorMod(rng.nextLong(), modulus);
+            b[i] = Math.floorMod(rng.nextLong(), modulus);
+        }
+    }
+
+    /**
+     * Element-wise products with {@link Modulus#mulMod(long[], long[], long[])}.
+     *
+     * @return the products.
+     */
+    @Benchmark
+    public long[] mulMod() {
+        mod.mulMod(a, b, result);
+        return result;
+    }
+
+    /**
+     * Element-wise products with {@link BigInteger}.
+     *
+     * @return the products.
+     */
+    @Benchmark
+    public long[] mulModBigInteger() {
+        for (int i = 0; i < SIZE; i++) {
+            result[i] = BigInteger.valueOf(a[i]).multiply(BigInteger.valueOf(b[i])).mod(bigModulus).longValue();
+        }
+        return result;
+    }
+
+    /**
+     * Powers with {@link Modulus#powMod(long, long)}.
+     *
+     * @return the powers.
+     */
+    @Benchmark
+    public long[] powMod() {
+        for (int i = 0; i < SIZE; i++) {
+            result[i] = mod.powMod(a[i], b[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Powers with {@link BigInteger#modPow(BigInteger, BigInteger)}.
+     *
+     * @return the powers.
+     */
+    @Benchmark
+    public long[] powModBigInteger() {
+        for (int i = 0; i < SIZE; i++) {
+            result[i] = BigInteger.valueOf(a[i]).modPow(BigInteger.valueOf(b[i]), bigModulus).longValue();
+        }
+        return result;
+    }
+}
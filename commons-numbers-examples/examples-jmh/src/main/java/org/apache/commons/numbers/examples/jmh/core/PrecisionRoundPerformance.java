@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.examples.jmh.core;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.numbers.core.Precision;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Executes a benchmark of {@link Precision#round(double[], int, RoundingMode, double[])}
+ * against rounding with {@link BigDecimal}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class PrecisionRoundPerformance {
+    /** Number of values. */
+    private static final int SIZE = 1000;
+
+    /** Number of digits to the right of the decimal point. */
+    @Param({"2", "6"})
+    private int scale;
+
+    /** Rounding mode. */
+    @Param({"HALF_UP", "HALF_EVEN"})
+    private RoundingMode mode;
+
+    /** Values: random values in [0, 1000), with 4 decimal places for half of them. */
+    private double[] values;
+    /** Rounded values. */
+    private double[] result;
+
+    /** Create the data. */
+    @Setup
+    public void setup() {
+        final Random rng = new Random(scale);
+        values = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            final double x = rng.nextDouble() * 1000;
+            values[i] = (i & 1) == 0 ? x : Math.rint(x * 1e4) / 1e4;
+        }
+        result = new double[SIZE];
+    }
+
+    /**
+     * @return the rounded values.
+     */
+    @Benchmark
+    public double[] round() {
+        Precision.round(values, scale, mode, result);
+        return result;
+    }
+
+    /**
+     * @return the rounded values.
+     */
+    @Benchmark
+    public double[] roundBigDecimal() {
+        for (int i = 0; i < SIZE; i++) {
+            result[i] = new BigDecimal(Double.toString(values[i])).setScale(scale, mode).doubleValue();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.examples.jmh.core;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.numbers.core.CascadedSum;
+import org.apache.commons.numbers.core.CompensatedSum;
+import org.apache.commons.numbers.core.ExactSum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Executes a benchmark of the summation of an array with
+ * {@link CompensatedSum}, {@link CascadedSum} and {@link ExactSum} against
+ * the naive loop.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class SumPerformance {
+    /** Number of values. */
+    @Param({"1000", "100000"})
+    private int size;
+
+    /** Values. */
+    private double[] values;
+
+    /** Create the data. */
+    @Setup
+    public void setup() {
+        final Random rng = new Random(size);
+        values = new double[size];
+        for (int i = 0; i < size; i++) {
+            // Random signs and magnitudes.
+            values[i] = Math.scalb(rng.nextDouble() - 0.5, rng.nextInt(100) - 50);
+        }
+    }
+
+    /**
+     * Naive summation.
+     *
+     * @return the sum.
+     */
+    @Benchmark
+    public double naive() {
+        double sum = 0;
+        for (double x : values) {
+            sum += x;
+        }
+        return sum;
+    }
+
+    /**
+     * Compensated summation.
+     *
+     * @return the sum.
+     */
+    @Benchmark
+    public double compensated() {
+        return CompensatedSum.of(values).getAsDouble();
+    }
+
+    /**
+     * Cascaded summation of the default order.
+     *
+     * @return the sum.
+     */
+    @Benchmark
+    public double cascaded() {
+        return CascadedSum.of(values).getAsDouble();
+    }
+
+    /**
+     * Exact summation.
+     *
+     * @return the sum.
+     */
+    @Benchmark
+    public double exact() {
+        return ExactSum.of(values).getAsDouble();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.examples.jmh.fft;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.numbers.fft.FastFourierTransform2D;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Executes a benchmark of {@link FastFourierTransform2D} on square images
+ * with a varying number of worker threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms1G", "-Xmx2G"})
+public class FastFourierTransform2DPerformance {
+    /** Number of rows and columns. */
+    @Param({"256", "1024", "4096"})
+    private int size;
+
+    /** Number of worker threads. */
+    @Param({"1", "2", "4", "8"})
+    private int threads;
+
+    /** Executor. */
+    private ForkJoinPool pool;
+    /** Transform. */
+    private FastFourierTransform2D fft;
+    /** Interleaved rows. */
+    private double[][] data;
+
+    /** Create the pool, the transform and the data. */
+    @Setup
+    public void setup() {
+        pool = new ForkJoinPool(threads);
+        fft = FastFourierTransform2D.of(size, size, pool);
+        final Random rng = new Random(size);
+        data = new double[size][2 * size];
+        for (final double[] row : data) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] = rng.nextDouble() - 0.5;
+            }
+        }
+    }
+
+    /** Stop the pool. */
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Forward and inverse transform (the pair keeps the data bounded).
+     *
+     * @return the transformed data.
+     */
+    @Benchmark
+    public double[][] roundTrip() {
+        fft.forward(data);
+        fft.inverse(data);
+        return data;
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.examples.jmh.fft;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.numbers.fft.FastFourierTransform;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Executes a benchmark of {@link FastFourierTransform} against a naive
+ * {@code O(n^2)} discrete Fourier transform.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx2048M"})
+public class FastFourierTransformPerformance {
+    /**
+     * Input data for the fast transform, from {@code 2^4} to {@code 2^24}
+     * values.
+     */
+    @State(Scope.Benchmark)
+    public static class FastData {
+        /** Base 2 logarithm of the (approximate) size. */
+        @Param({"4", "8", "12", "16", "20", "24"})
+        private int log2Size;
+
+        /**
+         * Kind of size, which selects the algorithm:
+         * {@code 2^k}, {@code 3 * 2^(k-2)} or the largest prime below {@code 2^k}.
+         */
+        @Param({"RADIX2", "MIXED_RADIX", "BLUESTEIN"})
+        private String kind;
+
+        /** Transform. */
+        private FastFourierTransform fft;
+        /** Pristine data. */
+        private double[] source;
+        /** Data transformed in place. */
+        private double[] data;
+
+        /**
+         * @return the transform.
+         */
+        public FastFourierTransform getTransform() {
+            return fft;
+        }
+
+        /**
+         * @return the data.
+         */
+        public double[] getData() {
+            return data;
+        }
+
+        /** Create the transform and the data. */
+        @Setup
+        public void setup() {
+            final int n = size(log2Size, kind);
+            fft = FastFourierTransform.of(n);
+            source = createData(n);
+            data = source.clone();
+        }
+
+        /** Restore the data so that values do not drift. */
+        @Setup(Level.Iteration)
+        public void reset() {
+            System.arraycopy(source, 0, data, 0, source.length);
+        }
+    }
+
+    /**
+     * Input data for the naive transform. Sizes are limited to {@code 2^12}
+     * since the run time grows as {@code n^2} (about {@code 10^14} operations
+     * for {@code 2^24} values).
+     */
+    @State(Scope.Benchmark)
+    public static class NaiveData {
+        /** Base 2 logarithm of the size. */
+        @Param({"4", "8", "12"})
+        private int log2Size;
+
+        /** Input. */
+        private double[] data;
+        /** Output. */
+        private double[] result;
+        /** Interleaved roots of unity. */
+        private double[] roots;
+
+        /** Create the data. */
+        @Setup
+        public void setup() {
+            final int n = 1 << log2Size;
+            data = createData(n);
+            result = new double[2 * n];
+            roots = new double[2 * n];
+            for (int j = 0; j < n; j++) {
+                final double angle = 2 * Math.PI * j / n;
+                roots[2 * j] = Math.cos(angle);
+                roots[2 * j + 1] = -Math.sin(angle);
+            }
+        }
+    }
+
+    /**
+     * @param log2Size Base 2 logarithm of the approximate size.
+     * @param kind Kind of size.
+     * @return the size.
+     */
+    static int size(int log2Size, String kind) {
+        final int n = 1 << log2Size;
+        if ("RADIX2".equals(kind)) {
+            return n;
+        }
+        if ("MIXED_RADIX".equals(kind)) {
+            return 3 * (n >> 2);
+        }
+        int p = n - 1;
+        while (!isPrime(p)) {
+            p--;
+        }
+        return p;
+    }
+
+    /**
+     * @param n Number.
+     * @return whether {@code n} is prime.
+     */
+    private static boolean isPrime(int n) {
+        for (int d = 2; d * d <= n; d++) {
+            if (n % d == 0) {
+                return false;
+            }
+        }
+        return n > 1;
+    }
+
+    /**
+     * @param n Number of complex values.
+     * @return random interleaved data.
+     */
+    static double[] createData(int n) {
+        final Random rng = new Random(n);
+        final double[] data = new double[2 * n];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = rng.nextDouble() - 0.5;
+        }
+        return data;
+    }
+
+    /**
+     * Forward and inverse fast transform (the pair keeps the data bounded).
+     *
+     * @param data Data.
+     * @return the transformed data.
+     */
+    @Benchmark
+    public double[] fastRoundTrip(FastData data) {
+        final double[] d = data.getData();
+        data.getTransform().forward(d);
+        data.getTransform().inverse(d);
+        return d;
+    }
+
+    /**
+     * Forward and inverse naive transform.
+     *
+     * @param data Data.
+     * @return the transformed data.
+     */
+    @Benchmark
+    public double[] naiveRoundTrip(NaiveData data) {
+        naiveDft(data.data, data.result, data.roots, 1);
+        naiveDft(data.result, data.data, data.roots, -1);
+        final double scale = 1.0 / (data.data.length / 2);
+        for (int i = 0; i < data.data.length; i++) {
+            data.data[i] *= scale;
+        }
+        return data.data;
+    }
+
+    /**
+     * Naive discrete Fourier transform using a precomputed table of roots.
+     *
+     * @param in Interleaved input.
+     * @param out Interleaved output.
+     * @param roots Interleaved roots of unity, {@code exp(-2 pi i j / n)}.
+     * @param sign 1 for the forward transform and -1 for the inverse.
+     */
+    private static void naiveDft(double[] in, double[] out, double[] roots, int sign) {
+        final int n = in.length / 2;
+        for (int k = 0; k < n; k++) {
+            double sr = 0;
+            double si = 0;
+            int w = 0;
+            for (int j = 0; j < n; j++) {
+                final double c = roots[2 * w];
+                final double s = sign * roots[2 * w + 1];
+                sr += in[2 * j] * c - in[2 * j + 1] * s;
+                si += in[2 * j] * s + in[2 * j + 1] * c;
+                w += k;
+                if (w >= n) {
+                    w -= n;
+                }
+            }
+            out[2 * k] = sr;
+            out[2 * k + 1] = si;
+        }
+    }
+}
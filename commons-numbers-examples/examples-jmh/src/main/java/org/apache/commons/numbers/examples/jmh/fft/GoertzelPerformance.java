@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.examples.jmh.fft;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.numbers.fft.Goertzel;
+import org.apache.commons.numbers.fft.RealFastFourierTransform;
+import org.apache.commons.numbers.fft.SlidingDft;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Executes a benchmark of the detection of a few bins in a stream of real
+ * samples, with {@link Goertzel}, {@link SlidingDft} and a
+ * {@link RealFastFourierTransform} of each block.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class GoertzelPerformance {
+    /** Number of blocks in the stream. */
+    private static final int BLOCKS = 16;
+
+    /** Length of a block. */
+    @Param({"256", "4096"})
+    private int blockLength;
+
+    /** Number of bins. */
+    @Param({"1", "8"})
+    private int bins;
+
+    /** Samples. */
+    private double[] samples;
+    /** Goertzel detector. */
+    private Goertzel goertzel;
+    /** Sliding transform. */
+    private SlidingDft sliding;
+    /** Real transform. */
+    private RealFastFourierTransform rfft;
+    /** Buffer of a block. */
+    private double[] block;
+    /** Spectrum of a block. */
+    private double[] spectrum;
+    /** Indices of the bins. */
+    private int[] indices;
+
+    /** Create the detectors and the data. */
+    @Setup
+    public void setup() {
+        final Random rng = new Random(blockLength);
+        samples = new double[BLOCKS * blockLength];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = rng.nextDouble() - 0.5;
+        }
+        indices = new int[bins];
+        for (int k = 0; k < bins; k++) {
+            indices[k] = 1 + k * (blockLength / 2 - 1) / bins;
+        }
+        goertzel = Goertzel.ofBins(blockLength, indices);
+        sliding = SlidingDft.of(blockLength, indices);
+        rfft = RealFastFourierTransform.of(blockLength);
+        block = new double[blockLength];
+        spectrum = new double[rfft.getSpectrumLength()];
+    }
+
+    /**
+     * Goertzel detector, with the power of the bins at the end of each block.
+     *
+     * @return the sum of the powers.
+     */
+    @Benchmark
+    public double goertzel() {
+        double sum = 0;
+        for (int i = 0; i < samples.length; ) {
+            i = goertzel.accept(samples, i, samples.length);
+            for (int k = 0; k < bins; k++) {
+                sum += goertzel.getPower(k);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Sliding transform (the bins are updated after each sample).
+     *
+     * @return the sum of the powers at the end of the stream.
+     */
+    @Benchmark
+    public double slidingDft() {
+        sliding.accept(samples, 0, samples.length);
+        double sum = 0;
+        for (int k = 0; k < bins; k++) {
+            sum += sliding.getPower(k);
+        }
+        return sum;
+    }
+
+    /**
+     * Real transform of each block.
+     *
+     * @return the sum of the powers.
+     */
+    @Benchmark
+    public double realFft() {
+        double sum = 0;
+        for (int i = 0; i < samples.length; i += blockLength) {
+            System.arraycopy(samples, i, block, 0, blockLength);
+            rfft.forward(block, spectrum);
+            for (final int k : indices) {
+                final double re = spectrum[2 * k];
+                final double im = spectrum[2 * k + 1];
+                sum += re * re + im * im;
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.examples.jmh.fft;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.numbers.fft.FastFourierTransform;
+import org.apache.commons.numbers.fft.RealFastFourierTransform;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Executes a benchmark of the forward transform of real data with
+ * {@link RealFastFourierTransform} against promoting it to complex data
+ * for {@link FastFourierTransform}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx2048M"})
+public class RealFastFourierTransformPerformance {
+    /** Base 2 logarithm of the number of real values. */
+    @Param({"8", "12", "16", "20"})
+    private int log2Size;
+
+    /** Real values. */
+    private double[] real;
+    /** Real transform. */
+    private RealFastFourierTransform rfft;
+    /** Complex transform. */
+    private FastFourierTransform fft;
+
+    /** Create the transforms and the data. */
+    @Setup
+    public void setup() {
+        final int n = 1 << log2Size;
+        final Random rng = new Random(n);
+        real = new double[n];
+        for (int i = 0; i < n; i++) {
+            real[i] = rng.nextDouble() - 0.5;
+        }
+        rfft = RealFastFourierTransform.of(n);
+        fft = FastFourierTransform.of(n);
+    }
+
+    /**
+     * Packed half-spectrum from the real transform.
+     *
+     * @return the spectrum.
+     */
+    @Benchmark
+    public double[] realForward() {
+        return rfft.forward(real);
+    }
+
+    /**
+     * Full spectrum from the complex transform of the promoted data.
+     *
+     * @return the spectrum.
+     */
+    @Benchmark
+    public double[] complexForward() {
+        final double[] data = new double[2 * real.length];
+        for (int i = 0; i < real.length; i++) {
+            data[2 * i] = real[i];
+        }
+        fft.forward(data);
+        return data;
+    }
+}
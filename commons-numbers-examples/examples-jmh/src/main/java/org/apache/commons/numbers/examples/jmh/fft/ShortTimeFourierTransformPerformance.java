@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.examples.jmh.fft;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.numbers.complex.Complex;
+import org.apache.commons.numbers.complex.streams.ComplexUtils;
+import org.apache.commons.numbers.fft.RealFastFourierTransform;
+import org.apache.commons.numbers.fft.ShortTimeFourierTransform;
+import org.apache.commons.numbers.fft.ShortTimeFourierTransform.Output;
+import org.apache.commons.numbers.fft.WindowFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Executes a benchmark of the magnitudes and phases of a spectrogram, with
+ * {@link ShortTimeFourierTransform} and with separate windowing, transform
+ * and {@link ComplexUtils} passes over each frame.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class ShortTimeFourierTransformPerformance {
+    /** Number of samples. */
+    private static final int SAMPLES = 1 << 16;
+
+    /** Length of a frame. */
+    @Param({"256", "2048"})
+    private int frameLength;
+
+    /** Format of the frames. */
+    @Param({"MAGNITUDE", "MAGNITUDE_PHASE"})
+    private String output;
+
+    /** Samples. */
+    private double[] samples;
+    /** Streaming transform. */
+    private ShortTimeFourierTransform stft;
+    /** Transform of a frame. */
+    private RealFastFourierTransform rfft;
+    /** Window. */
+    private double[] window;
+
+    /** Create the transforms and the data. */
+    @Setup
+    public void setup() {
+        final Random rng = new Random(frameLength);
+        samples = new double[SAMPLES];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = rng.nextDouble() - 0.5;
+        }
+        stft = ShortTimeFourierTransform.of(frameLength, frameLength / 4, WindowFunction.HANN,
+            Output.valueOf(output), 4);
+        rfft = RealFastFourierTransform.of(frameLength);
+        window = WindowFunction.HANN.values(frameLength);
+    }
+
+    /**
+     * Streaming transform.
+     *
+     * @return the sum of some values.
+     */
+    @Benchmark
+    public double stft() {
+        stft.reset();
+        final double[] sum = new double[1];
+        stft.process(samples, 0, samples.length, (frame, index) -> sum[0] += frame[0]);
+        return sum[0];
+    }
+
+    /**
+     * Separate passes: windowing, transform, conversion to {@code Complex},
+     * magnitudes and phases.
+     *
+     * @return the sum of some values.
+     */
+    @Benchmark
+    public double separatePasses() {
+        double sum = 0;
+        final int hop = frameLength / 4;
+        final boolean phase = !"MAGNITUDE".equals(output);
+        for (int start = 0; start + frameLength <= samples.length; start += hop) {
+            final double[] frame = new double[frameLength];
+            System.arraycopy(samples, start, frame, 0, frameLength);
+            for (int j = 0; j < frameLength; j++) {
+                frame[j] *= window[j];
+            }
+            final double[] spectrum = rfft.forward(frame);
+            final Complex[] c = ComplexUtils.interleaved2Complex(spectrum);
+            sum += ComplexUtils.abs(c)[0];
+            if (phase) {
+                sum += ComplexUtils.arg(c)[0];
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.fft;
+
+import java.util.Arrays;
+
+/**
+ * Bluestein's chirp-z transform for arbitrary sizes.
+ * <p>
+ * Using \(jk = (j^2 + k^2 - (k - j)^2) / 2\), a transform of size {@code n}
+ * is rewritten as a convolution with the chirp \(e^{\pi i k^2 / n}\), which
+ * is evaluated with power of two transforms of size at least
+ * {@code 2n - 1}.
+ * </p><p>
+ * The convolution is computed in a work array of {@code 2 m} values, where
+ * {@code m} is the size of the convolution, which is allocated by the first
+ * transform of each thread and reused by the following ones.
+ * </p>
+ */
+final class BluesteinKernel implements TransformKernel {
+    /** Size of the transform. */
+    private final int size;
+    /** Size of the convolution (a power of two). */
+    private final int convolutionSize;
+    /** Interleaved chirp \(e^{-\pi i k^2 / n}\), {@code k < n}. */
+    private final double[] chirp;
+    /** Interleaved transform of the conjugate chirp, scaled by {@code 1 / convolutionSize}. */
+    private final double[] filter;
+    /** Transform of size {@link #convolutionSize}. */
+    private final Radix2Kernel convolution;
+    /** Work array of the current thread, holding the interleaved convolution. */
+    private final ThreadLocal<double[]> workspace;
+
+    /**
+     * @param size Size of the transform.
+     * @param convolution Power of two transform of size at least {@code 2 * size - 1}.
+     * @param convolutionSize Size of {@code convolution}.
+     */
+    BluesteinKernel(int size, Radix2Kernel convolution, int convolutionSize) {
+        this.size = size;
+        this.convolution = convolution;
+        this.convolutionSize = convolutionSize;
+        workspace = ThreadLocal.withInitial(() -> new double[2 * convolutionSize]);
+
+        chirp = new double[2 * size];
+        final long twoN = 2L * size;
+        for (int k = 0; k < size; k++) {
+            // Reduce k^2 modulo 2n to preserve accuracy of the angle.
+            final double angle = Math.PI * ((long) k * k % twoN) / size;
+            chirp[2 * k] = Math.cos(angle);
+            chirp[2 * k + 1] = -Math.sin(angle);
+        }
+
+        final int m = convolutionSize;
+        filter = new double[2 * m];
+        filter[0] = chirp[0];
+        filter[1] = -chirp[1];
+        for (int k = 1; k < size; k++) {
+            filter[2 * k] = chirp[2 * k];
+            filter[2 * k + 1] = -chirp[2 * k + 1];
+            filter[2 * (m - k)] = chirp[2 * k];
+            filter[2 * (m - k) + 1] = -chirp[2 * k + 1];
+        }
+        convolution.transform(filter, 0, filter, 1, 2, false);
+        final double scale = 1.0 / m;
+        for (int i = 0; i < filter.length; i++) {
+            filter[i] *= scale;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void transform(double[] re, int reOffset,
+                          double[] im, int imOffset,
+                          int stride,
+                          boolean inverse) {
+        final int n = size;
+        // The inverse transform is conj(forward(conj(x))).
+        final double sign = inverse ? -1 : 1;
+
+        final double[] a = workspace.get();
+        // Zero padding: the previous transform left values beyond n.
+        Arrays.fill(a, 2 * n, a.length, 0);
+        for (int k = 0; k < n; k++) {
+            final double xr = re[reOffset + k * stride];
+            final double xi = sign * im[imOffset + k * stride];
+            final double wr = chirp[2 * k];
+            final double wi = chirp[2 * k + 1];
+            a[2 * k] = xr * wr - xi * wi;
+            a[2 * k + 1] = xr * wi + xi * wr;
+        }
+
+        convolution.transform(a, 0, a, 1, 2, false);
+        for (int i = 0; i < a.length; i += 2) {
+            final double ar = a[i];
+            final double ai = a[i + 1];
+            final double br = filter[i];
+            final double bi = filter[i + 1];
+            a[i] = ar * br - ai * bi;
+            a[i + 1] = ar * bi + ai * br;
+        }
+        convolution.transform(a, 0, a, 1, 2, true);
+
+        for (int k = 0; k < n; k++) {
+            final double ar = a[2 * k];
+            final double ai = a[2 * k + 1];
+            final double wr = chirp[2 * k];
+            final double wi = chirp[2 * k + 1];
+            re[reOffset + k * stride] = ar * wr - ai * wi;
+            im[imOffset + k * stride] = sign * (ar * wi + ai * wr);
+        }
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.fft;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.numbers.complex.Complex;
+import org.apache.commons.numbers.complex.RootsOfUnity;
+import org.apache.commons.numbers.complex.RootsOfUnityCache;
+
+/**
+ * Fast Fourier transform of complex data of a fixed length.
+ * <p>
+ * The forward transform of \(x_0, \ldots, x_{n-1}\) is
+ * \(X_k = \sum_{j=0}^{n-1} x_j e^{-2 \pi i j k / n}\) and the inverse
+ * transform is \(x_j = \frac{1}{n} \sum_{k=0}^{n-1} X_k e^{2 \pi i j k / n}\),
+ * so that {@code inverse(forward(x))} recovers {@code x} up to rounding.
+ * </p><p>
+ * The algorithm is selected from the length:
+ * <ul>
+ *  <li>radix-2 Cooley-Tukey when it is a power of two;</li>
+ *  <li>mixed-radix Cooley-Tukey when all its prime factors are small;</li>
+ *  <li>Bluestein's chirp-z algorithm otherwise.</li>
+ * </ul>
+ * All of them run in {@code O(n log n)} time.
+ * </p><p>
+ * Data can be given as an interleaved array (the layout produced by
+ * {@code ComplexUtils.complex2Interleaved(Complex[])}), as separate arrays
+ * of real and imaginary parts, or as {@code Complex} objects. The primitive
+ * arrays are transformed in place.
+ * </p><p>
+ * Instances are immutable and thread-safe: all the tables are computed when
+ * the instance is created, so that it should be reused for repeated
+ * transforms of the same length. The mixed-radix and Bluestein algorithms
+ * also need work arrays of {@code O(n)} values; they are allocated by the
+ * first transform of each thread and reused, so that repeated transforms
+ * do not allocate memory.
+ * </p>
+ */
+public final class FastFourierTransform {
+    /** Largest prime factor handled by the mixed-radix algorithm. */
+    private static final int MAX_RADIX = 31;
+    /** Largest size handled by Bluestein's algorithm. */
+    private static final int MAX_BLUESTEIN_SIZE = 1 << 29;
+
+    /** Length of the transform. */
+    private final int size;
+    /** Algorithm. */
+    private final TransformKernel kernel;
+
+    /**
+     * @param size Length of the transform.
+     * @param kernel Algorithm.
+     */
+    private FastFourierTransform(int size, TransformKernel kernel) {
+        this.size = size;
+        this.kernel = kernel;
+    }
+
+    /**
+     * Creates a transform for data of the given length.
+     *
+     * @param size Number of complex values to transform.
+     * @return a new instance.
+     * @throws IllegalArgumentException if {@code size < 1}, or if it is larger
+     * than {@code 2^29} and not a product of small primes.
+     */
+    public static FastFourierTransform of(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Size must be strictly positive: " + size);
+        }
+        return new FastFourierTransform(size, createKernel(size));
+    }
+
+    /**
+     * Gets the number of complex values that this instance transforms.
+     *
+     * @return the length of the transform.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Computes the forward transform of interleaved data, in place.
+     *
+     * @param interleaved Alternating real and imaginary parts.
+     * @throws IllegalArgumentException if the length of the array is not
+     * {@code 2 * getSize()}.
+     */
+    public void forward(double[] interleaved) {
+        checkLength(interleaved, 2 * size);
+        transform(interleaved, 0, interleaved, 1, 2, false);
+    }
+
+    /**
+     * Computes the inverse transform of interleaved data, in place.
+     *
+     * @param interleaved Alternating real and imaginary parts.
+     * @throws IllegalArgumentException if the length of the array is not
+     * {@code 2 * getSize()}.
+     */
+    public void inverse(double[] interleaved) {
+        checkLength(interleaved, 2 * size);
+        transform(interleaved, 0, interleaved, 1, 2, true);
+    }
+
+    /**
+     * Computes the forward transform of split data, in place.
+     *
+     * @param real Real parts.
+     * @param imaginary Imaginary parts.
+     * @throws IllegalArgumentException if the length of either array is not
+     * {@link #getSize()}.
+     */
+    public void forward(double[] real, double[] imaginary) {
+        checkLength(real, size);
+        checkLength(imaginary, size);
+        transform(real, 0, imaginary, 0, 1, false);
+    }
+
+    /**
+     * Computes the inverse transform of split data, in place.
+     *
+     * @param real Real parts.
+     * @param imaginary Imaginary parts.
+     * @throws IllegalArgumentException if the length of either array is not
+     * {@link #getSize()}.
+     */
+    public void inverse(double[] real, double[] imaginary) {
+        checkLength(real, size);
+        checkLength(imaginary, size);
+        transform(real, 0, imaginary, 0, 1, true);
+    }
+
+    /**
+     * Computes the forward transform.
+     *
+     * @param data Values to transform.
+     * @return a new array holding the transform.
+     * @throws IllegalArgumentException if the length of the array is not
+     * {@link #getSize()}.
+     */
+    public Complex[] forward(Complex[] data) {
+        return transform(data, false);
+    }
+
+    /**
+     * Computes the inverse transform.
+     *
+     * @param data Values to transform.
+     * @return a new array holding the transform.
+     * @throws IllegalArgumentException if the length of the array is not
+     * {@link #getSize()}.
+     */
+    public Complex[] inverse(Complex[] data) {
+        return transform(data, true);
+    }
+
+    /**
+     * Computes the transform of {@link #getSize()} values addressed as in
+     * {@link TransformKernel#transform(double[], int, double[], int, int, boolean)},
+     * scaling the inverse transform.
+     *
+     * @param re Array holding the real parts.
+     * @param reOffset Index of the real part of the first element.
+     * @param im Array holding the imaginary parts.
+     * @param imOffset Index of the imaginary part of the first element.
+     * @param stride Distance between consecutive elements.
+     * @param inverse Whether to compute the inverse transform.
+     */
+    void transform(double[] re, int reOffset,
+                   double[] im, int imOffset,
+                   int stride,
+                   boolean inverse) {
+        kernel.transform(re, reOffset, im, imOffset, stride, inverse);
+        if (inverse && size > 1) {
+            final double scale = 1.0 / size;
+            for (int i = 0; i < size; i++) {
+                re[reOffset + i * stride] *= scale;
+                im[imOffset + i * stride] *= scale;
+            }
+        }
+    }
+
+    /**
+     * @param data Values to transform.
+     * @param inverse Whether to compute the inverse transform.
+     * @return a new array holding the transform.
+     */
+    private Complex[] transform(Complex[] data, boolean inverse) {
+        if (data.length != size) {
+            throw new IllegalArgumentException("Expected length " + size + " but was " + data.length);
+        }
+        final double[] d = new double[2 * size];
+        for (int i = 0; i < size; i++) {
+            d[2 * i] = data[i].getReal();
+            d[2 * i + 1] = data[i].getImaginary();
+        }
+        transform(d, 0, d, 1, 2, inverse);
+        final Complex[] result = new Complex[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = Complex.ofCartesian(d[2 * i], d[2 * i + 1]);
+        }
+        return result;
+    }
+
+    /**
+     * Selects the algorithm for the given length.
+     *
+     * @param size Length of the transform.
+     * @return the kernel.
+     */
+    private static TransformKernel createKernel(int size) {
+        if ((size & (size - 1)) == 0) {
+            return new Radix2Kernel(size, rootsOfUnity(size));
+        }
+        final int[] factors = factorize(size);
+        if (factors[factors.length - 1] <= MAX_RADIX) {
+            return new MixedRadixKernel(size, factors, rootsOfUnity(size));
+        }
+        if (size > MAX_BLUESTEIN_SIZE) {
+            throw new IllegalArgumentException("Size too large for its largest prime factor: " + size);
+        }
+        final int m = Integer.highestOneBit(2 * size - 1) << 1;
+        return new BluesteinKernel(size, new Radix2Kernel(m, rootsOfUnity(m)), m);
+    }
+
+    /**
+     * Gets the roots of unity of the given order from the
+     * {@linkplain RootsOfUnityCache#getDefault() shared cache}, so that
+     * creating transforms of the same length repeatedly does not evaluate
+     * the trigonometric functions again.
+     *
+     * @param n Order.
+     * @return a new interleaved array {@code cos(2 pi j / n), sin(2 pi j / n)},
+     * for {@code j = 0, ..., n - 1}.
+     */
+    static double[] rootsOfUnity(int n) {
+        return RootsOfUnityCache.getDefault().get(n).toInterleaved();
+    }
+
+    /**
+     * Gets the first roots of unity of the given order from the
+     * {@linkplain RootsOfUnityCache#getDefault() shared cache}, without
+     * copying the whole table.
+     *
+     * @param n Order.
+     * @param count Number of roots ({@code count <= n}).
+     * @return a new interleaved array {@code cos(2 pi j / n), sin(2 pi j / n)},
+     * for {@code j = 0, ..., count - 1}.
+     */
+    static double[] rootsOfUnity(int n, int count) {
+        final RootsOfUnity table = RootsOfUnityCache.getDefault().get(n);
+        final double[] roots = new double[2 * count];
+        for (int j = 0; j < count; j++) {
+            roots[2 * j] = table.getReal(j);
+            roots[2 * j + 1] = table.getImaginary(j);
+        }
+        return roots;
+    }
+
+    /**
+     * Computes the prime factors of a number.
+     *
+     * @param n Number (strictly positive).
+     * @return the prime factors, in increasing order.
+     */
+    static int[] factorize(int n) {
+        final List<Integer> factors = new ArrayList<Integer>();
+        int m = n;
+        for (int p = 2; (long) p * p <= m; p++) {
+            while (m % p == 0) {
+                factors.add(p);
+                m /= p;
+            }
+        }
+        if (m > 1) {
+            factors.add(m);
+        }
+        final int[] result = new int[factors.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = factors.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * @param data Array.
+     * @param expected Expected length.
+     * @throws IllegalArgumentException if the length is not the expected one.
+     */
+    private static void checkLength(double[] data, int expected) {
+        if (data.length != expected) {
+            throw new IllegalArgumentException("Expected length " + expected + " but was " + data.length);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.fft;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Two-dimensional fast Fourier transform of complex data.
+ * <p>
+ * The data is a {@code double[rows][2 * columns]} array in which each row
+ * holds interleaved real and imaginary parts: the layout of
+ * {@code ComplexUtils.complex2Interleaved(Complex[][])}.
+ * The transform is computed in place with the row-column method: a
+ * {@link FastFourierTransform} of each row, then of each column. The
+ * columns are transformed in blocks that are transposed into contiguous
+ * buffers, and the independent 1D transforms of each pass run in parallel
+ * on a {@link ForkJoinPool}.
+ * </p><p>
+ * The inverse transform is scaled by {@code 1 / (rows * columns)}.
+ * </p><p>
+ * Instances are immutable and thread-safe.
+ * </p>
+ */
+public final class FastFourierTransform2D {
+    /** Transform of each row. */
+    private final FastFourierTransform rowTransform;
+    /** Transform of each column. */
+    private final FastFourierTransform columnTransform;
+    /** Executor. */
+    private final ForkJoinPool pool;
+
+    /**
+     * @param rows Number of rows.
+     * @param columns Number of columns.
+     * @param pool Executor.
+     */
+    private FastFourierTransform2D(int rows, int columns, ForkJoinPool pool) {
+        rowTransform = FastFourierTransform.of(columns);
+        columnTransform = rows == columns ? rowTransform : FastFourierTransform.of(rows);
+        this.pool = pool;
+    }
+
+    /**
+     * Creates a transform that runs on the
+     * {@linkplain ForkJoinPool#commonPool() common pool}.
+     *
+     * @param rows Number of rows.
+     * @param columns Number of complex values in each row.
+     * @return a new instance.
+     * @throws IllegalArgumentException if a dimension is not a valid
+     * {@link FastFourierTransform#of(int) length}.
+     */
+    public static FastFourierTransform2D of(int rows, int columns) {
+        return of(rows, columns, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a transform that runs on the given pool.
+     *
+     * @param rows Number of rows.
+     * @param columns Number of complex values in each row.
+     * @param pool Executor of the 1D transforms.
+     * @return a new instance.
+     * @throws IllegalArgumentException if a dimension is not a valid
+     * {@link FastFourierTransform#of(int) length}.
+     */
+    public static FastFourierTransform2D of(int rows, int columns, ForkJoinPool pool) {
+        return new FastFourierTransform2D(rows, columns, pool);
+    }
+
+    /**
+     * @return the number of rows.
+     */
+    public int getRows() {
+        return columnTransform.getSize();
+    }
+
+    /**
+     * @return the number of complex values in each row.
+     */
+    public int getColumns() {
+        return rowTransform.getSize();
+    }
+
+    /**
+     * Computes the forward transform in place.
+     *
+     * @param data Interleaved rows.
+     * @throws IllegalArgumentException if the dimensions of the array do not
+     * match those of the transform.
+     */
+    public void forward(double[][] data) {
+        transform(data, false);
+    }
+
+    /**
+     * Computes the inverse transform in place.
+     *
+     * @param data Interleaved rows.
+     * @throws IllegalArgumentException if the dimensions of the array do not
+     * match those of the transform.
+     */
+    public void inverse(double[][] data) {
+        transform(data, true);
+    }
+
+    /**
+     * @param data Interleaved rows.
+     * @param inverse Whether to compute the inverse transform.
+     */
+    private void transform(double[][] data, boolean inverse) {
+        LinePass.checkRows(data, getRows(), getColumns());
+        LinePass.rows(pool, data, rowTransform, inverse);
+        LinePass.columns(pool, new double[][][] {data}, getColumns(), columnTransform, inverse);
+    }
+}
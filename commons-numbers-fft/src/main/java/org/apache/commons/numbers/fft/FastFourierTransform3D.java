@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.fft;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Three-dimensional fast Fourier transform of complex data.
+ * <p>
+ * The data is a {@code double[slices][rows][2 * columns]} array in which
+ * each row holds interleaved real and imaginary parts: the layout of
+ * {@code ComplexUtils.complex2Interleaved(Complex[][][])}.
+ * The transform is computed in place by 1D transforms along the columns,
+ * then the rows, then the slices, as in {@link FastFourierTransform2D}.
+ * </p><p>
+ * The inverse transform is scaled by {@code 1 / (slices * rows * columns)}.
+ * </p><p>
+ * Instances are immutable and thread-safe.
+ * </p>
+ */
+public final class FastFourierTransform3D {
+    /** Transform along the last dimension. */
+    private final FastFourierTransform rowTransform;
+    /** Transform along the second dimension. */
+    private final FastFourierTransform columnTransform;
+    /** Transform along the first dimension. */
+    private final FastFourierTransform sliceTransform;
+    /** Executor. */
+    private final ForkJoinPool pool;
+
+    /**
+     * @param slices Number of slices.
+     * @param rows Number of rows in each slice.
+     * @param columns Number of columns.
+     * @param pool Executor.
+     */
+    private FastFourierTransform3D(int slices, int rows, int columns, ForkJoinPool pool) {
+        rowTransform = FastFourierTransform.of(columns);
+        columnTransform = rows == columns ? rowTransform : FastFourierTransform.of(rows);
+        sliceTransform = slices == columns ? rowTransform :
+            slices == rows ? columnTransform : FastFourierTransform.of(slices);
+        this.pool = pool;
+    }
+
+    /**
+     * Creates a transform that runs on the
+     * {@linkplain ForkJoinPool#commonPool() common pool}.
+     *
+     * @param slices Number of slices.
+     * @param rows Number of rows in each slice.
+     * @param columns Number of complex values in each row.
+     * @return a new instance.
+     * @throws IllegalArgumentException if a dimension is not a valid
+     * {@link FastFourierTransform#of(int) length}.
+     */
+    public static FastFourierTransform3D of(int slices, int rows, int columns) {
+        return of(slices, rows, columns, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a transform that runs on the given pool.
+     *
+     * @param slices Number of slices.
+     * @param rows Number of rows in each slice.
+     * @param columns Number of complex values in each row.
+     * @param pool Executor of the 1D transforms.
+     * @return a new instance.
+     * @throws IllegalArgumentException if a dimension is not a valid
+     * {@link FastFourierTransform#of(int) length}.
+     */
+    public static FastFourierTransform3D of(int slices, int rows, int columns, ForkJoinPool pool) {
+        return new FastFourierTransform3D(slices, rows, columns, pool);
+    }
+
+    /**
+     * @return the number of slices.
+     */
+    public int getSlices() {
+        return sliceTransform.getSize();
+    }
+
+    /**
+     * @return the number of rows in each slice.
+     */
+    public int getRows() {
+        return columnTransform.getSize();
+    }
+
+    /**
+     * @return the number of complex values in each row.
+     */
+    public int getColumns() {
+        return rowTransform.getSize();
+    }
+
+    /**
+     * Computes the forward transform in place.
+     *
+     * @param data Interleaved rows of each slice.
+     * @throws IllegalArgumentException if the dimensions of the array do not
+     * match those of the transform.
+     */
+    public void forward(double[][][] data) {
+        transform(data, false);
+    }
+
+    /**
+     * Computes the inverse transform in place.
+     *
+     * @param data Interleaved rows of each slice.
+     * @throws IllegalArgumentException if the dimensions of the array do not
+     * match those of the transform.
+     */
+    public void inverse(double[][][] data) {
+        transform(data, true);
+    }
+
+    /**
+     * @param data Interleaved rows of each slice.
+     * @param inverse Whether to compute the inverse transform.
+     */
+    private void transform(double[][][] data, boolean inverse) {
+        final int slices = getSlices();
+        final int rows = getRows();
+        final int columns = getColumns();
+        if (data.length != slices) {
+            throw new IllegalArgumentException("Expected " + slices + " slices but was " + data.length);
+        }
+        final double[][] lines = new double[slices * rows][];
+        for (int i = 0; i < slices; i++) {
+            LinePass.checkRows(data[i], rows, columns);
+            System.arraycopy(data[i], 0, lines, i * rows, rows);
+        }
+        // The rows at the same index of each slice form a 2D array
+        // whose columns are transformed along the first dimension.
+        final double[][][] sliceGroups = new double[rows][slices][];
+        for (int i = 0; i < slices; i++) {
+            for (int j = 0; j < rows; j++) {
+                sliceGroups[j][i] = data[i][j];
+            }
+        }
+
+        LinePass.rows(pool, lines, rowTransform, inverse);
+        LinePass.columns(pool, data, columns, columnTransform, inverse);
+        LinePass.columns(pool, sliceGroups, columns, sliceTransform, inverse);
+    }
+}
@@ -0,0 +1,412 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.fft;
+
+import java.util.Arrays;
+
+import org.apache.commons.numbers.complex.Complex;
+
+/**
+ * Streaming detector of a few frequencies with the Goertzel algorithm.
+ * <p>
+ * Samples are consumed one at a time, or in blocks, and grouped in blocks of
+ * {@code n} samples \(x_0, \ldots, x_{n-1}\). At the end of each block, the
+ * value of the discrete-time Fourier transform
+ * \(X(f) = \sum_{j=0}^{n-1} x_j e^{-2 \pi i f j}\) is available for each
+ * monitored frequency {@code f} (in cycles per sample); for the frequency
+ * {@code k / n} it is the bin {@code k} of the {@link FastFourierTransform}
+ * of the block. The values are kept until the end of the next block.
+ * </p><p>
+ * Each frequency costs one multiplication and three additions per sample and
+ * two numbers of state, so that monitoring a few frequencies is much cheaper
+ * than transforming each block. No object is created while samples are
+ * consumed.
+ * </p><p>
+ * The second-order filter uses Reinsch's modification: with
+ * \(s_j = x_j + 2 \cos(\omega) s_{j-1} - s_{j-2}\), it updates \(s_j\) and
+ * \(d_j = s_j \mp s_{j-1}\) instead, whose coefficient
+ * \(2 \cos(\omega) \mp 2\) is computed without cancellation. The error then
+ * grows linearly with the block length, including for frequencies close to
+ * 0 or 1/2 where the plain recurrence loses accuracy quadratically.
+ * </p><p>
+ * Instances are not thread-safe.
+ * </p>
+ */
+public final class Goertzel {
+    /** Number of samples per block. */
+    private final int blockLength;
+    /** Frequencies, in cycles per sample. */
+    private final double[] frequencies;
+    /** Sign of {@code cos(2 pi f)}, either 1 or -1, for each frequency. */
+    private final double[] signs;
+    /** {@code 2 cos(2 pi f) - 2 sign}, for each frequency. */
+    private final double[] coefficients;
+    /** Real part of {@code exp(-2 pi i f)}. */
+    private final double[] cos;
+    /** Imaginary part of {@code exp(-2 pi i f)}. */
+    private final double[] sin;
+    /** Real part of {@code exp(-2 pi i f (n - 1))}, the phase of the output. */
+    private final double[] phaseReal;
+    /** Imaginary part of {@code exp(-2 pi i f (n - 1))}. */
+    private final double[] phaseImaginary;
+    /** Last output {@code s} of the filter of each frequency. */
+    private final double[] state;
+    /** Difference {@code s[j] - sign s[j-1]} of the filter of each frequency. */
+    private final double[] difference;
+    /** Real parts of the values of the last complete block. */
+    private final double[] real;
+    /** Imaginary parts of the values of the last complete block. */
+    private final double[] imaginary;
+    /** Number of samples of the current block. */
+    private int count;
+    /** Number of complete blocks. */
+    private long blocks;
+
+    /**
+     * @param blockLength Number of samples per block.
+     * @param frequencies Frequencies, in cycles per sample.
+     */
+    private Goertzel(int blockLength, double[] frequencies) {
+        this.blockLength = blockLength;
+        this.frequencies = frequencies;
+        final int m = frequencies.length;
+        signs = new double[m];
+        coefficients = new double[m];
+        cos = new double[m];
+        sin = new double[m];
+        phaseReal = new double[m];
+        phaseImaginary = new double[m];
+        for (int k = 0; k < m; k++) {
+            final double f = frequencies[k];
+            final Complex w = Complex.ofCis(-2 * Math.PI * f);
+            cos[k] = w.getReal();
+            sin[k] = w.getImaginary();
+            // 2 cos(w) - 2 = -4 sin^2(w / 2) and 2 cos(w) + 2 = 4 cos^2(w / 2).
+            final Complex h = Complex.ofCis(-Math.PI * f);
+            if (w.getReal() >= 0) {
+                signs[k] = 1;
+                coefficients[k] = -4 * h.getImaginary() * h.getImaginary();
+            } else {
+                signs[k] = -1;
+                coefficients[k] = 4 * h.getReal() * h.getReal();
+            }
+            // Reduce f (n - 1) modulo 1 to keep the angle accurate.
+            final double turns = f * (blockLength - 1);
+            final Complex phase = Complex.ofCis(-2 * Math.PI * (turns - Math.rint(turns)));
+            phaseReal[k] = phase.getReal();
+            phaseImaginary[k] = phase.getImaginary();
+        }
+        state = new double[m];
+        difference = new double[m];
+        real = new double[m];
+        imaginary = new double[m];
+    }
+
+    /**
+     * Creates a detector of the given frequencies.
+     *
+     * @param blockLength Number of samples per block.
+     * @param frequencies Frequencies, in cycles per sample (copied).
+     * @return a new instance.
+     * @throws IllegalArgumentException if {@code blockLength < 1}, if there
+     * is no frequency or if a frequency is not finite.
+     */
+    public static Goertzel of(int blockLength, double... frequencies) {
+        if (blockLength < 1) {
+            throw new IllegalArgumentException("Block length must be strictly positive: " + blockLength);
+        }
+        if (frequencies.length == 0) {
+            throw new IllegalArgumentException("No frequency");
+        }
+        for (final double f : frequencies) {
+            if (!Double.isFinite(f)) {
+                throw new IllegalArgumentException("Invalid frequency: " + f);
+            }
+        }
+        return new Goertzel(blockLength, frequencies.clone());
+    }
+
+    /**
+     * Creates a detector of the given bins of the transform of each block,
+     * i.e. of the frequencies {@code bins[i] / blockLength}.
+     *
+     * @param blockLength Number of samples per block.
+     * @param bins Indices of the bins.
+     * @return a new instance.
+     * @throws IllegalArgumentException if {@code blockLength < 1} or if there
+     * is no bin.
+     */
+    public static Goertzel ofBins(int blockLength, int... bins) {
+        if (blockLength < 1) {
+            throw new IllegalArgumentException("Block length must be strictly positive: " + blockLength);
+        }
+        final double[] f = new double[bins.length];
+        for (int k = 0; k < bins.length; k++) {
+            // Exact fraction of a turn in [0, 1).
+            f[k] = (double) Math.floorMod(bins[k], blockLength) / blockLength;
+        }
+        return of(blockLength, f);
+    }
+
+    /**
+     * @return the number of samples per block.
+     */
+    public int getBlockLength() {
+        return blockLength;
+    }
+
+    /**
+     * @return the number of monitored frequencies.
+     */
+    public int getFrequencyCount() {
+        return frequencies.length;
+    }
+
+    /**
+     * @param index Index of the frequency.
+     * @return the frequency, in cycles per sample.
+     */
+    public double getFrequency(int index) {
+        return frequencies[index];
+    }
+
+    /**
+     * @return the number of complete blocks since the creation or the last
+     * {@link #reset()}.
+     */
+    public long getBlockCount() {
+        return blocks;
+    }
+
+    /**
+     * Consumes one sample.
+     *
+     * @param sample Sample.
+     * @return {@code true} if the sample completes a block, whose values are
+     * then available.
+     */
+    public boolean accept(double sample) {
+        final double[] c = coefficients;
+        final double[] sign = signs;
+        final double[] s = state;
+        final double[] d = difference;
+        for (int k = 0; k < c.length; k++) {
+            final double dk = sample + c[k] * s[k] + sign[k] * d[k];
+            s[k] = sign[k] * s[k] + dk;
+            d[k] = dk;
+        }
+        return endOfSamples(1);
+    }
+
+    /**
+     * Consumes samples until the end of the range or of the current block,
+     * whichever comes first.
+     * <p>
+     * The values of a block should be read when it is complete, before
+     * consuming the remaining samples:
+     * <pre>
+     * for (int i = from; i &lt; to; ) {
+     *     i = detector.accept(samples, i, to);
+     *     if (detector.isBlockComplete()) { ... }
+     * }
+     * </pre>
+     *
+     * @param samples Samples.
+     * @param from Index of the first sample.
+     * @param to Index after the last sample.
+     * @return the index after the last consumed sample.
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    public int accept(double[] samples, int from, int to) {
+        if (from < 0 || to > samples.length || from > to) {
+            throw new IndexOutOfBoundsException("Invalid range [" + from + ", " + to + ")");
+        }
+        final int end = Math.min(to, from + blockLength - count);
+        final double[] c = coefficients;
+        final double[] sign = signs;
+        final double[] st = state;
+        final double[] diff = difference;
+        int k = 0;
+        // Four frequencies at a time, so that the independent recurrences
+        // overlap and their state stays in registers.
+        for (; k + 4 <= c.length; k += 4) {
+            final double c0 = c[k];
+            final double c1 = c[k + 1];
+            final double c2 = c[k + 2];
+            final double c3 = c[k + 3];
+            final double g0 = sign[k];
+            final double g1 = sign[k + 1];
+            final double g2 = sign[k + 2];
+            final double g3 = sign[k + 3];
+            double s0 = st[k];
+            double s1 = st[k + 1];
+            double s2 = st[k + 2];
+            double s3 = st[k + 3];
+            double d0 = diff[k];
+            double d1 = diff[k + 1];
+            double d2 = diff[k + 2];
+            double d3 = diff[k + 3];
+            for (int i = from; i < end; i++) {
+                final double x = samples[i];
+                d0 = x + c0 * s0 + g0 * d0;
+                d1 = x + c1 * s1 + g1 * d1;
+                d2 = x + c2 * s2 + g2 * d2;
+                d3 = x + c3 * s3 + g3 * d3;
+                s0 = g0 * s0 + d0;
+                s1 = g1 * s1 + d1;
+                s2 = g2 * s2 + d2;
+                s3 = g3 * s3 + d3;
+            }
+            st[k] = s0;
+            st[k + 1] = s1;
+            st[k + 2] = s2;
+            st[k + 3] = s3;
+            diff[k] = d0;
+            diff[k + 1] = d1;
+            diff[k + 2] = d2;
+            diff[k + 3] = d3;
+        }
+        for (; k < c.length; k++) {
+            final double ck = c[k];
+            double s = st[k];
+            double d = diff[k];
+            if (sign[k] > 0) {
+                for (int i = from; i < end; i++) {
+                    d += samples[i] + ck * s;
+                    s += d;
+                }
+            } else {
+                for (int i = from; i < end; i++) {
+                    d = samples[i] + ck * s - d;
+                    s = d - s;
+                }
+            }
+            st[k] = s;
+            diff[k] = d;
+        }
+        endOfSamples(end - from);
+        return end;
+    }
+
+    /**
+     * @return {@code true} if the last consumed sample completed a block.
+     */
+    public boolean isBlockComplete() {
+        return count == 0 && blocks != 0;
+    }
+
+    /**
+     * Gets the real part of the value of a frequency in the last complete block.
+     *
+     * @param index Index of the frequency.
+     * @return the real part.
+     */
+    public double getReal(int index) {
+        return real[index];
+    }
+
+    /**
+     * Gets the imaginary part of the value of a frequency in the last complete block.
+     *
+     * @param index Index of the frequency.
+     * @return the imaginary part.
+     */
+    public double getImaginary(int index) {
+        return imaginary[index];
+    }
+
+    /**
+     * Gets the value of a frequency in the last complete block.
+     *
+     * @param index Index of the frequency.
+     * @return the value.
+     */
+    public Complex get(int index) {
+        return Complex.ofCartesian(real[index], imaginary[index]);
+    }
+
+    /**
+     * Gets the power, i.e. the squared modulus of the value, of a frequency in
+     * the last complete block.
+     *
+     * @param index Index of the frequency.
+     * @return the power.
+     */
+    public double getPower(int index) {
+        final double re = real[index];
+        final double im = imaginary[index];
+        return re * re + im * im;
+    }
+
+    /**
+     * Copies the values of the last complete block.
+     *
+     * @param interleaved Alternating real and imaginary parts, for each
+     * frequency (output).
+     * @throws IllegalArgumentException if the length of the array is not
+     * {@code 2 * getFrequencyCount()}.
+     */
+    public void getValues(double[] interleaved) {
+        if (interleaved.length != 2 * real.length) {
+            throw new IllegalArgumentException("Expected length " + 2 * real.length + " but was " + interleaved.length);
+        }
+        for (int k = 0; k < real.length; k++) {
+            interleaved[2 * k] = real[k];
+            interleaved[2 * k + 1] = imaginary[k];
+        }
+    }
+
+    /**
+     * Discards the current block and the values of the last one.
+     */
+    public void reset() {
+        Arrays.fill(state, 0);
+        Arrays.fill(difference, 0);
+        Arrays.fill(real, 0);
+        Arrays.fill(imaginary, 0);
+        count = 0;
+        blocks = 0;
+    }
+
+    /**
+     * Counts the consumed samples, and computes the values at the end of a block.
+     *
+     * @param n Number of samples.
+     * @return {@code true} if the block is complete.
+     */
+    private boolean endOfSamples(int n) {
+        count += n;
+        if (count < blockLength) {
+            return false;
+        }
+        for (int k = 0; k < real.length; k++) {
+            // y = s1 - exp(-2 pi i f) s2, and X = exp(-2 pi i f (n - 1)) y.
+            final double s1 = state[k];
+            final double s2 = signs[k] * (s1 - difference[k]);
+            final double yr = s1 - cos[k] * s2;
+            final double yi = -sin[k] * s2;
+            real[k] = phaseReal[k] * yr - phaseImaginary[k] * yi;
+            imaginary[k] = phaseReal[k] * yi + phaseImaginary[k] * yr;
+            state[k] = 0;
+            difference[k] = 0;
+        }
+        count = 0;
+        blocks++;
+        return true;
+    }
+}
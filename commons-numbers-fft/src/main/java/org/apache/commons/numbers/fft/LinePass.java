@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.fft;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * One-dimensional passes of a multi-dimensional transform.
+ * <p>
+ * Data is held as rows of interleaved values (the default layout of the
+ * multi-dimensional {@code ComplexUtils.complex2Interleaved} methods).
+ * Transforming along the rows is direct. Transforming along the columns
+ * copies blocks of {@link #BLOCK_SIZE} columns into contiguous buffers
+ * (a cache-blocked transpose), transforms them and copies them back.
+ * </p><p>
+ * The independent 1D transforms are split into ranges that are executed
+ * on a {@link ForkJoinPool}.
+ * </p>
+ */
+final class LinePass {
+    /** Number of columns transposed together. */
+    static final int BLOCK_SIZE = 16;
+    /** Number of tasks per worker thread, for load balancing. */
+    private static final int TASKS_PER_THREAD = 4;
+
+    /**
+     * Work on a range of independent units.
+     */
+    private interface RangeAction {
+        /**
+         * @param from First unit (inclusive).
+         * @param to Last unit (exclusive).
+         */
+        void run(int from, int to);
+    }
+
+    /**
+     * Splits a range of units in halves until it is small enough.
+     */
+    private static final class RangeTask extends RecursiveAction {
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20261017L;
+        /** First unit (inclusive). */
+        private final int from;
+        /** Last unit (exclusive). */
+        private final int to;
+        /** Largest range executed without splitting. */
+        private final int grain;
+        /** Work. */
+        private final transient RangeAction action;
+
+        /**
+         * @param from First unit (inclusive).
+         * @param to Last unit (exclusive).
+         * @param grain Largest range executed without splitting.
+         * @param action Work.
+         */
+        RangeTask(int from, int to, int grain, RangeAction action) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.action = action;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                action.run(from, to);
+            } else {
+                final int mid = (from + to) >>> 1;
+                invokeAll(new RangeTask(from, mid, grain, action),
+                          new RangeTask(mid, to, grain, action));
+            }
+        }
+    }
+
+    /** Utility class. */
+    private LinePass() {}
+
+    /**
+     * Transforms each line in place.
+     *
+     * @param pool Executor.
+     * @param lines Interleaved lines, each of length {@code 2 * fft.getSize()}.
+     * @param fft Transform.
+     * @param inverse Whether to compute the inverse transform.
+     */
+    static void rows(ForkJoinPool pool,
+                     final double[][] lines,
+                     final FastFourierTransform fft,
+                     final boolean inverse) {
+        run(pool, lines.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                fft.transform(lines[i], 0, lines[i], 1, 2, inverse);
+            }
+        });
+    }
+
+    /**
+     * Transforms each column of each group in place.
+     * Each group holds {@code fft.getSize()} interleaved rows of
+     * {@code columns} values.
+     *
+     * @param pool Executor.
+     * @param groups Groups of rows.
+     * @param columns Number of complex values in each row.
+     * @param fft Transform.
+     * @param inverse Whether to compute the inverse transform.
+     */
+    static void columns(ForkJoinPool pool,
+                        final double[][][] groups,
+                        final int columns,
+                        final FastFourierTransform fft,
+                        final boolean inverse) {
+        final int blocks = (columns + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        run(pool, groups.length * blocks, (from, to) -> {
+            final int n = fft.getSize();
+            final int length = 2 * n;
+            final double[] buffer = new double[length * Math.min(BLOCK_SIZE, columns)];
+            for (int u = from; u < to; u++) {
+                final double[][] rows = groups[u / blocks];
+                final int c0 = (u % blocks) * BLOCK_SIZE;
+                final int width = Math.min(BLOCK_SIZE, columns - c0);
+                // Gather: column c0 + j goes to buffer[j * length, (j + 1) * length).
+                for (int r = 0; r < n; r++) {
+                    final double[] row = rows[r];
+                    for (int j = 0, i = 2 * c0, k = 2 * r; j < width; j++, i += 2, k += length) {
+                        buffer[k] = row[i];
+                        buffer[k + 1] = row[i + 1];
+                    }
+                }
+                for (int j = 0; j < width; j++) {
+                    fft.transform(buffer, j * length, buffer, j * length + 1, 2, inverse);
+                }
+                // Scatter.
+                for (int r = 0; r < n; r++) {
+                    final double[] row = rows[r];
+                    for (int j = 0, i = 2 * c0, k = 2 * r; j < width; j++, i += 2, k += length) {
+                        row[i] = buffer[k];
+                        row[i + 1] = buffer[k + 1];
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Executes the work, in parallel if there is enough of it.
+     *
+     * @param pool Executor.
+     * @param units Number of units of work.
+     * @param action Work.
+     */
+    private static void run(ForkJoinPool pool, int units, RangeAction action) {
+        final int grain = Math.max(1, units / (TASKS_PER_THREAD * pool.getParallelism()));
+        if (units <= grain) {
+            action.run(0, units);
+        } else {
+            pool.invoke(new RangeTask(0, units, grain, action));
+        }
+    }
+
+    /**
+     * @param data Interleaved rows.
+     * @param rows Expected number of rows.
+     * @param columns Expected number of complex values per row.
+     * @throws IllegalArgumentException if the dimensions do not match.
+     */
+    static void checkRows(double[][] data, int rows, int columns) {
+        if (data.length != rows) {
+            throw new IllegalArgumentException("Expected " + rows + " rows but was " + data.length);
+        }
+        for (final double[] row : data) {
+            if (row.length != 2 * columns) {
+                throw new IllegalArgumentException("Expected row length " + 2 * columns + " but was " + row.length);
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.fft;
+
+/**
+ * Recursive mixed-radix decimation-in-time Cooley-Tukey transform for
+ * sizes whose prime factors are all small.
+ * <p>
+ * A transform of size {@code n = p m} is computed from {@code p}
+ * sub-transforms of size {@code m} over the decimated input, followed by
+ * a radix-{@code p} butterfly. The cost is {@code O(n (p1 + p2 + ...))}
+ * where the {@code pi} are the prime factors of {@code n}.
+ * </p><p>
+ * The recursion reads from and writes to work arrays of {@code 2 n} values,
+ * which are allocated by the first transform of each thread and reused by
+ * the following ones, so that repeated transforms do not allocate.
+ * </p>
+ */
+final class MixedRadixKernel implements TransformKernel {
+    /** Size of the transform. */
+    private final int size;
+    /** Prime factors of the size, in increasing order. */
+    private final int[] factors;
+    /**
+     * Roots of unity: {@code roots[2j] = cos(2 pi j / size)} and
+     * {@code roots[2j + 1] = sin(2 pi j / size)}.
+     */
+    private final double[] roots;
+    /** Work arrays of the current thread. */
+    private final ThreadLocal<Workspace> workspace;
+
+    /** Work arrays of a transform. */
+    private static final class Workspace {
+        /** Interleaved input. */
+        private final double[] in;
+        /** Interleaved output. */
+        private final double[] out;
+        /** Twiddled values of a butterfly. */
+        private final double[] tmp;
+
+        /**
+         * @param size Size of the transform.
+         * @param maxFactor Largest factor of the size.
+         */
+        Workspace(int size, int maxFactor) {
+            in = new double[2 * size];
+            out = new double[2 * size];
+            tmp = new double[2 * maxFactor];
+        }
+    }
+
+    /**
+     * @param size Size of the transform.
+     * @param factors Prime factors of {@code size}.
+     * @param roots Interleaved roots of unity of order {@code size}.
+     */
+    MixedRadixKernel(int size, int[] factors, double[] roots) {
+        this.size = size;
+        this.factors = factors;
+        this.roots = roots;
+        int max = 1;
+        for (int p : factors) {
+            max = Math.max(max, p);
+        }
+        final int maxFactor = max;
+        workspace = ThreadLocal.withInitial(() -> new Workspace(size, maxFactor));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void transform(double[] re, int reOffset,
+                          double[] im, int imOffset,
+                          int stride,
+                          boolean inverse) {
+        final int n = size;
+        final Workspace w = workspace.get();
+        final double[] in = w.in;
+        for (int i = 0; i < n; i++) {
+            in[2 * i] = re[reOffset + i * stride];
+            in[2 * i + 1] = im[imOffset + i * stride];
+        }
+        final double[] out = w.out;
+        recurse(in, 0, 1, out, 0, n, 0, inverse ? 1 : -1, w.tmp);
+        for (int i = 0; i < n; i++) {
+            re[reOffset + i * stride] = out[2 * i];
+            im[imOffset + i * stride] = out[2 * i + 1];
+        }
+    }
+
+    /**
+     * Computes the transform of {@code len} elements of {@code in}, taken
+     * every {@code inStride} elements from {@code inIndex}, into
+     * {@code len} contiguous elements of {@code out} from {@code outIndex}.
+     * Indices count complex elements.
+     *
+     * @param in Interleaved input.
+     * @param inIndex Index of the first input element.
+     * @param inStride Distance between input elements.
+     * @param out Interleaved output.
+     * @param outIndex Index of the first output element.
+     * @param len Length of the transform.
+     * @param f Index of the factor to apply.
+     * @param sign Sign of the exponent of the kernel.
+     * @param tmp Work array of length {@code 2 * maxFactor}.
+     */
+    private void recurse(double[] in, int inIndex, int inStride,
+                         double[] out, int outIndex,
+                         int len, int f, double sign, double[] tmp) {
+        final int p = factors[f];
+        final int m = len / p;
+        // Roots of order p are every (size / p)-th root of order size.
+        final int rootStep = size / p;
+
+        if (m == 1) {
+            // Direct DFT of the last factor.
+            for (int r = 0; r < p; r++) {
+                double sr = 0;
+                double si = 0;
+                for (int q = 0; q < p; q++) {
+                    final int x = 2 * (inIndex + q * inStride);
+                    final int w = 2 * (((q * r) % p) * rootStep);
+                    final double wr = roots[w];
+                    final double wi = sign * roots[w + 1];
+                    sr += in[x] * wr - in[x + 1] * wi;
+                    si += in[x] * wi + in[x + 1] * wr;
+                }
+                out[2 * (outIndex + r)] = sr;
+                out[2 * (outIndex + r) + 1] = si;
+            }
+            return;
+        }
+
+        for (int q = 0; q < p; q++) {
+            recurse(in, inIndex + q * inStride, inStride * p,
+                    out, outIndex + q * m,
+                    m, f + 1, sign, tmp);
+        }
+
+        // Twiddle factors of order len are every (size / len)-th root.
+        final int twiddleStep = size / len;
+        if (p == 2) {
+            for (int k = 0; k < m; k++) {
+                final int a = 2 * (outIndex + k);
+                final int b = 2 * (outIndex + k + m);
+                final int w = 2 * (k * twiddleStep);
+                final double wr = roots[w];
+                final double wi = sign * roots[w + 1];
+                final double vr = out[b] * wr - out[b + 1] * wi;
+                final double vi = out[b] * wi + out[b + 1] * wr;
+                final double ur = out[a];
+                final double ui = out[a + 1];
+                out[a] = ur + vr;
+                out[a + 1] = ui + vi;
+                out[b] = ur - vr;
+                out[b + 1] = ui - vi;
+            }
+            return;
+        }
+
+        for (int k = 0; k < m; k++) {
+            // Twiddled outputs of the sub-transforms.
+            for (int q = 0; q < p; q++) {
+                final int y = 2 * (outIndex + q * m + k);
+                final int w = 2 * (q * k * twiddleStep);
+                final double wr = roots[w];
+                final double wi = sign * roots[w + 1];
+                tmp[2 * q] = out[y] * wr - out[y + 1] * wi;
+                tmp[2 * q + 1] = out[y] * wi + out[y + 1] * wr;
+            }
+            // Radix-p butterfly.
+            for (int r = 0; r < p; r++) {
+                double sr = tmp[0];
+                double si = tmp[1];
+                for (int q = 1; q < p; q++) {
+                    final int w = 2 * (((q * r) % p) * rootStep);
+                    final double wr = roots[w];
+                    final double wi = sign * roots[w + 1];
+                    sr += tmp[2 * q] * wr - tmp[2 * q + 1] * wi;
+                    si += tmp[2 * q] * wi + tmp[2 * q + 1] * wr;
+                }
+                out[2 * (outIndex + k + r * m)] = sr;
+                out[2 * (outIndex + k + r * m) + 1] = si;
+            }
+        }
+    }
+}
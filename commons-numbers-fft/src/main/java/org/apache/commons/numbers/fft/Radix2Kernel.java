@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.fft;
+
+/**
+ * In-place iterative radix-2 Cooley-Tukey transform for sizes that are
+ * a power of two.
+ */
+final class Radix2Kernel implements TransformKernel {
+    /** Size of the transform. */
+    private final int size;
+    /**
+     * Twiddle factors of all the butterfly stages, stored contiguously: the
+     * stage of length {@code len} uses the {@code len / 2} interleaved roots
+     * {@code exp(2 pi i j / len)} from index {@code 2 * (len / 2 - 1)}.
+     */
+    private final double[] twiddles;
+
+    /**
+     * @param size Size of the transform (must be a power of two).
+     * @param roots Interleaved roots of unity of order {@code size}:
+     * {@code roots[2j] = cos(2 pi j / size)} and
+     * {@code roots[2j + 1] = sin(2 pi j / size)}.
+     */
+    Radix2Kernel(int size, double[] roots) {
+        this.size = size;
+        twiddles = new double[2 * Math.max(size - 1, 0)];
+        for (int half = 1; half < size; half <<= 1) {
+            final int step = size / (2 * half);
+            for (int j = 0; j < half; j++) {
+                twiddles[2 * (half - 1 + j)] = roots[2 * j * step];
+                twiddles[2 * (half - 1 + j) + 1] = roots[2 * j * step + 1];
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void transform(double[] re, int reOffset,
+                          double[] im, int imOffset,
+                          int stride,
+                          boolean inverse) {
+        final int n = size;
+
+        // Bit-reversal permutation.
+        for (int i = 1, j = 0; i < n; i++) {
+            int bit = n >> 1;
+            while ((j & bit) != 0) {
+                j ^= bit;
+                bit >>= 1;
+            }
+            j ^= bit;
+            if (i < j) {
+                final int a = reOffset + i * stride;
+                final int b = reOffset + j * stride;
+                final double tr = re[a];
+                re[a] = re[b];
+                re[b] = tr;
+                final int c = imOffset + i * stride;
+                final int d = imOffset + j * stride;
+                final double ti = im[c];
+                im[c] = im[d];
+                im[d] = ti;
+            }
+        }
+
+        // Butterflies.
+        final double sign = inverse ? 1 : -1;
+        for (int half = 1; half < n; half <<= 1) {
+            final int len = half << 1;
+            final int base = 2 * (half - 1);
+            final int span = half * stride;
+            for (int i = 0; i < n; i += len) {
+                int r = reOffset + i * stride;
+                int s = imOffset + i * stride;
+                for (int j = 0, w = base; j < half; j++, w += 2) {
+                    final double wr = twiddles[w];
+                    final double wi = sign * twiddles[w + 1];
+                    final double xr = re[r + span];
+                    final double xi = im[s + span];
+                    final double vr = xr * wr - xi * wi;
+                    final double vi = xr * wi + xi * wr;
+                    final double ur = re[r];
+                    final double ui = im[s];
+                    re[r] = ur + vr;
+                    im[s] = ui + vi;
+                    re[r + span] = ur - vr;
+                    im[s + span] = ui - vi;
+                    r += stride;
+                    s += stride;
+                }
+            }
+        }
+    }
+}
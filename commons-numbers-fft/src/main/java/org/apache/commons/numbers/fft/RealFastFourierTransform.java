@@ -0,0 +1,307 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.fft;
+
+/**
+ * Fast Fourier transform of real data of a fixed length.
+ * <p>
+ * The transform of {@code n} real values is Hermitian,
+ * \(X_{n-k} = \overline{X_k}\), so only the {@code n / 2 + 1} values
+ * \(X_0, \ldots, X_{\lfloor n/2 \rfloor}\) are stored. They are packed in
+ * an interleaved array of length {@code 2 * (n / 2 + 1)} (the layout
+ * produced by {@code ComplexUtils.complex2Interleaved(Complex[])}); the
+ * imaginary parts of \(X_0\) and, for even {@code n}, of \(X_{n/2}\) are
+ * always zero.
+ * </p><p>
+ * The transforms are defined as in {@link FastFourierTransform}: the
+ * inverse is scaled by {@code 1 / n} so that {@code inverse(forward(x))}
+ * recovers {@code x}.
+ * </p><p>
+ * For even {@code n}, the real values are processed as {@code n / 2}
+ * complex values by a complex transform of half the length, which roughly
+ * halves the time and memory of transforming them as complex data.
+ * Odd lengths use a complex transform of length {@code n}.
+ * </p><p>
+ * Instances are immutable and thread-safe.
+ * </p>
+ */
+public final class RealFastFourierTransform {
+    /** Number of real values. */
+    private final int size;
+    /** Complex transform of length {@code size / 2} (even size) or {@code size} (odd size). */
+    private final FastFourierTransform fft;
+    /**
+     * First half of the roots of unity of order {@code size}, which are the
+     * only ones used to combine the half-length transform:
+     * {@code roots[2k] = cos(2 pi k / size)} and
+     * {@code roots[2k + 1] = sin(2 pi k / size)}, {@code k < size / 2}
+     * (even size only).
+     */
+    private final double[] roots;
+
+    /**
+     * @param size Number of real values.
+     */
+    private RealFastFourierTransform(int size) {
+        this.size = size;
+        if ((size & 1) == 0) {
+            fft = FastFourierTransform.of(size / 2);
+            roots = FastFourierTransform.rootsOfUnity(size, size / 2);
+        } else {
+            fft = FastFourierTransform.of(size);
+            roots = null;
+        }
+    }
+
+    /**
+     * Creates a transform for real data of the given length.
+     *
+     * @param size Number of real values to transform.
+     * @return a new instance.
+     * @throws IllegalArgumentException if {@code size < 1}.
+     */
+    public static RealFastFourierTransform of(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Size must be strictly positive: " + size);
+        }
+        return new RealFastFourierTransform(size);
+    }
+
+    /**
+     * Gets the number of real values that this instance transforms.
+     *
+     * @return the length of the transform.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the length of the packed spectrum, {@code 2 * (getSize() / 2 + 1)}.
+     *
+     * @return the length of the interleaved spectrum.
+     */
+    public int getSpectrumLength() {
+        return 2 * (size / 2 + 1);
+    }
+
+    /**
+     * Computes the forward transform.
+     *
+     * @param real Real values.
+     * @return a new array holding the packed spectrum.
+     * @throws IllegalArgumentException if the length of the array is not
+     * {@link #getSize()}.
+     */
+    public double[] forward(double[] real) {
+        final double[] spectrum = new double[getSpectrumLength()];
+        forward(real, spectrum);
+        return spectrum;
+    }
+
+    /**
+     * Computes the forward transform into a caller-supplied array.
+     *
+     * @param real Real values (not modified).
+     * @param spectrum Packed spectrum (output).
+     * @throws IllegalArgumentException if the length of {@code real} is not
+     * {@link #getSize()} or if the length of {@code spectrum} is not
+     * {@link #getSpectrumLength()}.
+     */
+    public void forward(double[] real, double[] spectrum) {
+        checkLength(real, size);
+        checkLength(spectrum, getSpectrumLength());
+        if (roots == null) {
+            forwardOdd(real, spectrum);
+            return;
+        }
+
+        final int h = size / 2;
+        // The real values, taken in pairs, are the interleaved
+        // representation of z[j] = x[2j] + i x[2j+1].
+        System.arraycopy(real, 0, spectrum, 0, size);
+        fft.transform(spectrum, 0, spectrum, 1, 2, false);
+
+        // Separate the transforms of the even and odd samples:
+        //   E[k] = (Z[k] + conj(Z[h-k])) / 2
+        //   O[k] = (Z[k] - conj(Z[h-k])) / 2i
+        // and combine them: X[k] = E[k] + exp(-2 pi i k / n) O[k].
+        final double z0r = spectrum[0];
+        final double z0i = spectrum[1];
+        spectrum[0] = z0r + z0i;
+        spectrum[1] = 0;
+        spectrum[2 * h] = z0r - z0i;
+        spectrum[2 * h + 1] = 0;
+        for (int k = 1, j = h - 1; k <= j; k++, j--) {
+            final double akr = spectrum[2 * k];
+            final double aki = spectrum[2 * k + 1];
+            final double ajr = spectrum[2 * j];
+            final double aji = spectrum[2 * j + 1];
+            // X[k]
+            combine(akr, aki, ajr, aji, k, spectrum);
+            // X[j], j = h - k
+            combine(ajr, aji, akr, aki, j, spectrum);
+        }
+    }
+
+    /**
+     * Computes the inverse transform.
+     *
+     * @param spectrum Packed spectrum.
+     * @return a new array holding the real values.
+     * @throws IllegalArgumentException if the length of the array is not
+     * {@link #getSpectrumLength()}.
+     */
+    public double[] inverse(double[] spectrum) {
+        final double[] real = new double[size];
+        inverse(spectrum, real);
+        return real;
+    }
+
+    /**
+     * Computes the inverse transform into a caller-supplied array.
+     * The imaginary parts of \(X_0\) and, for even {@code n}, of \(X_{n/2}\)
+     * are ignored.
+     *
+     * @param spectrum Packed spectrum (not modified).
+     * @param real Real values (output).
+     * @throws IllegalArgumentException if the length of {@code spectrum} is not
+     * {@link #getSpectrumLength()} or if the length of {@code real} is not
+     * {@link #getSize()}.
+     */
+    public void inverse(double[] spectrum, double[] real) {
+        checkLength(spectrum, getSpectrumLength());
+        checkLength(real, size);
+        if (roots == null) {
+            inverseOdd(spectrum, real);
+            return;
+        }
+
+        final int h = size / 2;
+        // Rebuild Z[k] = E[k] + i O[k] with
+        //   E[k] = (X[k] + conj(X[h-k])) / 2
+        //   O[k] = (X[k] - conj(X[h-k])) exp(2 pi i k / n) / 2
+        // and invert the half-length complex transform.
+        final double x0 = spectrum[0];
+        final double xh = spectrum[2 * h];
+        real[0] = 0.5 * (x0 + xh);
+        real[1] = 0.5 * (x0 - xh);
+        for (int k = 1, j = h - 1; k <= j; k++, j--) {
+            final double xkr = spectrum[2 * k];
+            final double xki = spectrum[2 * k + 1];
+            final double xjr = spectrum[2 * j];
+            final double xji = spectrum[2 * j + 1];
+            separate(xkr, xki, xjr, xji, k, real);
+            separate(xjr, xji, xkr, xki, j, real);
+        }
+        fft.transform(real, 0, real, 1, 2, true);
+    }
+
+    /**
+     * Computes \(X_k\) from \(Z_k = a\) and \(Z_{h-k} = b\).
+     *
+     * @param ar Real part of {@code a}.
+     * @param ai Imaginary part of {@code a}.
+     * @param br Real part of {@code b}.
+     * @param bi Imaginary part of {@code b}.
+     * @param k Index.
+     * @param out Interleaved output.
+     */
+    private void combine(double ar, double ai, double br, double bi, int k, double[] out) {
+        final double er = 0.5 * (ar + br);
+        final double ei = 0.5 * (ai - bi);
+        // (a - conj(b)) / 2i
+        final double or = 0.5 * (ai + bi);
+        final double oi = -0.5 * (ar - br);
+        final double wr = roots[2 * k];
+        final double wi = -roots[2 * k + 1];
+        out[2 * k] = er + or * wr - oi * wi;
+        out[2 * k + 1] = ei + or * wi + oi * wr;
+    }
+
+    /**
+     * Computes \(Z_k\) from \(X_k = a\) and \(X_{h-k} = b\).
+     *
+     * @param ar Real part of {@code a}.
+     * @param ai Imaginary part of {@code a}.
+     * @param br Real part of {@code b}.
+     * @param bi Imaginary part of {@code b}.
+     * @param k Index.
+     * @param out Interleaved output.
+     */
+    private void separate(double ar, double ai, double br, double bi, int k, double[] out) {
+        final double er = 0.5 * (ar + br);
+        final double ei = 0.5 * (ai - bi);
+        final double dr = 0.5 * (ar - br);
+        final double di = 0.5 * (ai + bi);
+        final double wr = roots[2 * k];
+        final double wi = roots[2 * k + 1];
+        final double or = dr * wr - di * wi;
+        final double oi = dr * wi + di * wr;
+        // E + i O
+        out[2 * k] = er - oi;
+        out[2 * k + 1] = ei + or;
+    }
+
+    /**
+     * Forward transform of odd length, through the complex transform.
+     *
+     * @param real Real values.
+     * @param spectrum Packed spectrum.
+     */
+    private void forwardOdd(double[] real, double[] spectrum) {
+        final double[] data = new double[2 * size];
+        for (int i = 0; i < size; i++) {
+            data[2 * i] = real[i];
+        }
+        fft.transform(data, 0, data, 1, 2, false);
+        System.arraycopy(data, 0, spectrum, 0, spectrum.length);
+        spectrum[1] = 0;
+    }
+
+    /**
+     * Inverse transform of odd length, through the complex transform.
+     *
+     * @param spectrum Packed spectrum.
+     * @param real Real values.
+     */
+    private void inverseOdd(double[] spectrum, double[] real) {
+        final double[] data = new double[2 * size];
+        System.arraycopy(spectrum, 0, data, 0, spectrum.length);
+        data[1] = 0;
+        for (int k = spectrum.length / 2; k < size; k++) {
+            data[2 * k] = spectrum[2 * (size - k)];
+            data[2 * k + 1] = -spectrum[2 * (size - k) + 1];
+        }
+        fft.transform(data, 0, data, 1, 2, true);
+        for (int i = 0; i < size; i++) {
+            real[i] = data[2 * i];
+        }
+    }
+
+    /**
+     * @param data Array.
+     * @param expected Expected length.
+     * @throws IllegalArgumentException if the length is not the expected one.
+     */
+    private static void checkLength(double[] data, int expected) {
+        if (data.length != expected) {
+            throw new IllegalArgumentException("Expected length " + expected + " but was " + data.length);
+        }
+    }
+}
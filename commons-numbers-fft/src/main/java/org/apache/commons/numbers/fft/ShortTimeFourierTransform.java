@@ -0,0 +1,458 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.fft;
+
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.DoubleStream;
+
+/**
+ * Streaming short-time Fourier transform of real samples.
+ * <p>
+ * Frame {@code t} is the {@link RealFastFourierTransform} of the samples
+ * \(x_{th}, \ldots, x_{th+n-1}\), multiplied by a {@linkplain WindowFunction window},
+ * where {@code n} is the frame length and {@code h} the hop size. A frame is
+ * computed as soon as its last sample is consumed; consecutive frames overlap
+ * when {@code h < n}, and samples between frames are skipped when {@code h > n}.
+ * </p><p>
+ * Frames are written to a ring of reusable arrays, in one of the
+ * {@linkplain Output formats} derived from the spectrum. The magnitudes and
+ * phases are computed in the same pass that reads the spectrum, and the
+ * samples are windowed while they are copied to the transform, so that no
+ * array is created while samples are consumed (for an even frame length).
+ * The array of a frame is overwritten by the frame computed
+ * {@link #getRingSize()} frames later.
+ * </p><p>
+ * Samples can be pushed one at a time, since the instance is a
+ * {@link DoubleConsumer}, or in bulk from arrays and buffers. Frames are
+ * either pulled with {@link #getFrame(long)} after {@link #accept(double[], int, int)}
+ * reports them, or pushed to a listener by the {@code process} methods.
+ * </p><p>
+ * Instances are not thread-safe.
+ * </p>
+ */
+public final class ShortTimeFourierTransform implements DoubleConsumer {
+    /** Smallest sum of squares whose square root is computed directly. */
+    private static final double SAFE_MIN = 0x1.0p-1000;
+    /** Largest sum of squares whose square root is computed directly. */
+    private static final double SAFE_MAX = 0x1.0p1000;
+
+    /**
+     * Format of the frames. For a frame length {@code n}, the spectrum has
+     * {@code m = n / 2 + 1} values \(X_0, \ldots, X_{m-1}\).
+     */
+    public enum Output {
+        /** Interleaved real and imaginary parts, as {@link RealFastFourierTransform}: {@code 2 m} values. */
+        COMPLEX(2),
+        /** Magnitudes \(|X_k|\): {@code m} values. */
+        MAGNITUDE(1),
+        /** Powers \(|X_k|^2\): {@code m} values. */
+        POWER(1),
+        /** Phases \(\arg X_k\), in \([-\pi, \pi]\): {@code m} values. */
+        PHASE(1),
+        /** Interleaved magnitudes and phases: {@code 2 m} values. */
+        MAGNITUDE_PHASE(2);
+
+        /** Number of values per bin. */
+        private final int valuesPerBin;
+
+        /**
+         * @param valuesPerBin Number of values per bin.
+         */
+        Output(int valuesPerBin) {
+            this.valuesPerBin = valuesPerBin;
+        }
+
+        /**
+         * @param length Number of samples per frame.
+         * @return the number of values of a frame.
+         */
+        public int getLength(int length) {
+            return valuesPerBin * (length / 2 + 1);
+        }
+    }
+
+    /** Number of samples per frame. */
+    private final int frameLength;
+    /** Number of samples between the starts of consecutive frames. */
+    private final int hopSize;
+    /** Window. */
+    private final WindowFunction window;
+    /** Values of the window. */
+    private final double[] windowValues;
+    /** Format of the frames. */
+    private final Output output;
+    /** Transform. */
+    private final RealFastFourierTransform rfft;
+    /** Last {@code frameLength} samples, in a circular buffer. */
+    private final double[] history;
+    /** Windowed samples of a frame. */
+    private final double[] work;
+    /** Spectrum of a frame (unless the output is complex). */
+    private final double[] spectrum;
+    /** Ring of frames. */
+    private final double[][] ring;
+    /** Index of the next sample in {@link #history}. */
+    private int position;
+    /** Number of samples until the end of the next frame. */
+    private long untilFrame;
+    /** Number of computed frames. */
+    private long frames;
+
+    /**
+     * @param frameLength Number of samples per frame.
+     * @param hopSize Number of samples between the starts of consecutive frames.
+     * @param window Window.
+     * @param output Format of the frames.
+     * @param ringSize Number of frames kept.
+     */
+    private ShortTimeFourierTransform(int frameLength, int hopSize, WindowFunction window,
+                                      Output output, int ringSize) {
+        this.frameLength = frameLength;
+        this.hopSize = hopSize;
+        this.window = window;
+        this.output = output;
+        windowValues = window.values(frameLength);
+        rfft = RealFastFourierTransform.of(frameLength);
+        history = new double[frameLength];
+        work = new double[frameLength];
+        spectrum = output == Output.COMPLEX ? null : new double[rfft.getSpectrumLength()];
+        ring = new double[ringSize][output.getLength(frameLength)];
+        untilFrame = frameLength;
+    }
+
+    /**
+     * Creates a transform.
+     *
+     * @param frameLength Number of samples per frame.
+     * @param hopSize Number of samples between the starts of consecutive frames.
+     * @param window Window.
+     * @param output Format of the frames.
+     * @param ringSize Number of frames kept before their array is reused.
+     * @return a new instance.
+     * @throws IllegalArgumentException if {@code frameLength}, {@code hopSize}
+     * or {@code ringSize} is not strictly positive.
+     */
+    public static ShortTimeFourierTransform of(int frameLength, int hopSize, WindowFunction window,
+                                               Output output, int ringSize) {
+        if (frameLength < 1) {
+            throw new IllegalArgumentException("Frame length must be strictly positive: " + frameLength);
+        }
+        if (hopSize < 1) {
+            throw new IllegalArgumentException("Hop size must be strictly positive: " + hopSize);
+        }
+        if (ringSize < 1) {
+            throw new IllegalArgumentException("Ring size must be strictly positive: " + ringSize);
+        }
+        return new ShortTimeFourierTransform(frameLength, hopSize, window, output, ringSize);
+    }
+
+    /**
+     * @return the number of samples per frame.
+     */
+    public int getFrameLength() {
+        return frameLength;
+    }
+
+    /**
+     * @return the number of samples between the starts of consecutive frames.
+     */
+    public int getHopSize() {
+        return hopSize;
+    }
+
+    /**
+     * @return the window.
+     */
+    public WindowFunction getWindow() {
+        return window;
+    }
+
+    /**
+     * @return the format of the frames.
+     */
+    public Output getOutput() {
+        return output;
+    }
+
+    /**
+     * @return the number of frames kept before their array is reused.
+     */
+    public int getRingSize() {
+        return ring.length;
+    }
+
+    /**
+     * @return the number of computed frames since the creation or the last
+     * {@link #reset()}.
+     */
+    public long getFrameCount() {
+        return frames;
+    }
+
+    /**
+     * Gets one of the last {@link #getRingSize()} frames. The array is
+     * owned by this instance, and is overwritten by later frames.
+     *
+     * @param index Index of the frame, from 0.
+     * @return the frame.
+     * @throws IllegalArgumentException if the frame is not available.
+     */
+    public double[] getFrame(long index) {
+        if (index < 0 || index >= frames || index < frames - ring.length) {
+            throw new IllegalArgumentException("Frame not available: " + index);
+        }
+        return ring[(int) (index % ring.length)];
+    }
+
+    /**
+     * Consumes one sample.
+     *
+     * @param sample Sample.
+     */
+    @Override
+    public void accept(double sample) {
+        history[position] = sample;
+        if (++position == frameLength) {
+            position = 0;
+        }
+        if (--untilFrame == 0) {
+            computeFrame();
+        }
+    }
+
+    /**
+     * Consumes samples until the end of the range or of the next frame,
+     * whichever comes first.
+     * <pre>
+     * for (int i = from; i &lt; to; ) {
+     *     final long count = stft.getFrameCount();
+     *     i = stft.accept(samples, i, to);
+     *     if (stft.getFrameCount() != count) {
+     *         double[] frame = stft.getFrame(count);
+     *         ...
+     *     }
+     * }
+     * </pre>
+     *
+     * @param samples Samples.
+     * @param from Index of the first sample.
+     * @param to Index after the last sample.
+     * @return the index after the last consumed sample.
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    public int accept(double[] samples, int from, int to) {
+        if (from < 0 || to > samples.length || from > to) {
+            throw new IndexOutOfBoundsException("Invalid range [" + from + ", " + to + ")");
+        }
+        final int len = (int) Math.min(to - from, untilFrame);
+        // Only the last frameLength samples are kept.
+        final int skip = Math.max(0, len - frameLength);
+        int i = from + skip;
+        position = (int) ((position + (long) skip) % frameLength);
+        while (i < from + len) {
+            final int chunk = Math.min(from + len - i, frameLength - position);
+            System.arraycopy(samples, i, history, position, chunk);
+            i += chunk;
+            position += chunk;
+            if (position == frameLength) {
+                position = 0;
+            }
+        }
+        untilFrame -= len;
+        if (untilFrame == 0) {
+            computeFrame();
+        }
+        return from + len;
+    }
+
+    /**
+     * Consumes the remaining samples of a buffer until the end of the next
+     * frame, whichever comes first.
+     *
+     * @param samples Samples; its position is advanced past the consumed samples.
+     * @return {@code true} if a frame was computed.
+     */
+    public boolean accept(DoubleBuffer samples) {
+        final int len = (int) Math.min(samples.remaining(), untilFrame);
+        final int skip = Math.max(0, len - frameLength);
+        samples.position(samples.position() + skip);
+        position = (int) ((position + (long) skip) % frameLength);
+        int remaining = len - skip;
+        while (remaining > 0) {
+            final int chunk = Math.min(remaining, frameLength - position);
+            samples.get(history, position, chunk);
+            remaining -= chunk;
+            position += chunk;
+            if (position == frameLength) {
+                position = 0;
+            }
+        }
+        untilFrame -= len;
+        if (untilFrame == 0) {
+            computeFrame();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Consumes samples, and passes each frame to a listener.
+     *
+     * @param samples Samples.
+     * @param from Index of the first sample.
+     * @param to Index after the last sample.
+     * @param listener Receives each frame and its index. The array is owned by
+     * this instance, and is overwritten by later frames.
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    public void process(double[] samples, int from, int to, ObjLongConsumer<double[]> listener) {
+        int i = from;
+        do {
+            final long count = frames;
+            i = accept(samples, i, to);
+            if (frames != count) {
+                listener.accept(getFrame(count), count);
+            }
+        } while (i < to);
+    }
+
+    /**
+     * Consumes the remaining samples of a buffer, and passes each frame to a listener.
+     *
+     * @param samples Samples; its position is advanced to its limit.
+     * @param listener Receives each frame and its index. The array is owned by
+     * this instance, and is overwritten by later frames.
+     */
+    public void process(DoubleBuffer samples, ObjLongConsumer<double[]> listener) {
+        while (samples.hasRemaining()) {
+            final long count = frames;
+            if (accept(samples)) {
+                listener.accept(getFrame(count), count);
+            }
+        }
+    }
+
+    /**
+     * Consumes the samples of a stream, in order, and passes each frame to a listener.
+     *
+     * @param samples Samples.
+     * @param listener Receives each frame and its index. The array is owned by
+     * this instance, and is overwritten by later frames.
+     */
+    public void process(DoubleStream samples, ObjLongConsumer<double[]> listener) {
+        samples.forEachOrdered(x -> {
+            final long count = frames;
+            accept(x);
+            if (frames != count) {
+                listener.accept(getFrame(count), count);
+            }
+        });
+    }
+
+    /**
+     * Discards the samples and the frames.
+     */
+    public void reset() {
+        Arrays.fill(history, 0);
+        position = 0;
+        untilFrame = frameLength;
+        frames = 0;
+    }
+
+    /**
+     * Computes the frame that ends with the last consumed sample.
+     */
+    private void computeFrame() {
+        // Windowed copy of the circular buffer, oldest sample first.
+        final int n = frameLength;
+        final int head = n - position;
+        for (int j = 0; j < head; j++) {
+            work[j] = windowValues[j] * history[position + j];
+        }
+        for (int j = head; j < n; j++) {
+            work[j] = windowValues[j] * history[j - head];
+        }
+
+        final double[] frame = ring[(int) (frames % ring.length)];
+        if (output == Output.COMPLEX) {
+            rfft.forward(work, frame);
+        } else {
+            rfft.forward(work, spectrum);
+            convert(spectrum, frame);
+        }
+        frames++;
+        untilFrame = hopSize;
+    }
+
+    /**
+     * Converts a spectrum to the output format, in one pass.
+     *
+     * @param s Interleaved spectrum.
+     * @param frame Frame.
+     */
+    private void convert(double[] s, double[] frame) {
+        final int m = s.length / 2;
+        switch (output) {
+        case MAGNITUDE:
+            for (int k = 0; k < m; k++) {
+                frame[k] = abs(s[2 * k], s[2 * k + 1]);
+            }
+            break;
+        case POWER:
+            for (int k = 0; k < m; k++) {
+                final double re = s[2 * k];
+                final double im = s[2 * k + 1];
+                frame[k] = re * re + im * im;
+            }
+            break;
+        case PHASE:
+            for (int k = 0; k < m; k++) {
+                frame[k] = Math.atan2(s[2 * k + 1], s[2 * k]);
+            }
+            break;
+        default:
+            // MAGNITUDE_PHASE
+            for (int k = 0; k < m; k++) {
+                final double re = s[2 * k];
+                final double im = s[2 * k + 1];
+                frame[2 * k] = abs(re, im);
+                frame[2 * k + 1] = Math.atan2(im, re);
+            }
+            break;
+        }
+    }
+
+    /**
+     * Computes the modulus, without intermediate overflow or underflow.
+     *
+     * @param re Real part.
+     * @param im Imaginary part.
+     * @return the modulus.
+     */
+    private static double abs(double re, double im) {
+        final double sum = re * re + im * im;
+        if (sum >= SAFE_MIN && sum <= SAFE_MAX) {
+            return Math.sqrt(sum);
+        }
+        // Zero, extreme, infinite or NaN parts.
+        return Math.hypot(re, im);
+    }
+}
@@ -0,0 +1,357 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.fft;
+
+import java.util.Arrays;
+
+import org.apache.commons.numbers.complex.Complex;
+
+/**
+ * Streaming discrete Fourier transform of a sliding window, for a few bins.
+ * <p>
+ * After each sample \(x_t\), the value of bin {@code k} is the transform of
+ * the last {@code n} samples,
+ * \(X_k = \sum_{j=0}^{n-1} x_{t-n+1+j} e^{-2 \pi i j k / n}\), defined as in
+ * {@link FastFourierTransform}; samples before the first one are zero.
+ * </p><p>
+ * Each bin is updated with the recurrence
+ * \(X_k \leftarrow (X_k - x_{t-n} + x_t) e^{2 \pi i k / n}\), in constant
+ * time per sample. Since rounding errors accumulate in the recurrence, the
+ * values are recomputed from the window every {@value #RESYNC_WINDOWS}
+ * windows, in {@code O(n)} time per bin. No object is created while samples
+ * are consumed.
+ * </p><p>
+ * Instances are not thread-safe.
+ * </p>
+ */
+public final class SlidingDft {
+    /** Number of windows between two recomputations of the values. */
+    public static final int RESYNC_WINDOWS = 64;
+    /** Size of the buffer of sample differences. */
+    private static final int BUFFER_SIZE = 256;
+
+    /** Length of the window. */
+    private final int windowLength;
+    /** Indices of the bins. */
+    private final int[] bins;
+    /** Real parts of {@code exp(2 pi i k / n)}. */
+    private final double[] cos;
+    /** Imaginary parts of {@code exp(2 pi i k / n)}. */
+    private final double[] sin;
+    /** Interleaved roots of unity of order {@code n}, for the recomputations. */
+    private final double[] roots;
+    /** Last {@code n} samples. */
+    private final double[] window;
+    /** Differences between the incoming and outgoing samples of a block. */
+    private final double[] delta;
+    /** Real parts of the values. */
+    private final double[] real;
+    /** Imaginary parts of the values. */
+    private final double[] imaginary;
+    /** Number of samples between two recomputations. */
+    private final long resyncInterval;
+    /** Index of the oldest sample in {@link #window}. */
+    private int position;
+    /** Number of consumed samples. */
+    private long count;
+    /** Number of samples until the next recomputation. */
+    private long untilResync;
+
+    /**
+     * @param windowLength Length of the window.
+     * @param bins Indices of the bins, in {@code [0, windowLength)}.
+     */
+    private SlidingDft(int windowLength, int[] bins) {
+        this.windowLength = windowLength;
+        this.bins = bins;
+        final int m = bins.length;
+        cos = new double[m];
+        sin = new double[m];
+        for (int k = 0; k < m; k++) {
+            final Complex w = Complex.ofCis(2 * Math.PI * bins[k] / windowLength);
+            cos[k] = w.getReal();
+            sin[k] = w.getImaginary();
+        }
+        roots = FastFourierTransform.rootsOfUnity(windowLength);
+        window = new double[windowLength];
+        delta = new double[Math.min(BUFFER_SIZE, windowLength)];
+        real = new double[m];
+        imaginary = new double[m];
+        resyncInterval = (long) RESYNC_WINDOWS * windowLength;
+        untilResync = resyncInterval;
+    }
+
+    /**
+     * Creates a sliding transform of the given bins.
+     *
+     * @param windowLength Length of the window.
+     * @param bins Indices of the bins (reduced modulo {@code windowLength}).
+     * @return a new instance.
+     * @throws IllegalArgumentException if {@code windowLength < 1} or if there
+     * is no bin.
+     */
+    public static SlidingDft of(int windowLength, int... bins) {
+        if (windowLength < 1) {
+            throw new IllegalArgumentException("Window length must be strictly positive: " + windowLength);
+        }
+        if (bins.length == 0) {
+            throw new IllegalArgumentException("No bin");
+        }
+        final int[] b = new int[bins.length];
+        for (int k = 0; k < b.length; k++) {
+            b[k] = Math.floorMod(bins[k], windowLength);
+        }
+        return new SlidingDft(windowLength, b);
+    }
+
+    /**
+     * @return the length of the window.
+     */
+    public int getWindowLength() {
+        return windowLength;
+    }
+
+    /**
+     * @return the number of bins.
+     */
+    public int getBinCount() {
+        return bins.length;
+    }
+
+    /**
+     * @param index Index of the bin in this instance.
+     * @return the index of the bin in the transform of the window.
+     */
+    public int getBin(int index) {
+        return bins[index];
+    }
+
+    /**
+     * @return the number of consumed samples since the creation or the last
+     * {@link #reset()}.
+     */
+    public long getSampleCount() {
+        return count;
+    }
+
+    /**
+     * @return {@code true} if the window holds {@link #getWindowLength()}
+     * consumed samples.
+     */
+    public boolean isFull() {
+        return count >= windowLength;
+    }
+
+    /**
+     * Consumes one sample.
+     *
+     * @param sample Sample.
+     */
+    public void accept(double sample) {
+        final double d = sample - window[position];
+        window[position] = sample;
+        if (++position == windowLength) {
+            position = 0;
+        }
+        for (int k = 0; k < real.length; k++) {
+            final double re = real[k] + d;
+            final double im = imaginary[k];
+            real[k] = re * cos[k] - im * sin[k];
+            imaginary[k] = re * sin[k] + im * cos[k];
+        }
+        count++;
+        if (--untilResync == 0) {
+            resync();
+        }
+    }
+
+    /**
+     * Consumes samples.
+     *
+     * @param samples Samples.
+     * @param from Index of the first sample.
+     * @param to Index after the last sample.
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    public void accept(double[] samples, int from, int to) {
+        if (from < 0 || to > samples.length || from > to) {
+            throw new IndexOutOfBoundsException("Invalid range [" + from + ", " + to + ")");
+        }
+        final double[] d = delta;
+        int i = from;
+        while (i < to) {
+            // Chunks that fit in the buffer and do not cross a recomputation.
+            final int len = (int) Math.min(Math.min(to - i, d.length), untilResync);
+            for (int j = 0; j < len; j++) {
+                final double x = samples[i + j];
+                d[j] = x - window[position];
+                window[position] = x;
+                if (++position == windowLength) {
+                    position = 0;
+                }
+            }
+            int k = 0;
+            // Two bins at a time, so that the independent recurrences
+            // overlap and their values stay in registers.
+            for (; k + 2 <= real.length; k += 2) {
+                final double c0 = cos[k];
+                final double s0 = sin[k];
+                final double c1 = cos[k + 1];
+                final double s1 = sin[k + 1];
+                double re0 = real[k];
+                double im0 = imaginary[k];
+                double re1 = real[k + 1];
+                double im1 = imaginary[k + 1];
+                for (int j = 0; j < len; j++) {
+                    final double r0 = re0 + d[j];
+                    final double r1 = re1 + d[j];
+                    re0 = r0 * c0 - im0 * s0;
+                    im0 = r0 * s0 + im0 * c0;
+                    re1 = r1 * c1 - im1 * s1;
+                    im1 = r1 * s1 + im1 * c1;
+                }
+                real[k] = re0;
+                imaginary[k] = im0;
+                real[k + 1] = re1;
+                imaginary[k + 1] = im1;
+            }
+            for (; k < real.length; k++) {
+                final double c = cos[k];
+                final double s = sin[k];
+                double re = real[k];
+                double im = imaginary[k];
+                for (int j = 0; j < len; j++) {
+                    final double r = re + d[j];
+                    re = r * c - im * s;
+                    im = r * s + im * c;
+                }
+                real[k] = re;
+                imaginary[k] = im;
+            }
+            i += len;
+            count += len;
+            untilResync -= len;
+            if (untilResync == 0) {
+                resync();
+            }
+        }
+    }
+
+    /**
+     * Gets the real part of the value of a bin.
+     *
+     * @param index Index of the bin in this instance.
+     * @return the real part.
+     */
+    public double getReal(int index) {
+        return real[index];
+    }
+
+    /**
+     * Gets the imaginary part of the value of a bin.
+     *
+     * @param index Index of the bin in this instance.
+     * @return the imaginary part.
+     */
+    public double getImaginary(int index) {
+        return imaginary[index];
+    }
+
+    /**
+     * Gets the value of a bin.
+     *
+     * @param index Index of the bin in this instance.
+     * @return the value.
+     */
+    public Complex get(int index) {
+        return Complex.ofCartesian(real[index], imaginary[index]);
+    }
+
+    /**
+     * Gets the power, i.e. the squared modulus of the value, of a bin.
+     *
+     * @param index Index of the bin in this instance.
+     * @return the power.
+     */
+    public double getPower(int index) {
+        final double re = real[index];
+        final double im = imaginary[index];
+        return re * re + im * im;
+    }
+
+    /**
+     * Copies the values of the bins.
+     *
+     * @param interleaved Alternating real and imaginary parts, for each
+     * bin (output).
+     * @throws IllegalArgumentException if the length of the array is not
+     * {@code 2 * getBinCount()}.
+     */
+    public void getValues(double[] interleaved) {
+        if (interleaved.length != 2 * real.length) {
+            throw new IllegalArgumentException("Expected length " + 2 * real.length + " but was " + interleaved.length);
+        }
+        for (int k = 0; k < real.length; k++) {
+            interleaved[2 * k] = real[k];
+            interleaved[2 * k + 1] = imaginary[k];
+        }
+    }
+
+    /**
+     * Recomputes the values from the window, to discard the rounding errors
+     * accumulated by the recurrence.
+     */
+    public void resync() {
+        final int n = windowLength;
+        for (int k = 0; k < bins.length; k++) {
+            final int step = bins[k];
+            double re = 0;
+            double im = 0;
+            int w = 0;
+            int p = position;
+            for (int j = 0; j < n; j++) {
+                // x exp(-2 pi i j k / n)
+                final double x = window[p];
+                re += x * roots[2 * w];
+                im -= x * roots[2 * w + 1];
+                w += step;
+                if (w >= n) {
+                    w -= n;
+                }
+                if (++p == n) {
+                    p = 0;
+                }
+            }
+            real[k] = re;
+            imaginary[k] = im;
+        }
+        untilResync = resyncInterval;
+    }
+
+    /**
+     * Clears the window and the values.
+     */
+    public void reset() {
+        Arrays.fill(window, 0);
+        Arrays.fill(real, 0);
+        Arrays.fill(imaginary, 0);
+        position = 0;
+        count = 0;
+        untilResync = resyncInterval;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.numbers.fft;
+
+/**
+ * Unnormalized discrete Fourier transform of a fixed size.
+ * <p>
+ * The data is addressed through a real and an imaginary array, each with
+ * its own offset and a common stride, so that the same kernel can process
+ * interleaved data ({@code re == im}, stride 2) and split data (stride 1).
+ * </p><p>
+ * Implementations must be thread-safe.
+ * </p>
+ */
+interface TransformKernel {
+    /**
+     * Transforms the data in place.
+     * The forward transform uses the kernel \(e^{-2 \pi i j k / n}\) and the
+     * inverse transform uses \(e^{2 \pi i j k / n}\); neither is scaled.
+     *
+     * @param re Array holding the real parts.
+     * @param reOffset Index of the real part of the first element.
+     * @param im Array holding the imaginary parts.
+     * @param imOffset Index of the imaginary part of the first element.
+     * @param stride Distance between consecutive elements.
+     * @param inverse Whether to compute the inverse transform.
+     */
+    void transform(double[] re, int reOffset,
+                   double[] im, int imOffset,
+                   int stride,
+                   boolean inverse);
+}
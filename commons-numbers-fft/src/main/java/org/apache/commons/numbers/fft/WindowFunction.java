@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.fft;
+
+/**
+ * Window functions of the cosine-sum family,
+ * \(w_j = \sum_m (-1)^m a_m \cos(2 \pi m j / n)\), for {@code j = 0, ..., n - 1}.
+ * <p>
+ * The windows are periodic (DFT-even): the first value is the last value
+ * of the symmetric window of length {@code n + 1}, so that windows shifted
+ * by a fraction of their length sum to a constant, as required by the
+ * short-time Fourier transform.
+ * </p>
+ */
+public enum WindowFunction {
+    /** Rectangular window: all values are 1. */
+    RECTANGULAR(1),
+    /** Hann window, \(0.5 - 0.5 \cos(2 \pi j / n)\). */
+    HANN(0.5, 0.5),
+    /** Hamming window, \(0.54 - 0.46 \cos(2 \pi j / n)\). */
+    HAMMING(0.54, 0.46),
+    /** Blackman window. */
+    BLACKMAN(0.42, 0.5, 0.08),
+    /** 4-term Blackman-Harris window. */
+    BLACKMAN_HARRIS(0.35875, 0.48829, 0.14128, 0.01168);
+
+    /** Coefficients of the cosine terms. */
+    private final double[] coefficients;
+
+    /**
+     * @param coefficients Coefficients of the cosine terms.
+     */
+    WindowFunction(double... coefficients) {
+        this.coefficients = coefficients;
+    }
+
+    /**
+     * Computes the values of the window.
+     *
+     * @param length Length of the window.
+     * @return a new array holding the values.
+     * @throws IllegalArgumentException if {@code length < 1}.
+     */
+    public double[] values(int length) {
+        if (length < 1) {
+            throw new IllegalArgumentException("Length must be strictly positive: " + length);
+        }
+        final double[] w = new double[length];
+        final double[] roots = coefficients.length == 1 ?
+            null :
+            FastFourierTransform.rootsOfUnity(length);
+        for (int j = 0; j < length; j++) {
+            double sum = coefficients[0];
+            double sign = -1;
+            for (int m = 1; m < coefficients.length; m++) {
+                // cos(2 pi m j / n), with m j reduced modulo n.
+                final int mj = (int) ((long) m * j % length);
+                sum += sign * coefficients[m] * roots[2 * mj];
+                sign = -sign;
+            }
+            w[j] = sum;
+        }
+        return w;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.fft;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FastFourierTransform2DTest {
+
+    /**
+     * Reference transform computed from the definition.
+     *
+     * @param data Interleaved rows.
+     * @param sign Sign of the exponent.
+     * @return the interleaved transform (unscaled).
+     */
+    static double[][] naiveDft(double[][] data, int sign) {
+        final int rows = data.length;
+        final int cols = data[0].length / 2;
+        final double[][] result = new double[rows][2 * cols];
+        for (int k = 0; k < rows; k++) {
+            for (int l = 0; l < cols; l++) {
+                double sr = 0;
+                double si = 0;
+                for (int i = 0; i < rows; i++) {
+                    for (int j = 0; j < cols; j++) {
+                        final double angle = sign * 2 * Math.PI *
+                            ((double) (i * k % rows) / rows + (double) (j * l % cols) / cols);
+                        final double c = Math.cos(angle);
+                        final double s = Math.sin(angle);
+                        sr += data[i][2 * j] * c - data[i][2 * j + 1] * s;
+                        si += data[i][2 * j] * s + data[i][2 * j + 1] * c;
+                    }
+                }
+                result[k][2 * l] = sr;
+                result[k][2 * l + 1] = si;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param rows Rows.
+     * @param cols Complex values per row.
+     * @param seed Seed.
+     * @return random interleaved rows.
+     */
+    static double[][] randomData(int rows, int cols, long seed) {
+        final double[][] data = new double[rows][];
+        for (int i = 0; i < rows; i++) {
+            data[i] = FastFourierTransformTest.randomData(cols, seed + i);
+        }
+        return data;
+    }
+
+    /**
+     * @param data Rows.
+     * @return a deep copy.
+     */
+    static double[][] copy(double[][] data) {
+        final double[][] c = new double[data.length][];
+        for (int i = 0; i < data.length; i++) {
+            c[i] = data[i].clone();
+        }
+        return c;
+    }
+
+    @Test
+    public void testForwardAndInverse() {
+        final int[][] dims = {{1, 1}, {1, 7}, {5, 1}, {4, 4}, {6, 10}, {17, 3}, {8, 40}, {33, 16}};
+        for (int[] d : dims) {
+            final String msg = d[0] + "x" + d[1];
+            final double[][] data = randomData(d[0], d[1], 31 * d[0] + d[1]);
+            final double[][] expected = naiveDft(data, -1);
+            final FastFourierTransform2D fft = FastFourierTransform2D.of(d[0], d[1]);
+            final double[][] original = copy(data);
+            fft.forward(data);
+            for (int i = 0; i < d[0]; i++) {
+                FastFourierTransformTest.assertClose(msg, expected[i], data[i], 1e-11);
+            }
+            fft.inverse(data);
+            for (int i = 0; i < d[0]; i++) {
+                FastFourierTransformTest.assertClose(msg, original[i], data[i], 1e-13);
+            }
+        }
+    }
+
+    @Test
+    public void testParallelMatchesSequential() {
+        final int rows = 64;
+        final int cols = 100;
+        final double[][] data = randomData(rows, cols, 5);
+        final double[][] expected = copy(data);
+        final ForkJoinPool single = new ForkJoinPool(1);
+        final ForkJoinPool parallel = new ForkJoinPool(4);
+        try {
+            FastFourierTransform2D.of(rows, cols, single).forward(expected);
+            FastFourierTransform2D.of(rows, cols, parallel).forward(data);
+        } finally {
+            single.shutdown();
+            parallel.shutdown();
+        }
+        for (int i = 0; i < rows; i++) {
+            Assert.assertArrayEquals(expected[i], data[i], 0);
+        }
+    }
+
+    @Test
+    public void testDimensions() {
+        final FastFourierTransform2D fft = FastFourierTransform2D.of(3, 5);
+        Assert.assertEquals(3, fft.getRows());
+        Assert.assertEquals(5, fft.getColumns());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongRowCount() {
+        FastFourierTransform2D.of(3, 5).forward(new double[4][10]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongRowLength() {
+        FastFourierTransform2D.of(3, 5).inverse(new double[3][5]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroSize() {
+        FastFourierTransform2D.of(0, 5);
+    }
+}
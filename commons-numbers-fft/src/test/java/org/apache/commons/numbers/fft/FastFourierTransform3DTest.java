@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.fft;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FastFourierTransform3DTest {
+
+    /**
+     * Reference transform computed from the definition.
+     *
+     * @param data Interleaved rows of each slice.
+     * @param sign Sign of the exponent.
+     * @return the interleaved transform (unscaled).
+     */
+    private static double[][][] naiveDft(double[][][] data, int sign) {
+        final int n0 = data.length;
+        final int n1 = data[0].length;
+        final int n2 = data[0][0].length / 2;
+        final double[][][] result = new double[n0][n1][2 * n2];
+        for (int k0 = 0; k0 < n0; k0++) {
+            for (int k1 = 0; k1 < n1; k1++) {
+                for (int k2 = 0; k2 < n2; k2++) {
+                    double sr = 0;
+                    double si = 0;
+                    for (int i0 = 0; i0 < n0; i0++) {
+                        for (int i1 = 0; i1 < n1; i1++) {
+                            for (int i2 = 0; i2 < n2; i2++) {
+                                final double angle = sign * 2 * Math.PI *
+                                    ((double) (i0 * k0 % n0) / n0 +
+                                     (double) (i1 * k1 % n1) / n1 +
+                                     (double) (i2 * k2 % n2) / n2);
+                                final double c = Math.cos(angle);
+                                final double s = Math.sin(angle);
+                                final double re = data[i0][i1][2 * i2];
+                                final double im = data[i0][i1][2 * i2 + 1];
+                                sr += re * c - im * s;
+                                si += re * s + im * c;
+                            }
+                        }
+                    }
+                    result[k0][k1][2 * k2] = sr;
+                    result[k0][k1][2 * k2 + 1] = si;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param n0 Slices.
+     * @param n1 Rows.
+     * @param n2 Complex values per row.
+     * @param seed Seed.
+     * @return random data.
+     */
+    private static double[][][] randomData(int n0, int n1, int n2, long seed) {
+        final double[][][] data = new double[n0][][];
+        for (int i = 0; i < n0; i++) {
+            data[i] = FastFourierTransform2DTest.randomData(n1, n2, seed + 1000 * i);
+        }
+        return data;
+    }
+
+    @Test
+    public void testForwardAndInverse() {
+        final int[][] dims = {{1, 1, 1}, {2, 3, 4}, {5, 5, 5}, {4, 1, 6}, {3, 7, 20}, {6, 4, 3}};
+        for (int[] d : dims) {
+            final String msg = d[0] + "x" + d[1] + "x" + d[2];
+            final double[][][] data = randomData(d[0], d[1], d[2], d[0] + 10 * d[1] + 100 * d[2]);
+            final double[][][] expected = naiveDft(data, -1);
+            final double[][][] original = new double[d[0]][][];
+            for (int i = 0; i < d[0]; i++) {
+                original[i] = FastFourierTransform2DTest.copy(data[i]);
+            }
+            final FastFourierTransform3D fft = FastFourierTransform3D.of(d[0], d[1], d[2]);
+            Assert.assertEquals(d[0], fft.getSlices());
+            Assert.assertEquals(d[1], fft.getRows());
+            Assert.assertEquals(d[2], fft.getColumns());
+            fft.forward(data);
+            for (int i = 0; i < d[0]; i++) {
+                for (int j = 0; j < d[1]; j++) {
+                    FastFourierTransformTest.assertClose(msg, expected[i][j], data[i][j], 1e-11);
+                }
+            }
+            fft.inverse(data);
+            for (int i = 0; i < d[0]; i++) {
+                for (int j = 0; j < d[1]; j++) {
+                    FastFourierTransformTest.assertClose(msg, original[i][j], data[i][j], 1e-13);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testParallelMatchesSequential() {
+        final double[][][] data = randomData(8, 12, 40, 17);
+        final double[][][] expected = new double[8][][];
+        for (int i = 0; i < 8; i++) {
+            expected[i] = FastFourierTransform2DTest.copy(data[i]);
+        }
+        final ForkJoinPool single = new ForkJoinPool(1);
+        final ForkJoinPool parallel = new ForkJoinPool(3);
+        try {
+            FastFourierTransform3D.of(8, 12, 40, single).forward(expected);
+            FastFourierTransform3D.of(8, 12, 40, parallel).forward(data);
+        } finally {
+            single.shutdown();
+            parallel.shutdown();
+        }
+        for (int i = 0; i < 8; i++) {
+            for (int j = 0; j < 12; j++) {
+                Assert.assertArrayEquals(expected[i][j], data[i][j], 0);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongSliceCount() {
+        FastFourierTransform3D.of(2, 3, 4).forward(new double[3][3][8]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongRowLength() {
+        FastFourierTransform3D.of(2, 3, 4).inverse(new double[2][3][4]);
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.fft;
+
+import java.util.Random;
+
+import org.apache.commons.numbers.complex.Complex;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FastFourierTransformTest {
+
+    /** Sizes that exercise the radix-2, mixed-radix and Bluestein algorithms. */
+    private static final int[] SIZES = {
+        1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 12, 15, 16, 17, 30, 31, 32, 37, 60, 64,
+        97, 100, 101, 128, 243, 256, 360, 1000, 1009, 1024, 2 * 1031
+    };
+
+    /**
+     * Reference O(n^2) transform.
+     *
+     * @param data Interleaved data.
+     * @param sign Sign of the exponent.
+     * @return the interleaved transform (unscaled).
+     */
+    static double[] naiveDft(double[] data, int sign) {
+        final int n = data.length / 2;
+        final double[] result = new double[data.length];
+        for (int k = 0; k < n; k++) {
+            double sr = 0;
+            double si = 0;
+            for (int j = 0; j < n; j++) {
+                // Reduce j * k to keep the angle accurate.
+                final double angle = sign * 2 * Math.PI * ((long) j * k % n) / n;
+                final double c = Math.cos(angle);
+                final double s = Math.sin(angle);
+                sr += data[2 * j] * c - data[2 * j + 1] * s;
+                si += data[2 * j] * s + data[2 * j + 1] * c;
+            }
+            result[2 * k] = sr;
+            result[2 * k + 1] = si;
+        }
+        return result;
+    }
+
+    /**
+     * @param n Number of complex values.
+     * @param seed Seed.
+     * @return random interleaved data.
+     */
+    static double[] randomData(int n, long seed) {
+        final Random rng = new Random(seed);
+        final double[] data = new double[2 * n];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = rng.nextDouble() * 2 - 1;
+        }
+        return data;
+    }
+
+    /**
+     * Asserts equality within a tolerance relative to the largest magnitude.
+     */
+    static void assertClose(String msg, double[] expected, double[] actual, double relTol) {
+        Assert.assertEquals(msg + " length", expected.length, actual.length);
+        double max = 0;
+        for (double x : expected) {
+            max = Math.max(max, Math.abs(x));
+        }
+        final double tol = relTol * Math.max(max, 1);
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(msg + " [" + i + "]", expected[i], actual[i], tol);
+        }
+    }
+
+    @Test
+    public void testForwardInterleaved() {
+        for (int n : SIZES) {
+            final double[] data = randomData(n, n);
+            final double[] expected = naiveDft(data, -1);
+            FastFourierTransform.of(n).forward(data);
+            assertClose("n=" + n, expected, data, 1e-12);
+        }
+    }
+
+    @Test
+    public void testInverseInterleaved() {
+        for (int n : SIZES) {
+            final double[] data = randomData(n, n);
+            final double[] expected = naiveDft(data, 1);
+            for (int i = 0; i < expected.length; i++) {
+                expected[i] /= n;
+            }
+            FastFourierTransform.of(n).inverse(data);
+            assertClose("n=" + n, expected, data, 1e-12);
+        }
+    }
+
+    @Test
+    public void testRoundTrip() {
+        for (int n : SIZES) {
+            final double[] data = randomData(n, 42 + n);
+            final double[] copy = data.clone();
+            final FastFourierTransform fft = FastFourierTransform.of(n);
+            fft.forward(data);
+            fft.inverse(data);
+            assertClose("n=" + n, copy, data, 1e-13);
+        }
+    }
+
+    @Test
+    public void testRepeatedTransforms() {
+        // The work arrays are reused: stale values must not leak into the next transform.
+        for (int n : SIZES) {
+            final FastFourierTransform fft = FastFourierTransform.of(n);
+            for (int seed = 0; seed < 3; seed++) {
+                final double[] data = randomData(n, 1000 * n + seed);
+                final double[] expected = naiveDft(data, -1);
+                fft.forward(data);
+                assertClose("n=" + n, expected, data, 1e-12);
+            }
+        }
+    }
+
+    @Test
+    public void testConcurrentTransforms() throws InterruptedException {
+        // Each thread has its own work arrays.
+        final int[] sizes = {360, 1009};
+        for (int n : sizes) {
+            final FastFourierTransform fft = FastFourierTransform.of(n);
+            final int threads = 4;
+            final double[][] results = new double[threads][];
+            final Thread[] workers = new Thread[threads];
+            for (int t = 0; t < threads; t++) {
+                final int index = t;
+                workers[t] = new Thread(() -> {
+                    final double[] data = randomData(n, n);
+                    for (int i = 0; i < 200; i++) {
+                        fft.forward(data);
+                        fft.inverse(data);
+                    }
+                    results[index] = data;
+                });
+                workers[t].start();
+            }
+            final double[] copy = randomData(n, n);
+            for (int t = 0; t < threads; t++) {
+                workers[t].join();
+                assertClose("n=" + n, copy, results[t], 1e-11);
+            }
+        }
+    }
+
+    @Test
+    public void testSplitMatchesInterleaved() {
+        for (int n : SIZES) {
+            final double[] data = randomData(n, n);
+            final double[] re = new double[n];
+            final double[] im = new double[n];
+            for (int i = 0; i < n; i++) {
+                re[i] = data[2 * i];
+                im[i] = data[2 * i + 1];
+            }
+            final FastFourierTransform fft = FastFourierTransform.of(n);
+            fft.forward(data);
+            fft.forward(re, im);
+            for (int i = 0; i < n; i++) {
+                Assert.assertEquals(data[2 * i], re[i], 0);
+                Assert.assertEquals(data[2 * i + 1], im[i], 0);
+            }
+            fft.inverse(data);
+            fft.inverse(re, im);
+            for (int i = 0; i < n; i++) {
+                Assert.assertEquals(data[2 * i], re[i], 0);
+                Assert.assertEquals(data[2 * i + 1], im[i], 0);
+            }
+        }
+    }
+
+    @Test
+    public void testComplexArray() {
+        final int n = 12;
+        final double[] data = randomData(n, 3);
+        final Complex[] c = new Complex[n];
+        for (int i = 0; i < n; i++) {
+            c[i] = Complex.ofCartesian(data[2 * i], data[2 * i + 1]);
+        }
+        final FastFourierTransform fft = FastFourierTransform.of(n);
+        final Complex[] t = fft.forward(c);
+        fft.forward(data);
+        for (int i = 0; i < n; i++) {
+            Assert.assertEquals(data[2 * i], t[i].getReal(), 0);
+            Assert.assertEquals(data[2 * i + 1], t[i].getImaginary(), 0);
+        }
+        final Complex[] back = fft.inverse(t);
+        for (int i = 0; i < n; i++) {
+            Assert.assertTrue(Complex.equals(c[i], back[i], 1e-14));
+        }
+    }
+
+    @Test
+    public void testImpulse() {
+        // The transform of a unit impulse at 0 is constant.
+        final int n = 7;
+        final double[] data = new double[2 * n];
+        data[0] = 1;
+        FastFourierTransform.of(n).forward(data);
+        for (int i = 0; i < n; i++) {
+            Assert.assertEquals(1, data[2 * i], 1e-15);
+            Assert.assertEquals(0, data[2 * i + 1], 1e-15);
+        }
+    }
+
+    @Test
+    public void testGetSize() {
+        Assert.assertEquals(17, FastFourierTransform.of(17).getSize());
+    }
+
+    @Test
+    public void testFactorize() {
+        Assert.assertArrayEquals(new int[] {2, 2, 2, 3, 5, 5}, FastFourierTransform.factorize(600));
+        Assert.assertArrayEquals(new int[] {1009}, FastFourierTransform.factorize(1009));
+        Assert.assertArrayEquals(new int[0], FastFourierTransform.factorize(1));
+    }
+
+    @Test
+    public void testRootsOfUnityPrefix() {
+        final double[] all = FastFourierTransform.rootsOfUnity(12);
+        final double[] half = FastFourierTransform.rootsOfUnity(12, 6);
+        Assert.assertEquals(12, half.length);
+        for (int i = 0; i < half.length; i++) {
+            Assert.assertEquals(all[i], half[i], 0);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroSize() {
+        FastFourierTransform.of(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongInterleavedLength() {
+        FastFourierTransform.of(4).forward(new double[6]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongSplitLength() {
+        FastFourierTransform.of(4).inverse(new double[4], new double[3]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongComplexLength() {
+        FastFourierTransform.of(4).forward(new Complex[3]);
+    }
+}
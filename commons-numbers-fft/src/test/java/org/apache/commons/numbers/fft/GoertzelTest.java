@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.fft;
+
+import java.util.Random;
+
+import org.apache.commons.numbers.complex.Complex;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GoertzelTest {
+
+    /**
+     * @param n Number of values.
+     * @param seed Seed.
+     * @return random real data.
+     */
+    private static double[] randomReal(int n, long seed) {
+        final Random rng = new Random(seed);
+        final double[] data = new double[n];
+        for (int i = 0; i < n; i++) {
+            data[i] = rng.nextDouble() * 2 - 1;
+        }
+        return data;
+    }
+
+    /**
+     * @param real Real values.
+     * @return the interleaved transform.
+     */
+    private static double[] dft(double[] real) {
+        final double[] complex = new double[2 * real.length];
+        for (int i = 0; i < real.length; i++) {
+            complex[2 * i] = real[i];
+        }
+        return FastFourierTransformTest.naiveDft(complex, -1);
+    }
+
+    @Test
+    public void testBinsMatchDft() {
+        for (int n : new int[] {1, 2, 3, 7, 16, 100, 1009}) {
+            final double[] x = randomReal(n, n);
+            final double[] spectrum = dft(x);
+            final int[] bins = {0, 1 % n, n / 2, n - 1};
+            final Goertzel g = Goertzel.ofBins(n, bins);
+            for (int i = 0; i < n - 1; i++) {
+                Assert.assertFalse(g.accept(x[i]));
+            }
+            Assert.assertTrue(g.accept(x[n - 1]));
+            final double[] expected = new double[2 * bins.length];
+            for (int k = 0; k < bins.length; k++) {
+                expected[2 * k] = spectrum[2 * bins[k]];
+                expected[2 * k + 1] = spectrum[2 * bins[k] + 1];
+            }
+            final double[] actual = new double[2 * bins.length];
+            g.getValues(actual);
+            FastFourierTransformTest.assertClose("n=" + n, expected, actual, 1e-12);
+        }
+    }
+
+    @Test
+    public void testFrequency() {
+        // Frequency between two bins.
+        final int n = 50;
+        final double f = 0.123;
+        final double[] x = randomReal(n, 1);
+        Complex expected = Complex.ZERO;
+        for (int j = 0; j < n; j++) {
+            expected = expected.add(Complex.ofCis(-2 * Math.PI * f * j).multiply(x[j]));
+        }
+        final Goertzel g = Goertzel.of(n, f);
+        Assert.assertEquals(n, g.accept(x, 0, n));
+        Assert.assertTrue(g.isBlockComplete());
+        Assert.assertEquals(expected.getReal(), g.getReal(0), 1e-12);
+        Assert.assertEquals(expected.getImaginary(), g.getImaginary(0), 1e-12);
+        Assert.assertEquals(expected.getReal(), g.get(0).getReal(), 1e-12);
+        Assert.assertEquals(expected.abs() * expected.abs(), g.getPower(0), 1e-11);
+        Assert.assertEquals(f, g.getFrequency(0), 0);
+    }
+
+    @Test
+    public void testBlockMatchesSampleBySample() {
+        final int n = 37;
+        final double[] x = randomReal(5 * n + 11, 2);
+        final Goertzel single = Goertzel.ofBins(n, 3, 5, 30, 1, 20, 7);
+        final Goertzel block = Goertzel.ofBins(n, 3, 5, 30, 1, 20, 7);
+        // Chunks that do not align with the blocks.
+        int i = 0;
+        int j = 0;
+        while (j < x.length) {
+            j = block.accept(x, j, Math.min(x.length, j + 13));
+            while (i < j) {
+                single.accept(x[i++]);
+            }
+            Assert.assertEquals(single.getBlockCount(), block.getBlockCount());
+            Assert.assertEquals(single.isBlockComplete(), block.isBlockComplete());
+            for (int k = 0; k < 6; k++) {
+                Assert.assertEquals(single.getReal(k), block.getReal(k), 0);
+                Assert.assertEquals(single.getImaginary(k), block.getImaginary(k), 0);
+            }
+        }
+        Assert.assertEquals(5, block.getBlockCount());
+    }
+
+    @Test
+    public void testConsecutiveBlocks() {
+        final int n = 64;
+        final double[] x = randomReal(3 * n, 3);
+        final Goertzel g = Goertzel.ofBins(n, 9);
+        int i = 0;
+        for (int b = 0; b < 3; b++) {
+            i = g.accept(x, i, x.length);
+            Assert.assertEquals((b + 1) * n, i);
+            final double[] block = new double[n];
+            System.arraycopy(x, b * n, block, 0, n);
+            final double[] spectrum = dft(block);
+            Assert.assertEquals(spectrum[18], g.getReal(0), 1e-12);
+            Assert.assertEquals(spectrum[19], g.getImaginary(0), 1e-12);
+        }
+        Assert.assertEquals(3, g.getBlockCount());
+    }
+
+    @Test
+    public void testTone() {
+        // A pure tone at bin 5 of 128: only that bin responds.
+        final int n = 128;
+        final Goertzel g = Goertzel.ofBins(n, 5, 6, 40);
+        for (int j = 0; j < n; j++) {
+            g.accept(Math.cos(2 * Math.PI * 5 * j / n));
+        }
+        Assert.assertEquals(n / 2, g.getReal(0), 1e-11);
+        Assert.assertEquals(0, g.getImaginary(0), 1e-11);
+        Assert.assertEquals(0, g.getPower(1), 1e-20);
+        Assert.assertEquals(0, g.getPower(2), 1e-20);
+    }
+
+    @Test
+    public void testLowFrequencyAccuracy() {
+        // Long blocks at bins close to 0 and n / 2, where the plain
+        // recurrence loses accuracy.
+        final int n = 1 << 17;
+        final Goertzel g = Goertzel.ofBins(n, 1, n / 2 - 1);
+        final double[] x = new double[n];
+        for (int j = 0; j < n; j++) {
+            x[j] = Math.cos(2 * Math.PI * j / n) + Math.cos(2 * Math.PI * ((long) j * (n / 2 - 1) % n) / n);
+        }
+        g.accept(x, 0, n);
+        Assert.assertEquals(n / 2, g.getReal(0), 1e-9 * n);
+        Assert.assertEquals(0, g.getImaginary(0), 1e-9 * n);
+        Assert.assertEquals(n / 2, g.getReal(1), 1e-9 * n);
+        Assert.assertEquals(0, g.getImaginary(1), 1e-9 * n);
+    }
+
+    @Test
+    public void testNegativeBin() {
+        final Goertzel g = Goertzel.ofBins(10, -1);
+        Assert.assertEquals(0.9, g.getFrequency(0), 0);
+    }
+
+    @Test
+    public void testReset() {
+        final Goertzel g = Goertzel.ofBins(4, 1);
+        g.accept(new double[] {1, 2, 3, 4, 5}, 0, 5);
+        g.accept(5);
+        g.reset();
+        Assert.assertEquals(0, g.getBlockCount());
+        Assert.assertFalse(g.isBlockComplete());
+        Assert.assertEquals(0, g.getReal(0), 0);
+        g.accept(new double[] {1, 0, 0, 0}, 0, 4);
+        Assert.assertEquals(1, g.getReal(0), 1e-15);
+        Assert.assertEquals(0, g.getImaginary(0), 1e-15);
+    }
+
+    @Test
+    public void testAccessors() {
+        final Goertzel g = Goertzel.of(12, 0.1, 0.2);
+        Assert.assertEquals(12, g.getBlockLength());
+        Assert.assertEquals(2, g.getFrequencyCount());
+        Assert.assertEquals(0, g.getBlockCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroBlockLength() {
+        Goertzel.of(0, 0.1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoFrequency() {
+        Goertzel.of(8);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonFiniteFrequency() {
+        Goertzel.of(8, Double.NaN);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongValuesLength() {
+        Goertzel.ofBins(8, 1, 2).getValues(new double[2]);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testInvalidRange() {
+        Goertzel.ofBins(8, 1).accept(new double[4], 2, 5);
+    }
+}
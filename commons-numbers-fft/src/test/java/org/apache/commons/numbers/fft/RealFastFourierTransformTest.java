@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.fft;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RealFastFourierTransformTest {
+
+    /** Sizes that exercise even and odd lengths. */
+    private static final int[] SIZES = {
+        1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 16, 17, 30, 64, 97, 100, 128, 202, 1000, 1024
+    };
+
+    /**
+     * @param n Number of values.
+     * @param seed Seed.
+     * @return random real data.
+     */
+    private static double[] randomReal(int n, long seed) {
+        final Random rng = new Random(seed);
+        final double[] data = new double[n];
+        for (int i = 0; i < n; i++) {
+            data[i] = rng.nextDouble() * 2 - 1;
+        }
+        return data;
+    }
+
+    @Test
+    public void testForwardMatchesComplex() {
+        for (int n : SIZES) {
+            final double[] real = randomReal(n, n);
+            final double[] complex = new double[2 * n];
+            for (int i = 0; i < n; i++) {
+                complex[2 * i] = real[i];
+            }
+            final double[] expected = FastFourierTransformTest.naiveDft(complex, -1);
+            final double[] packed = new double[2 * (n / 2 + 1)];
+            System.arraycopy(expected, 0, packed, 0, packed.length);
+
+            final double[] copy = real.clone();
+            final RealFastFourierTransform rfft = RealFastFourierTransform.of(n);
+            final double[] spectrum = rfft.forward(real);
+            FastFourierTransformTest.assertClose("n=" + n, packed, spectrum, 1e-12);
+            Assert.assertEquals(0, spectrum[1], 0);
+            if (n % 2 == 0) {
+                Assert.assertEquals(0, spectrum[n + 1], 0);
+            }
+            // Input is preserved.
+            Assert.assertArrayEquals(copy, real, 0);
+        }
+    }
+
+    @Test
+    public void testInverseMatchesComplex() {
+        for (int n : SIZES) {
+            final double[] real = randomReal(n, 7 * n);
+            final double[] complex = new double[2 * n];
+            for (int i = 0; i < n; i++) {
+                complex[2 * i] = real[i];
+            }
+            final double[] full = FastFourierTransformTest.naiveDft(complex, -1);
+            final double[] packed = new double[2 * (n / 2 + 1)];
+            System.arraycopy(full, 0, packed, 0, packed.length);
+            final double[] copy = packed.clone();
+
+            final double[] result = new double[n];
+            RealFastFourierTransform.of(n).inverse(packed, result);
+            FastFourierTransformTest.assertClose("n=" + n, real, result, 1e-12);
+            Assert.assertArrayEquals(copy, packed, 0);
+        }
+    }
+
+    @Test
+    public void testRoundTrip() {
+        for (int n : SIZES) {
+            final double[] real = randomReal(n, 3 * n);
+            final RealFastFourierTransform rfft = RealFastFourierTransform.of(n);
+            FastFourierTransformTest.assertClose("n=" + n, real, rfft.inverse(rfft.forward(real)), 1e-13);
+        }
+    }
+
+    @Test
+    public void testLengths() {
+        final RealFastFourierTransform rfft = RealFastFourierTransform.of(9);
+        Assert.assertEquals(9, rfft.getSize());
+        Assert.assertEquals(10, rfft.getSpectrumLength());
+        Assert.assertEquals(12, RealFastFourierTransform.of(10).getSpectrumLength());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroSize() {
+        RealFastFourierTransform.of(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongRealLength() {
+        RealFastFourierTransform.of(8).forward(new double[7]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongSpectrumLength() {
+        RealFastFourierTransform.of(8).forward(new double[8], new double[8]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongInverseLength() {
+        RealFastFourierTransform.of(8).inverse(new double[8]);
+    }
+}
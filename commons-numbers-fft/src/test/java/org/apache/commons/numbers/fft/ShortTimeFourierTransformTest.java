@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.fft;
+
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.numbers.fft.ShortTimeFourierTransform.Output;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ShortTimeFourierTransformTest {
+
+    /**
+     * @param n Number of values.
+     * @param seed Seed.
+     * @return random real data.
+     */
+    private static double[] randomReal(int n, long seed) {
+        final Random rng = new Random(seed);
+        final double[] data = new double[n];
+        for (int i = 0; i < n; i++) {
+            data[i] = rng.nextDouble() * 2 - 1;
+        }
+        return data;
+    }
+
+    /**
+     * @return the spectrum of the windowed frame starting at {@code start}.
+     */
+    private static double[] expectedSpectrum(double[] x, int start, int n, WindowFunction window) {
+        final double[] w = window.values(n);
+        final double[] frame = new double[n];
+        for (int j = 0; j < n; j++) {
+            frame[j] = w[j] * x[start + j];
+        }
+        return RealFastFourierTransform.of(n).forward(frame);
+    }
+
+    /**
+     * Consumes all the samples and collects copies of the frames.
+     */
+    private static List<double[]> frames(ShortTimeFourierTransform stft, double[] x) {
+        final List<double[]> list = new ArrayList<>();
+        stft.process(x, 0, x.length, (frame, index) -> {
+            Assert.assertEquals(list.size(), index);
+            list.add(frame.clone());
+        });
+        return list;
+    }
+
+    @Test
+    public void testComplexFrames() {
+        for (int n : new int[] {1, 8, 15, 64}) {
+            for (int hop : new int[] {1, n / 4 + 1, n, n + 3}) {
+                final double[] x = randomReal(5 * n + 7, n + hop);
+                final ShortTimeFourierTransform stft =
+                    ShortTimeFourierTransform.of(n, hop, WindowFunction.HANN, Output.COMPLEX, 3);
+                final List<double[]> frames = frames(stft, x);
+                Assert.assertEquals((x.length - n) / hop + 1, frames.size());
+                Assert.assertEquals(frames.size(), stft.getFrameCount());
+                for (int t = 0; t < frames.size(); t++) {
+                    Assert.assertArrayEquals("n=" + n + " hop=" + hop + " t=" + t,
+                        expectedSpectrum(x, t * hop, n, WindowFunction.HANN), frames.get(t), 0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testOutputs() {
+        final int n = 32;
+        final double[] x = randomReal(200, 1);
+        final List<double[]> complex =
+            frames(ShortTimeFourierTransform.of(n, 10, WindowFunction.BLACKMAN, Output.COMPLEX, 1), x);
+        final List<double[]> magnitude =
+            frames(ShortTimeFourierTransform.of(n, 10, WindowFunction.BLACKMAN, Output.MAGNITUDE, 1), x);
+        final List<double[]> power =
+            frames(ShortTimeFourierTransform.of(n, 10, WindowFunction.BLACKMAN, Output.POWER, 1), x);
+        final List<double[]> phase =
+            frames(ShortTimeFourierTransform.of(n, 10, WindowFunction.BLACKMAN, Output.PHASE, 1), x);
+        final List<double[]> polar =
+            frames(ShortTimeFourierTransform.of(n, 10, WindowFunction.BLACKMAN, Output.MAGNITUDE_PHASE, 1), x);
+        for (int t = 0; t < complex.size(); t++) {
+            final double[] s = complex.get(t);
+            Assert.assertEquals(n / 2 + 1, magnitude.get(t).length);
+            Assert.assertEquals(n + 2, polar.get(t).length);
+            for (int k = 0; k <= n / 2; k++) {
+                final double re = s[2 * k];
+                final double im = s[2 * k + 1];
+                Assert.assertEquals(Math.hypot(re, im), magnitude.get(t)[k], 1e-15 * Math.hypot(re, im));
+                Assert.assertEquals(re * re + im * im, power.get(t)[k], 0);
+                Assert.assertEquals(Math.atan2(im, re), phase.get(t)[k], 0);
+                Assert.assertEquals(magnitude.get(t)[k], polar.get(t)[2 * k], 0);
+                Assert.assertEquals(phase.get(t)[k], polar.get(t)[2 * k + 1], 0);
+            }
+        }
+    }
+
+    @Test
+    public void testExtremeMagnitudes() {
+        final ShortTimeFourierTransform stft =
+            ShortTimeFourierTransform.of(2, 2, WindowFunction.RECTANGULAR, Output.MAGNITUDE, 1);
+        stft.accept(1e300);
+        stft.accept(1e300);
+        // X_0 = 2e300, X_1 = 0.
+        Assert.assertEquals(2e300, stft.getFrame(0)[0], 0);
+        Assert.assertEquals(0, stft.getFrame(0)[1], 0);
+        stft.accept(3e-300);
+        stft.accept(-1e-300);
+        Assert.assertEquals(2e-300, stft.getFrame(1)[0], 1e-315);
+        Assert.assertEquals(4e-300, stft.getFrame(1)[1], 1e-315);
+    }
+
+    @Test
+    public void testInputsMatch() {
+        final int n = 24;
+        final int hop = 7;
+        final double[] x = randomReal(500, 2);
+        final List<double[]> expected =
+            frames(ShortTimeFourierTransform.of(n, hop, WindowFunction.HAMMING, Output.MAGNITUDE_PHASE, 2), x);
+
+        final List<double[]> single = new ArrayList<>();
+        final ShortTimeFourierTransform s1 =
+            ShortTimeFourierTransform.of(n, hop, WindowFunction.HAMMING, Output.MAGNITUDE_PHASE, 2);
+        for (final double v : x) {
+            final long count = s1.getFrameCount();
+            s1.accept(v);
+            if (s1.getFrameCount() != count) {
+                single.add(s1.getFrame(count).clone());
+            }
+        }
+
+        final List<double[]> buffer = new ArrayList<>();
+        final DoubleBuffer b = DoubleBuffer.wrap(x);
+        ShortTimeFourierTransform.of(n, hop, WindowFunction.HAMMING, Output.MAGNITUDE_PHASE, 2)
+            .process(b, (frame, index) -> buffer.add(frame.clone()));
+        Assert.assertFalse(b.hasRemaining());
+
+        final List<double[]> stream = new ArrayList<>();
+        ShortTimeFourierTransform.of(n, hop, WindowFunction.HAMMING, Output.MAGNITUDE_PHASE, 2)
+            .process(Arrays.stream(x), (frame, index) -> stream.add(frame.clone()));
+
+        Assert.assertEquals(expected.size(), single.size());
+        Assert.assertEquals(expected.size(), buffer.size());
+        Assert.assertEquals(expected.size(), stream.size());
+        for (int t = 0; t < expected.size(); t++) {
+            Assert.assertArrayEquals(expected.get(t), single.get(t), 0);
+            Assert.assertArrayEquals(expected.get(t), buffer.get(t), 0);
+            Assert.assertArrayEquals(expected.get(t), stream.get(t), 0);
+        }
+    }
+
+    @Test
+    public void testRing() {
+        final int n = 8;
+        final double[] x = randomReal(100, 3);
+        final ShortTimeFourierTransform stft =
+            ShortTimeFourierTransform.of(n, 4, WindowFunction.HANN, Output.COMPLEX, 3);
+        final double[][] arrays = new double[3][];
+        for (int i = 0; i < x.length; ) {
+            final long count = stft.getFrameCount();
+            i = stft.accept(x, i, x.length);
+            if (stft.getFrameCount() != count) {
+                final double[] frame = stft.getFrame(count);
+                // Arrays are reused.
+                final int slot = (int) (count % 3);
+                if (arrays[slot] == null) {
+                    arrays[slot] = frame;
+                }
+                Assert.assertSame(arrays[slot], frame);
+                Assert.assertArrayEquals(expectedSpectrum(x, (int) count * 4, n, WindowFunction.HANN), frame, 0);
+            }
+        }
+        final long last = stft.getFrameCount() - 1;
+        Assert.assertArrayEquals(expectedSpectrum(x, (int) (last - 2) * 4, n, WindowFunction.HANN),
+            stft.getFrame(last - 2), 0);
+        try {
+            stft.getFrame(last - 3);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+        try {
+            stft.getFrame(last + 1);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void testReset() {
+        final double[] x = randomReal(40, 4);
+        final ShortTimeFourierTransform stft =
+            ShortTimeFourierTransform.of(16, 8, WindowFunction.HANN, Output.POWER, 2);
+        frames(stft, Arrays.copyOf(x, 23));
+        stft.reset();
+        Assert.assertEquals(0, stft.getFrameCount());
+        final List<double[]> frames = frames(stft, x);
+        Assert.assertEquals(4, frames.size());
+        final double[] s = expectedSpectrum(x, 0, 16, WindowFunction.HANN);
+        Assert.assertEquals(s[2] * s[2] + s[3] * s[3], frames.get(0)[1], 0);
+    }
+
+    @Test
+    public void testAccessors() {
+        final ShortTimeFourierTransform stft =
+            ShortTimeFourierTransform.of(10, 3, WindowFunction.HAMMING, Output.PHASE, 5);
+        Assert.assertEquals(10, stft.getFrameLength());
+        Assert.assertEquals(3, stft.getHopSize());
+        Assert.assertEquals(WindowFunction.HAMMING, stft.getWindow());
+        Assert.assertEquals(Output.PHASE, stft.getOutput());
+        Assert.assertEquals(5, stft.getRingSize());
+        Assert.assertEquals(12, Output.COMPLEX.getLength(10));
+        Assert.assertEquals(6, Output.MAGNITUDE.getLength(11));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroFrameLength() {
+        ShortTimeFourierTransform.of(0, 1, WindowFunction.HANN, Output.COMPLEX, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroHopSize() {
+        ShortTimeFourierTransform.of(8, 0, WindowFunction.HANN, Output.COMPLEX, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroRingSize() {
+        ShortTimeFourierTransform.of(8, 4, WindowFunction.HANN, Output.COMPLEX, 0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testInvalidRange() {
+        ShortTimeFourierTransform.of(8, 4, WindowFunction.HANN, Output.COMPLEX, 1).accept(new double[4], 3, 2);
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.fft;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SlidingDftTest {
+
+    /**
+     * @param n Number of values.
+     * @param seed Seed.
+     * @return random real data.
+     */
+    private static double[] randomReal(int n, long seed) {
+        final Random rng = new Random(seed);
+        final double[] data = new double[n];
+        for (int i = 0; i < n; i++) {
+            data[i] = rng.nextDouble() * 2 - 1;
+        }
+        return data;
+    }
+
+    /**
+     * Asserts that the bins are the transform of the window ending before
+     * {@code end}, with zeros before the first sample.
+     */
+    private static void assertWindow(String msg, SlidingDft s, double[] x, int end, double tol) {
+        final int n = s.getWindowLength();
+        final double[] complex = new double[2 * n];
+        for (int j = 0; j < n; j++) {
+            final int i = end - n + j;
+            complex[2 * j] = i < 0 ? 0 : x[i];
+        }
+        final double[] spectrum = FastFourierTransformTest.naiveDft(complex, -1);
+        final double[] expected = new double[2 * s.getBinCount()];
+        for (int k = 0; k < s.getBinCount(); k++) {
+            expected[2 * k] = spectrum[2 * s.getBin(k)];
+            expected[2 * k + 1] = spectrum[2 * s.getBin(k) + 1];
+        }
+        final double[] actual = new double[expected.length];
+        s.getValues(actual);
+        FastFourierTransformTest.assertClose(msg, expected, actual, tol);
+    }
+
+    @Test
+    public void testMatchesDft() {
+        for (int n : new int[] {1, 2, 5, 16, 33}) {
+            final double[] x = randomReal(3 * n, n);
+            final SlidingDft s = SlidingDft.of(n, 0, 1, n / 2, n - 1);
+            for (int i = 0; i < x.length; i++) {
+                Assert.assertEquals(i >= n, s.isFull());
+                s.accept(x[i]);
+                assertWindow("n=" + n + " i=" + i, s, x, i + 1, 1e-12);
+            }
+            Assert.assertEquals(x.length, s.getSampleCount());
+        }
+    }
+
+    @Test
+    public void testBlockMatchesSampleBySample() {
+        final int n = 20;
+        // Crosses several recomputations.
+        final double[] x = randomReal(3 * SlidingDft.RESYNC_WINDOWS * n + 7, 1);
+        final SlidingDft single = SlidingDft.of(n, 1, 4, 19);
+        final SlidingDft block = SlidingDft.of(n, 1, 4, 19);
+        for (int i = 0; i < x.length; i += 300) {
+            final int to = Math.min(x.length, i + 300);
+            block.accept(x, i, to);
+            for (int j = i; j < to; j++) {
+                single.accept(x[j]);
+            }
+            for (int k = 0; k < 3; k++) {
+                Assert.assertEquals(single.getReal(k), block.getReal(k), 0);
+                Assert.assertEquals(single.getImaginary(k), block.getImaginary(k), 0);
+            }
+        }
+        assertWindow("block", block, x, x.length, 1e-12);
+    }
+
+    @Test
+    public void testLongStream() {
+        // Large offset so that errors accumulate quickly without recomputation.
+        final int n = 100;
+        final double[] x = randomReal(10 * SlidingDft.RESYNC_WINDOWS * n + 3, 2);
+        for (int i = 0; i < x.length; i++) {
+            x[i] += 1e3;
+        }
+        final SlidingDft s = SlidingDft.of(n, 3, 50);
+        s.accept(x, 0, x.length);
+        assertWindow("long", s, x, x.length, 1e-12);
+    }
+
+    @Test
+    public void testResync() {
+        final double[] x = randomReal(50, 3);
+        final SlidingDft s = SlidingDft.of(16, 2, 7);
+        s.accept(x, 0, x.length);
+        s.resync();
+        assertWindow("resync", s, x, x.length, 1e-14);
+        Assert.assertEquals(s.getReal(1), s.get(1).getReal(), 0);
+        Assert.assertEquals(s.getImaginary(1), s.get(1).getImaginary(), 0);
+        Assert.assertEquals(s.get(0).abs() * s.get(0).abs(), s.getPower(0), 1e-13);
+    }
+
+    @Test
+    public void testReset() {
+        final SlidingDft s = SlidingDft.of(4, 1);
+        s.accept(new double[] {1, 2, 3, 4, 5}, 0, 5);
+        s.reset();
+        Assert.assertEquals(0, s.getSampleCount());
+        Assert.assertFalse(s.isFull());
+        Assert.assertEquals(0, s.getReal(0), 0);
+        s.accept(1);
+        // Window (0, 0, 0, 1): X_1 = exp(-3 pi i / 2) = i.
+        Assert.assertEquals(0, s.getReal(0), 1e-15);
+        Assert.assertEquals(1, s.getImaginary(0), 1e-15);
+    }
+
+    @Test
+    public void testAccessors() {
+        final SlidingDft s = SlidingDft.of(12, 3, -1);
+        Assert.assertEquals(12, s.getWindowLength());
+        Assert.assertEquals(2, s.getBinCount());
+        Assert.assertEquals(11, s.getBin(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroWindowLength() {
+        SlidingDft.of(0, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoBin() {
+        SlidingDft.of(8);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongValuesLength() {
+        SlidingDft.of(8, 1).getValues(new double[4]);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testInvalidRange() {
+        SlidingDft.of(8, 1).accept(new double[4], -1, 2);
+    }
+}
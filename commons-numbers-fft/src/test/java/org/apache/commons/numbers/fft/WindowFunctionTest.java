@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.numbers.fft;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WindowFunctionTest {
+
+    @Test
+    public void testValues() {
+        final int n = 20;
+        final double[] hann = WindowFunction.HANN.values(n);
+        final double[] hamming = WindowFunction.HAMMING.values(n);
+        final double[] blackman = WindowFunction.BLACKMAN.values(n);
+        final double[] bh = WindowFunction.BLACKMAN_HARRIS.values(n);
+        for (int j = 0; j < n; j++) {
+            final double c1 = Math.cos(2 * Math.PI * j / n);
+            final double c2 = Math.cos(4 * Math.PI * j / n);
+            final double c3 = Math.cos(6 * Math.PI * j / n);
+            Assert.assertEquals(0.5 - 0.5 * c1, hann[j], 1e-15);
+            Assert.assertEquals(0.54 - 0.46 * c1, hamming[j], 1e-15);
+            Assert.assertEquals(0.42 - 0.5 * c1 + 0.08 * c2, blackman[j], 1e-15);
+            Assert.assertEquals(0.35875 - 0.48829 * c1 + 0.14128 * c2 - 0.01168 * c3, bh[j], 1e-15);
+        }
+        Assert.assertArrayEquals(new double[] {1, 1, 1}, WindowFunction.RECTANGULAR.values(3), 0);
+    }
+
+    @Test
+    public void testPeriodic() {
+        // Hann windows shifted by half their length sum to 1.
+        final int n = 16;
+        final double[] w = WindowFunction.HANN.values(n);
+        Assert.assertEquals(0, w[0], 0);
+        Assert.assertEquals(1, w[n / 2], 0);
+        for (int j = 0; j < n / 2; j++) {
+            Assert.assertEquals(1, w[j] + w[j + n / 2], 1e-15);
+        }
+    }
+
+    @Test
+    public void testLengthOne() {
+        for (final WindowFunction f : WindowFunction.values()) {
+            Assert.assertEquals(1, f.values(1).length);
+        }
+        Assert.assertEquals(0, WindowFunction.HANN.values(1)[0], 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroLength() {
+        WindowFunction.HANN.values(0);
+    }
+}